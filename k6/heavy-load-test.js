@@ -283,8 +283,6 @@ function gerarComputador() {
             slots_ram: randomIntBetween(2, 8),
             ram_max_gb: 256,
             slots_pcie: randomIntBetween(2, 5),
-            wifi: randomIntBetween(0, 1) === 1,
-            bluetooth: randomIntBetween(0, 1) === 1,
         },
 
         placa_video: {
@@ -294,12 +292,8 @@ function gerarComputador() {
             memoria_gb: randomIntBetween(8, 24),
             tipo_memoria: ["GDDR6", "GDDR6X", "GDDR7"][randomIntBetween(0, 2)],
             clock_mhz: randomIntBetween(2200, 3000),
-            boost_clock_mhz: randomIntBetween(2400, 3200),
             tdp_watts: randomIntBetween(150, 600),
             interface: "PCIe 5.0 x16",
-            ray_tracing: true,
-            dlss: gpu.includes("GeForce"),
-            fsr: gpu.includes("Radeon"),
         },
 
         memoria_ram: {
@@ -310,10 +304,8 @@ function gerarComputador() {
                 tipo: ramGb >= 64 ? "DDR5" : "DDR4",
                 frequencia_mhz: ramGb >= 64 ? randomIntBetween(5600, 8400) : randomIntBetween(3200, 4800),
                 latencia: `CL${randomIntBetween(16, 40)}`,
-                ecc: false,
             })),
             capacidade_total_gb: ramGb,
-            canal: ramGb >= 128 ? "Quad Channel" : "Dual Channel",
         },
 
         armazenamento: {
@@ -342,7 +334,6 @@ function gerarComputador() {
                     tipo: "HDD",
                     capacidade_gb: storage * 4,
                     interface: "SATA III",
-                    rpm: 7200,
                     velocidade_leitura_mbps: 260,
                     velocidade_escrita_mbps: 250,
                 },
@@ -366,17 +357,9 @@ function gerarComputador() {
                 slots_ventilacao_frontal: 3,
                 slots_ventilacao_superior: 3,
                 slots_ventilacao_traseira: 1,
-                slots_ventilacao_lateral: 3,
             },
         },
 
-        refrigeracao: {
-            tipo: ["Air Cooler", "AIO 240mm", "AIO 360mm", "Custom Loop"][randomIntBetween(0, 3)],
-            modelo: ["NH-D15", "Kraken X73", "iCUE H150i", "Dark Rock Pro 4"][randomIntBetween(0, 3)],
-            fabricante: ["Noctua", "NZXT", "Corsair", "be quiet!"][randomIntBetween(0, 3)],
-            tdp_suportado_watts: randomIntBetween(200, 400),
-        },
-
         observacoes: `Build de alta performance para ${["gaming 4K 144Hz", "criação de conteúdo 8K", "machine learning com CUDA",
                 "streaming profissional", "desenvolvimento full-stack", "renderização 3D",
                 "simulações científicas", "edição de vídeo profissional"][randomIntBetween(0, 7)]
@@ -0,0 +1,94 @@
+/**
+ * Benchmark — tabela heap x particionada por created_at
+ * =====================================================
+ * Mede a latência de leitura com cursores espalhados por todo o histórico,
+ * onde o tamanho dos índices pesa mais:
+ *
+ *  - paginacao: GET /computer/pagination com createdAt aleatório nos últimos MONTHS meses
+ *  - busca:     GET /computer/search ordenada por created_at, com filtro de RAM e cursor aleatório
+ *
+ * Preparação (um banco por layout, mesmo volume):
+ *   psql -v rows=10000000 -v months=24 -f k6/seed-computers.sql quarkus_db
+ *
+ * Executar e comparar os resumos:
+ *   k6 run -e LAYOUT=heap k6/partitioning-benchmark.js
+ *   k6 run -e LAYOUT=partitioned k6/partitioning-benchmark.js
+ *
+ * Com o cache de respostas ligado, cursores repetidos sairiam da memória; os
+ * cursores são aleatórios por requisição, então praticamente toda leitura vai ao banco.
+ */
+
+import http from "k6/http";
+import { check } from "k6";
+import { Trend, Rate } from "k6/metrics";
+import { randomIntBetween } from "https://jslib.k6.io/k6-utils/1.4.0/index.js";
+
+// ─── Config ──────────────────────────────────────────────────────────────────
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const ENDPOINT = `${BASE_URL}/computer`;
+const LAYOUT = __ENV.LAYOUT || "partitioned";
+const MONTHS = parseInt(__ENV.MONTHS || "24", 10);
+const PAGE_SIZE = 20;
+const RAM_CONFIGS = [8, 16, 32, 64];
+
+// ─── Métricas customizadas ───────────────────────────────────────────────────
+
+const paginationLatency = new Trend("pagination_latency_ms", true);
+const searchLatency = new Trend("search_latency_ms", true);
+const successRate = new Rate("success_rate");
+
+// ─── Cenários ────────────────────────────────────────────────────────────────
+
+export const options = {
+    scenarios: {
+        paginacao: {
+            executor: "constant-vus",
+            vus: 50,
+            duration: "2m",
+            exec: "paginar",
+            tags: { layout: LAYOUT },
+        },
+        busca: {
+            executor: "constant-vus",
+            vus: 50,
+            duration: "2m",
+            exec: "buscar",
+            tags: { layout: LAYOUT },
+        },
+    },
+    thresholds: {
+        success_rate: ["rate>0.99"],
+    },
+    summaryTrendStats: ["avg", "med", "p(90)", "p(95)", "p(99)", "max"],
+};
+
+// ─── Cursores ────────────────────────────────────────────────────────────────
+
+/** Instante aleatório dentro do histórico semeado, no formato LocalDateTime. */
+function randomCursor() {
+    const now = Date.now();
+    const span = MONTHS * 30 * 24 * 3600 * 1000;
+    return new Date(now - Math.random() * span).toISOString().replace("Z", "");
+}
+
+// ─── Execuções ───────────────────────────────────────────────────────────────
+
+export function paginar() {
+    const createdAt = encodeURIComponent(randomCursor());
+    const res = http.get(`${ENDPOINT}/pagination?createdAt=${createdAt}&id=${Number.MAX_SAFE_INTEGER}&limit=${PAGE_SIZE}`,
+        { tags: { name: "pagination" } });
+    paginationLatency.add(res.timings.duration);
+    successRate.add(check(res, { "pagination 200": (r) => r.status === 200 }));
+}
+
+export function buscar() {
+    const after = encodeURIComponent(randomCursor());
+    const ram = RAM_CONFIGS[randomIntBetween(0, RAM_CONFIGS.length - 1)];
+    const res = http.get(
+        `${ENDPOINT}/search?ramMin=${ram}&ramMax=${ram}&sort=created_at&order=desc`
+        + `&after=${after}&afterId=${Number.MAX_SAFE_INTEGER}&limit=${PAGE_SIZE}`,
+        { tags: { name: "search" } });
+    searchLatency.add(res.timings.duration);
+    successRate.add(check(res, { "search 200": (r) => r.status === 200 }));
+}
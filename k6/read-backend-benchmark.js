@@ -0,0 +1,153 @@
+/**
+ * Benchmark — leitura reativa (Vert.x) x JDBC em virtual threads
+ * ==============================================================
+ * Os mesmos cenários contra os dois backends de leitura, na mesma instância:
+ *
+ *  - BACKEND=reactive → /computer/...     (ComputerReadService, event loop)
+ *  - BACKEND=jdbc     → /vt/computer/...  (ComputerJdbcReadService, @RunOnVirtualThread)
+ *
+ * Cenários: paginação com cursor aleatório, busca composta e busca por GPU.
+ * Além de vazão (http_reqs/s) e p99 por cenário, um VU amostra /q/metrics a cada
+ * 2s e registra heap usada e threads de plataforma vivas durante a carga.
+ *
+ * Preparação:
+ *   psql -v rows=1000000 -f k6/seed-computers.sql quarkus_db
+ *   ./mvnw quarkus:dev -Dcomputers.read.jdbc.enabled=true -Dcomputers.response-cache.enabled=false
+ *
+ * Executar e comparar os resumos (também gravados em read-backend-<backend>.json):
+ *   k6 run -e BACKEND=reactive k6/read-backend-benchmark.js
+ *   k6 run -e BACKEND=jdbc k6/read-backend-benchmark.js
+ *
+ * O cache de respostas precisa estar desligado: do contrário a paginação reativa
+ * sairia da memória e a comparação deixaria de medir o acesso ao banco.
+ */
+
+import http from "k6/http";
+import { check, sleep } from "k6";
+import { Trend, Rate } from "k6/metrics";
+import { randomIntBetween } from "https://jslib.k6.io/k6-utils/1.4.0/index.js";
+import { textSummary } from "https://jslib.k6.io/k6-summary/0.0.2/index.js";
+
+// ─── Config ──────────────────────────────────────────────────────────────────
+
+const BASE_URL = __ENV.BASE_URL || "http://localhost:8080";
+const BACKEND = __ENV.BACKEND || "reactive";
+const ENDPOINT = BACKEND === "jdbc" ? `${BASE_URL}/vt/computer` : `${BASE_URL}/computer`;
+const VUS = parseInt(__ENV.VUS || "100", 10);
+const DURATION = __ENV.DURATION || "2m";
+const MONTHS = parseInt(__ENV.MONTHS || "24", 10);
+const PAGE_SIZE = 20;
+const RAM_CONFIGS = [8, 16, 32, 64];
+const GPU_MODELS = ["RTX 4090", "RTX 4070", "RX 7900", "Arc A770"];
+
+// ─── Métricas customizadas ───────────────────────────────────────────────────
+
+const paginationLatency = new Trend("pagination_latency_ms", true);
+const searchLatency = new Trend("search_latency_ms", true);
+const gpuLatency = new Trend("gpu_latency_ms", true);
+const heapUsed = new Trend("heap_used_bytes");
+const platformThreads = new Trend("platform_threads");
+const successRate = new Rate("success_rate");
+
+// ─── Cenários ────────────────────────────────────────────────────────────────
+
+export const options = {
+    scenarios: {
+        paginacao: {
+            executor: "constant-vus",
+            vus: VUS,
+            duration: DURATION,
+            exec: "paginar",
+            tags: { backend: BACKEND },
+        },
+        busca: {
+            executor: "constant-vus",
+            vus: VUS,
+            duration: DURATION,
+            exec: "buscar",
+            tags: { backend: BACKEND },
+        },
+        gpu: {
+            executor: "constant-vus",
+            vus: Math.max(1, Math.floor(VUS / 5)),
+            duration: DURATION,
+            exec: "buscarGpu",
+            tags: { backend: BACKEND },
+        },
+        memoria: {
+            executor: "constant-vus",
+            vus: 1,
+            duration: DURATION,
+            exec: "amostrarMemoria",
+            tags: { backend: BACKEND },
+        },
+    },
+    thresholds: {
+        success_rate: ["rate>0.99"],
+    },
+    summaryTrendStats: ["avg", "med", "p(90)", "p(95)", "p(99)", "max"],
+};
+
+// ─── Cursores ────────────────────────────────────────────────────────────────
+
+/** Instante aleatório dentro do histórico semeado, no formato LocalDateTime. */
+function randomCursor() {
+    const now = Date.now();
+    const span = MONTHS * 30 * 24 * 3600 * 1000;
+    return new Date(now - Math.random() * span).toISOString().replace("Z", "");
+}
+
+// ─── Execuções ───────────────────────────────────────────────────────────────
+
+export function paginar() {
+    const createdAt = encodeURIComponent(randomCursor());
+    const res = http.get(`${ENDPOINT}/pagination?createdAt=${createdAt}&id=${Number.MAX_SAFE_INTEGER}&limit=${PAGE_SIZE}`,
+        { tags: { name: "pagination" } });
+    paginationLatency.add(res.timings.duration);
+    successRate.add(check(res, { "pagination 200": (r) => r.status === 200 }));
+}
+
+export function buscar() {
+    const after = encodeURIComponent(randomCursor());
+    const ram = RAM_CONFIGS[randomIntBetween(0, RAM_CONFIGS.length - 1)];
+    const res = http.get(
+        `${ENDPOINT}/search?ramMin=${ram}&ramMax=${ram}&sort=created_at&order=desc`
+        + `&after=${after}&afterId=${Number.MAX_SAFE_INTEGER}&limit=${PAGE_SIZE}`,
+        { tags: { name: "search" } });
+    searchLatency.add(res.timings.duration);
+    successRate.add(check(res, { "search 200": (r) => r.status === 200 }));
+}
+
+export function buscarGpu() {
+    const gpu = encodeURIComponent(GPU_MODELS[randomIntBetween(0, GPU_MODELS.length - 1)]);
+    const res = http.get(`${ENDPOINT}/search/gpu/${gpu}`, { tags: { name: "gpu" } });
+    gpuLatency.add(res.timings.duration);
+    successRate.add(check(res, { "gpu 200": (r) => r.status === 200 }));
+}
+
+/** Soma as séries de um gauge Prometheus cujas tags contêm {@code filter}. */
+function sumSeries(body, name, filter) {
+    let total = 0;
+    for (const line of body.split("\n")) {
+        if ((line.startsWith(name + "{") || line.startsWith(name + " ")) && line.includes(filter)) {
+            total += parseFloat(line.substring(line.lastIndexOf(" ") + 1));
+        }
+    }
+    return total;
+}
+
+export function amostrarMemoria() {
+    const res = http.get(`${BASE_URL}/q/metrics`, { tags: { name: "metrics" } });
+    if (res.status === 200) {
+        heapUsed.add(sumSeries(res.body, "jvm_memory_used_bytes", 'area="heap"'));
+        platformThreads.add(sumSeries(res.body, "jvm_threads_live_threads", ""));
+    }
+    sleep(2);
+}
+
+export function handleSummary(data) {
+    return {
+        stdout: textSummary(data, { indent: " ", enableColors: true }),
+        [`read-backend-${BACKEND}.json`]: JSON.stringify(data, null, 2),
+    };
+}
@@ -0,0 +1,66 @@
+-- Popula computers com um volume grande para os benchmarks de particionamento.
+--
+-- Uso (no primary):
+--   psql -v rows=10000000 -v months=24 -f k6/seed-computers.sql quarkus_db
+--
+-- created_at é espalhado uniformemente pelos últimos :months meses. Se a tabela
+-- for particionada, as partições mensais do intervalo são criadas antes da carga
+-- (mesmo formato do PartitionManager); sem partição default, o insert falharia.
+--
+-- A carga roda com session_replication_role = replica, como o CatalogGenerator:
+-- sem isso o trigger computers_notify_created enfileiraria um NOTIFY por linha na
+-- mesma transação, o que pode encher a fila de NOTIFY e despeja a carga inteira em
+-- todo listener do feed. Exige superusuário, como o quarkus_user do docker-compose.
+--
+-- Para dezenas de milhões de linhas com documentos realistas (GPUs em Zipf, peças
+-- compatíveis entre si), use o org.acme.computers.generator.CatalogGenerator (COPY binário).
+
+\set ON_ERROR_STOP on
+\if :{?rows}
+\else
+\set rows 10000000
+\endif
+\if :{?months}
+\else
+\set months 24
+\endif
+
+SELECT set_config('seed.months', :'months', false);
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'computers'::regclass) THEN
+        FOR i IN -current_setting('seed.months')::int..0 LOOP
+            month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::date;
+            EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF computers FOR VALUES FROM (%L) TO (%L)',
+                           'computers_p' || to_char(month_start, 'YYYY_MM'),
+                           month_start, (month_start + INTERVAL '1 month')::date);
+        END LOOP;
+    END IF;
+END $$;
+
+SET session_replication_role = replica;
+
+INSERT INTO computers (id, name, price, description, created_at)
+SELECT nextval('computers_seq'),
+       'PC-' || g,
+       price,
+       jsonb_build_object(
+           'name', 'PC-' || g,
+           'price', price,
+           'placa_video', jsonb_build_object(
+               'modelo', (ARRAY['GeForce RTX 4070 Ti', 'GeForce RTX 4060', 'Radeon RX 7800 XT', 'Radeon RX 7600'])[1 + g % 4],
+               'chipset', (ARRAY['RTX 4070 Ti', 'RTX 4060', 'RX 7800 XT', 'RX 7600'])[1 + g % 4]),
+           'memoria_ram', jsonb_build_object('capacidade_total_gb', (ARRAY[8, 16, 32, 64])[1 + g % 4]),
+           'armazenamento', jsonb_build_object('dispositivos', jsonb_build_array(
+               jsonb_build_object('tipo', (ARRAY['NVMe', 'SSD', 'HDD'])[1 + g % 3], 'capacidade_gb', 1000))),
+           'fonte', jsonb_build_object('certificacao', (ARRAY['80 Plus Bronze', '80 Plus Gold'])[1 + g % 2])),
+       now() - random() * make_interval(months => :months)
+FROM (SELECT g, round((1500 + random() * 13500)::numeric, 2) AS price
+      FROM generate_series(1, :rows) AS g) AS seed;
+
+RESET session_replication_role;
+
+ANALYZE computers;
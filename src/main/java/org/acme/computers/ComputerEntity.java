@@ -5,9 +5,12 @@ import jakarta.persistence.*;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.UUID;
 
 @Entity
-@Table(name = "computers")
+@Table(name = "computers", indexes = {
+        // Alvo do ON CONFLICT do write-behind; inclui a chave de partição, exigência do PostgreSQL
+        @Index(name = "idx_computers_tracking_id", columnList = "tracking_id, created_at", unique = true) })
 public class ComputerEntity extends PanacheEntity {
 
     // Nota: 'id' já é fornecido por PanacheEntity — não redeclarar aqui.
@@ -20,9 +23,21 @@ public class ComputerEntity extends PanacheEntity {
 
     public BigDecimal price;
 
-    @Column(name = "created_at")
+    /** Chave de partição (RANGE mensal) — sempre preenchida no create. */
+    @Column(name = "created_at", nullable = false)
     public LocalDateTime createdAt;
 
+    /** Preenchido só para creates aceitos pelo write-behind. */
+    @Column(name = "tracking_id")
+    public UUID trackingId;
+
+    /**
+     * Incrementada a cada PATCH; exposta como ETag para o {@code If-Match}.
+     * Não é {@code @Version}: o Hibernate só insere, as atualizações são SQL direto.
+     */
+    @Column(nullable = false, columnDefinition = "bigint not null default 0")
+    public long version;
+
     public ComputerEntity() {
     }
 
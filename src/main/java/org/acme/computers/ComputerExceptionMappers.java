@@ -0,0 +1,60 @@
+package org.acme.computers;
+
+import jakarta.ws.rs.core.HttpHeaders;
+import org.acme.computers.admission.WriteThrottledException;
+import org.acme.computers.columnar.ReadModelUnavailableException;
+import org.acme.computers.idempotency.IdempotencyKeyConflictException;
+import org.acme.computers.patch.PatchConflictException;
+import org.acme.computers.patch.VersionConflictException;
+import org.acme.computers.patch.VersionTag;
+import org.acme.computers.pool.BulkheadFullException;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.server.ServerExceptionMapper;
+
+/**
+ * Traduz exceções de validação dos services em respostas HTTP.
+ */
+public class ComputerExceptionMappers {
+
+    /** Só a validação da requisição vira 400; outro {@code IllegalArgumentException} é um erro interno. */
+    @ServerExceptionMapper
+    public RestResponse<String> invalidRequest(InvalidRequestException e) {
+        return RestResponse.status(RestResponse.Status.BAD_REQUEST, e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<String> idempotencyKeyConflict(IdempotencyKeyConflictException e) {
+        return RestResponse.status(422, e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<String> patchConflict(PatchConflictException e) {
+        return RestResponse.status(RestResponse.Status.CONFLICT, e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<String> versionConflict(VersionConflictException e) {
+        return RestResponse.ResponseBuilder.create(RestResponse.Status.PRECONDITION_FAILED, e.getMessage())
+                .header(HttpHeaders.ETAG, VersionTag.format(e.currentVersion()))
+                .build();
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<String> writeThrottled(WriteThrottledException e) {
+        return RestResponse.ResponseBuilder.create(RestResponse.Status.TOO_MANY_REQUESTS, e.getMessage())
+                .header(HttpHeaders.RETRY_AFTER, e.retryAfterSeconds())
+                .build();
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<String> readModelUnavailable(ReadModelUnavailableException e) {
+        return RestResponse.status(RestResponse.Status.SERVICE_UNAVAILABLE, e.getMessage());
+    }
+
+    @ServerExceptionMapper
+    public RestResponse<String> bulkheadFull(BulkheadFullException e) {
+        return RestResponse.ResponseBuilder.create(RestResponse.Status.SERVICE_UNAVAILABLE, e.getMessage())
+                .header(HttpHeaders.RETRY_AFTER, 1)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.acme.computers;
+
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.smallrye.common.annotation.RunOnVirtualThread;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.MediaType;
+import org.acme.computers.codec.PayloadFormat;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.service.ComputerJdbcReadService;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Leituras de {@link ComputersResource} servidas pelo backend JDBC em virtual
+ * threads ({@link ComputerJdbcReadService}), nos mesmos caminhos sob {@code /vt}.
+ * Existe para comparar os dois modelos lado a lado (ver
+ * {@code k6/read-backend-benchmark.js}); por isso a paginação não passa pelo
+ * cache de respostas.
+ */
+@Path("vt/computer")
+@ApplicationScoped
+@IfBuildProperty(name = "computers.read.jdbc.enabled", stringValue = "true")
+@Produces({ MediaType.APPLICATION_JSON, PayloadFormat.APPLICATION_CBOR, PayloadFormat.APPLICATION_SMILE })
+public class ComputersJdbcResource {
+
+    @Inject
+    ComputerJdbcReadService readService;
+
+    @GET
+    @RunOnVirtualThread
+    @Path("pagination")
+    public List<ComputerEntity> pagination(@QueryParam("createdAt") LocalDateTime createdAt,
+            @QueryParam("id") Long id, @QueryParam("limit") int limit) {
+        return readService.pagination(createdAt, id, limit);
+    }
+
+    @GET
+    @RunOnVirtualThread
+    @Path("search")
+    public List<ComputerEntity> search(@QueryParam("gpu") String gpu,
+            @QueryParam("ramMin") Integer ramMin, @QueryParam("ramMax") Integer ramMax,
+            @QueryParam("priceMin") BigDecimal priceMin, @QueryParam("priceMax") BigDecimal priceMax,
+            @QueryParam("storageType") String storageType,
+            @QueryParam("sort") @DefaultValue("created_at") String sort,
+            @QueryParam("order") @DefaultValue("desc") String order,
+            @QueryParam("after") String after, @QueryParam("afterId") Long afterId,
+            @QueryParam("limit") int limit) {
+        return readService.search(SearchCriteria.of(gpu, ramMin, ramMax, priceMin, priceMax, storageType,
+                sort, order, after, afterId, limit));
+    }
+
+    @GET
+    @RunOnVirtualThread
+    @Path("search/gpu/{search}")
+    public List<ComputerEntity> searchGPU(@PathParam("search") String search) {
+        return readService.searchByGpu(search);
+    }
+
+    @GET
+    @RunOnVirtualThread
+    @Path("search/ram/{capacity}")
+    public List<ComputerEntity> searchRAM(@PathParam("capacity") Integer capacity) {
+        return readService.searchByRamCapacity(capacity);
+    }
+}
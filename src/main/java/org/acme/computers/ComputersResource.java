@@ -1,30 +1,119 @@
 package org.acme.computers;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.common.annotation.NonBlocking;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import jakarta.ws.rs.*;
+import jakarta.ws.rs.core.HttpHeaders;
 import jakarta.ws.rs.core.MediaType;
+import org.acme.computers.batch.BatchReadRequest;
+import org.acme.computers.batch.BatchReadResponse;
+import org.acme.computers.batch.BatchReadService;
+import org.acme.computers.batch.IdsRequest;
+import org.acme.computers.batch.ManyByIdService;
+import org.acme.computers.bulk.BulkJob;
+import org.acme.computers.bulk.BulkJobRequest;
+import org.acme.computers.bulk.BulkJobService;
+import org.acme.computers.cache.ResponseCache;
+import org.acme.computers.codec.CreatePayload;
+import org.acme.computers.codec.CreatePayloadReader;
+import org.acme.computers.codec.PayloadFormat;
+import org.acme.computers.columnar.ColumnarCatalogService;
+import org.acme.computers.columnar.ColumnarFilter;
 import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.acme.computers.facets.FacetCounts;
+import org.acme.computers.facets.FacetService;
+import org.acme.computers.patch.DescriptionPatch;
+import org.acme.computers.patch.VersionTag;
+import org.acme.computers.pool.AdaptivePoolLimits;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.search.SearchSort;
 import org.acme.computers.service.ComputerReadService;
 import org.acme.computers.service.ComputerWriteService;
+import org.acme.computers.stats.CountResult;
+import org.acme.computers.stats.CountService;
+import org.acme.computers.stats.PriceQuantiles;
+import org.acme.computers.stats.PriceStats;
+import org.acme.computers.stats.PriceStatsService;
+import org.acme.computers.suggest.Suggestion;
+import org.acme.computers.stream.ComputerNotification;
+import org.acme.computers.stream.ComputerStreamService;
+import org.acme.computers.stream.StreamFilter;
+import org.acme.computers.suggest.SuggestService;
+import org.acme.computers.writebehind.WriteBehindService;
+import org.acme.computers.writebehind.WriteTicket;
 import org.jboss.resteasy.reactive.RestResponse;
+import org.jboss.resteasy.reactive.RestStreamElementType;
 
+import java.math.BigDecimal;
+import java.net.URI;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.UUID;
 
+/**
+ * Endpoints do catálogo de computadores. Todos negociam JSON (padrão), CBOR ou
+ * Smile via {@code Accept}/{@code Content-Type}.
+ */
 @Path("computer")
 @ApplicationScoped
-@Produces(MediaType.APPLICATION_JSON)
-@Consumes(MediaType.APPLICATION_JSON)
+@Produces({ MediaType.APPLICATION_JSON, PayloadFormat.APPLICATION_CBOR, PayloadFormat.APPLICATION_SMILE })
+@Consumes({ MediaType.APPLICATION_JSON, PayloadFormat.APPLICATION_CBOR, PayloadFormat.APPLICATION_SMILE })
 public class ComputersResource {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     @Inject
     ComputerReadService readService;
 
     @Inject
     ComputerWriteService writeService;
 
+    @Inject
+    ResponseCache responseCache;
+
+    @Inject
+    FacetService facetService;
+
+    @Inject
+    PriceStatsService priceStatsService;
+
+    @Inject
+    WriteBehindService writeBehind;
+
+    @Inject
+    BatchReadService batchReadService;
+
+    @Inject
+    CountService countService;
+
+    @Inject
+    SuggestService suggestService;
+
+    @Inject
+    ComputerStreamService streamService;
+
+    @Inject
+    AdaptivePoolLimits poolLimits;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    BulkJobService bulkJobService;
+
+    @Inject
+    CreatePayloadReader payloadReader;
+
+    @Inject
+    ManyByIdService manyByIdService;
+
+    @Inject
+    ColumnarCatalogService columnarCatalog;
+
     /**
      * Deprecated
      * Lista todos os computadores — leitura via RÉPLICA (slave).
@@ -37,21 +126,145 @@ public class ComputersResource {
 
     /**
      * Lista computadores em ordem decrescente de criação, com paginação.
+     * Páginas quentes saem do {@link ResponseCache} já serializadas; com
+     * {@code If-None-Match} igual à ETag atual a resposta é 304, sem tocar no banco.
      */
     @GET
     @Path("pagination")
-    public Uni<List<ComputerEntity>> pagination(@QueryParam("createdAt") LocalDateTime createdAt,
-            @QueryParam("id") Long id, @QueryParam("limit") int limit) {
-        return readService.pagination(createdAt, id, limit);
+    public Uni<RestResponse<byte[]>> pagination(@QueryParam("createdAt") LocalDateTime createdAt,
+            @QueryParam("id") Long id, @QueryParam("limit") int limit,
+            @HeaderParam(HttpHeaders.ACCEPT) String accept,
+            @HeaderParam(HttpHeaders.IF_NONE_MATCH) String ifNoneMatch,
+            @HeaderParam(HttpHeaders.ACCEPT_ENCODING) String acceptEncoding) {
+        String key = "pagination:" + createdAt + ":" + id + ":" + limit;
+        return responseCache.serve(key, PayloadFormat.negotiate(accept), ifNoneMatch, acceptEncoding,
+                () -> readService.pagination(createdAt, id, limit));
     }
 
     /**
      * Cria um novo computador — escrita via PRIMARY (master).
+     * Com o write-behind habilitado, responde 202 assim que o create está no log
+     * local; a situação pode ser acompanhada em {@code tracking/{trackingId}}.
+     * Com {@code Idempotency-Key}, retries com a mesma chave devolvem o resultado
+     * da primeira requisição em vez de criar outra linha.
+     * O corpo é validado em uma passada pelo {@link CreatePayloadReader}, sem virar
+     * {@link ComputerDescriptionDTO}, e o JSON recebido é gravado como está.
      */
     @POST
-    public Uni<RestResponse<ComputerEntity>> create(ComputerDescriptionDTO dto) {
-        return writeService.create(dto)
-                .map(entity -> RestResponse.status(RestResponse.Status.CREATED, entity));
+    public Uni<RestResponse<Object>> create(byte[] body, @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+            @HeaderParam(IDEMPOTENCY_KEY) String idempotencyKey) {
+        CreatePayload payload = payloadReader.read(body, PayloadFormat.fromContentType(contentType));
+        if (writeBehind.isEnabled()) {
+            return writeBehind.enqueue(payload, idempotencyKey)
+                    .map(ticket -> RestResponse.ResponseBuilder.<Object>create(RestResponse.Status.ACCEPTED, ticket)
+                            .location(URI.create("/computer/tracking/" + ticket.trackingId()))
+                            .build());
+        }
+        return writeService.create(payload, idempotencyKey)
+                .map(entity -> RestResponse.<Object>status(RestResponse.Status.CREATED, entity));
+    }
+
+    /**
+     * Situação de um create aceito pelo write-behind: PENDING ou APPLIED (com o id).
+     */
+    @GET
+    @Path("tracking/{trackingId}")
+    public Uni<RestResponse<WriteTicket>> tracking(@PathParam("trackingId") UUID trackingId) {
+        return writeBehind.status(trackingId)
+                .map(ticket -> ticket != null
+                        ? RestResponse.ok(ticket)
+                        : RestResponse.status(RestResponse.Status.NOT_FOUND));
+    }
+
+    /**
+     * Busca composta — leitura via RÉPLICA.
+     * Combina filtros de GPU, faixa de RAM, faixa de preço e tipo de armazenamento,
+     * ordenando por {@code created_at} ou {@code price}. Para a próxima página,
+     * envie em {@code after}/{@code afterId} a chave de ordenação e o id do último item.
+     */
+    @GET
+    @Path("search")
+    public Uni<List<ComputerEntity>> search(@QueryParam("gpu") String gpu,
+            @QueryParam("ramMin") Integer ramMin, @QueryParam("ramMax") Integer ramMax,
+            @QueryParam("priceMin") BigDecimal priceMin, @QueryParam("priceMax") BigDecimal priceMax,
+            @QueryParam("storageType") String storageType,
+            @QueryParam("sort") @DefaultValue("created_at") String sort,
+            @QueryParam("order") @DefaultValue("desc") String order,
+            @QueryParam("after") String after, @QueryParam("afterId") Long afterId,
+            @QueryParam("limit") int limit) {
+        SearchCriteria criteria;
+        try {
+            criteria = SearchCriteria.of(gpu, ramMin, ramMax, priceMin, priceMax, storageType,
+                    sort, order, after, afterId, limit);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return readService.search(criteria);
+    }
+
+    /**
+     * Filtro por faixas de preço, RAM, VRAM, armazenamento, TDP da GPU e potência da
+     * fonte, além de modelo e fabricante da GPU — avaliado no catálogo colunar em
+     * memória; só a página final é lida da RÉPLICA, pelo id. Ordena por {@code price}
+     * ou {@code id}; para a próxima página envie {@code after} (preço) e {@code afterId}.
+     * Responde 503 com o catálogo colunar desligado ou ainda carregando.
+     */
+    @GET
+    @Path("filter")
+    public Uni<List<ComputerEntity>> filter(@QueryParam("gpu") String gpu,
+            @QueryParam("manufacturer") String manufacturer,
+            @QueryParam("priceMin") BigDecimal priceMin, @QueryParam("priceMax") BigDecimal priceMax,
+            @QueryParam("ramMin") Integer ramMin, @QueryParam("ramMax") Integer ramMax,
+            @QueryParam("vramMin") Integer vramMin, @QueryParam("vramMax") Integer vramMax,
+            @QueryParam("storageMin") Integer storageMin, @QueryParam("storageMax") Integer storageMax,
+            @QueryParam("tdpMin") Integer tdpMin, @QueryParam("tdpMax") Integer tdpMax,
+            @QueryParam("psuMin") Integer psuMin, @QueryParam("psuMax") Integer psuMax,
+            @QueryParam("sort") @DefaultValue("price") String sort,
+            @QueryParam("order") @DefaultValue("asc") String order,
+            @QueryParam("after") String after, @QueryParam("afterId") Long afterId,
+            @QueryParam("limit") @DefaultValue("20") int limit) {
+        ColumnarFilter filter;
+        try {
+            filter = ColumnarFilter.of(gpu, manufacturer, priceMin, priceMax, ramMin, ramMax, vramMin, vramMax,
+                    storageMin, storageMax, tdpMin, tdpMax, psuMin, psuMax, sort, order, after, afterId, limit);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return columnarCatalog.filter(filter);
+    }
+
+    /**
+     * Várias leituras numa requisição (ex.: última página, buscas e facetas de uma
+     * tela) — leitura via RÉPLICA, em pipeline numa única conexão por réplica.
+     * Os resultados voltam na ordem das operações.
+     */
+    @POST
+    @Path("batch-read")
+    public Uni<BatchReadResponse> batchRead(BatchReadRequest request) {
+        return batchReadService.read(request);
+    }
+
+    /**
+     * Computadores de uma lista de ids (ex.: carrinho, resultado de busca externa)
+     * — leitura via RÉPLICA, um único {@code = ANY($1)} por shard. Os itens saem
+     * na ordem dos ids pedidos; ids inexistentes são omitidos.
+     */
+    @POST
+    @Path("get-many")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Multi<ComputerEntity> getMany(IdsRequest request) {
+        return manyByIdService.getMany(request);
+    }
+
+    /**
+     * Remove uma lista de ids — escrita via PRIMARY, um único {@code DELETE ... = ANY($1)}
+     * por shard. Devolve os ids efetivamente removidos, na ordem pedida.
+     */
+    @POST
+    @Path("delete-many")
+    @Produces(MediaType.APPLICATION_JSON)
+    public Multi<Long> deleteMany(IdsRequest request) {
+        return manyByIdService.deleteMany(request);
     }
 
     /**
@@ -72,6 +285,170 @@ public class ComputersResource {
         return readService.searchByRamCapacity(capacity);
     }
 
+    /**
+     * Contagens por faceta (GPU, RAM, armazenamento, fonte e faixa de preço) —
+     * servidas da memória, sem acessar o banco.
+     */
+    @GET
+    @NonBlocking
+    @Path("facets")
+    public FacetCounts facets() {
+        return facetService.counts();
+    }
+
+    /**
+     * Feed (SSE) dos computadores criados a partir da conexão, alimentado por
+     * LISTEN/NOTIFY no primary em vez de polling na réplica. Filtros opcionais
+     * com a mesma semântica da busca.
+     */
+    @GET
+    @Path("stream")
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @RestStreamElementType(MediaType.APPLICATION_JSON)
+    public Multi<ComputerNotification> stream(@QueryParam("gpu") String gpu,
+            @QueryParam("ramMin") Integer ramMin, @QueryParam("ramMax") Integer ramMax,
+            @QueryParam("priceMax") BigDecimal priceMax) {
+        if (!streamService.isEnabled()) {
+            throw new NotFoundException();
+        }
+        return streamService.subscribe(new StreamFilter(gpu, ramMin, ramMax, priceMax));
+    }
+
+    /**
+     * Autocomplete por prefixo (sem diferenciar maiúsculas) para {@code gpu},
+     * {@code chipset}, {@code socket} ou {@code storage}: valores mais frequentes
+     * primeiro, servidos de uma árvore em memória, sem acessar o banco.
+     */
+    @GET
+    @NonBlocking
+    @Path("suggest/{field}")
+    public List<Suggestion> suggest(@PathParam("field") String field, @QueryParam("prefix") String prefix,
+            @QueryParam("limit") int limit) {
+        return suggestService.suggest(field, prefix, limit);
+    }
+
+    /**
+     * Total de computadores, opcionalmente com os mesmos filtros de {@code search}.
+     * Por padrão é a estimativa do planejador (sem varrer a tabela); com
+     * {@code exact=true}, {@code count(*)} na RÉPLICA. A resposta indica se é aproximada.
+     */
+    @GET
+    @Path("count")
+    public Uni<CountResult> count(@QueryParam("gpu") String gpu,
+            @QueryParam("ramMin") Integer ramMin, @QueryParam("ramMax") Integer ramMax,
+            @QueryParam("priceMin") BigDecimal priceMin, @QueryParam("priceMax") BigDecimal priceMax,
+            @QueryParam("storageType") String storageType,
+            @QueryParam("exact") boolean exact) {
+        SearchCriteria criteria;
+        try {
+            criteria = SearchCriteria.of(gpu, ramMin, ramMax, priceMin, priceMax, storageType,
+                    SearchSort.CREATED_AT.name(), "desc", null, null, 1);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return countService.count(criteria, exact);
+    }
+
+    /**
+     * Quantidade de valores distintos de {@code gpu} (modelo) ou {@code name}, de
+     * sketches HyperLogLog em memória; {@code exact=true} usa {@code count(DISTINCT)}.
+     */
+    @GET
+    @Path("count/distinct/{dimension}")
+    public Uni<CountResult> countDistinct(@PathParam("dimension") String dimension,
+            @QueryParam("exact") boolean exact) {
+        return countService.distinct(dimension, exact);
+    }
+
+    /**
+     * Percentis de preço (p10/p50/p90) gerais, por modelo de GPU e por capacidade de RAM —
+     * servidos de sketches em memória.
+     */
+    @GET
+    @NonBlocking
+    @Path("stats/price")
+    public PriceStats priceStats() {
+        return priceStatsService.stats();
+    }
+
+    /**
+     * Percentis de preço de um único grupo: {@code dimension} é {@code gpu} ou {@code ram}.
+     */
+    @GET
+    @NonBlocking
+    @Path("stats/price/{dimension}/{key}")
+    public RestResponse<PriceQuantiles> priceStatsGroup(@PathParam("dimension") String dimension,
+            @PathParam("key") String key) {
+        PriceQuantiles quantiles = priceStatsService.group(dimension, key);
+        return quantiles != null
+                ? RestResponse.ok(quantiles)
+                : RestResponse.status(RestResponse.Status.NOT_FOUND);
+    }
+
+    /**
+     * Altera campos da descrição de um computador — escrita via PRIMARY (master).
+     * Aceita JSON Merge Patch ({@code application/merge-patch+json}) ou JSON Patch
+     * ({@code application/json-patch+json}), aplicados com operações JSONB pontuais
+     * em vez de regravar o documento. Com {@code If-Match} (a ETag devolvida aqui),
+     * uma escrita concorrente resulta em {@code 412}.
+     */
+    @PATCH
+    @Path("{id}")
+    @Consumes({ DescriptionPatch.MERGE_PATCH, DescriptionPatch.JSON_PATCH })
+    public Uni<RestResponse<ComputerEntity>> patch(@PathParam("id") long id, String body,
+            @HeaderParam(HttpHeaders.CONTENT_TYPE) String contentType,
+            @HeaderParam(HttpHeaders.IF_MATCH) String ifMatch) {
+        DescriptionPatch patch = DescriptionPatch.parse(contentType, body, objectMapper);
+        return writeService.patch(id, patch, VersionTag.parse(ifMatch))
+                .map(entity -> entity != null
+                        ? RestResponse.ResponseBuilder.ok(entity)
+                                .header(HttpHeaders.ETAG, VersionTag.format(entity.version))
+                                .build()
+                        : RestResponse.status(RestResponse.Status.NOT_FOUND));
+    }
+
+    /**
+     * Agenda uma mutação em massa ({@code set_price} ou {@code delete}) sobre os
+     * computadores que passam nos filtros. Responde {@code 202} na hora; o job roda
+     * em lotes com pausa entre eles e o progresso fica em {@code bulk-jobs/{id}} e no /ssr.
+     */
+    @POST
+    @Path("bulk-jobs")
+    public Uni<RestResponse<BulkJob>> submitBulkJob(BulkJobRequest request) {
+        return bulkJobService.submit(request)
+                .map(job -> RestResponse.ResponseBuilder.create(RestResponse.Status.ACCEPTED, job)
+                        .location(URI.create("/computer/bulk-jobs/" + job.id()))
+                        .build());
+    }
+
+    @GET
+    @Path("bulk-jobs")
+    public Uni<List<BulkJob>> bulkJobs(@QueryParam("limit") @DefaultValue("20") int limit) {
+        return bulkJobService.recent(limit);
+    }
+
+    @GET
+    @Path("bulk-jobs/{id}")
+    public Uni<RestResponse<BulkJob>> bulkJob(@PathParam("id") long id) {
+        return bulkJobService.find(id)
+                .map(job -> job != null ? RestResponse.ok(job) : RestResponse.status(RestResponse.Status.NOT_FOUND));
+    }
+
+    /** Cancela o job; o lote em andamento termina e nenhum outro começa. */
+    @POST
+    @Path("bulk-jobs/{id}/cancel")
+    public Uni<RestResponse<BulkJob>> cancelBulkJob(@PathParam("id") long id) {
+        return bulkJobService.cancel(id)
+                .map(job -> job != null ? RestResponse.ok(job) : RestResponse.status(RestResponse.Status.NOT_FOUND));
+    }
+
+    /** Decisões recentes do limite adaptativo dos pools (exibidas no /ssr). */
+    @GET
+    @Path("pool-limits")
+    public List<AdaptivePoolLimits.PoolDecision> poolLimits(@QueryParam("limit") @DefaultValue("20") int limit) {
+        return poolLimits.decisions(limit);
+    }
+
     /**
      * Remove um computador pelo nome — escrita via PRIMARY (master).
      */
@@ -0,0 +1,18 @@
+package org.acme.computers;
+
+/**
+ * A requisição do cliente é inválida (parâmetro, header ou corpo): vira 400 com a
+ * mensagem. Estende {@link IllegalArgumentException} para os validadores continuarem
+ * sendo tratados como argumento inválido; um {@code IllegalArgumentException}
+ * comum (bug interno, biblioteca) não é exposto ao cliente e continua sendo 500.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,45 @@
+package org.acme.computers.admission;
+
+import java.time.Duration;
+
+/**
+ * Decide o que fazer com uma escrita a partir do atraso de replay da réplica.
+ *
+ * Até {@code softLimit} a escrita passa direto; entre {@code softLimit} e
+ * {@code hardLimit} ela espera um tempo proporcional ao excesso (até
+ * {@code maxDelay}); acima de {@code hardLimit} é recusada.
+ */
+public record ThrottlePolicy(Duration softLimit, Duration hardLimit, Duration maxDelay) {
+
+    public enum State {
+        NORMAL, DELAYING, REJECTING
+    }
+
+    public ThrottlePolicy {
+        if (softLimit.isNegative() || hardLimit.compareTo(softLimit) <= 0) {
+            throw new IllegalArgumentException("admission hard-limit must be greater than soft-limit");
+        }
+        if (maxDelay.isNegative()) {
+            throw new IllegalArgumentException("admission max-delay must not be negative");
+        }
+    }
+
+    public State state(long lagMillis) {
+        if (lagMillis <= softLimit.toMillis()) {
+            return State.NORMAL;
+        }
+        return lagMillis > hardLimit.toMillis() ? State.REJECTING : State.DELAYING;
+    }
+
+    /** Espera de uma escrita com este atraso: cresce linearmente de 0 (soft) a {@code maxDelay} (hard). */
+    public Duration delay(long lagMillis) {
+        long soft = softLimit.toMillis();
+        long excess = Math.clamp(lagMillis - soft, 0, hardLimit.toMillis() - soft);
+        return Duration.ofMillis(maxDelay.toMillis() * excess / (hardLimit.toMillis() - soft));
+    }
+
+    /** Segundos sugeridos no {@code Retry-After}: o tempo que a réplica leva para alcançar o primary. */
+    public long retryAfterSeconds(long lagMillis) {
+        return Math.max(1, (lagMillis + 999) / 1000);
+    }
+}
@@ -0,0 +1,182 @@
+package org.acme.computers.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.mutiny.sqlclient.Row;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Controle de admissão das escritas guiado pelo atraso de replay da réplica.
+ *
+ * O atraso de cada shard é medido no próprio primary ({@code replay_lag} de
+ * {@code pg_stat_replication}) a cada {@code poll-interval}; {@link #admit(Shard)}
+ * aplica a {@link ThrottlePolicy} a esse valor antes de cada escrita. Escritas
+ * atrasadas esperam numa fila limitada a {@code max-queued}; quem não cabe nela,
+ * ou chega com o atraso acima do limite duro, recebe {@link WriteThrottledException}.
+ *
+ * Sem medição (réplica desconectada, consulta falhou) as escritas passam: a
+ * admissão só freia quando há um atraso observado.
+ */
+@ApplicationScoped
+public class WriteAdmission {
+
+    private static final Logger LOG = Logger.getLogger(WriteAdmission.class);
+
+    // replay_lag fica nulo quando a réplica está em dia e o primary ocioso
+    private static final String REPLAY_LAG_SQL = """
+            SELECT COALESCE((EXTRACT(EPOCH FROM max(replay_lag)) * 1000)::bigint, 0) AS lag_ms
+            FROM pg_stat_replication
+            """;
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "computers.admission.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "computers.admission.soft-limit", defaultValue = "1s")
+    Duration softLimit;
+
+    @ConfigProperty(name = "computers.admission.hard-limit", defaultValue = "5s")
+    Duration hardLimit;
+
+    @ConfigProperty(name = "computers.admission.max-delay", defaultValue = "1s")
+    Duration maxDelay;
+
+    @ConfigProperty(name = "computers.admission.max-queued", defaultValue = "100")
+    int maxQueued;
+
+    private ThrottlePolicy policy;
+
+    private AtomicLongArray lagMillis;
+
+    private final AtomicInteger queued = new AtomicInteger();
+
+    private Counter delayed;
+
+    private Counter rejected;
+
+    @PostConstruct
+    void init() {
+        policy = new ThrottlePolicy(softLimit, hardLimit, maxDelay);
+        lagMillis = new AtomicLongArray(router.shards().size());
+        for (Shard shard : router.shards()) {
+            String index = String.valueOf(shard.index());
+            Gauge.builder("computers.admission.replica_lag", lagMillis, lags -> lags.get(shard.index()))
+                    .description("Atraso de replay da réplica medido no primary (ms)")
+                    .tag("shard", index)
+                    .register(registry);
+            Gauge.builder("computers.admission.state", this, admission -> admission.state(shard).ordinal())
+                    .description("Estado da admissão de escritas: 0 normal, 1 atrasando, 2 recusando")
+                    .tag("shard", index)
+                    .register(registry);
+        }
+        Gauge.builder("computers.admission.queued", queued, AtomicInteger::get)
+                .description("Escritas aguardando a réplica alcançar o primary")
+                .register(registry);
+        delayed = Counter.builder("computers.admission.delayed")
+                .description("Escritas atrasadas pelo atraso da réplica")
+                .register(registry);
+        rejected = Counter.builder("computers.admission.rejected")
+                .description("Escritas recusadas (429) pelo atraso da réplica")
+                .register(registry);
+    }
+
+    @Scheduled(every = "{computers.admission.poll-interval}", identity = "replica-lag-monitor",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> measure() {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        return Multi.createFrom().iterable(router.shards())
+                .onItem().transformToUniAndConcatenate(shard -> shard.primary().query(REPLAY_LAG_SQL).execute()
+                        .onItem().invoke(rows -> record(shard, rows.iterator().next()))
+                        // Mantém a última medição: sem primary a escrita falha de qualquer forma
+                        .onFailure().invoke(failure -> LOG.warnf("[ADMISSION] shard %d: falha ao medir o atraso da réplica: %s",
+                                shard.index(), failure.getMessage()))
+                        .onFailure().recoverWithNull())
+                .collect().last()
+                .replaceWithVoid();
+    }
+
+    private void record(Shard shard, Row row) {
+        long lag = row.getLong("lag_ms");
+        ThrottlePolicy.State previous = state(shard);
+        lagMillis.set(shard.index(), lag);
+        ThrottlePolicy.State current = state(shard);
+        if (current != previous) {
+            LOG.infof("[ADMISSION] shard %d: %s -> %s (atraso da réplica %d ms)", shard.index(), previous, current, lag);
+        }
+    }
+
+    /**
+     * Completa quando a escrita no primary do shard pode prosseguir — na hora,
+     * ou após a espera proporcional ao atraso — ou falha com {@link WriteThrottledException}.
+     */
+    public Uni<Void> admit(Shard shard) {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        long lag = lagMillis.get(shard.index());
+        return switch (policy.state(lag)) {
+            case NORMAL -> Uni.createFrom().voidItem();
+            case REJECTING -> reject(shard, lag);
+            case DELAYING -> {
+                if (queued.incrementAndGet() > maxQueued) {
+                    queued.decrementAndGet();
+                    yield reject(shard, lag);
+                }
+                delayed.increment();
+                yield resumeOnCaller(Uni.createFrom().voidItem().onItem().delayIt().by(policy.delay(lag)))
+                        .eventually(queued::decrementAndGet);
+            }
+        };
+    }
+
+    // A espera termina numa thread do Mutiny; a continuação volta ao contexto Vert.x (event loop) da requisição,
+    // como o resto do pipeline, em vez de seguir o INSERT a partir da thread do timer
+    private static Uni<Void> resumeOnCaller(Uni<Void> wait) {
+        Context context = Vertx.currentContext();
+        return context == null ? wait : wait.emitOn(command -> context.runOnContext(ignored -> command.run()));
+    }
+
+    private Uni<Void> reject(Shard shard, long lag) {
+        rejected.increment();
+        return Uni.createFrom().failure(new WriteThrottledException(
+                "replica of shard %d is %d ms behind, retry later".formatted(shard.index(), lag),
+                policy.retryAfterSeconds(lag)));
+    }
+
+    public ThrottlePolicy.State state(Shard shard) {
+        return enabled ? policy.state(lagMillis.get(shard.index())) : ThrottlePolicy.State.NORMAL;
+    }
+
+    /** Se algum shard está freando escritas — usado por quem escreve em segundo plano. */
+    public boolean isThrottling() {
+        for (Shard shard : router.shards()) {
+            if (state(shard) != ThrottlePolicy.State.NORMAL) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,18 @@
+package org.acme.computers.admission;
+
+/**
+ * Escrita recusada porque a réplica está atrasada demais (HTTP 429).
+ */
+public class WriteThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public WriteThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long retryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,12 @@
+package org.acme.computers.batch;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * Corpo de {@code POST /computer/batch-read}.
+ */
+@RegisterForReflection
+public record BatchReadRequest(List<ReadOperation> operations) {
+}
@@ -0,0 +1,13 @@
+package org.acme.computers.batch;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * Resposta de {@code POST /computer/batch-read}: um resultado por operação, na
+ * ordem do pedido — lista de computadores ou, para {@code facets}, as contagens.
+ */
+@RegisterForReflection
+public record BatchReadResponse(List<Object> results) {
+}
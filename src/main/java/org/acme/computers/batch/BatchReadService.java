@@ -0,0 +1,107 @@
+package org.acme.computers.batch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.facets.FacetService;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.service.ComputerReadService;
+import org.acme.computers.service.ReadQuery;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Executa as leituras de uma carga de página (última página, buscas, facetas)
+ * numa única requisição: as consultas ao banco vão em pipeline numa só conexão
+ * por réplica ({@link ComputerReadService#pipelined(List)}); facetas saem da memória.
+ */
+@ApplicationScoped
+public class BatchReadService {
+
+    @Inject
+    ComputerReadService readService;
+
+    @Inject
+    FacetService facetService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "computers.batch-read.max-operations", defaultValue = "16")
+    int maxOperations;
+
+    private DistributionSummary batchSize;
+
+    @PostConstruct
+    void init() {
+        batchSize = DistributionSummary.builder("computers.batch_read.operations")
+                .description("Leituras por batch-read; cada lote usa uma conexão por réplica")
+                .register(registry);
+    }
+
+    public Uni<BatchReadResponse> read(BatchReadRequest request) {
+        List<ReadOperation> operations = request != null ? request.operations() : null;
+        List<ReadQuery> queries = new ArrayList<>();
+        try {
+            if (operations == null || operations.isEmpty()) {
+                throw new InvalidRequestException("operations must not be empty");
+            }
+            if (operations.size() > maxOperations) {
+                throw new InvalidRequestException("at most " + maxOperations + " operations per batch");
+            }
+            for (ReadOperation operation : operations) {
+                if (operation == null || operation.type() == null) {
+                    throw new InvalidRequestException("every operation needs a type");
+                }
+                if (operation.type() != ReadOperation.Type.FACETS) {
+                    queries.add(plan(operation));
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        batchSize.record(operations.size());
+
+        return readService.pipelined(queries)
+                .onItem().transform(results -> {
+                    Iterator<List<ComputerEntity>> fromDatabase = results.iterator();
+                    List<Object> combined = new ArrayList<>(operations.size());
+                    for (ReadOperation operation : operations) {
+                        combined.add(operation.type() == ReadOperation.Type.FACETS
+                                ? facetService.counts()
+                                : fromDatabase.next());
+                    }
+                    return new BatchReadResponse(combined);
+                });
+    }
+
+    private ReadQuery plan(ReadOperation operation) {
+        return switch (operation.type()) {
+            case PAGINATION -> readService.paginationQuery(operation.createdAt(), operation.id(),
+                    operation.limitOrZero());
+            case SEARCH -> readService.searchQuery(SearchCriteria.of(operation.gpu(), operation.ramMin(),
+                    operation.ramMax(), operation.priceMin(), operation.priceMax(), operation.storageType(),
+                    operation.sort() != null ? operation.sort() : "created_at",
+                    operation.order() != null ? operation.order() : "desc",
+                    operation.after(), operation.afterId(), operation.limitOrZero()));
+            case GPU -> readService.gpuQuery(require(operation.gpu(), "gpu"));
+            case RAM -> readService.ramQuery(require(operation.capacity(), "capacity"));
+            case FACETS -> throw new IllegalStateException("facets are served from memory");
+        };
+    }
+
+    private static <T> T require(T value, String field) {
+        if (value == null) {
+            throw new InvalidRequestException(field + " is required");
+        }
+        return value;
+    }
+}
@@ -0,0 +1,12 @@
+package org.acme.computers.batch;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.List;
+
+/**
+ * Corpo de {@code POST /computer/get-many} e {@code POST /computer/delete-many}.
+ */
+@RegisterForReflection
+public record IdsRequest(List<Long> ids) {
+}
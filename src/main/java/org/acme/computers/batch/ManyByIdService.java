@@ -0,0 +1,108 @@
+package org.acme.computers.batch;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Multi;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.service.ComputerReadService;
+import org.acme.computers.service.ComputerWriteService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Leitura e remoção de uma lista de ids (resultado de busca, carrinho) numa
+ * requisição: um único statement {@code = ANY($1)} por shard, na réplica para
+ * ler e no primary para remover. Os resultados são emitidos um a um na ordem
+ * dos ids pedidos; ids repetidos contam uma vez e inexistentes ficam de fora.
+ */
+@ApplicationScoped
+public class ManyByIdService {
+
+    @Inject
+    ComputerReadService readService;
+
+    @Inject
+    ComputerWriteService writeService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "computers.many.max-ids", defaultValue = "5000")
+    int maxIds;
+
+    private DistributionSummary getSize;
+
+    private DistributionSummary deleteSize;
+
+    @PostConstruct
+    void init() {
+        getSize = DistributionSummary.builder("computers.many.ids")
+                .description("Ids por requisição de get-many/delete-many")
+                .tag("operation", "get")
+                .register(registry);
+        deleteSize = DistributionSummary.builder("computers.many.ids")
+                .description("Ids por requisição de get-many/delete-many")
+                .tag("operation", "delete")
+                .register(registry);
+    }
+
+    public Multi<ComputerEntity> getMany(IdsRequest request) {
+        List<Long> ids;
+        try {
+            ids = distinctIds(request, maxIds);
+        } catch (IllegalArgumentException e) {
+            return Multi.createFrom().failure(e);
+        }
+        getSize.record(ids.size());
+        return readService.findByIds(ids)
+                .onItem().transformToMulti(found -> Multi.createFrom().iterable(inRequestOrder(ids, found)));
+    }
+
+    /** @return os ids removidos, na ordem pedida */
+    public Multi<Long> deleteMany(IdsRequest request) {
+        List<Long> ids;
+        try {
+            ids = distinctIds(request, maxIds);
+        } catch (IllegalArgumentException e) {
+            return Multi.createFrom().failure(e);
+        }
+        deleteSize.record(ids.size());
+        return writeService.deleteByIds(ids)
+                .onItem().transformToMulti(deleted -> Multi.createFrom().iterable(
+                        ids.stream().filter(deleted::contains).toList()));
+    }
+
+    static List<Long> distinctIds(IdsRequest request, int maxIds) {
+        if (request == null || request.ids() == null || request.ids().isEmpty()) {
+            throw new InvalidRequestException("ids must not be empty");
+        }
+        if (request.ids().size() > maxIds) {
+            throw new InvalidRequestException("at most " + maxIds + " ids per request");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(request.ids());
+        if (distinct.contains(null)) {
+            throw new InvalidRequestException("ids must not contain null");
+        }
+        return List.copyOf(distinct);
+    }
+
+    static List<ComputerEntity> inRequestOrder(List<Long> ids, Map<Long, ComputerEntity> found) {
+        List<ComputerEntity> ordered = new ArrayList<>(found.size());
+        for (Long id : ids) {
+            ComputerEntity entity = found.get(id);
+            if (entity != null) {
+                ordered.add(entity);
+            }
+        }
+        return ordered;
+    }
+}
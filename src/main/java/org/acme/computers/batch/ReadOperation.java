@@ -0,0 +1,59 @@
+package org.acme.computers.batch;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.acme.computers.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Uma leitura dentro de {@code POST /computer/batch-read}. Os campos usados
+ * dependem de {@code type} e têm o mesmo significado dos query params do
+ * endpoint equivalente:
+ * <ul>
+ * <li>{@code pagination}: {@code createdAt}, {@code id}, {@code limit}</li>
+ * <li>{@code search}: {@code gpu}, {@code ramMin}, {@code ramMax}, {@code priceMin},
+ * {@code priceMax}, {@code storageType}, {@code sort}, {@code order}, {@code after},
+ * {@code afterId}, {@code limit}</li>
+ * <li>{@code gpu}: {@code gpu}</li>
+ * <li>{@code ram}: {@code capacity}</li>
+ * <li>{@code facets}: nenhum (servido da memória)</li>
+ * </ul>
+ */
+@RegisterForReflection
+public record ReadOperation(
+        Type type,
+        LocalDateTime createdAt,
+        Long id,
+        Integer limit,
+        String gpu,
+        Integer capacity,
+        Integer ramMin,
+        Integer ramMax,
+        BigDecimal priceMin,
+        BigDecimal priceMax,
+        String storageType,
+        String sort,
+        String order,
+        String after,
+        Long afterId) {
+
+    public enum Type {
+        PAGINATION, SEARCH, GPU, RAM, FACETS;
+
+        @JsonCreator
+        public static Type from(String value) {
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new InvalidRequestException("unknown read operation: " + value);
+            }
+        }
+    }
+
+    int limitOrZero() {
+        return limit != null ? limit : 0;
+    }
+}
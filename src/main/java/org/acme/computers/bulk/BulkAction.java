@@ -0,0 +1,22 @@
+package org.acme.computers.bulk;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import org.acme.computers.InvalidRequestException;
+
+import java.util.Locale;
+
+/** Mutação aplicada por um job em massa a cada computador que passa nos filtros. */
+public enum BulkAction {
+    /** Define {@code price} (coluna e documento). */
+    SET_PRICE,
+    DELETE;
+
+    @JsonCreator
+    public static BulkAction from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT).replace('-', '_'));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("unknown bulk action: " + value);
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package org.acme.computers.bulk;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.sqlclient.Row;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Situação de um job em massa, como gravada em {@code computer_bulk_jobs}.
+ *
+ * @param shard     shard sendo processado (os shards são percorridos em ordem)
+ * @param cursor    maior id já processado no shard atual
+ * @param processed linhas alteradas ou removidas até agora
+ */
+@RegisterForReflection
+public record BulkJob(
+        long id,
+        BulkAction action,
+        Status status,
+        String gpu,
+        String chipset,
+        BigDecimal price,
+        int chunkSize,
+        int shard,
+        long cursor,
+        long processed,
+        long chunks,
+        double rowsPerSecond,
+        String error,
+        LocalDateTime createdAt,
+        LocalDateTime startedAt,
+        LocalDateTime finishedAt) {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        boolean isFinal() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    BulkJobRequest request() {
+        return new BulkJobRequest(action, gpu, chipset, price, chunkSize);
+    }
+
+    static BulkJob fromRow(Row row) {
+        JsonObject request = row.getJsonObject("request");
+        LocalDateTime startedAt = row.getLocalDateTime("started_at");
+        LocalDateTime finishedAt = row.getLocalDateTime("finished_at");
+        long processed = row.getLong("processed");
+        return new BulkJob(
+                row.getLong("id"),
+                BulkAction.valueOf(row.getString("action")),
+                Status.valueOf(row.getString("status")),
+                request.getString("gpu"),
+                request.getString("chipset"),
+                request.getString("price") != null ? new BigDecimal(request.getString("price")) : null,
+                request.getInteger("chunkSize"),
+                row.getInteger("shard"),
+                row.getLong("cursor_id"),
+                processed,
+                row.getLong("chunks"),
+                rate(processed, startedAt, finishedAt),
+                row.getString("error"),
+                row.getLocalDateTime("created_at"),
+                startedAt,
+                finishedAt);
+    }
+
+    private static double rate(long processed, LocalDateTime startedAt, LocalDateTime finishedAt) {
+        if (startedAt == null) {
+            return 0;
+        }
+        long millis = Duration.between(startedAt, finishedAt != null ? finishedAt : LocalDateTime.now()).toMillis();
+        return millis > 0 ? processed * 1000.0 / millis : 0;
+    }
+}
@@ -0,0 +1,68 @@
+package org.acme.computers.bulk;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Job em massa ({@code POST /computer/bulk-jobs}).
+ *
+ * Mapeada só para que o schema-management crie a tabela; o acesso é feito com
+ * SQL direto em {@link BulkJobService}. Fica no primary do primeiro shard, mesmo
+ * quando o job percorre vários.
+ */
+@Entity
+@Table(name = "computer_bulk_jobs")
+public class BulkJobEntity extends PanacheEntityBase {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    public Long id;
+
+    @Column(length = 20, nullable = false)
+    public String action;
+
+    /** Filtros, preço e tamanho de lote, como {@link BulkJobRequest}. */
+    @Column(columnDefinition = "jsonb", nullable = false)
+    public String request;
+
+    @Column(length = 20, nullable = false)
+    public String status;
+
+    @Column(nullable = false)
+    public int shard;
+
+    @Column(name = "cursor_id", nullable = false)
+    public long cursorId;
+
+    @Column(nullable = false)
+    public long processed;
+
+    @Column(nullable = false)
+    public long chunks;
+
+    @Column(columnDefinition = "text")
+    public String error;
+
+    /** Instância que executa o job; outra só assume após {@code heartbeat_at} vencer. */
+    public UUID owner;
+
+    @Column(name = "heartbeat_at")
+    public LocalDateTime heartbeatAt;
+
+    @Column(name = "created_at", nullable = false)
+    public LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    public LocalDateTime startedAt;
+
+    @Column(name = "finished_at")
+    public LocalDateTime finishedAt;
+}
@@ -0,0 +1,41 @@
+package org.acme.computers.bulk;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import org.acme.computers.InvalidRequestException;
+
+import java.math.BigDecimal;
+
+/**
+ * Corpo de {@code POST /computer/bulk-jobs}.
+ *
+ * @param gpu       trecho do modelo da GPU, sem diferenciar maiúsculas (como na busca)
+ * @param chipset   chipset da placa-mãe, exato
+ * @param price     novo preço, para {@code set_price}
+ * @param chunkSize linhas por lote; padrão {@code computers.bulk.chunk-size}
+ */
+@RegisterForReflection
+public record BulkJobRequest(BulkAction action, String gpu, String chipset, BigDecimal price, Integer chunkSize) {
+
+    /** Valida o pedido e preenche o tamanho de lote padrão. */
+    BulkJobRequest validated(int defaultChunkSize, int maxChunkSize) {
+        if (action == null) {
+            throw new InvalidRequestException("action is required (set_price or delete)");
+        }
+        if (isBlank(gpu) && isBlank(chipset)) {
+            // Sem filtro o job tocaria o catálogo inteiro
+            throw new InvalidRequestException("at least one filter (gpu or chipset) is required");
+        }
+        if (action == BulkAction.SET_PRICE && (price == null || price.signum() < 0)) {
+            throw new InvalidRequestException("set_price needs a non-negative price");
+        }
+        if (chunkSize != null && (chunkSize < 1 || chunkSize > maxChunkSize)) {
+            throw new InvalidRequestException("chunkSize must be between 1 and " + maxChunkSize);
+        }
+        return new BulkJobRequest(action, isBlank(gpu) ? null : gpu, isBlank(chipset) ? null : chipset,
+                action == BulkAction.SET_PRICE ? price : null, chunkSize != null ? chunkSize : defaultChunkSize);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+}
@@ -0,0 +1,394 @@
+package org.acme.computers.bulk;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
+import jakarta.inject.Inject;
+import org.acme.computers.admission.WriteAdmission;
+import org.acme.computers.admission.WriteThrottledException;
+import org.acme.computers.catalog.ComputerAttributes;
+import org.acme.computers.catalog.ComputerChangedEvent;
+import org.acme.computers.pool.AdaptivePoolLimits;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Jobs assíncronos de mutação em massa ("define o preço onde a GPU é X",
+ * "remove onde o chipset é Y") executados em lotes pequenos, em vez de milhares
+ * de chamadas à API ou de uma transação gigante que trava linhas e despeja WAL
+ * de uma vez na réplica.
+ *
+ * Cada lote é um único statement (transação própria) sobre no máximo
+ * {@code chunkSize} linhas, escolhidas em ordem de id a partir do cursor
+ * (keyset) — o lote seguinte nunca revisita linhas já processadas. Entre lotes
+ * há uma pausa de {@code computers.bulk.pause} para a réplica acompanhar. Os lotes
+ * rodam num laço ({@link #drain}), não em recursão: um job de milhões de linhas
+ * não aprofunda a cadeia de assinantes a cada lote. Como qualquer escrita, cada
+ * lote passa pelo {@link WriteAdmission} (lag da réplica) e pelo limite adaptativo
+ * do primary. Um lote recusado pela admissão é tentado de novo com backoff por
+ * até metade do lease; só depois disso o job falha.
+ *
+ * O estado (shard, cursor, contadores) fica em {@code computer_bulk_jobs} e é
+ * gravado após cada lote. Uma instância assume um job com um lease renovado a
+ * cada lote; se ela cair, outra (ou a mesma após o restart) retoma do cursor
+ * quando o lease vence. Reexecutar o último lote é inofensivo: o
+ * {@code set_price} só seleciona linhas com preço diferente e o delete só
+ * encontra linhas que ainda existem.
+ */
+@ApplicationScoped
+public class BulkJobService {
+
+    private static final Logger LOG = Logger.getLogger(BulkJobService.class);
+
+    private static final String FILTERS = """
+            ($2::text IS NULL OR description -> 'placa_video' ->> 'modelo' ILIKE '%' || $2 || '%')
+            AND ($3::text IS NULL OR description -> 'placa_mae' ->> 'chipset' = $3)""";
+
+    private static final String CHUNK = """
+            WITH chunk AS (
+                SELECT id AS chunk_id, created_at AS chunk_created_at
+                FROM computers
+                WHERE id > $1 AND %s%s
+                ORDER BY id
+                LIMIT $4
+                FOR UPDATE
+            )
+            """;
+
+    private static final String SET_PRICE_CHUNK_SQL = CHUNK.formatted(FILTERS, " AND price IS DISTINCT FROM $5") + """
+            UPDATE computers
+            SET price = $5, description = jsonb_set(description, '{price}', to_jsonb($5::numeric), true),
+                version = version + 1
+            FROM chunk
+            WHERE id = chunk_id AND created_at = chunk_created_at
+            RETURNING\s""" + ComputerAttributes.SQL_PROJECTION + ", old.price AS previous_price";
+
+    private static final String DELETE_CHUNK_SQL = CHUNK.formatted(FILTERS, "") + """
+            DELETE FROM computers
+            USING chunk
+            WHERE id = chunk_id AND created_at = chunk_created_at
+            RETURNING\s""" + ComputerAttributes.SQL_PROJECTION;
+
+    private static final String INSERT_JOB_SQL = """
+            INSERT INTO computer_bulk_jobs (action, request, status, shard, cursor_id, processed, chunks, created_at)
+            VALUES ($1, $2, 'PENDING', 0, 0, 0, 0, $3)
+            RETURNING *
+            """;
+
+    // PENDING ou RUNNING com lease vencido (dono caiu); SKIP LOCKED evita duas instâncias no mesmo job
+    private static final String CLAIM_JOB_SQL = """
+            UPDATE computer_bulk_jobs
+            SET status = 'RUNNING', owner = $1, heartbeat_at = $2, started_at = COALESCE(started_at, $2)
+            WHERE id = (
+                SELECT id FROM computer_bulk_jobs
+                WHERE status IN ('PENDING', 'RUNNING') AND (heartbeat_at IS NULL OR heartbeat_at < $3)
+                ORDER BY id
+                LIMIT 1
+                FOR UPDATE SKIP LOCKED
+            )
+            RETURNING *
+            """;
+
+    private static final String PROGRESS_SQL = """
+            UPDATE computer_bulk_jobs
+            SET shard = $3, cursor_id = $4, processed = processed + $5, chunks = chunks + 1, heartbeat_at = $6
+            WHERE id = $1 AND owner = $2 AND status = 'RUNNING'
+            """;
+
+    private static final String FINISH_SQL = """
+            UPDATE computer_bulk_jobs
+            SET status = $3, error = $4, finished_at = $5, heartbeat_at = NULL
+            WHERE id = $1 AND owner = $2 AND status = 'RUNNING'
+            """;
+
+    private static final String CANCEL_SQL = """
+            UPDATE computer_bulk_jobs
+            SET status = 'CANCELLED', finished_at = $2, heartbeat_at = NULL
+            WHERE id = $1 AND status IN ('PENDING', 'RUNNING')
+            """;
+
+    private static final String FIND_JOB_SQL = "SELECT * FROM computer_bulk_jobs WHERE id = $1";
+
+    private static final String LIST_JOBS_SQL = "SELECT * FROM computer_bulk_jobs ORDER BY id DESC LIMIT $1";
+
+    /** Resultado de um lote: linhas afetadas e maior id visto. */
+    record Chunk(int rows, long lastId) {
+    }
+
+    /** Executa um lote no shard a partir do cursor. */
+    interface ChunkRunner {
+        Uni<Chunk> run(int shard, long cursor);
+    }
+
+    /** Grava a próxima posição do job; false se ele foi cancelado ou mudou de dono. */
+    interface ProgressWriter {
+        Uni<Boolean> save(int shard, long cursor, int processed);
+    }
+
+    /** Posição do laço de lotes; {@code outcome} fica nulo enquanto houver lote a processar. */
+    private static final class Position {
+
+        int shard;
+
+        long cursor;
+
+        boolean pause;
+
+        Boolean outcome;
+
+        Position(int shard, long cursor) {
+            this.shard = shard;
+            this.cursor = cursor;
+        }
+    }
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    Event<ComputerChangedEvent> changes;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    WriteAdmission admission;
+
+    @Inject
+    AdaptivePoolLimits poolLimits;
+
+    @ConfigProperty(name = "computers.bulk.chunk-size", defaultValue = "500")
+    int defaultChunkSize;
+
+    @ConfigProperty(name = "computers.bulk.max-chunk-size", defaultValue = "5000")
+    int maxChunkSize;
+
+    @ConfigProperty(name = "computers.bulk.pause", defaultValue = "200ms")
+    Duration pause;
+
+    /** Sem progresso por mais que isso, o job pode ser assumido por outra instância. */
+    @ConfigProperty(name = "computers.bulk.lease", defaultValue = "1m")
+    Duration lease;
+
+    @ConfigProperty(name = "computers.bulk.max-concurrent-jobs", defaultValue = "1")
+    int maxConcurrentJobs;
+
+    private final UUID instance = UUID.randomUUID();
+
+    private final AtomicInteger running = new AtomicInteger();
+
+    private Counter rows;
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("computers.bulk.active_jobs", running, AtomicInteger::get)
+                .description("Jobs em massa executando nesta instância")
+                .register(registry);
+        rows = Counter.builder("computers.bulk.rows")
+                .description("Linhas alteradas ou removidas por jobs em massa")
+                .register(registry);
+    }
+
+    public Uni<BulkJob> submit(BulkJobRequest request) {
+        BulkJobRequest job;
+        try {
+            job = (request != null ? request : new BulkJobRequest(null, null, null, null, null))
+                    .validated(defaultChunkSize, maxChunkSize);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        JsonObject stored = new JsonObject()
+                .put("gpu", job.gpu())
+                .put("chipset", job.chipset())
+                .put("price", job.price() != null ? job.price().toPlainString() : null)
+                .put("chunkSize", job.chunkSize());
+        return jobs().preparedQuery(INSERT_JOB_SQL)
+                .execute(Tuple.of(job.action().name(), stored, LocalDateTime.now()))
+                .onItem().transform(inserted -> BulkJob.fromRow(inserted.iterator().next()))
+                // Não espera o próximo ciclo do agendador
+                .onItem().invoke(created -> poll().subscribe().with(ignored -> { }, failure -> { }));
+    }
+
+    public Uni<BulkJob> find(long id) {
+        return jobs().preparedQuery(FIND_JOB_SQL).execute(Tuple.of(id))
+                .onItem().transform(found -> {
+                    RowIterator<Row> iterator = found.iterator();
+                    return iterator.hasNext() ? BulkJob.fromRow(iterator.next()) : null;
+                });
+    }
+
+    public Uni<List<BulkJob>> recent(int limit) {
+        return jobs().preparedQuery(LIST_JOBS_SQL).execute(Tuple.of(Math.max(1, Math.min(limit, 100))))
+                .onItem().transform(found -> {
+                    List<BulkJob> jobs = new ArrayList<>();
+                    found.forEach(row -> jobs.add(BulkJob.fromRow(row)));
+                    return jobs;
+                });
+    }
+
+    /** Cancela um job pendente ou em execução; o lote em andamento termina e o job para. */
+    public Uni<BulkJob> cancel(long id) {
+        return jobs().preparedQuery(CANCEL_SQL).execute(Tuple.of(id, LocalDateTime.now()))
+                .onItem().transformToUni(ignored -> find(id));
+    }
+
+    @Scheduled(every = "{computers.bulk.poll-interval}", identity = "bulk-job-poller",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> poll() {
+        if (running.incrementAndGet() > maxConcurrentJobs) {
+            running.decrementAndGet();
+            return Uni.createFrom().voidItem();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        return jobs().preparedQuery(CLAIM_JOB_SQL).execute(Tuple.of(instance, now, now.minus(lease)))
+                .onItem().transformToUni(claimed -> {
+                    RowIterator<Row> iterator = claimed.iterator();
+                    if (!iterator.hasNext()) {
+                        running.decrementAndGet();
+                        return Uni.createFrom().voidItem();
+                    }
+                    BulkJob job = BulkJob.fromRow(iterator.next());
+                    LOG.infof("[BULK] job %d (%s) assumido no shard %d, cursor %d",
+                            job.id(), job.action(), job.shard(), job.cursor());
+                    // Roda em segundo plano: o agendador não fica preso ao job inteiro
+                    run(job).onTermination().invoke(running::decrementAndGet)
+                            .subscribe().with(ignored -> { }, failure -> { });
+                    return Uni.createFrom().voidItem();
+                })
+                .onFailure().invoke(failure -> {
+                    running.decrementAndGet();
+                    LOG.warn("[BULK] falha ao buscar jobs pendentes", failure);
+                })
+                .onFailure().recoverWithNull();
+    }
+
+    private Uni<Void> run(BulkJob job) {
+        return step(job, job.shard(), job.cursor())
+                .onItem().transformToUni(completed -> completed
+                        ? finish(job, BulkJob.Status.COMPLETED, null)
+                        : Uni.createFrom().voidItem())
+                .onFailure().recoverWithUni(failure -> {
+                    LOG.errorf(failure, "[BULK] job %d falhou", job.id());
+                    return finish(job, BulkJob.Status.FAILED, String.valueOf(failure.getMessage()));
+                });
+    }
+
+    private Uni<Boolean> step(BulkJob job, int shard, long cursor) {
+        List<Shard> shards = router.shards();
+        return drain(shards.size(), shard, cursor, pause,
+                (current, from) -> chunk(shards.get(current), job, from),
+                (next, from, processed) -> progress(job, next, from, processed));
+    }
+
+    /**
+     * Processa lotes a partir de {@code (shard, cursor)} até passar do último shard;
+     * um lote vazio encerra o shard e a pausa só vem depois de um lote com linhas.
+     * Cada volta reassina a mesma posição, então a pilha não cresce com o número de lotes.
+     *
+     * @return true ao terminar o último shard, false se o job parou (cancelado ou
+     * assumido por outra instância)
+     */
+    static Uni<Boolean> drain(int shardCount, int shard, long cursor, Duration pause, ChunkRunner chunks,
+                              ProgressWriter progress) {
+        Position position = new Position(shard, cursor);
+        return Multi.createBy().repeating()
+                .uni(() -> position, current -> next(current, shardCount, pause, chunks, progress))
+                .until(current -> current.outcome != null)
+                .collect().last()
+                .onItem().transform(ignored -> position.outcome);
+    }
+
+    private static Uni<Position> next(Position current, int shardCount, Duration pause, ChunkRunner chunks,
+                                      ProgressWriter progress) {
+        if (current.shard >= shardCount) {
+            current.outcome = true;
+            return Uni.createFrom().item(current);
+        }
+        Uni<Void> pauseFirst = current.pause && !pause.isZero()
+                ? Uni.createFrom().voidItem().onItem().delayIt().by(pause)
+                : Uni.createFrom().voidItem();
+        return pauseFirst.chain(() -> chunks.run(current.shard, current.cursor))
+                .chain(chunk -> {
+                    int nextShard = chunk.rows() == 0 ? current.shard + 1 : current.shard;
+                    long nextCursor = chunk.rows() == 0 ? 0 : chunk.lastId();
+                    return progress.save(nextShard, nextCursor, chunk.rows())
+                            .onItem().transform(active -> {
+                                if (!active) {
+                                    current.outcome = false;
+                                } else {
+                                    current.shard = nextShard;
+                                    current.cursor = nextCursor;
+                                    current.pause = chunk.rows() > 0;
+                                }
+                                return current;
+                            });
+                });
+    }
+
+    private Uni<Chunk> chunk(Shard shard, BulkJob job, long cursor) {
+        BulkJobRequest request = job.request();
+        boolean setPrice = request.action() == BulkAction.SET_PRICE;
+        Tuple parameters = Tuple.of(cursor, request.gpu(), request.chipset(), request.chunkSize());
+        if (setPrice) {
+            parameters.addValue(request.price());
+        }
+        return admission.admit(shard)
+                .chain(() -> poolLimits.run(shard.primaryName(), () -> shard.primary()
+                        .preparedQuery(setPrice ? SET_PRICE_CHUNK_SQL : DELETE_CHUNK_SQL)
+                        .execute(parameters)))
+                .onFailure(WriteThrottledException.class).retry()
+                .withBackOff(pause.isZero() ? Duration.ofMillis(100) : pause, lease.dividedBy(4))
+                .expireIn(lease.dividedBy(2).toMillis())
+                .onItem().transform(result -> {
+                    long lastId = cursor;
+                    for (Row row : result) {
+                        ComputerAttributes attributes = ComputerAttributes.fromRow(row);
+                        changes.fire(setPrice
+                                ? ComputerChangedEvent.updated(
+                                        attributes.withPrice(row.getBigDecimal("previous_price")), attributes)
+                                : ComputerChangedEvent.deleted(attributes));
+                        lastId = Math.max(lastId, attributes.id());
+                    }
+                    rows.increment(result.rowCount());
+                    return new Chunk(result.rowCount(), lastId);
+                });
+    }
+
+    /** Grava o progresso e renova o lease; false se o job foi cancelado ou mudou de dono. */
+    private Uni<Boolean> progress(BulkJob job, int shard, long cursor, int processed) {
+        return jobs().preparedQuery(PROGRESS_SQL)
+                .execute(Tuple.from(List.of(job.id(), instance, shard, cursor, processed, LocalDateTime.now())))
+                .onItem().transform(updated -> updated.rowCount() > 0);
+    }
+
+    private Uni<Void> finish(BulkJob job, BulkJob.Status status, String error) {
+        Tuple parameters = Tuple.of(job.id(), instance, status.name(), error, LocalDateTime.now());
+        return jobs().preparedQuery(FINISH_SQL).execute(parameters)
+                .onItem().invoke(ignored -> LOG.infof("[BULK] job %d %s", job.id(), status))
+                .replaceWithVoid();
+    }
+
+    private Pool jobs() {
+        return router.shards().get(0).primary();
+    }
+}
@@ -0,0 +1,20 @@
+package org.acme.computers.cache;
+
+/**
+ * Resposta já serializada, pronta para escrita: JSON e, opcionalmente, a mesma
+ * carga pré-comprimida em gzip.
+ *
+ * @param version versão da tabela quando a resposta foi montada
+ * @param gzipped {@code null} quando a compressão está desligada ou o corpo é pequeno
+ */
+record CachedResponse(
+        long version,
+        String etag,
+        byte[] body,
+        byte[] gzipped,
+        long expiresAtNanos) {
+
+    boolean isFresh(long currentVersion) {
+        return version == currentVersion && System.nanoTime() < expiresAtNanos;
+    }
+}
@@ -0,0 +1,209 @@
+package org.acme.computers.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.acme.computers.catalog.ComputerChangedEvent;
+import org.acme.computers.codec.PayloadFormat;
+import org.acme.computers.codec.PayloadMappers;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.resteasy.reactive.RestResponse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.CRC32C;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Cache de respostas GET já serializadas, com ETag forte e suporte a
+ * {@code If-None-Match}.
+ *
+ * A ETag é derivada só da época do processo, da versão da tabela (incrementada a
+ * cada {@link ComputerChangedEvent}) e do CRC32C da chave com o formato, então é
+ * conhecida antes de qualquer leitura: uma requisição com a ETag atual recebe 304
+ * sem consultar o cache, o banco ou o serializador, mesmo depois de a entrada
+ * expirar ou ser despejada. Sem a ETag, recebe os bytes prontos do cache. A época
+ * muda a cada restart porque a versão recomeça do zero.
+ *
+ * O TTL existe por causa do atraso da réplica: uma página montada logo após uma
+ * escrita pode ainda não conter a linha nova. Por isso páginas montadas menos de
+ * {@code ttl} depois da última mudança recebem uma ETag provisória (sufixo
+ * {@code -p}), que só vale enquanto a entrada existir; a primeira montada depois
+ * disso recebe a ETag definitiva da versão.
+ */
+@ApplicationScoped
+public class ResponseCache {
+
+    @Inject
+    PayloadMappers mappers;
+
+    @ConfigProperty(name = "computers.response-cache.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "computers.response-cache.max-entries", defaultValue = "1000")
+    int maxEntries;
+
+    @ConfigProperty(name = "computers.response-cache.ttl", defaultValue = "5s")
+    Duration ttl;
+
+    @ConfigProperty(name = "computers.response-cache.gzip", defaultValue = "true")
+    boolean gzip;
+
+    @ConfigProperty(name = "computers.response-cache.gzip-min-bytes", defaultValue = "1024")
+    int gzipMinBytes;
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final AtomicLong version = new AtomicLong();
+
+    // Instante (nanoTime) a partir do qual a réplica já deve refletir a última mudança
+    private volatile long settlesAt = System.nanoTime();
+
+    private final Map<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    // Requisições simultâneas para a mesma chave compartilham uma única ida ao banco
+    private final ConcurrentHashMap<String, Uni<CachedResponse>> inFlight = new ConcurrentHashMap<>();
+
+    void onChange(@Observes ComputerChangedEvent event) {
+        // Antes da versão: quem enxerga a versão nova enxerga também o prazo novo
+        settlesAt = System.nanoTime() + ttl.toNanos();
+        version.incrementAndGet();
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * Serve {@code key} a partir do cache, carregando e serializando em {@code format}
+     * via {@code loader} quando necessário. Cada formato tem sua própria entrada.
+     */
+    public Uni<RestResponse<byte[]>> serve(String key, PayloadFormat format, String ifNoneMatch,
+            String acceptEncoding, Supplier<Uni<?>> loader) {
+        boolean acceptsGzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String formatKey = format.name() + ':' + key;
+        long current = version.get();
+        boolean settled = System.nanoTime() - settlesAt >= 0;
+        String etag = etag(formatKey, current, settled);
+        if (settled && matches(ifNoneMatch, etag)) {
+            return Uni.createFrom().item(notModified(etag));
+        }
+        if (!enabled) {
+            return loader.get()
+                    .onItem().transform(result -> serialize(format, result))
+                    .onItem().transform(body -> respond(build(current, etag, body), format, ifNoneMatch, false));
+        }
+
+        CachedResponse cached = lookup(formatKey, current);
+        if (cached != null) {
+            return Uni.createFrom().item(respond(cached, format, ifNoneMatch, acceptsGzip));
+        }
+
+        String flightKey = formatKey + '@' + current;
+        return inFlight.computeIfAbsent(flightKey, ignored -> loader.get()
+                .onItem().transform(result -> store(formatKey, build(current, etag, serialize(format, result))))
+                .onTermination().invoke(() -> inFlight.remove(flightKey))
+                .memoize().indefinitely())
+                .onItem().transform(response -> respond(response, format, ifNoneMatch, acceptsGzip));
+    }
+
+    private CachedResponse lookup(String key, long current) {
+        synchronized (entries) {
+            CachedResponse cached = entries.get(key);
+            return cached != null && cached.isFresh(current) ? cached : null;
+        }
+    }
+
+    private CachedResponse store(String key, CachedResponse response) {
+        synchronized (entries) {
+            entries.put(key, response);
+        }
+        return response;
+    }
+
+    private RestResponse<byte[]> respond(CachedResponse response, PayloadFormat format, String ifNoneMatch,
+            boolean acceptsGzip) {
+        if (matches(ifNoneMatch, response.etag())) {
+            return notModified(response.etag());
+        }
+        RestResponse.ResponseBuilder<byte[]> builder = RestResponse.ResponseBuilder.<byte[]> ok()
+                .type(format.mediaType())
+                .header(HttpHeaders.ETAG, response.etag())
+                .header(HttpHeaders.CACHE_CONTROL, "no-cache")
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT + ", " + HttpHeaders.ACCEPT_ENCODING);
+        if (acceptsGzip && response.gzipped() != null) {
+            return builder.entity(response.gzipped())
+                    .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                    .build();
+        }
+        return builder.entity(response.body()).build();
+    }
+
+    private static RestResponse<byte[]> notModified(String etag) {
+        return RestResponse.ResponseBuilder.<byte[]> create(RestResponse.Status.NOT_MODIFIED)
+                .header(HttpHeaders.ETAG, etag)
+                .build();
+    }
+
+    String etag(String formatKey, long responseVersion, boolean settled) {
+        CRC32C crc = new CRC32C();
+        crc.update(formatKey.getBytes(StandardCharsets.UTF_8));
+        return "\"" + epoch + "-" + responseVersion + "-" + Long.toHexString(crc.getValue()) + (settled ? "" : "-p")
+                + "\"";
+    }
+
+    private CachedResponse build(long responseVersion, String etag, byte[] body) {
+        byte[] gzipped = gzip && body.length >= gzipMinBytes ? compress(body) : null;
+        return new CachedResponse(responseVersion, etag, body, gzipped, System.nanoTime() + ttl.toNanos());
+    }
+
+    private byte[] serialize(PayloadFormat format, Object result) {
+        try {
+            return mappers.mapper(format).writeValueAsBytes(result);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Failed to serialize cached response", e);
+        }
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] compress(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzipStream = new GZIPOutputStream(out)) {
+            gzipStream.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,19 @@
+package org.acme.computers.catalog;
+
+/**
+ * Estrutura agregada que pode ser alimentada linha a linha, tanto pelos eventos
+ * de escrita quanto pela varredura completa da réplica.
+ * Implementações precisam ser thread-safe: eventos chegam de vários event loops.
+ */
+public interface CatalogAccumulator {
+
+    void add(ComputerAttributes attributes);
+
+    void remove(ComputerAttributes attributes);
+
+    /** Uma linha alterada (PATCH, reajuste em massa): por padrão sai a versão anterior e entra a nova. */
+    default void update(ComputerAttributes previous, ComputerAttributes current) {
+        remove(previous);
+        add(current);
+    }
+}
@@ -0,0 +1,123 @@
+package org.acme.computers.catalog;
+
+import io.quarkus.runtime.StartupEvent;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.acme.computers.service.ReadBulkheads;
+import org.acme.computers.service.ReadClass;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+/**
+ * Mantém todas as {@link CatalogView} em dia:
+ * repassa os eventos de escrita e, na subida e periodicamente, reconstrói as
+ * visões com uma única varredura em cursor na réplica (leitura) de cada shard,
+ * dentro do bulkhead de varreduras ({@link ReadClass#SCAN}).
+ */
+@ApplicationScoped
+public class CatalogReconciler {
+
+    private static final Logger LOG = Logger.getLogger(CatalogReconciler.class);
+
+    private static final String SCAN_SQL = "SELECT " + ComputerAttributes.SQL_PROJECTION + " FROM computers";
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ReadBulkheads bulkheads;
+
+    @Inject
+    @Any
+    Instance<CatalogView<?>> viewInstances;
+
+    @ConfigProperty(name = "computers.catalog.scan-fetch-size", defaultValue = "1000")
+    int fetchSize;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private List<CatalogView<?>> views;
+
+    @PostConstruct
+    void init() {
+        views = new ArrayList<>();
+        viewInstances.forEach(views::add);
+    }
+
+    void onStart(@Observes StartupEvent event) {
+        // Não bloqueia a subida: até a primeira varredura terminar as visões refletem só os eventos.
+        reconcile().subscribe().with(ignored -> {
+        });
+    }
+
+    void onChange(@Observes ComputerChangedEvent event) {
+        for (CatalogView<?> view : views) {
+            view.apply(event);
+        }
+    }
+
+    @Scheduled(every = "{computers.catalog.reconcile-interval}", delayed = "{computers.catalog.reconcile-interval}",
+            identity = "catalog-reconciler", concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> scheduledReconcile() {
+        return reconcile();
+    }
+
+    /**
+     * Reconstrói todas as visões a partir da réplica. Execuções concorrentes são ignoradas.
+     */
+    public Uni<Void> reconcile() {
+        if (views.isEmpty() || !running.compareAndSet(false, true)) {
+            return Uni.createFrom().voidItem();
+        }
+
+        List<CatalogAccumulator> targets = new ArrayList<>(views.size());
+        for (CatalogView<?> view : views) {
+            targets.add(view.beginRebuild());
+        }
+        long start = System.nanoTime();
+
+        return Multi.createFrom().iterable(router.shards())
+                .onItem().transformToUniAndConcatenate(shard -> bulkheads.run(shard, ReadClass.SCAN,
+                        () -> scan(shard.replica(), targets)))
+                .collect().with(Collectors.summingLong(Long::longValue))
+                .onItem().invoke(rows -> {
+                    views.forEach(CatalogView::completeRebuild);
+                    LOG.infof("[CATALOG] %d visões reconstruídas com %d linhas em %d ms",
+                            views.size(), rows, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+                })
+                .onFailure().invoke(failure -> {
+                    views.forEach(CatalogView::abortRebuild);
+                    LOG.error("[CATALOG] reconstrução falhou — mantendo visões atuais", failure);
+                })
+                .onTermination().invoke(() -> running.set(false))
+                .onFailure().recoverWithNull()
+                .replaceWithVoid();
+    }
+
+    private Uni<Long> scan(Pool replica, List<CatalogAccumulator> targets) {
+        return replica.withTransaction(conn -> conn.prepare(SCAN_SQL)
+                .onItem().transformToMulti(statement -> statement.createStream(fetchSize).toMulti())
+                .onItem().transform(ComputerAttributes::fromRow)
+                .onItem().invoke(attributes -> {
+                    for (CatalogAccumulator target : targets) {
+                        target.add(attributes);
+                    }
+                })
+                .collect().with(Collectors.counting()));
+    }
+}
@@ -0,0 +1,83 @@
+package org.acme.computers.catalog;
+
+import jakarta.annotation.PostConstruct;
+
+import java.time.Instant;
+
+/**
+ * Visão em memória do catálogo, mantida incrementalmente pelos eventos de
+ * escrita e reconstruída periodicamente a partir da réplica pelo
+ * {@link CatalogReconciler}.
+ *
+ * Durante uma reconstrução os eventos são aplicados tanto no acumulador atual
+ * quanto no novo, que substitui o atual atomicamente quando a varredura termina.
+ * Pequenas divergências (linhas vistas pela varredura e também pelo evento) são
+ * corrigidas na reconciliação seguinte.
+ */
+public abstract class CatalogView<A extends CatalogAccumulator> {
+
+    private volatile A current;
+
+    private volatile A rebuilding;
+
+    private volatile Instant lastRebuild;
+
+    /** Cria um acumulador vazio. Chamado após a injeção de dependências. */
+    protected abstract A newAccumulator();
+
+    @PostConstruct
+    void initView() {
+        current = newAccumulator();
+    }
+
+    public A current() {
+        return current;
+    }
+
+    /** {@code true} depois que ao menos uma varredura completa da réplica terminou. */
+    public boolean isWarm() {
+        return lastRebuild != null;
+    }
+
+    public Instant lastRebuild() {
+        return lastRebuild;
+    }
+
+    void apply(ComputerChangedEvent event) {
+        // Lê rebuilding antes de current: se a troca acontecer entre as leituras,
+        // ambos apontam para o mesmo acumulador e o evento não é aplicado duas vezes.
+        A next = rebuilding;
+        A active = current;
+        applyTo(active, event);
+        if (next != null && next != active) {
+            applyTo(next, event);
+        }
+    }
+
+    A beginRebuild() {
+        A next = newAccumulator();
+        rebuilding = next;
+        return next;
+    }
+
+    void completeRebuild() {
+        A next = rebuilding;
+        if (next != null) {
+            current = next;
+            rebuilding = null;
+            lastRebuild = Instant.now();
+        }
+    }
+
+    void abortRebuild() {
+        rebuilding = null;
+    }
+
+    private static void applyTo(CatalogAccumulator accumulator, ComputerChangedEvent event) {
+        switch (event.kind()) {
+            case CREATED -> accumulator.add(event.attributes());
+            case DELETED -> accumulator.remove(event.attributes());
+            case UPDATED -> accumulator.update(event.previous(), event.attributes());
+        }
+    }
+}
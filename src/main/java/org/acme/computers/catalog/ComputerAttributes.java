@@ -0,0 +1,132 @@
+package org.acme.computers.catalog;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.mutiny.sqlclient.Row;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.acme.computers.dto.StorageDTO;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Atributos de um computador relevantes para as visões em memória do catálogo
+ * (facetas, estatísticas, etc.).
+ *
+ * Extraídos uma única vez por escrita — da projeção SQL em {@link #SQL_PROJECTION}
+ * no create, no delete e na varredura da réplica, ou do DTO no patch — para que
+ * cada visão não precise reinterpretar o JSONB.
+ */
+public record ComputerAttributes(
+        Long id,
+        String name,
+        BigDecimal price,
+        String gpuModel,
+        String gpuChipset,
+        Integer ramGb,
+        List<String> storageTypes,
+        String psuCertification,
+        String motherboardChipset,
+        String cpuSocket,
+        List<String> storageModels,
+        String gpuManufacturer,
+        Integer vramGb,
+        Integer gpuTdpWatts,
+        Integer psuWatts,
+        Integer storageGb) {
+
+    /** Só as colunas tiradas do documento — para somar a um {@code RETURNING *} (create). */
+    public static final String DOCUMENT_PROJECTION = """
+            description -> 'placa_video' ->> 'modelo' AS gpu_model,
+            description -> 'placa_video' ->> 'chipset' AS gpu_chipset,
+            (description -> 'memoria_ram' ->> 'capacidade_total_gb')::int AS ram_gb,
+            jsonb_path_query_array(description, '$.armazenamento.dispositivos[*].tipo') AS storage_types,
+            description -> 'fonte' ->> 'certificacao' AS psu_certification,
+            description -> 'placa_mae' ->> 'chipset' AS motherboard_chipset,
+            description -> 'placa_mae' ->> 'socket' AS cpu_socket,
+            jsonb_path_query_array(description, '$.armazenamento.dispositivos[*].modelo') AS storage_models,
+            description -> 'placa_video' ->> 'fabricante' AS gpu_manufacturer,
+            (description -> 'placa_video' ->> 'memoria_gb')::int AS vram_gb,
+            (description -> 'placa_video' ->> 'tdp_watts')::int AS gpu_tdp_watts,
+            (description -> 'fonte' ->> 'potencia_watts')::int AS psu_watts,
+            (description -> 'armazenamento' ->> 'capacidade_total_gb')::int AS storage_gb
+            """;
+
+    /**
+     * Colunas extraídas do JSONB diretamente no PostgreSQL.
+     * Usada tanto no {@code SELECT} da varredura quanto no {@code RETURNING} do delete.
+     */
+    public static final String SQL_PROJECTION = "id, name, price,\n" + DOCUMENT_PROJECTION;
+
+    public static ComputerAttributes of(Long id, ComputerDescriptionDTO dto) {
+        List<String> storageTypes = new ArrayList<>();
+        List<String> storageModels = new ArrayList<>();
+        if (dto.getArmazenamento() != null && dto.getArmazenamento().getDispositivos() != null) {
+            for (StorageDTO.DispositivoArmazenamentoDTO device : dto.getArmazenamento().getDispositivos()) {
+                if (device != null && device.getTipo() != null) {
+                    storageTypes.add(device.getTipo());
+                }
+                if (device != null && device.getModelo() != null) {
+                    storageModels.add(device.getModelo());
+                }
+            }
+        }
+        return new ComputerAttributes(
+                id,
+                dto.getName(),
+                dto.getPrice(),
+                dto.getPlacaVideo() != null ? dto.getPlacaVideo().getModelo() : null,
+                dto.getPlacaVideo() != null ? dto.getPlacaVideo().getChipset() : null,
+                dto.getMemoriaRam() != null ? dto.getMemoriaRam().getCapacidadeTotalGb() : null,
+                List.copyOf(storageTypes),
+                dto.getFonte() != null ? dto.getFonte().getCertificacao() : null,
+                dto.getPlacaMae() != null ? dto.getPlacaMae().getChipset() : null,
+                dto.getPlacaMae() != null ? dto.getPlacaMae().getSocket() : null,
+                List.copyOf(storageModels),
+                dto.getPlacaVideo() != null ? dto.getPlacaVideo().getFabricante() : null,
+                dto.getPlacaVideo() != null ? dto.getPlacaVideo().getMemoriaGb() : null,
+                dto.getPlacaVideo() != null ? dto.getPlacaVideo().getTdpWatts() : null,
+                dto.getFonte() != null ? dto.getFonte().getPotenciaWatts() : null,
+                dto.getArmazenamento() != null ? dto.getArmazenamento().getCapacidadeTotalGb() : null);
+    }
+
+    public ComputerAttributes withPrice(BigDecimal newPrice) {
+        return new ComputerAttributes(id, name, newPrice, gpuModel, gpuChipset, ramGb, storageTypes,
+                psuCertification, motherboardChipset, cpuSocket, storageModels, gpuManufacturer, vramGb,
+                gpuTdpWatts, psuWatts, storageGb);
+    }
+
+    /** Lê uma linha produzida por {@link #SQL_PROJECTION}. */
+    public static ComputerAttributes fromRow(Row row) {
+        List<String> storageTypes = strings(row.getJsonArray("storage_types"));
+        return new ComputerAttributes(
+                row.getLong("id"),
+                row.getString("name"),
+                row.getBigDecimal("price"),
+                row.getString("gpu_model"),
+                row.getString("gpu_chipset"),
+                row.getInteger("ram_gb"),
+                storageTypes,
+                row.getString("psu_certification"),
+                row.getString("motherboard_chipset"),
+                row.getString("cpu_socket"),
+                strings(row.getJsonArray("storage_models")),
+                row.getString("gpu_manufacturer"),
+                row.getInteger("vram_gb"),
+                row.getInteger("gpu_tdp_watts"),
+                row.getInteger("psu_watts"),
+                row.getInteger("storage_gb"));
+    }
+
+    private static List<String> strings(JsonArray array) {
+        List<String> values = new ArrayList<>();
+        if (array != null) {
+            for (Object value : array) {
+                if (value != null) {
+                    values.add(value.toString());
+                }
+            }
+        }
+        return List.copyOf(values);
+    }
+}
@@ -0,0 +1,29 @@
+package org.acme.computers.catalog;
+
+/**
+ * Evento CDI disparado pelo {@code ComputerWriteService} depois que uma escrita
+ * é confirmada no primary. Observadores devem ser baratos: o disparo é síncrono
+ * e acontece no event loop.
+ *
+ * @param previous atributos antes da escrita; só em {@link Kind#UPDATED}
+ */
+public record ComputerChangedEvent(Kind kind, ComputerAttributes attributes, ComputerAttributes previous) {
+
+    public enum Kind {
+        CREATED,
+        DELETED,
+        UPDATED
+    }
+
+    public static ComputerChangedEvent created(ComputerAttributes attributes) {
+        return new ComputerChangedEvent(Kind.CREATED, attributes, null);
+    }
+
+    public static ComputerChangedEvent deleted(ComputerAttributes attributes) {
+        return new ComputerChangedEvent(Kind.DELETED, attributes, null);
+    }
+
+    public static ComputerChangedEvent updated(ComputerAttributes previous, ComputerAttributes attributes) {
+        return new ComputerChangedEvent(Kind.UPDATED, attributes, previous);
+    }
+}
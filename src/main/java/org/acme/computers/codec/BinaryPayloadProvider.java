@@ -0,0 +1,68 @@
+package org.acme.computers.codec;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.Consumes;
+import jakarta.ws.rs.Produces;
+import jakarta.ws.rs.core.MediaType;
+import jakarta.ws.rs.core.MultivaluedMap;
+import jakarta.ws.rs.ext.MessageBodyReader;
+import jakarta.ws.rs.ext.MessageBodyWriter;
+import jakarta.ws.rs.ext.Provider;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+/**
+ * Reader/writer JAX-RS para os formatos binários (CBOR e Smile).
+ * O JSON continua com o provider padrão do quarkus-rest-jackson.
+ */
+@Provider
+@Consumes({ PayloadFormat.APPLICATION_CBOR, PayloadFormat.APPLICATION_SMILE })
+@Produces({ PayloadFormat.APPLICATION_CBOR, PayloadFormat.APPLICATION_SMILE })
+public class BinaryPayloadProvider implements MessageBodyReader<Object>, MessageBodyWriter<Object> {
+
+    @Inject
+    PayloadMappers mappers;
+
+    @Override
+    public boolean isReadable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        // byte[] (ex.: corpo do create) chega cru e é decodificado por quem o recebe
+        return type != byte[].class && binaryFormat(mediaType) != null;
+    }
+
+    @Override
+    public Object readFrom(Class<Object> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, String> httpHeaders, InputStream entityStream) throws IOException {
+        var mapper = mappers.mapper(binaryFormat(mediaType));
+        return mapper.readValue(entityStream, mapper.constructType(genericType));
+    }
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        // byte[] já serializado (ex.: ResponseCache) é escrito como está pelo provider padrão
+        return type != byte[].class && binaryFormat(mediaType) != null;
+    }
+
+    @Override
+    public void writeTo(Object value, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+        mappers.mapper(binaryFormat(mediaType)).writeValue(entityStream, value);
+    }
+
+    private static PayloadFormat binaryFormat(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        String type = mediaType.getType() + "/" + mediaType.getSubtype();
+        if (PayloadFormat.APPLICATION_CBOR.equalsIgnoreCase(type)) {
+            return PayloadFormat.CBOR;
+        }
+        if (PayloadFormat.APPLICATION_SMILE.equalsIgnoreCase(type)) {
+            return PayloadFormat.SMILE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,10 @@
+package org.acme.computers.codec;
+
+import java.math.BigDecimal;
+
+/**
+ * Corpo de um create já validado pelo {@link CreatePayloadReader}: o documento
+ * JSON como chegou (ou transcodificado de CBOR/Smile) e as colunas extraídas dele.
+ */
+public record CreatePayload(String json, String name, BigDecimal price) {
+}
@@ -0,0 +1,217 @@
+package org.acme.computers.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Valida o corpo de um create numa única passada de {@link JsonParser}, sem montar
+ * o grafo de {@link ComputerDescriptionDTO} nem serializá-lo de volta.
+ *
+ * Os campos aceitos e seus tipos saem do próprio DTO (introspecção do Jackson):
+ * campo desconhecido, tipo errado, chave duplicada ou {@code name}/{@code price}
+ * ausentes resultam em {@link InvalidRequestException}. Em JSON o documento
+ * gravado é o texto recebido; CBOR e Smile são transcodificados para JSON na
+ * mesma passada.
+ */
+@ApplicationScoped
+public class CreatePayloadReader {
+
+    private static final int NAME_MAX_LENGTH = 40;
+
+    enum Kind {
+        OBJECT, ARRAY, STRING, INTEGER, DECIMAL, BOOLEAN
+    }
+
+    /** Forma esperada de um valor: campos de um objeto ou elemento de um array. */
+    record Shape(Kind kind, Map<String, Shape> fields, Shape element) {
+    }
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    PayloadMappers mappers;
+
+    private Shape schema;
+
+    @PostConstruct
+    void init() {
+        schema = schema(objectMapper, ComputerDescriptionDTO.class);
+    }
+
+    public CreatePayload read(byte[] body, PayloadFormat format) {
+        return read(body, format, mappers.mapper(format).getFactory(), objectMapper.getFactory(), schema);
+    }
+
+    static CreatePayload read(byte[] body, PayloadFormat format, JsonFactory source, JsonFactory json, Shape schema) {
+        try (JsonParser parser = source.createParser(body)) {
+            parser.enable(JsonParser.Feature.STRICT_DUPLICATE_DETECTION);
+            if (format == PayloadFormat.JSON) {
+                Scan scan = new Scan(parser, null);
+                scan.document(schema);
+                return scan.payload(new String(body, StandardCharsets.UTF_8));
+            }
+            StringWriter writer = new StringWriter(body.length * 2);
+            try (JsonGenerator generator = json.createGenerator(writer)) {
+                Scan scan = new Scan(parser, generator);
+                scan.document(schema);
+                generator.flush();
+                return scan.payload(writer.toString());
+            }
+        } catch (JsonProcessingException | NumberFormatException e) {
+            throw new InvalidRequestException("malformed request body: " + e.getMessage());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Uma passada pelo documento; com {@code copy}, cada evento também é escrito em JSON. */
+    private static final class Scan {
+
+        private final JsonParser parser;
+
+        private final JsonGenerator copy;
+
+        private String name;
+
+        private BigDecimal price;
+
+        Scan(JsonParser parser, JsonGenerator copy) {
+            this.parser = parser;
+            this.copy = copy;
+        }
+
+        void document(Shape schema) throws IOException {
+            if (next() != JsonToken.START_OBJECT) {
+                throw new InvalidRequestException("request body must be a JSON object");
+            }
+            while (next() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                Shape shape = field(schema, field, "");
+                JsonToken token = next();
+                if (field.equals("name") && token == JsonToken.VALUE_STRING) {
+                    name = parser.getText();
+                } else if (field.equals("price") && token.isNumeric()) {
+                    price = parser.getDecimalValue();
+                }
+                value(token, shape, "/" + field);
+            }
+            if (parser.nextToken() != null) {
+                throw new InvalidRequestException("unexpected content after the request body");
+            }
+        }
+
+        CreatePayload payload(String json) {
+            if (name == null || name.isBlank() || name.length() > NAME_MAX_LENGTH) {
+                throw new InvalidRequestException("name is required and must have at most "
+                        + NAME_MAX_LENGTH + " characters");
+            }
+            if (price == null) {
+                throw new InvalidRequestException("price is required");
+            }
+            return new CreatePayload(json, name, price);
+        }
+
+        private void value(JsonToken token, Shape shape, String path) throws IOException {
+            if (token == JsonToken.VALUE_NULL) {
+                return;
+            }
+            boolean valid = switch (shape.kind()) {
+                case STRING -> token == JsonToken.VALUE_STRING;
+                case INTEGER -> token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT;
+                case DECIMAL -> token.isNumeric();
+                case BOOLEAN -> token.isBoolean();
+                case OBJECT -> token == JsonToken.START_OBJECT;
+                case ARRAY -> token == JsonToken.START_ARRAY;
+            };
+            if (!valid) {
+                throw new InvalidRequestException("invalid value for " + path + ": expected "
+                        + shape.kind().name().toLowerCase(Locale.ROOT));
+            }
+            if (shape.kind() == Kind.OBJECT) {
+                while (next() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    value(next(), field(shape, field, path), path + "/" + field);
+                }
+            } else if (shape.kind() == Kind.ARRAY) {
+                int index = 0;
+                for (JsonToken element = next(); element != JsonToken.END_ARRAY; element = next()) {
+                    value(element, shape.element(), path + "/" + index++);
+                }
+            }
+        }
+
+        private static Shape field(Shape object, String field, String path) {
+            Shape shape = object.fields().get(field);
+            if (shape == null) {
+                throw new InvalidRequestException("unknown field " + path + "/" + field);
+            }
+            return shape;
+        }
+
+        private JsonToken next() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null) {
+                throw new InvalidRequestException("request body ended unexpectedly");
+            }
+            if (copy != null) {
+                copy.copyCurrentEvent(parser);
+            }
+            return token;
+        }
+    }
+
+    /** Forma de {@code type} conforme o Jackson o desserializaria; só os tipos usados nos DTOs. */
+    static Shape schema(ObjectMapper mapper, Class<?> type) {
+        return shape(mapper, mapper.constructType(type));
+    }
+
+    private static Shape shape(ObjectMapper mapper, JavaType type) {
+        if (type.isCollectionLikeType() || type.isArrayType()) {
+            return new Shape(Kind.ARRAY, Map.of(), shape(mapper, type.getContentType()));
+        }
+        Class<?> raw = type.getRawClass();
+        if (raw == String.class) {
+            return new Shape(Kind.STRING, Map.of(), null);
+        }
+        if (raw == Integer.class || raw == int.class) {
+            return new Shape(Kind.INTEGER, Map.of(), null);
+        }
+        if (raw == BigDecimal.class) {
+            return new Shape(Kind.DECIMAL, Map.of(), null);
+        }
+        if (raw == Boolean.class || raw == boolean.class) {
+            return new Shape(Kind.BOOLEAN, Map.of(), null);
+        }
+        if (!raw.getPackageName().equals(ComputerDescriptionDTO.class.getPackageName())) {
+            throw new IllegalStateException("unsupported field type in create payload: " + raw.getName());
+        }
+        Map<String, Shape> fields = new LinkedHashMap<>();
+        for (BeanPropertyDefinition property : mapper.getDeserializationConfig().introspect(type).findProperties()) {
+            if (property.couldDeserialize()) {
+                fields.put(property.getName(), shape(mapper, property.getPrimaryType()));
+            }
+        }
+        return new Shape(Kind.OBJECT, Map.copyOf(fields), null);
+    }
+}
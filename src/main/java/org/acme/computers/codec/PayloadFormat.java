@@ -0,0 +1,87 @@
+package org.acme.computers.codec;
+
+import java.util.Locale;
+
+/**
+ * Formatos de payload aceitos pela API. JSON continua sendo o padrão;
+ * CBOR e Smile são variantes binárias do mesmo modelo Jackson, mais compactas
+ * e mais baratas de decodificar para consumidores serviço-a-serviço.
+ */
+public enum PayloadFormat {
+
+    JSON(PayloadFormat.APPLICATION_JSON),
+    CBOR(PayloadFormat.APPLICATION_CBOR),
+    SMILE(PayloadFormat.APPLICATION_SMILE);
+
+    public static final String APPLICATION_JSON = "application/json";
+    public static final String APPLICATION_CBOR = "application/cbor";
+    public static final String APPLICATION_SMILE = "application/x-jackson-smile";
+
+    private final String mediaType;
+
+    PayloadFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String mediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Escolhe o formato de maior {@code q} no header {@code Accept}.
+     * Curingas e tipos desconhecidos resultam em JSON.
+     */
+    public static PayloadFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        PayloadFormat best = null;
+        double bestQuality = -1;
+        for (String range : accept.split(",")) {
+            String[] parts = range.split(";");
+            PayloadFormat format = fromMediaType(parts[0].trim());
+            double quality = quality(parts);
+            if (format != null && quality > bestQuality) {
+                best = format;
+                bestQuality = quality;
+            }
+        }
+        return best != null && bestQuality > 0 ? best : JSON;
+    }
+
+    /** Formato do corpo recebido pelo {@code Content-Type}; ausente ou desconhecido resulta em JSON. */
+    public static PayloadFormat fromContentType(String contentType) {
+        if (contentType == null || contentType.isBlank()) {
+            return JSON;
+        }
+        PayloadFormat format = fromMediaType(contentType.split(";")[0].trim());
+        return format != null ? format : JSON;
+    }
+
+    private static PayloadFormat fromMediaType(String mediaType) {
+        String type = mediaType.toLowerCase(Locale.ROOT);
+        if (type.equals("*/*") || type.equals("application/*")) {
+            return JSON;
+        }
+        for (PayloadFormat format : values()) {
+            if (format.mediaType.equals(type)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,104 @@
+package org.acme.computers.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.ComputerEntity;
+
+import java.io.IOException;
+
+/**
+ * Um {@link ObjectMapper} por {@link PayloadFormat}. Os mappers binários são
+ * cópias do mapper JSON do Quarkus, herdando módulos (java.time, etc.) e
+ * configurações, de modo que os três formatos têm o mesmo modelo de dados.
+ *
+ * A única diferença: nos binários a {@code description} de {@link ComputerEntity}
+ * (o jsonb, guardado como texto) vai como estrutura, não como um texto opaco com
+ * o documento inteiro. Só assim CBOR e Smile codificam nomes repetidos e números
+ * de forma compacta; no JSON ela continua sendo uma string.
+ */
+@ApplicationScoped
+public class PayloadMappers {
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    private ObjectMapper cborMapper;
+
+    private ObjectMapper smileMapper;
+
+    @PostConstruct
+    void init() {
+        cborMapper = binary(objectMapper, new CBORFactory());
+        smileMapper = binary(objectMapper, new SmileFactory());
+    }
+
+    public ObjectMapper mapper(PayloadFormat format) {
+        return switch (format) {
+            case JSON -> objectMapper;
+            case CBOR -> cborMapper;
+            case SMILE -> smileMapper;
+        };
+    }
+
+    static ObjectMapper binary(ObjectMapper json, JsonFactory factory) {
+        ObjectMapper mapper = json.copyWith(factory)
+                // O stream de saída pertence ao runtime HTTP; o mapper não deve fechá-lo
+                .configure(JsonGenerator.Feature.AUTO_CLOSE_TARGET, false);
+        mapper.addMixIn(ComputerEntity.class, StructuredDescription.class);
+        return mapper;
+    }
+
+    abstract static class StructuredDescription {
+
+        @JsonSerialize(using = DescriptionWriter.class)
+        @JsonDeserialize(using = DescriptionReader.class)
+        public String description;
+
+        @JsonSerialize(using = DescriptionWriter.class)
+        public abstract String getDescription();
+
+        @JsonDeserialize(using = DescriptionReader.class)
+        public abstract void setDescription(String description);
+    }
+
+    /** Copia o documento token a token para o gerador binário, sem montar árvore. */
+    static final class DescriptionWriter extends JsonSerializer<String> {
+
+        @Override
+        public void serialize(String description, JsonGenerator gen, SerializerProvider serializers)
+                throws IOException {
+            try (JsonParser parser = JSON.createParser(description)) {
+                parser.nextToken();
+                gen.copyCurrentStructure(parser);
+            }
+        }
+    }
+
+    /** Aceita o documento estruturado (ou uma string, como no JSON) e o guarda como texto. */
+    static final class DescriptionReader extends JsonDeserializer<String> {
+
+        @Override
+        public String deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                return parser.getText();
+            }
+            return parser.readValueAsTree().toString();
+        }
+    }
+}
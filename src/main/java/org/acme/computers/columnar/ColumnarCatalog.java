@@ -0,0 +1,414 @@
+package org.acme.computers.columnar;
+
+import org.acme.computers.catalog.CatalogAccumulator;
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Cópia colunar do catálogo fora do heap: um vetor primitivo por atributo
+ * filtrável (preço em centavos, RAM, VRAM, armazenamento, TDP e potência da
+ * fonte) em {@link ByteBuffer} direto, modelo e fabricante da GPU codificados
+ * por {@link StringDictionary}, e um bitmap de linhas vivas.
+ *
+ * Linhas só são acrescentadas: o delete limpa o bit da linha e o update
+ * acrescenta uma nova. O espaço volta na reconstrução periódica do
+ * {@code CatalogReconciler}, que começa de um catálogo vazio.
+ *
+ * A varredura avalia uma coluna por vez sobre blocos de {@value #BLOCK} linhas,
+ * refinando uma máscara de bits com comparações sem desvio que o JIT consegue
+ * desenrolar; tabelas acima do limiar são divididas em fork/join. Escritas são
+ * serializadas; leituras não travam e enxergam as linhas publicadas até o
+ * início da varredura.
+ */
+public class ColumnarCatalog implements CatalogAccumulator {
+
+    static final int BLOCK = 1024;
+
+    private static final int WORDS_PER_BLOCK = BLOCK / Long.SIZE;
+
+    // Sem preço ordena por último no ASC e primeiro no DESC, como o NULL no PostgreSQL;
+    // metade do long para que as subtrações da varredura não estourem
+    static final long NULL_PRICE = Long.MAX_VALUE >> 1;
+
+    static final int NULL_INT = Integer.MIN_VALUE;
+
+    // NUMERIC(10, 2) em centavos
+    private static final long PRICE_BOUND = 10_000_000_000L;
+
+    private final boolean tracking;
+
+    private final StringDictionary gpuModels = new StringDictionary();
+
+    private final StringDictionary manufacturers = new StringDictionary();
+
+    private final Map<Long, Integer> rowById = new HashMap<>();
+
+    private volatile Columns columns;
+
+    private volatile int size;
+
+    private volatile int liveRows;
+
+    public ColumnarCatalog(int initialCapacity) {
+        this(true, initialCapacity);
+    }
+
+    private ColumnarCatalog(boolean tracking, int initialCapacity) {
+        this.tracking = tracking;
+        this.columns = new Columns(Math.max(BLOCK, (initialCapacity + BLOCK - 1) / BLOCK * BLOCK));
+    }
+
+    /** Catálogo que ignora as escritas — quando o modelo colunar está desligado. */
+    public static ColumnarCatalog disabled() {
+        return new ColumnarCatalog(false, BLOCK);
+    }
+
+    @Override
+    public synchronized void add(ComputerAttributes attributes) {
+        if (!tracking) {
+            return;
+        }
+        // Varredura e evento podem entregar a mesma linha durante a reconstrução: fica a última
+        Integer previous = rowById.get(attributes.id());
+        if (previous != null) {
+            clearLive(previous);
+        }
+        int row = size;
+        if (row == columns.capacity) {
+            columns = columns.grow(row);
+        }
+        Columns target = columns;
+        target.ids.put(row, attributes.id());
+        target.prices.put(row, attributes.price() != null ? cents(attributes.price(), RoundingMode.HALF_UP) : NULL_PRICE);
+        for (IntColumn column : IntColumn.VALUES) {
+            Integer value = column.value(attributes);
+            target.ints[column.ordinal()].put(row, value != null ? value : NULL_INT);
+        }
+        target.gpuModels.put(row, gpuModels.encode(attributes.gpuModel()));
+        target.manufacturers.put(row, manufacturers.encode(attributes.gpuManufacturer()));
+        int word = row >>> 6;
+        target.live.put(word, target.live.get(word) | 1L << row);
+        rowById.put(attributes.id(), row);
+        liveRows++;
+        size = row + 1;
+    }
+
+    @Override
+    public synchronized void remove(ComputerAttributes attributes) {
+        Integer row = rowById.remove(attributes.id());
+        if (row != null) {
+            clearLive(row);
+        }
+    }
+
+    private void clearLive(int row) {
+        LongBuffer live = columns.live;
+        int word = row >>> 6;
+        live.put(word, live.get(word) & ~(1L << row));
+        liveRows--;
+    }
+
+    public int liveRows() {
+        return liveRows;
+    }
+
+    /** Linhas ocupadas, incluindo as removidas que aguardam a reconstrução. */
+    public int size() {
+        return size;
+    }
+
+    public long offHeapBytes() {
+        return columns.bytes();
+    }
+
+    /**
+     * Ids da página pedida por {@code filter}, já na ordem de {@code sort}.
+     * Acima de {@code parallelThreshold} linhas a varredura é dividida no
+     * {@link ForkJoinPool#commonPool()}.
+     */
+    public long[] page(ColumnarFilter filter, int parallelThreshold) {
+        int rows = size;
+        Columns snapshot = columns;
+        Scan scan = new Scan(filter);
+        int threshold = Math.max(parallelThreshold, 2 * BLOCK);
+        TopK top = rows > threshold
+                ? ForkJoinPool.commonPool().invoke(new ScanTask(scan, snapshot, 0, rows, threshold))
+                : scan.range(snapshot, 0, rows);
+        return top.drainIds();
+    }
+
+    private final class Scan {
+
+        private final ColumnarFilter filter;
+
+        private final long priceLow;
+
+        private final long priceHigh;
+
+        private final boolean pricePredicate;
+
+        private final int[] intColumns;
+
+        private final long[] intLows;
+
+        private final long[] intHighs;
+
+        private final boolean[] gpuCodes;
+
+        private final boolean[] manufacturerCodes;
+
+        private final long afterKey;
+
+        Scan(ColumnarFilter filter) {
+            this.filter = filter;
+            pricePredicate = filter.priceMin() != null || filter.priceMax() != null;
+            priceLow = filter.priceMin() != null ? bound(filter.priceMin(), RoundingMode.CEILING) : -PRICE_BOUND;
+            priceHigh = filter.priceMax() != null ? bound(filter.priceMax(), RoundingMode.FLOOR) : PRICE_BOUND;
+            intColumns = new int[filter.ranges().size()];
+            intLows = new long[intColumns.length];
+            intHighs = new long[intColumns.length];
+            int index = 0;
+            for (Map.Entry<IntColumn, ColumnarFilter.Range> range : filter.ranges().entrySet()) {
+                intColumns[index] = range.getKey().ordinal();
+                Integer min = range.getValue().min();
+                Integer max = range.getValue().max();
+                // NULL_INT fica sempre abaixo da faixa
+                intLows[index] = min != null ? Math.max(min, NULL_INT + 1L) : NULL_INT + 1L;
+                intHighs[index] = max != null ? max : Integer.MAX_VALUE;
+                index++;
+            }
+            String gpu = filter.gpu() != null ? filter.gpu().toLowerCase(Locale.ROOT) : null;
+            gpuCodes = gpu != null ? gpuModels.matching(model -> model.toLowerCase(Locale.ROOT).contains(gpu)) : null;
+            manufacturerCodes = filter.manufacturer() != null
+                    ? manufacturers.matching(manufacturer -> manufacturer.equalsIgnoreCase(filter.manufacturer()))
+                    : null;
+            afterKey = filter.sort() == ColumnarFilter.Sort.PRICE && filter.after() != null
+                    ? bound(filter.after(), RoundingMode.HALF_UP)
+                    : filter.afterId() != null ? filter.afterId() : 0;
+        }
+
+        TopK range(Columns columns, int from, int to) {
+            TopK top = new TopK(filter.limit(), filter.descending());
+            long[] selection = new long[WORDS_PER_BLOCK];
+            for (int block = from; block < to; block += BLOCK) {
+                int end = Math.min(block + BLOCK, to);
+                if (select(columns, block, end, selection)) {
+                    collect(columns, block, selection, top);
+                }
+            }
+            return top;
+        }
+
+        /** Deixa em {@code selection} as linhas vivas do bloco que passam em todos os filtros. */
+        private boolean select(Columns columns, int block, int end, long[] selection) {
+            int words = (end - block + Long.SIZE - 1) >>> 6;
+            boolean any = false;
+            for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+                long live = word < words ? columns.live.get((block >>> 6) + word) : 0;
+                int first = block + (word << 6);
+                if (end - first < Long.SIZE && live != 0) {
+                    // Linhas além do instante da leitura podem estar pela metade
+                    live &= (1L << (end - first)) - 1;
+                }
+                selection[word] = live;
+                any |= live != 0;
+            }
+            if (any && pricePredicate) {
+                any = refine(columns.prices, priceLow, priceHigh, block, selection);
+            }
+            for (int i = 0; any && i < intColumns.length; i++) {
+                any = refine(columns.ints[intColumns[i]], intLows[i], intHighs[i], block, selection);
+            }
+            if (any && gpuCodes != null) {
+                any = refine(columns.gpuModels, gpuCodes, block, selection);
+            }
+            if (any && manufacturerCodes != null) {
+                any = refine(columns.manufacturers, manufacturerCodes, block, selection);
+            }
+            return any;
+        }
+
+        private void collect(Columns columns, int block, long[] selection, TopK top) {
+            boolean byPrice = filter.sort() == ColumnarFilter.Sort.PRICE;
+            boolean cursor = filter.hasCursor();
+            long afterId = cursor ? filter.afterId() : 0;
+            for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+                long bits = selection[word];
+                while (bits != 0) {
+                    int row = block + (word << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    long id = columns.ids.get(row);
+                    long key = byPrice ? columns.prices.get(row) : id;
+                    if (!cursor || top.before(afterKey, afterId, key, id)) {
+                        top.offer(key, id);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean refine(LongBuffer column, long low, long high, int block, long[] selection) {
+        boolean any = false;
+        for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+            long selected = selection[word];
+            if (selected == 0) {
+                continue;
+            }
+            int base = block + (word << 6);
+            long matches = 0;
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                long value = column.get(base + bit);
+                matches |= (~((value - low) | (high - value)) >>> 63) << bit;
+            }
+            selection[word] = selected & matches;
+            any |= selection[word] != 0;
+        }
+        return any;
+    }
+
+    private static boolean refine(IntBuffer column, long low, long high, int block, long[] selection) {
+        boolean any = false;
+        for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+            long selected = selection[word];
+            if (selected == 0) {
+                continue;
+            }
+            int base = block + (word << 6);
+            long matches = 0;
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                long value = column.get(base + bit);
+                matches |= (~((value - low) | (high - value)) >>> 63) << bit;
+            }
+            selection[word] = selected & matches;
+            any |= selection[word] != 0;
+        }
+        return any;
+    }
+
+    private static boolean refine(IntBuffer column, boolean[] codes, int block, long[] selection) {
+        boolean any = false;
+        for (int word = 0; word < WORDS_PER_BLOCK; word++) {
+            long selected = selection[word];
+            if (selected == 0) {
+                continue;
+            }
+            int base = block + (word << 6);
+            long matches = 0;
+            for (int bit = 0; bit < Long.SIZE; bit++) {
+                int code = column.get(base + bit);
+                if (code >= 0 && code < codes.length && codes[code]) {
+                    matches |= 1L << bit;
+                }
+            }
+            selection[word] = selected & matches;
+            any |= selection[word] != 0;
+        }
+        return any;
+    }
+
+    private final class ScanTask extends RecursiveTask<TopK> {
+
+        private final Scan scan;
+
+        private final Columns columns;
+
+        private final int from;
+
+        private final int to;
+
+        private final int threshold;
+
+        ScanTask(Scan scan, Columns columns, int from, int to, int threshold) {
+            this.scan = scan;
+            this.columns = columns;
+            this.from = from;
+            this.to = to;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected TopK compute() {
+            if (to - from <= threshold) {
+                return scan.range(columns, from, to);
+            }
+            // Divide em fronteira de bloco para que cada tarefa leia palavras inteiras do bitmap
+            int middle = from + (to - from) / 2 / BLOCK * BLOCK;
+            ScanTask right = new ScanTask(scan, columns, middle, to, threshold);
+            right.fork();
+            TopK left = new ScanTask(scan, columns, from, middle, threshold).compute();
+            return left.merge(right.join());
+        }
+    }
+
+    static long cents(BigDecimal price, RoundingMode rounding) {
+        return price.movePointRight(2).setScale(0, rounding).longValue();
+    }
+
+    /** Limite de faixa em centavos, saturado no que cabe na coluna (e longe de {@link #NULL_PRICE}). */
+    private static long bound(BigDecimal price, RoundingMode rounding) {
+        BigDecimal limited = price.max(BigDecimal.valueOf(-PRICE_BOUND, 2)).min(BigDecimal.valueOf(PRICE_BOUND, 2));
+        return cents(limited, rounding);
+    }
+
+    /** Vetores de uma capacidade fixa; crescer é copiar para vetores novos e publicar. */
+    private static final class Columns {
+
+        final int capacity;
+
+        final LongBuffer ids;
+
+        final LongBuffer prices;
+
+        final IntBuffer[] ints = new IntBuffer[IntColumn.VALUES.length];
+
+        final IntBuffer gpuModels;
+
+        final IntBuffer manufacturers;
+
+        final LongBuffer live;
+
+        Columns(int capacity) {
+            this.capacity = capacity;
+            ids = allocate(capacity * (long) Long.BYTES).asLongBuffer();
+            prices = allocate(capacity * (long) Long.BYTES).asLongBuffer();
+            for (int i = 0; i < ints.length; i++) {
+                ints[i] = allocate(capacity * (long) Integer.BYTES).asIntBuffer();
+            }
+            gpuModels = allocate(capacity * (long) Integer.BYTES).asIntBuffer();
+            manufacturers = allocate(capacity * (long) Integer.BYTES).asIntBuffer();
+            live = allocate(capacity / Byte.SIZE).asLongBuffer();
+        }
+
+        Columns grow(int rows) {
+            Columns grown = new Columns(capacity * 2);
+            grown.ids.put(0, ids, 0, rows);
+            grown.prices.put(0, prices, 0, rows);
+            for (int i = 0; i < ints.length; i++) {
+                grown.ints[i].put(0, ints[i], 0, rows);
+            }
+            grown.gpuModels.put(0, gpuModels, 0, rows);
+            grown.manufacturers.put(0, manufacturers, 0, rows);
+            grown.live.put(0, live, 0, capacity / Long.SIZE);
+            return grown;
+        }
+
+        long bytes() {
+            return (long) capacity * (2 * Long.BYTES + (ints.length + 2) * Integer.BYTES) + capacity / Byte.SIZE;
+        }
+
+        private static ByteBuffer allocate(long bytes) {
+            return ByteBuffer.allocateDirect(Math.toIntExact(bytes)).order(ByteOrder.nativeOrder());
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package org.acme.computers.columnar;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.catalog.CatalogView;
+import org.acme.computers.service.ComputerReadService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.LongStream;
+
+/**
+ * Filtros por faixa (preço, RAM, VRAM, armazenamento, TDP, fonte) e por GPU
+ * avaliados no {@link ColumnarCatalog} em memória, sem expressões JSONB na réplica.
+ * Só as linhas da página final são lidas da réplica, pelo id.
+ *
+ * Opcional ({@code computers.columnar.enabled}): desligado, o catálogo não guarda
+ * nada e as consultas respondem 503. Construído na subida e mantido pelos eventos
+ * de escrita como as demais {@link CatalogView}.
+ */
+@ApplicationScoped
+public class ColumnarCatalogService extends CatalogView<ColumnarCatalog> {
+
+    @Inject
+    ComputerReadService readService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @ConfigProperty(name = "computers.columnar.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "computers.columnar.initial-capacity", defaultValue = "65536")
+    int initialCapacity;
+
+    @ConfigProperty(name = "computers.columnar.parallel-threshold", defaultValue = "262144")
+    int parallelThreshold;
+
+    private Timer scanTimer;
+
+    @Override
+    protected ColumnarCatalog newAccumulator() {
+        return enabled ? new ColumnarCatalog(initialCapacity) : ColumnarCatalog.disabled();
+    }
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("computers.columnar.rows", this, service -> service.current().liveRows())
+                .description("Linhas vivas no catálogo colunar")
+                .register(registry);
+        Gauge.builder("computers.columnar.off_heap_bytes", this, service -> service.current().offHeapBytes())
+                .description("Memória fora do heap ocupada pelas colunas")
+                .register(registry);
+        scanTimer = Timer.builder("computers.columnar.scan")
+                .description("Tempo da varredura colunar, sem a leitura da página na réplica")
+                .register(registry);
+    }
+
+    public Uni<List<ComputerEntity>> filter(ColumnarFilter filter) {
+        if (!enabled) {
+            return Uni.createFrom().failure(
+                    new ReadModelUnavailableException("columnar catalog is disabled (computers.columnar.enabled)"));
+        }
+        if (!isWarm()) {
+            return Uni.createFrom().failure(new ReadModelUnavailableException("columnar catalog is still loading"));
+        }
+        ColumnarCatalog catalog = current();
+        Uni<long[]> scan = Uni.createFrom().item(() -> scanTimer.record(() -> catalog.page(filter, parallelThreshold)));
+        if (catalog.size() > parallelThreshold) {
+            // Tabelas grandes são varridas fora do event loop
+            scan = scan.runSubscriptionOn(ForkJoinPool.commonPool());
+        }
+        return scan.chain(ids -> {
+            List<Long> page = LongStream.of(ids).boxed().toList();
+            if (page.isEmpty()) {
+                return Uni.createFrom().item(List.<ComputerEntity>of());
+            }
+            // Linhas removidas depois da varredura simplesmente não voltam da réplica
+            return readService.findByIds(page).map(found -> {
+                List<ComputerEntity> ordered = new ArrayList<>(page.size());
+                for (Long id : page) {
+                    ComputerEntity entity = found.get(id);
+                    if (entity != null) {
+                        ordered.add(entity);
+                    }
+                }
+                return ordered;
+            });
+        });
+    }
+}
@@ -0,0 +1,92 @@
+package org.acme.computers.columnar;
+
+import org.acme.computers.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Filtros, ordenação e cursor de uma consulta ao {@link ColumnarCatalog}.
+ * Filtros {@code null} não participam; faixas são inclusivas e valores ausentes
+ * no documento nunca satisfazem uma faixa (como no SQL).
+ *
+ * @param gpu          trecho do modelo da GPU, sem diferenciar maiúsculas
+ * @param manufacturer fabricante da GPU, igual sem diferenciar maiúsculas
+ * @param after        preço do último item da página anterior (só na ordenação por preço)
+ * @param afterId      id do último item da página anterior
+ */
+public record ColumnarFilter(
+        String gpu,
+        String manufacturer,
+        BigDecimal priceMin,
+        BigDecimal priceMax,
+        Map<IntColumn, Range> ranges,
+        Sort sort,
+        boolean descending,
+        BigDecimal after,
+        Long afterId,
+        int limit) {
+
+    public static final int MAX_LIMIT = 1000;
+
+    public enum Sort {
+        PRICE,
+        ID
+    }
+
+    /** Faixa inclusiva; extremos {@code null} ficam abertos. */
+    public record Range(Integer min, Integer max) {
+    }
+
+    public static ColumnarFilter of(String gpu, String manufacturer, BigDecimal priceMin, BigDecimal priceMax,
+            Integer ramMin, Integer ramMax, Integer vramMin, Integer vramMax, Integer storageMin,
+            Integer storageMax, Integer tdpMin, Integer tdpMax, Integer psuMin, Integer psuMax,
+            String sort, String order, String after, Long afterId, int limit) {
+        if (limit <= 0 || limit > MAX_LIMIT) {
+            throw new InvalidRequestException("limit must be between 1 and " + MAX_LIMIT);
+        }
+        Sort parsedSort = switch (sort.toLowerCase(Locale.ROOT)) {
+            case "price" -> Sort.PRICE;
+            case "id" -> Sort.ID;
+            default -> throw new InvalidRequestException("sort must be one of price, id: " + sort);
+        };
+        boolean descending = switch (order.toLowerCase(Locale.ROOT)) {
+            case "desc" -> true;
+            case "asc" -> false;
+            default -> throw new InvalidRequestException("order must be asc or desc: " + order);
+        };
+        if (parsedSort == Sort.PRICE && (after == null) != (afterId == null)) {
+            throw new InvalidRequestException("after and afterId must be informed together");
+        }
+        if (parsedSort == Sort.ID && after != null) {
+            throw new InvalidRequestException("sort by id pages with afterId only");
+        }
+        BigDecimal afterPrice;
+        try {
+            afterPrice = after != null ? new BigDecimal(after) : null;
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("invalid cursor value for sort price: " + after, e);
+        }
+        Map<IntColumn, Range> ranges = new EnumMap<>(IntColumn.class);
+        range(ranges, IntColumn.RAM_GB, ramMin, ramMax);
+        range(ranges, IntColumn.VRAM_GB, vramMin, vramMax);
+        range(ranges, IntColumn.STORAGE_GB, storageMin, storageMax);
+        range(ranges, IntColumn.GPU_TDP_WATTS, tdpMin, tdpMax);
+        range(ranges, IntColumn.PSU_WATTS, psuMin, psuMax);
+        return new ColumnarFilter(gpu, manufacturer, priceMin, priceMax, Collections.unmodifiableMap(ranges),
+                parsedSort, descending, afterPrice, afterId, limit);
+    }
+
+    private static void range(Map<IntColumn, Range> ranges, IntColumn column, Integer min, Integer max) {
+        if (min != null || max != null) {
+            ranges.put(column, new Range(min, max));
+        }
+    }
+
+    boolean hasCursor() {
+        return afterId != null;
+    }
+}
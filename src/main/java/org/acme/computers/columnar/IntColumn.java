@@ -0,0 +1,30 @@
+package org.acme.computers.columnar;
+
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.util.function.Function;
+
+/**
+ * Colunas inteiras do {@link ColumnarCatalog}, cada uma com o atributo de onde sai.
+ * A ordem das constantes é a ordem dos vetores de coluna.
+ */
+public enum IntColumn {
+
+    RAM_GB(ComputerAttributes::ramGb),
+    VRAM_GB(ComputerAttributes::vramGb),
+    STORAGE_GB(ComputerAttributes::storageGb),
+    GPU_TDP_WATTS(ComputerAttributes::gpuTdpWatts),
+    PSU_WATTS(ComputerAttributes::psuWatts);
+
+    static final IntColumn[] VALUES = values();
+
+    private final Function<ComputerAttributes, Integer> value;
+
+    IntColumn(Function<ComputerAttributes, Integer> value) {
+        this.value = value;
+    }
+
+    Integer value(ComputerAttributes attributes) {
+        return value.apply(attributes);
+    }
+}
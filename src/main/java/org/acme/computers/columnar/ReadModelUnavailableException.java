@@ -0,0 +1,12 @@
+package org.acme.computers.columnar;
+
+/**
+ * O modelo de leitura em memória está desligado ou ainda carregando — a
+ * requisição pode ser repetida mais tarde (503).
+ */
+public class ReadModelUnavailableException extends RuntimeException {
+
+    public ReadModelUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,47 @@
+package org.acme.computers.columnar;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+
+/**
+ * Codificação por dicionário de uma coluna de texto: cada valor distinto vira um
+ * código inteiro, e um filtro de texto é avaliado uma vez por valor distinto em
+ * vez de uma vez por linha. Códigos nunca são reaproveitados; valores que saíram
+ * do catálogo somem na próxima reconstrução.
+ */
+final class StringDictionary {
+
+    static final int NULL_CODE = -1;
+
+    private final ConcurrentHashMap<String, Integer> codes = new ConcurrentHashMap<>();
+
+    private volatile int next;
+
+    /** Chamado sob o lock de escrita do catálogo. */
+    int encode(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = next++;
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    /** Quais códigos satisfazem {@code predicate}; códigos criados depois ficam de fora. */
+    boolean[] matching(Predicate<String> predicate) {
+        boolean[] matches = new boolean[next];
+        codes.forEach((value, code) -> {
+            if (code < matches.length && predicate.test(value)) {
+                matches[code] = true;
+            }
+        });
+        return matches;
+    }
+
+    int size() {
+        return codes.size();
+    }
+}
@@ -0,0 +1,97 @@
+package org.acme.computers.columnar;
+
+/**
+ * As {@code limit} primeiras linhas pela ordem {@code (chave, id)}, em arrays
+ * primitivos: um heap com a pior linha retida no topo, para descartar em O(1)
+ * quem não entra na página.
+ */
+final class TopK {
+
+    private final boolean descending;
+
+    private final long[] keys;
+
+    private final long[] ids;
+
+    private int size;
+
+    TopK(int limit, boolean descending) {
+        this.descending = descending;
+        this.keys = new long[limit];
+        this.ids = new long[limit];
+    }
+
+    void offer(long key, long id) {
+        if (size < keys.length) {
+            keys[size] = key;
+            ids[size] = id;
+            siftUp(size++);
+        } else if (before(key, id, keys[0], ids[0])) {
+            keys[0] = key;
+            ids[0] = id;
+            siftDown(0);
+        }
+    }
+
+    TopK merge(TopK other) {
+        for (int i = 0; i < other.size; i++) {
+            offer(other.keys[i], other.ids[i]);
+        }
+        return this;
+    }
+
+    /** Ids retidos, do primeiro ao último na ordem pedida. Esvazia o heap. */
+    long[] drainIds() {
+        long[] ordered = new long[size];
+        for (int i = size - 1; i >= 0; i--) {
+            ordered[i] = ids[0];
+            size--;
+            keys[0] = keys[size];
+            ids[0] = ids[size];
+            siftDown(0);
+        }
+        return ordered;
+    }
+
+    /** {@code true} se {@code (key, id)} vem antes de {@code (otherKey, otherId)} na página. */
+    boolean before(long key, long id, long otherKey, long otherId) {
+        int comparison = key != otherKey ? Long.compare(key, otherKey) : Long.compare(id, otherId);
+        return descending ? comparison > 0 : comparison < 0;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (!before(keys[parent], ids[parent], keys[index], ids[index])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (before(keys[worst], ids[worst], keys[child], ids[child])) {
+                    worst = child;
+                }
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int a, int b) {
+        long key = keys[a];
+        keys[a] = keys[b];
+        keys[b] = key;
+        long id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+    }
+}
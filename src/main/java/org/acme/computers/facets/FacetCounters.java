@@ -0,0 +1,114 @@
+package org.acme.computers.facets;
+
+import org.acme.computers.catalog.CatalogAccumulator;
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores por faceta (chipset de GPU, RAM, tipo de armazenamento,
+ * certificação da fonte e faixa de preço), mantidos em memória.
+ *
+ * Tipos de armazenamento contam cada computador uma vez por tipo distinto,
+ * mesmo que ele tenha vários dispositivos do mesmo tipo.
+ */
+public class FacetCounters implements CatalogAccumulator {
+
+    public static final String GPU_CHIPSET = "gpu_chipset";
+    public static final String RAM_GB = "ram_gb";
+    public static final String STORAGE_TYPE = "storage_type";
+    public static final String PSU_CERTIFICATION = "psu_certification";
+    public static final String PRICE_BUCKET = "price_bucket";
+
+    private static final List<String> FACETS = List.of(GPU_CHIPSET, RAM_GB, STORAGE_TYPE, PSU_CERTIFICATION,
+            PRICE_BUCKET);
+
+    private final BigDecimal priceBucketWidth;
+
+    private final Map<String, ConcurrentHashMap<String, LongAdder>> counters = new LinkedHashMap<>();
+
+    private final LongAdder total = new LongAdder();
+
+    public FacetCounters(BigDecimal priceBucketWidth) {
+        this.priceBucketWidth = priceBucketWidth;
+        for (String facet : FACETS) {
+            counters.put(facet, new ConcurrentHashMap<>());
+        }
+    }
+
+    @Override
+    public void add(ComputerAttributes attributes) {
+        total.increment();
+        forEachValue(attributes, (facet, value) -> counter(facet, value).increment());
+    }
+
+    @Override
+    public void remove(ComputerAttributes attributes) {
+        total.decrement();
+        forEachValue(attributes, (facet, value) -> counter(facet, value).decrement());
+    }
+
+    public long total() {
+        return total.sum();
+    }
+
+    /**
+     * Cópia das contagens atuais, omitindo valores zerados.
+     * O custo depende só da quantidade de valores distintos por faceta, nunca do tamanho da tabela.
+     */
+    public Map<String, Map<String, Long>> snapshot() {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        counters.forEach((facet, values) -> {
+            Map<String, Long> counts = new TreeMap<>();
+            values.forEach((value, adder) -> {
+                long count = adder.sum();
+                if (count > 0) {
+                    counts.put(value, count);
+                }
+            });
+            result.put(facet, counts);
+        });
+        return result;
+    }
+
+    /** Rótulo da faixa de preço, ex.: {@code 3000-3999} para largura 1000. */
+    String priceBucket(BigDecimal price) {
+        BigDecimal lower = price.divide(priceBucketWidth, 0, RoundingMode.FLOOR).multiply(priceBucketWidth);
+        BigDecimal upper = lower.add(priceBucketWidth).subtract(BigDecimal.ONE);
+        return lower.toBigInteger() + "-" + upper.toBigInteger();
+    }
+
+    private LongAdder counter(String facet, String value) {
+        return counters.get(facet).computeIfAbsent(value, ignored -> new LongAdder());
+    }
+
+    private void forEachValue(ComputerAttributes attributes, FacetValueConsumer consumer) {
+        if (attributes.gpuChipset() != null) {
+            consumer.accept(GPU_CHIPSET, attributes.gpuChipset());
+        }
+        if (attributes.ramGb() != null) {
+            consumer.accept(RAM_GB, attributes.ramGb().toString());
+        }
+        attributes.storageTypes().stream()
+                .distinct()
+                .forEach(type -> consumer.accept(STORAGE_TYPE, type));
+        if (attributes.psuCertification() != null) {
+            consumer.accept(PSU_CERTIFICATION, attributes.psuCertification());
+        }
+        if (attributes.price() != null) {
+            consumer.accept(PRICE_BUCKET, priceBucket(attributes.price()));
+        }
+    }
+
+    @FunctionalInterface
+    private interface FacetValueConsumer {
+        void accept(String facet, String value);
+    }
+}
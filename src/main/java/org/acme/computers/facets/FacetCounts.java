@@ -0,0 +1,16 @@
+package org.acme.computers.facets;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.Map;
+
+/**
+ * Resposta do endpoint de facetas.
+ * {@code warm} fica {@code false} até a primeira varredura da réplica terminar.
+ */
+@RegisterForReflection
+public record FacetCounts(
+        long total,
+        boolean warm,
+        Map<String, Map<String, Long>> facets) {
+}
@@ -0,0 +1,29 @@
+package org.acme.computers.facets;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.acme.computers.catalog.CatalogView;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.math.BigDecimal;
+
+/**
+ * Facetas do catálogo servidas inteiramente da memória — nenhuma consulta ao banco por requisição.
+ * Construídas a partir da réplica na subida, atualizadas a cada create/delete e
+ * reconciliadas periodicamente pelo {@code CatalogReconciler}.
+ */
+@ApplicationScoped
+public class FacetService extends CatalogView<FacetCounters> {
+
+    @ConfigProperty(name = "computers.facets.price-bucket-width", defaultValue = "1000")
+    BigDecimal priceBucketWidth;
+
+    @Override
+    protected FacetCounters newAccumulator() {
+        return new FacetCounters(priceBucketWidth);
+    }
+
+    public FacetCounts counts() {
+        FacetCounters counters = current();
+        return new FacetCounts(counters.total(), isWarm(), counters.snapshot());
+    }
+}
@@ -0,0 +1,216 @@
+package org.acme.computers.generator;
+
+import org.acme.computers.partition.MonthlyPartition;
+import org.jboss.logging.Logger;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Carrega {@code computers} com milhões de linhas geradas pelo {@link ComputerGenerator},
+ * via {@code COPY} binário em várias conexões paralelas. Substitui o aquecimento
+ * pelo k6 ({@code POST /computer}) e o {@code k6/seed-computers.sql} quando o
+ * benchmark precisa de volume de produção e documentos realistas.
+ *
+ * Uso (com a aplicação parada, depois de {@code ./mvnw package}):
+ * <pre>
+ * java -cp "target/quarkus-app/lib/main/*:target/quarkus-app/app/*" \
+ *      org.acme.computers.generator.CatalogGenerator --rows=20000000 --workers=8 --seed=42
+ * </pre>
+ *
+ * Opções ({@code --nome=valor}): {@code url}, {@code user}, {@code password},
+ * {@code rows}, {@code workers}, {@code batch}, {@code seed}, {@code zipf}
+ * (expoente da popularidade das GPUs), {@code months} e {@code until}
+ * ({@code created_at} fica em {@code [until - months, until)}), {@code shards} e
+ * {@code shard} (ids no formato do {@code ShardRouter} e nomes que o
+ * {@code ShardRouter.forName} leva ao mesmo shard) e {@code triggers}.
+ *
+ * A mesma seed com os mesmos {@code rows}, {@code zipf}, {@code months} e
+ * {@code until} gera exatamente os mesmos documentos; os ids vêm de um bloco
+ * reservado em {@code computers_seq} e dependem só do valor da sequence.
+ * Com {@code triggers=false} (padrão) a sessão roda com
+ * {@code session_replication_role = replica} para não disparar um NOTIFY do
+ * feed por linha; isso exige superusuário, como o {@code quarkus_user} do docker-compose.
+ * O read model (facetas, sugestões, catálogo colunar) é reconstruído pelo
+ * {@code CatalogReconciler} quando a aplicação sobe.
+ */
+public final class CatalogGenerator {
+
+    private static final Logger LOG = Logger.getLogger(CatalogGenerator.class);
+
+    private static final String RESERVE_IDS_SQL = """
+            WITH s AS (
+                SELECT nextval('computers_seq') AS first, increment_by AS step
+                FROM pg_sequences
+                WHERE schemaname = current_schema() AND sequencename = 'computers_seq'
+            )
+            SELECT first, step, setval('computers_seq', first + (? - 1) * step) FROM s""";
+
+    record Options(String url, String user, String password, long rows, int workers, int batch, long seed,
+                   double zipf, int months, LocalDate until, int shards, int shard, boolean triggers) {
+
+        static Options parse(String... args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                int equals = arg.indexOf('=');
+                if (!arg.startsWith("--") || equals < 0) {
+                    throw new IllegalArgumentException("expected --name=value, got " + arg);
+                }
+                values.put(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+            Options options = new Options(
+                    values.getOrDefault("url", "jdbc:postgresql://localhost:5432/quarkus_db"),
+                    values.getOrDefault("user", "quarkus_user"),
+                    values.getOrDefault("password", "quarkus_password"),
+                    Long.parseLong(values.getOrDefault("rows", "10000000")),
+                    Integer.parseInt(values.getOrDefault("workers",
+                            String.valueOf(Runtime.getRuntime().availableProcessors()))),
+                    Integer.parseInt(values.getOrDefault("batch", "50000")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Double.parseDouble(values.getOrDefault("zipf", "1.1")),
+                    Integer.parseInt(values.getOrDefault("months", "24")),
+                    LocalDate.parse(values.getOrDefault("until", LocalDate.now().toString())),
+                    Integer.parseInt(values.getOrDefault("shards", "1")),
+                    Integer.parseInt(values.getOrDefault("shard", "0")),
+                    Boolean.parseBoolean(values.getOrDefault("triggers", "false")));
+            List<String> known = List.of("url", "user", "password", "rows", "workers", "batch", "seed", "zipf",
+                    "months", "until", "shards", "shard", "triggers");
+            values.keySet().stream().filter(key -> !known.contains(key)).findFirst().ifPresent(key -> {
+                throw new IllegalArgumentException("unknown option --" + key);
+            });
+            if (options.rows < 1 || options.workers < 1 || options.batch < 1 || options.months < 1) {
+                throw new IllegalArgumentException("rows, workers, batch and months must be positive");
+            }
+            if (options.shards < 1 || options.shard < 0 || options.shard >= options.shards) {
+                throw new IllegalArgumentException("shard must be in [0, shards)");
+            }
+            return options;
+        }
+
+        LocalDateTime from() {
+            return until.minusMonths(months).atStartOfDay();
+        }
+
+        /** Id da linha {@code row} dado o início do bloco reservado na sequence. */
+        long id(long first, long step, long row) {
+            long sequence = first + row * step;
+            return shards == 1 ? sequence : sequence * shards + shard;
+        }
+    }
+
+    private CatalogGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = Options.parse(args);
+        ComputerGenerator generator = new ComputerGenerator(options.seed(), options.zipf(), options.from(),
+                options.until().atStartOfDay(), options.shards(), options.shard());
+        long first;
+        long step;
+        try (Connection connection = connect(options)) {
+            for (YearMonth month = YearMonth.from(options.from()); !month.isAfter(YearMonth.from(options.until()));
+                 month = month.plusMonths(1)) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute(new MonthlyPartition(month).createSql());
+                }
+            }
+            try (PreparedStatement statement = connection.prepareStatement(RESERVE_IDS_SQL)) {
+                statement.setLong(1, options.rows());
+                try (ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    first = result.getLong(1);
+                    step = result.getLong(2);
+                }
+            }
+            connection.commit();
+        }
+        LOG.infof("[GENERATOR] %d rows, %d workers, seed=%d zipf=%s created_at in [%s, %s), first id %d",
+                options.rows(), options.workers(), options.seed(), options.zipf(), options.from(),
+                options.until(), options.id(first, step, 0));
+
+        AtomicLong next = new AtomicLong();
+        AtomicLong loaded = new AtomicLong();
+        long started = System.nanoTime();
+        ExecutorService workers = Executors.newFixedThreadPool(options.workers());
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 0; i < options.workers(); i++) {
+            running.add(workers.submit(() -> {
+                load(options, generator, first, step, next, loaded);
+                return null;
+            }));
+        }
+        workers.shutdown();
+        while (!workers.awaitTermination(10, TimeUnit.SECONDS)) {
+            progress(loaded.get(), options.rows(), started);
+        }
+        for (Future<?> worker : running) {
+            worker.get();
+        }
+        progress(loaded.get(), options.rows(), started);
+
+        try (Connection connection = connect(options); Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE computers");
+            connection.commit();
+        }
+        LOG.info("[GENERATOR] done");
+    }
+
+    /** Cada lote é um COPY numa transação própria; os workers disputam só o contador de linhas. */
+    private static void load(Options options, ComputerGenerator generator, long first, long step, AtomicLong next,
+                             AtomicLong loaded) throws SQLException, IOException {
+        try (Connection connection = connect(options)) {
+            if (!options.triggers()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SET session_replication_role = replica");
+                }
+            }
+            PGConnection pg = connection.unwrap(PGConnection.class);
+            for (long start = next.getAndAdd(options.batch()); start < options.rows();
+                 start = next.getAndAdd(options.batch())) {
+                long end = Math.min(start + options.batch(), options.rows());
+                try (DataOutputStream out = new DataOutputStream(
+                        new PGCopyOutputStream(pg, PgBinaryCopy.COPY_SQL, 1 << 20))) {
+                    PgBinaryCopy.header(out);
+                    for (long row = start; row < end; row++) {
+                        PgBinaryCopy.row(out, options.id(first, step, row), generator.generate(row));
+                    }
+                    PgBinaryCopy.trailer(out);
+                }
+                connection.commit();
+                loaded.addAndGet(end - start);
+            }
+        }
+    }
+
+    private static Connection connect(Options options) throws SQLException {
+        Connection connection = DriverManager.getConnection(options.url(), options.user(), options.password());
+        connection.setAutoCommit(false);
+        return connection;
+    }
+
+    private static void progress(long loaded, long rows, long started) {
+        double seconds = Math.max((System.nanoTime() - started) / 1e9, 0.001);
+        LOG.infof("[GENERATOR] %d/%d rows (%.1f%%), %.0f rows/s", loaded, rows, 100.0 * loaded / rows,
+                loaded / seconds);
+    }
+}
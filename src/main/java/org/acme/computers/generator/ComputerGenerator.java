@@ -0,0 +1,331 @@
+package org.acme.computers.generator;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.acme.computers.dto.CaseDTO;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.acme.computers.dto.MotherboardDTO;
+import org.acme.computers.dto.PowerSupplyDTO;
+import org.acme.computers.dto.RamDTO;
+import org.acme.computers.dto.StorageDTO;
+import org.acme.computers.dto.VideoCardDTO;
+import org.acme.computers.sharding.ShardRouter;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+
+/**
+ * Gera computadores sintéticos com cara de catálogo real: a popularidade dos
+ * modelos de GPU segue uma Zipf, o resto da máquina acompanha a faixa da GPU
+ * (plataforma, RAM, fonte com folga sobre o TDP, gabinete compatível com o
+ * formato da placa-mãe) e o preço é a soma das peças com uma margem.
+ *
+ * Cada linha usa um gerador próprio derivado de {@code (seed, row)}, então a
+ * linha N é a mesma em qualquer execução com a mesma seed, independente de
+ * quantos workers dividem a carga ou em que ordem as linhas são geradas.
+ *
+ * Com mais de um shard, o nome ganha um sufixo de lote ({@code " L2"}, {@code " L3"}...)
+ * até cair no shard pedido pelo {@link ShardRouter#shardIndex}: o shard que recebe o
+ * COPY é o mesmo que o {@code ShardRouter.forName} procura depois.
+ */
+public final class ComputerGenerator {
+
+    private static final int NAME_MAX_LENGTH = 40;
+
+    private static final int[] PSU_WATTS = {450, 550, 650, 750, 850, 1000, 1200, 1600};
+
+    /** Faixa 0 = entrada, 1 = intermediária, 2 = alta, 3 = entusiasta. */
+    record Gpu(String modelo, String vendor, int memoriaGb, String tipoMemoria, int clockMhz, int tdpWatts,
+               String interfaceType, int tier, int price) {
+    }
+
+    record Platform(String socket, String chipset, String ddr, int minTier, int maxTier, int price) {
+    }
+
+    record Drive(String modelo, String fabricante, String tipo, String interfaceType, int leituraMbps,
+                 int escritaMbps, int pricePerTb) {
+    }
+
+    record Case(String modelo, String fabricante, String tipo, boolean miniItx, String radiador, int coolers,
+                int price) {
+    }
+
+    /** Ordenadas da mais para a menos popular; o índice é o rank da Zipf. */
+    static final List<Gpu> GPUS = List.of(
+            new Gpu("GeForce RTX 4060", "NVIDIA", 8, "GDDR6", 2460, 115, "PCIe 4.0 x8", 1, 1900),
+            new Gpu("GeForce RTX 3060", "NVIDIA", 12, "GDDR6", 1777, 170, "PCIe 4.0 x16", 1, 1700),
+            new Gpu("GeForce RTX 4060 Ti", "NVIDIA", 8, "GDDR6", 2535, 160, "PCIe 4.0 x8", 1, 2500),
+            new Gpu("GeForce RTX 4070", "NVIDIA", 12, "GDDR6X", 2475, 200, "PCIe 4.0 x16", 2, 3900),
+            new Gpu("Radeon RX 7600", "AMD", 8, "GDDR6", 2655, 165, "PCIe 4.0 x8", 1, 1600),
+            new Gpu("GeForce RTX 4070 Super", "NVIDIA", 12, "GDDR6X", 2475, 220, "PCIe 4.0 x16", 2, 4500),
+            new Gpu("Radeon RX 7800 XT", "AMD", 16, "GDDR6", 2430, 263, "PCIe 4.0 x16", 2, 3600),
+            new Gpu("GeForce GTX 1650", "NVIDIA", 4, "GDDR6", 1590, 75, "PCIe 3.0 x16", 0, 900),
+            new Gpu("GeForce RTX 4070 Ti Super", "NVIDIA", 16, "GDDR6X", 2610, 285, "PCIe 4.0 x16", 2, 5800),
+            new Gpu("GeForce RTX 3050", "NVIDIA", 8, "GDDR6", 1777, 130, "PCIe 4.0 x8", 0, 1200),
+            new Gpu("Radeon RX 6600", "AMD", 8, "GDDR6", 2491, 132, "PCIe 4.0 x8", 0, 1300),
+            new Gpu("GeForce RTX 4080 Super", "NVIDIA", 16, "GDDR6X", 2550, 320, "PCIe 4.0 x16", 3, 7500),
+            new Gpu("Radeon RX 7700 XT", "AMD", 12, "GDDR6", 2544, 245, "PCIe 4.0 x16", 2, 3000),
+            new Gpu("Radeon RX 7900 XT", "AMD", 20, "GDDR6", 2400, 315, "PCIe 4.0 x16", 3, 6000),
+            new Gpu("GeForce RTX 4090", "NVIDIA", 24, "GDDR6X", 2520, 450, "PCIe 4.0 x16", 3, 13000),
+            new Gpu("Radeon RX 7900 XTX", "AMD", 24, "GDDR6", 2500, 355, "PCIe 4.0 x16", 3, 7200),
+            new Gpu("Intel Arc A770", "Intel", 16, "GDDR6", 2400, 225, "PCIe 4.0 x16", 1, 2200),
+            new Gpu("Intel Arc A750", "Intel", 8, "GDDR6", 2400, 225, "PCIe 4.0 x16", 1, 1700),
+            new Gpu("GeForce RTX 5080", "NVIDIA", 16, "GDDR7", 2617, 360, "PCIe 5.0 x16", 3, 9000),
+            new Gpu("GeForce RTX 5090", "NVIDIA", 32, "GDDR7", 2407, 575, "PCIe 5.0 x16", 3, 18000));
+
+    private static final List<String> NVIDIA_PARTNERS = List.of("ASUS", "MSI", "Gigabyte", "Zotac", "PNY", "Galax");
+
+    private static final List<String> AMD_PARTNERS = List.of("Sapphire", "PowerColor", "XFX", "ASRock", "ASUS");
+
+    private static final List<String> INTEL_PARTNERS = List.of("Intel", "ASRock");
+
+    /** Preço inclui o processador. */
+    static final List<Platform> PLATFORMS = List.of(
+            new Platform("LGA1700", "H610", "DDR4", 0, 0, 900),
+            new Platform("AM4", "B550", "DDR4", 0, 1, 1100),
+            new Platform("LGA1700", "B760", "DDR5", 0, 2, 1600),
+            new Platform("AM5", "B650", "DDR5", 1, 2, 2000),
+            new Platform("LGA1700", "Z790", "DDR5", 2, 3, 3600),
+            new Platform("AM5", "X670E", "DDR5", 2, 3, 4200));
+
+    private static final List<String> BOARD_VENDORS = List.of("ASUS", "MSI", "Gigabyte", "ASRock");
+
+    private static final List<String> BOARD_LINES = List.of("TUF GAMING %s-PLUS", "MAG %s TOMAHAWK",
+            "%s AORUS ELITE", "%s Steel Legend");
+
+    private static final List<String> RAM_VENDORS = List.of("Kingston", "Corsair", "G.Skill", "XPG");
+
+    private static final List<String> RAM_LINES = List.of("Fury Beast", "Vengeance", "Trident Z5", "Lancer");
+
+    /** Capacidade total de RAM por faixa da GPU; repetições pesam o sorteio. */
+    private static final int[][] RAM_GB = {{8, 16, 16}, {16, 16, 32}, {32, 32, 64}, {32, 64, 64, 128}};
+
+    static final List<Drive> DRIVES = List.of(
+            new Drive("NV2", "Kingston", "NVMe", "NVMe PCIe 4.0", 3500, 2800, 300),
+            new Drive("990 PRO", "Samsung", "NVMe", "NVMe PCIe 4.0", 7450, 6900, 550),
+            new Drive("Black SN850X", "Western Digital", "NVMe", "NVMe PCIe 4.0", 7300, 6600, 520),
+            new Drive("T700", "Crucial", "NVMe", "NVMe PCIe 5.0", 12400, 11800, 900),
+            new Drive("870 EVO", "Samsung", "SSD", "SATA III", 560, 530, 450),
+            new Drive("BarraCuda", "Seagate", "HDD", "SATA III", 190, 190, 120));
+
+    private static final List<String> PSU_VENDORS = List.of("Corsair", "Seasonic", "be quiet!", "Cooler Master",
+            "EVGA");
+
+    private static final List<String> PSU_LINES = List.of("RM%dx", "FOCUS GX-%d", "Pure Power 12 M %dW",
+            "MWE Gold %d V2", "SuperNOVA %d G6");
+
+    private static final List<String> CERTIFICATIONS = List.of("80 Plus Bronze", "80 Plus Gold", "80 Plus Platinum",
+            "80 Plus Titanium");
+
+    static final List<Case> CASES = List.of(
+            new Case("4000D Airflow", "Corsair", "Mid Tower", false, "360mm", 2, 650),
+            new Case("H5 Flow", "NZXT", "Mid Tower", false, "280mm", 2, 600),
+            new Case("O11 Dynamic EVO", "Lian Li", "Mid Tower", false, "360mm", 0, 1000),
+            new Case("North", "Fractal Design", "Mid Tower", false, "360mm", 2, 900),
+            new Case("7000D Airflow", "Corsair", "Full Tower", false, "420mm", 3, 1500),
+            new Case("MasterBox Q300L", "Cooler Master", "Mini Tower", false, "240mm", 1, 300),
+            new Case("NR200P", "Cooler Master", "SFF", true, "280mm", 2, 550),
+            new Case("A4-H2O", "Lian Li", "SFF", true, "240mm", 0, 800));
+
+    private static final List<List<Platform>> PLATFORMS_BY_TIER = IntStream.rangeClosed(0, 3)
+            .mapToObj(tier -> PLATFORMS.stream().filter(p -> p.minTier() <= tier && tier <= p.maxTier()).toList())
+            .toList();
+
+    private static final List<Case> SFF_CASES = CASES.stream().filter(Case::miniItx).toList();
+
+    private static final List<Case> TOWER_CASES = CASES.stream().filter(c -> !c.miniItx()).toList();
+
+    private static final List<String> NOTES = List.of("Montado e testado", "Garantia de 12 meses",
+            "Cable management caprichado", "Pronto para 1440p", "Ideal para home office", "Overclock de fábrica");
+
+    private final long seed;
+
+    private final ZipfSampler gpus;
+
+    private final long fromEpochSecond;
+
+    private final long spanSeconds;
+
+    private final ObjectWriter writer;
+
+    private final int shards;
+
+    private final int shard;
+
+    public ComputerGenerator(long seed, double zipfExponent, LocalDateTime from, LocalDateTime until) {
+        this(seed, zipfExponent, from, until, 1, 0);
+    }
+
+    /**
+     * @param zipfExponent 0 deixa os modelos de GPU uniformes; ~1 é uma cauda longa típica
+     * @param from         início (inclusive) do intervalo de {@code created_at}
+     * @param until        fim (exclusivo) do intervalo de {@code created_at}
+     * @param shards       número de shards do {@code ShardRouter}
+     * @param shard        shard a que os nomes gerados devem pertencer
+     */
+    public ComputerGenerator(long seed, double zipfExponent, LocalDateTime from, LocalDateTime until, int shards,
+                             int shard) {
+        if (!from.isBefore(until)) {
+            throw new IllegalArgumentException("created_at range must not be empty");
+        }
+        if (shards < 1 || shard < 0 || shard >= shards) {
+            throw new IllegalArgumentException("shard must be in [0, shards)");
+        }
+        this.shards = shards;
+        this.shard = shard;
+        this.seed = seed;
+        this.gpus = new ZipfSampler(GPUS.size(), zipfExponent);
+        this.fromEpochSecond = from.toEpochSecond(ZoneOffset.UTC);
+        this.spanSeconds = until.toEpochSecond(ZoneOffset.UTC) - fromEpochSecond;
+        this.writer = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .writerFor(ComputerDescriptionDTO.class);
+    }
+
+    public GeneratedComputer generate(long row) {
+        SplittableRandom random = new SplittableRandom(mix(seed, row));
+        Gpu gpu = GPUS.get(gpus.sample(random));
+        Platform platform = pick(random, PLATFORMS_BY_TIER.get(gpu.tier()));
+        int price = gpu.price() + platform.price();
+
+        int formatRoll = random.nextInt(10);
+        String formato = formatRoll < 6 ? "ATX" : formatRoll < 9 ? "Micro-ATX" : "Mini-ITX";
+        boolean miniItx = formato.equals("Mini-ITX");
+        int board = random.nextInt(BOARD_VENDORS.size());
+        boolean ddr5 = platform.ddr().equals("DDR5");
+        MotherboardDTO placaMae = new MotherboardDTO(BOARD_LINES.get(board).formatted(platform.chipset()),
+                BOARD_VENDORS.get(board), platform.socket(), platform.chipset(), formato, miniItx ? 2 : 4,
+                (ddr5 ? 192 : 128) / (miniItx ? 2 : 1), miniItx ? 1 : formato.equals("ATX") ? 3 : 2);
+
+        int[] ramOptions = RAM_GB[gpu.tier()];
+        int ramGb = Math.min(ramOptions[random.nextInt(ramOptions.length)], placaMae.getRamMaxGb());
+        int modules = ramGb >= 128 && !miniItx ? 4 : 2;
+        int ram = random.nextInt(RAM_VENDORS.size());
+        int frequency = ddr5 ? new int[]{5200, 5600, 6000, 6400}[random.nextInt(4)] : random.nextBoolean() ? 3200 : 3600;
+        String latency = ddr5 ? (frequency >= 6000 ? "CL30" : "CL36") : (frequency == 3600 ? "CL18" : "CL16");
+        List<RamDTO.ModuloRamDTO> modulos = new ArrayList<>(modules);
+        for (int i = 0; i < modules; i++) {
+            modulos.add(new RamDTO.ModuloRamDTO(RAM_LINES.get(ram), RAM_VENDORS.get(ram), ramGb / modules,
+                    platform.ddr(), frequency, latency));
+        }
+        price += ramGb * (ddr5 ? 16 : 12);
+
+        List<StorageDTO.DispositivoArmazenamentoDTO> dispositivos = new ArrayList<>(2);
+        Drive primary = DRIVES.get(gpu.tier() == 3 && random.nextInt(3) == 0 ? 3 : random.nextInt(3));
+        int primaryGb = new int[]{500, 1000, 1000, 2000, 2000, 4000}[Math.min(5, gpu.tier() + random.nextInt(3))];
+        price += device(dispositivos, primary, primaryGb);
+        int storageGb = primaryGb;
+        if (random.nextInt(10) < 3) {
+            Drive secondary = DRIVES.get(4 + random.nextInt(2));
+            int secondaryGb = secondary.tipo().equals("HDD") ? 2000 * (1 + random.nextInt(2)) : 1000;
+            price += device(dispositivos, secondary, secondaryGb);
+            storageGb += secondaryGb;
+        }
+
+        int needed = (gpu.tdpWatts() + 150) * 13 / 10;
+        int step = 0;
+        while (step < PSU_WATTS.length - 1 && PSU_WATTS[step] < needed) {
+            step++;
+        }
+        if (step < PSU_WATTS.length - 1 && random.nextInt(10) < 3) {
+            step++;
+        }
+        int watts = PSU_WATTS[step];
+        int psu = random.nextInt(PSU_VENDORS.size());
+        int certification = Math.min(CERTIFICATIONS.size() - 1, Math.max(0, gpu.tier() - 1 + random.nextInt(3)));
+        PowerSupplyDTO fonte = new PowerSupplyDTO(PSU_LINES.get(psu).formatted(watts), watts,
+                CERTIFICATIONS.get(certification), gpu.tier() >= 2 || random.nextBoolean(), PSU_VENDORS.get(psu));
+        price += watts * 6 / 10 + certification * 150;
+
+        Case chassis = pick(random, miniItx ? SFF_CASES : TOWER_CASES);
+        CaseDTO gabinete = new CaseDTO(chassis.modelo(), chassis.fabricante(), chassis.tipo(),
+                random.nextInt(10) < 7 ? "Preto" : "Branco", "Aço e vidro temperado",
+                miniItx ? "Mini-ITX" : "ATX, Micro-ATX, Mini-ITX", miniItx ? 3 : 7,
+                chassis.miniItx() ? 0 : 2, chassis.miniItx() ? 2 : 4,
+                new CaseDTO.VentilacaoDTO(chassis.coolers(), chassis.radiador(), 3, miniItx ? 0 : 3, 1));
+        price += chassis.price();
+
+        VideoCardDTO placaVideo = new VideoCardDTO(gpu.modelo(), pick(random, partners(gpu.vendor())),
+                gpu.modelo().substring(gpu.modelo().indexOf(' ') + 1), gpu.memoriaGb(), gpu.tipoMemoria(),
+                gpu.clockMhz(), gpu.tdpWatts(), gpu.interfaceType());
+
+        ComputerDescriptionDTO description = new ComputerDescriptionDTO(fonte, placaMae, placaVideo,
+                new RamDTO(modulos, ramGb), new StorageDTO(dispositivos, storageGb), gabinete,
+                random.nextInt(5) == 0 ? pick(random, NOTES) : null);
+        description.setName(onShard(name(gpu, ramGb)));
+        // margem de 8% a 25% sobre as peças, arredondada para terminar em ,90
+        long withMargin = Math.round(price * (1.08 + random.nextDouble() * 0.17) / 10) * 10;
+        description.setPrice(BigDecimal.valueOf(withMargin).subtract(new BigDecimal("0.10"))
+                .setScale(2, RoundingMode.UNNECESSARY));
+
+        // catálogo em crescimento: densidade linear, mais linhas perto de "until"
+        long offset = (long) (spanSeconds * Math.sqrt(random.nextDouble()));
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(fromEpochSecond + Math.min(offset, spanSeconds - 1), 0,
+                ZoneOffset.UTC);
+        try {
+            return new GeneratedComputer(row, description.getName(), description.getPrice(),
+                    writer.writeValueAsBytes(description), createdAt);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("could not serialize generated computer " + row, e);
+        }
+    }
+
+    private static int device(List<StorageDTO.DispositivoArmazenamentoDTO> dispositivos, Drive drive, int gb) {
+        dispositivos.add(new StorageDTO.DispositivoArmazenamentoDTO(drive.modelo(), drive.fabricante(), drive.tipo(),
+                gb, drive.interfaceType(), drive.leituraMbps(), drive.escritaMbps()));
+        return drive.pricePerTb() * gb / 1000;
+    }
+
+    private static String name(Gpu gpu, int ramGb) {
+        String line = switch (gpu.tier()) {
+            case 0 -> "Office";
+            case 1 -> "Gamer";
+            case 2 -> "Gamer Pro";
+            default -> "Extreme";
+        };
+        String name = "PC %s %s %dGB".formatted(line, gpu.modelo().replaceFirst("^(GeForce|Radeon|Intel) ", ""), ramGb);
+        return name.length() <= NAME_MAX_LENGTH ? name : name.substring(0, NAME_MAX_LENGTH);
+    }
+
+    /** O nome, ou o nome com o primeiro sufixo de lote cujo hash cai em {@link #shard}. */
+    private String onShard(String name) {
+        if (ShardRouter.shardIndex(name, shards) == shard) {
+            return name;
+        }
+        for (int lot = 2; ; lot++) {
+            String suffix = " L" + lot;
+            String base = name.length() + suffix.length() <= NAME_MAX_LENGTH
+                    ? name : name.substring(0, NAME_MAX_LENGTH - suffix.length());
+            if (ShardRouter.shardIndex(base + suffix, shards) == shard) {
+                return base + suffix;
+            }
+        }
+    }
+
+    private static List<String> partners(String vendor) {
+        return switch (vendor) {
+            case "NVIDIA" -> NVIDIA_PARTNERS;
+            case "AMD" -> AMD_PARTNERS;
+            default -> INTEL_PARTNERS;
+        };
+    }
+
+    private static <T> T pick(SplittableRandom random, List<T> options) {
+        return options.get(random.nextInt(options.size()));
+    }
+
+    /** Mistura de 64 bits (variante 13 de Stafford) para que seeds e linhas vizinhas não gerem sequências parecidas. */
+    static long mix(long seed, long row) {
+        long z = seed * 0x9E3779B97F4A7C15L + row;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
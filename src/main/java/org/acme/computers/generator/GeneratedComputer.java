@@ -0,0 +1,11 @@
+package org.acme.computers.generator;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Uma linha gerada pelo {@link ComputerGenerator}: as colunas de {@code computers}
+ * e o documento {@code description} já serializado em JSON (UTF-8).
+ */
+public record GeneratedComputer(long row, String name, BigDecimal price, byte[] json, LocalDateTime createdAt) {
+}
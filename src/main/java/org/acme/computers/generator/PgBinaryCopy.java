@@ -0,0 +1,102 @@
+package org.acme.computers.generator;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Codifica linhas de {@code computers} no formato binário do {@code COPY ... FROM STDIN (FORMAT binary)}:
+ * cabeçalho fixo, uma tupla por linha (contagem de campos e, por campo, tamanho
+ * seguido dos bytes no formato de envio do tipo) e o trailer {@code -1}.
+ *
+ * Só os tipos das colunas carregadas: {@code bigint}, {@code varchar}, {@code numeric},
+ * {@code jsonb} e {@code timestamp} (sem fuso, microssegundos desde 2000-01-01).
+ */
+final class PgBinaryCopy {
+
+    static final String COPY_SQL =
+            "COPY computers (id, name, price, description, created_at) FROM STDIN (FORMAT binary)";
+
+    private static final byte[] SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+
+    private static final LocalDateTime PG_EPOCH = LocalDateTime.of(2000, 1, 1, 0, 0);
+
+    private static final int NUMERIC_POSITIVE = 0x0000;
+
+    private static final int NUMERIC_NEGATIVE = 0x4000;
+
+    private static final int JSONB_VERSION = 1;
+
+    private PgBinaryCopy() {
+    }
+
+    static void header(DataOutputStream out) throws IOException {
+        out.write(SIGNATURE);
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    static void row(DataOutputStream out, long id, GeneratedComputer computer) throws IOException {
+        out.writeShort(5);
+        out.writeInt(8);
+        out.writeLong(id);
+        byte[] name = computer.name().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(name.length);
+        out.write(name);
+        numeric(out, computer.price());
+        out.writeInt(computer.json().length + 1);
+        out.writeByte(JSONB_VERSION);
+        out.write(computer.json());
+        out.writeInt(8);
+        out.writeLong(timestampMicros(computer.createdAt()));
+    }
+
+    static void trailer(DataOutputStream out) throws IOException {
+        out.writeShort(-1);
+    }
+
+    /**
+     * {@code numeric} em base 10000: quantidade de dígitos, peso do primeiro dígito,
+     * sinal e escala, seguidos dos dígitos; zeros nas pontas não são enviados.
+     */
+    static void numeric(DataOutputStream out, BigDecimal value) throws IOException {
+        int scale = Math.max(value.scale(), 0);
+        String plain = value.abs().setScale(scale).toPlainString();
+        int point = plain.indexOf('.');
+        String integer = point < 0 ? plain : plain.substring(0, point);
+        String fraction = point < 0 ? "" : plain.substring(point + 1);
+        integer = "0".repeat((4 - integer.length() % 4) % 4) + integer;
+        fraction = fraction + "0".repeat((4 - fraction.length() % 4) % 4);
+        String digits = integer + fraction;
+        int count = digits.length() / 4;
+        int first = 0;
+        while (first < count && group(digits, first) == 0) {
+            first++;
+        }
+        int last = count - 1;
+        while (last >= first && group(digits, last) == 0) {
+            last--;
+        }
+        int ndigits = last - first + 1;
+        int weight = ndigits == 0 ? 0 : integer.length() / 4 - 1 - first;
+        out.writeInt(8 + 2 * ndigits);
+        out.writeShort(ndigits);
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? NUMERIC_NEGATIVE : NUMERIC_POSITIVE);
+        out.writeShort(scale);
+        for (int i = first; i <= last; i++) {
+            out.writeShort(group(digits, i));
+        }
+    }
+
+    static long timestampMicros(LocalDateTime value) {
+        return ChronoUnit.MICROS.between(PG_EPOCH, value);
+    }
+
+    private static int group(String digits, int index) {
+        return Integer.parseInt(digits, index * 4, index * 4 + 4, 10);
+    }
+}
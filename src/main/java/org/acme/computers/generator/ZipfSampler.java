@@ -0,0 +1,44 @@
+package org.acme.computers.generator;
+
+import java.util.SplittableRandom;
+
+/**
+ * Sorteia um rank em {@code [0, n)} com probabilidade proporcional a
+ * {@code 1 / (rank + 1)^expoente}: o rank 0 é o mais frequente. A CDF é
+ * calculada uma vez e cada sorteio é uma busca binária.
+ */
+final class ZipfSampler {
+
+    private final double[] cdf;
+
+    ZipfSampler(int n, double exponent) {
+        if (n < 1 || exponent < 0) {
+            throw new IllegalArgumentException("zipf needs n >= 1 and exponent >= 0");
+        }
+        cdf = new double[n];
+        double sum = 0;
+        for (int rank = 0; rank < n; rank++) {
+            sum += 1 / Math.pow(rank + 1, exponent);
+            cdf[rank] = sum;
+        }
+        for (int rank = 0; rank < n; rank++) {
+            cdf[rank] /= sum;
+        }
+        cdf[n - 1] = 1;
+    }
+
+    int sample(SplittableRandom random) {
+        double u = random.nextDouble();
+        int low = 0;
+        int high = cdf.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cdf[mid] < u) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
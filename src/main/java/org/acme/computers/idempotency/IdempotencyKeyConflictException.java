@@ -0,0 +1,12 @@
+package org.acme.computers.idempotency;
+
+/**
+ * A chave de idempotência já foi usada e não é possível repetir a resposta
+ * original (corpo diferente ou recurso original removido).
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    public IdempotencyKeyConflictException(String message) {
+        super(message);
+    }
+}
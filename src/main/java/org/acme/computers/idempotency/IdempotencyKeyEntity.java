@@ -0,0 +1,36 @@
+package org.acme.computers.idempotency;
+
+import io.quarkus.hibernate.reactive.panache.PanacheEntityBase;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Chave de idempotência já usada num {@code POST /computer}.
+ *
+ * Mapeada só para que o schema-management crie a tabela; o acesso é feito com
+ * SQL direto em {@code ComputerWriteService}, na mesma transação do insert.
+ * Fica fora de {@code computers} para que a unicidade da chave não dependa do
+ * layout daquela tabela.
+ */
+@Entity
+@Table(name = "computer_idempotency")
+public class IdempotencyKeyEntity extends PanacheEntityBase {
+
+    @Id
+    @Column(name = "idempotency_key", length = IdempotencyStore.KEY_MAX_LENGTH)
+    public String idempotencyKey;
+
+    /** SHA-256 do corpo original; outra requisição com a mesma chave precisa ter o mesmo corpo. */
+    @Column(length = 64, nullable = false)
+    public String fingerprint;
+
+    @Column(name = "computer_id")
+    public Long computerId;
+
+    @Column(name = "created_at", nullable = false)
+    public LocalDateTime createdAt;
+}
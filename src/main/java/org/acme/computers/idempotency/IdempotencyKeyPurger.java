@@ -0,0 +1,49 @@
+package org.acme.computers.idempotency;
+
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Remove do primary de cada shard as chaves de idempotência mais antigas que a retenção configurada.
+ */
+@ApplicationScoped
+public class IdempotencyKeyPurger {
+
+    private static final Logger LOG = Logger.getLogger(IdempotencyKeyPurger.class);
+
+    @Inject
+    ShardRouter router;
+
+    @ConfigProperty(name = "computers.idempotency.retention", defaultValue = "24h")
+    Duration retention;
+
+    @Scheduled(every = "{computers.idempotency.purge-interval}", identity = "idempotency-key-purger",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> purge() {
+        Tuple cutoff = Tuple.of(LocalDateTime.now().minus(retention));
+        return Multi.createFrom().iterable(router.shards())
+                .onItem().transformToUniAndConcatenate(shard -> shard.primary()
+                        .preparedQuery("DELETE FROM computer_idempotency WHERE created_at < $1")
+                        .execute(cutoff)
+                        .onItem().invoke(rows -> {
+                            if (rows.rowCount() > 0) {
+                                LOG.infof("[IDEMPOTENCY] shard %d: %d chaves expiradas removidas",
+                                        shard.index(), rows.rowCount());
+                            }
+                        }))
+                .collect().last()
+                .onFailure().invoke(failure -> LOG.warn("[IDEMPOTENCY] falha ao remover chaves expiradas", failure))
+                .onFailure().recoverWithNull()
+                .replaceWithVoid();
+    }
+}
@@ -0,0 +1,105 @@
+package org.acme.computers.idempotency;
+
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.acme.computers.InvalidRequestException;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tabela em memória, limitada e com expiração, das requisições com
+ * {@code Idempotency-Key}.
+ *
+ * Cada chave guarda o {@link Uni} memoizado da primeira execução: duplicatas
+ * concorrentes aguardam o mesmo resultado e duplicatas posteriores recebem o
+ * resultado guardado sem nenhum acesso ao banco. Falhas não ficam guardadas —
+ * a entrada é removida para que o retry execute de novo.
+ *
+ * Depois de expirar ou ser despejada (e após um restart) a chave continua
+ * protegida pela tabela {@code computer_idempotency} no primary.
+ */
+@ApplicationScoped
+public class IdempotencyStore {
+
+    public static final int KEY_MAX_LENGTH = 255;
+
+    @ConfigProperty(name = "computers.idempotency.max-entries", defaultValue = "10000")
+    int maxEntries;
+
+    @ConfigProperty(name = "computers.idempotency.ttl", defaultValue = "1h")
+    Duration ttl;
+
+    private static final class Entry {
+        final String fingerprint;
+        final long expiresAtNanos;
+        Uni<?> result;
+
+        Entry(String fingerprint, long expiresAtNanos) {
+            this.fingerprint = fingerprint;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > maxEntries;
+        }
+    };
+
+    /**
+     * Executa {@code action} uma única vez por chave enquanto a entrada estiver na tabela.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Uni<T> execute(String key, String fingerprint, Supplier<Uni<T>> action) {
+        Entry entry;
+        synchronized (entries) {
+            entry = entries.get(key);
+            if (entry == null || System.nanoTime() - entry.expiresAtNanos > 0) {
+                Entry created = new Entry(fingerprint, System.nanoTime() + ttl.toNanos());
+                created.result = Uni.createFrom().deferred(() -> action.get())
+                        .onFailure().invoke(() -> evict(key, created))
+                        .memoize().indefinitely();
+                entries.put(key, created);
+                entry = created;
+            }
+        }
+        if (!entry.fingerprint.equals(fingerprint)) {
+            return Uni.createFrom().failure(new IdempotencyKeyConflictException(
+                    "Idempotency-Key already used with a different request body"));
+        }
+        return (Uni<T>) entry.result;
+    }
+
+    /** Valida o formato da chave recebida no header. */
+    public static void validateKey(String key) {
+        if (key.isBlank() || key.length() > KEY_MAX_LENGTH) {
+            throw new InvalidRequestException(
+                    "Idempotency-Key must be non-blank and at most " + KEY_MAX_LENGTH + " characters");
+        }
+    }
+
+    /** SHA-256 (hex) do corpo serializado, usado para detectar reuso da chave com outro corpo. */
+    public static String fingerprint(String body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(body.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void evict(String key, Entry entry) {
+        synchronized (entries) {
+            entries.remove(key, entry);
+        }
+    }
+}
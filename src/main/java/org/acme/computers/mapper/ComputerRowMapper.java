@@ -1,12 +1,17 @@
 package org.acme.computers.mapper;
 
+import io.vertx.core.json.Json;
 import io.vertx.mutiny.sqlclient.Row;
 import io.vertx.mutiny.sqlclient.RowSet;
 import jakarta.enterprise.context.ApplicationScoped;
 import org.acme.computers.ComputerEntity;
 
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.UUID;
 
 @ApplicationScoped
 public class ComputerRowMapper {
@@ -18,6 +23,26 @@ public class ComputerRowMapper {
         entity.price = row.getBigDecimal("price");
         entity.description = row.getString("description");
         entity.createdAt = row.getLocalDateTime("created_at");
+        entity.trackingId = row.getUUID("tracking_id");
+        entity.version = row.getLong("version");
+        return entity;
+    }
+
+    /**
+     * Mesmo mapeamento para o backend JDBC. O jsonb chega como texto do servidor
+     * (com espaços); passar pelo codec do Vert.x devolve a mesma forma compacta do
+     * cliente reativo, para os dois backends responderem bytes idênticos.
+     */
+    public ComputerEntity mapRow(ResultSet row) throws SQLException {
+        ComputerEntity entity = new ComputerEntity();
+        entity.id = row.getLong("id");
+        entity.name = row.getString("name");
+        entity.price = row.getBigDecimal("price");
+        String description = row.getString("description");
+        entity.description = description != null ? Json.encode(Json.decodeValue(description)) : null;
+        entity.createdAt = row.getObject("created_at", LocalDateTime.class);
+        entity.trackingId = row.getObject("tracking_id", UUID.class);
+        entity.version = row.getLong("version");
         return entity;
     }
 
@@ -0,0 +1,65 @@
+package org.acme.computers.partition;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Partição mensal de {@code computers} por {@code created_at}, nomeada
+ * {@code computers_pAAAA_MM}. Só partições com esse nome são gerenciadas pelo
+ * {@link PartitionManager}; qualquer outra criada à mão fica intocada.
+ */
+public record MonthlyPartition(YearMonth month) implements Comparable<MonthlyPartition> {
+
+    private static final Pattern NAME = Pattern.compile("computers_p(\\d{4})_(\\d{2})");
+
+    public static Optional<MonthlyPartition> parse(String tableName) {
+        Matcher matcher = NAME.matcher(tableName);
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+        return Optional.of(new MonthlyPartition(
+                YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)))));
+    }
+
+    public String name() {
+        return "computers_p%04d_%02d".formatted(month.getYear(), month.getMonthValue());
+    }
+
+    public LocalDate from() {
+        return month.atDay(1);
+    }
+
+    public LocalDate to() {
+        return month.plusMonths(1).atDay(1);
+    }
+
+    public String createSql() {
+        return "CREATE TABLE IF NOT EXISTS %s PARTITION OF computers FOR VALUES FROM ('%s') TO ('%s')"
+                .formatted(name(), from(), to());
+    }
+
+    /**
+     * {@code CONCURRENTLY} evita bloquear leituras e escritas na tabela pai durante o
+     * detach; o PostgreSQL o recusa quando {@code computers} tem partição default.
+     */
+    public String detachSql(boolean concurrently) {
+        return "ALTER TABLE computers DETACH PARTITION %s%s".formatted(name(), concurrently ? " CONCURRENTLY" : "");
+    }
+
+    /** Conclui um {@code DETACH ... CONCURRENTLY} interrompido (partição pendente de detach). */
+    public String finalizeDetachSql() {
+        return "ALTER TABLE computers DETACH PARTITION %s FINALIZE".formatted(name());
+    }
+
+    public String dropSql() {
+        return "DROP TABLE IF EXISTS %s".formatted(name());
+    }
+
+    @Override
+    public int compareTo(MonthlyPartition other) {
+        return month.compareTo(other.month);
+    }
+}
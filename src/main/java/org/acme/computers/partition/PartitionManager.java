@@ -0,0 +1,212 @@
+package org.acme.computers.partition;
+
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.catalog.CatalogReconciler;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Mantém as partições mensais de {@code computers} (particionada por RANGE em
+ * {@code created_at}) direto no primary de cada shard; as réplicas recebem o DDL
+ * pela replicação.
+ *
+ * A cada execução cria as partições do mês anterior até {@code premake} meses à
+ * frente e, se houver retenção configurada, desanexa ou remove as partições que
+ * saíram da janela. O detach é {@code CONCURRENTLY}; um detach interrompido
+ * (partição pendente) é concluído com {@code FINALIZE} na execução seguinte. Bancos
+ * com partição default (criados antes dela sair do {@code init-primary.sql}) usam o
+ * detach comum, que o PostgreSQL exige nesse caso. Se a tabela ainda for um heap
+ * comum (banco criado antes do particionamento) o job apenas registra o aviso.
+ *
+ * Linhas removidas junto com uma partição não geram {@code ComputerChangedEvent};
+ * por isso as visões do catálogo são reconstruídas depois de qualquer expiração.
+ */
+@ApplicationScoped
+public class PartitionManager {
+
+    private static final Logger LOG = Logger.getLogger(PartitionManager.class);
+
+    private static final String IS_PARTITIONED_SQL =
+            "SELECT EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'computers'::regclass) AS partitioned";
+
+    private static final String LIST_PARTITIONS_SQL = """
+            SELECT c.relname, i.inhdetachpending AS detach_pending,
+                   pg_get_expr(c.relpartbound, c.oid) = 'DEFAULT' AS is_default
+            FROM pg_inherits i
+            JOIN pg_class c ON c.oid = i.inhrelid
+            WHERE i.inhparent = 'computers'::regclass
+            """;
+
+    public enum ExpireAction {
+        DETACH, DROP
+    }
+
+    /** Partições mensais anexadas, as pendentes de detach e se existe partição default. */
+    record Partitions(TreeSet<MonthlyPartition> attached, List<MonthlyPartition> detachPending,
+                      boolean hasDefault) {
+    }
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    CatalogReconciler catalogReconciler;
+
+    @ConfigProperty(name = "computers.partitions.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "computers.partitions.premake", defaultValue = "3")
+    int premake;
+
+    /** Meses mantidos anexados; 0 mantém tudo. */
+    @ConfigProperty(name = "computers.partitions.retention-months", defaultValue = "0")
+    int retentionMonths;
+
+    @ConfigProperty(name = "computers.partitions.expire-action", defaultValue = "detach")
+    ExpireAction expireAction;
+
+    private volatile boolean warnedNotPartitioned;
+
+    private volatile boolean warnedDefaultPartition;
+
+    @Scheduled(every = "{computers.partitions.check-interval}", identity = "partition-manager",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    Uni<Void> scheduledMaintain() {
+        return maintain();
+    }
+
+    public Uni<Void> maintain() {
+        if (!enabled) {
+            return Uni.createFrom().voidItem();
+        }
+        AtomicBoolean expiredAny = new AtomicBoolean();
+        return Multi.createFrom().iterable(router.shards())
+                .onItem().transformToUniAndConcatenate(shard -> maintain(shard.primary())
+                        .onItem().invoke(expired -> expiredAny.compareAndSet(false, expired)))
+                .collect().last()
+                .onItem().transformToUni(ignored -> expiredAny.get()
+                        ? catalogReconciler.reconcile()
+                        : Uni.createFrom().voidItem());
+    }
+
+    /** @return se alguma partição expirou neste primary */
+    private Uni<Boolean> maintain(Pool primary) {
+        return primary.query(IS_PARTITIONED_SQL).execute()
+                .onItem().transformToUni(rows -> {
+                    if (!rows.iterator().next().getBoolean("partitioned")) {
+                        if (!warnedNotPartitioned) {
+                            warnedNotPartitioned = true;
+                            LOG.warn("[PARTITION] computers não é particionada — veja a migração em docs/DOCUMENTATION.md");
+                        }
+                        return Uni.createFrom().item(false);
+                    }
+                    return primary.query(LIST_PARTITIONS_SQL).execute()
+                            .onItem().transformToUni(listed -> apply(primary, partitions(listed)));
+                })
+                .onFailure().invoke(failure -> LOG.error("[PARTITION] manutenção de partições falhou", failure))
+                .onFailure().recoverWithItem(false);
+    }
+
+    private Uni<Boolean> apply(Pool primary, Partitions partitions) {
+        if (partitions.hasDefault() && retentionMonths > 0 && !warnedDefaultPartition) {
+            warnedDefaultPartition = true;
+            LOG.warn("[PARTITION] computers tem partição default — detach sem CONCURRENTLY (bloqueia a tabela)");
+        }
+        YearMonth now = YearMonth.now();
+        List<String> statements = statements(partitions, now, premake, retentionMonths, expireAction);
+        if (statements.isEmpty()) {
+            return Uni.createFrom().item(false);
+        }
+        boolean expiredAny = !partitions.detachPending().isEmpty()
+                || !expired(partitions.attached(), now, retentionMonths).isEmpty();
+
+        // Um comando por vez e fora de transação: DETACH ... CONCURRENTLY não roda em bloco transacional
+        return Multi.createFrom().iterable(statements)
+                .onItem().transformToUniAndConcatenate(sql -> primary.query(sql).execute()
+                        .onItem().invoke(() -> LOG.infof("[PARTITION] %s", sql)))
+                .collect().last()
+                .onItem().transform(ignored -> expiredAny);
+    }
+
+    /** DDL de uma execução: conclui detaches pendentes, cria as que faltam e expira as antigas. */
+    static List<String> statements(Partitions partitions, YearMonth now, int premake, int retentionMonths,
+                                   ExpireAction expireAction) {
+        List<String> statements = new ArrayList<>();
+        for (MonthlyPartition partition : partitions.detachPending()) {
+            statements.add(partition.finalizeDetachSql());
+            if (expireAction == ExpireAction.DROP) {
+                statements.add(partition.dropSql());
+            }
+        }
+        for (MonthlyPartition partition : required(now, premake, retentionMonths)) {
+            if (!partitions.attached().contains(partition)) {
+                statements.add(partition.createSql());
+            }
+        }
+        for (MonthlyPartition partition : expired(partitions.attached(), now, retentionMonths)) {
+            statements.add(partition.detachSql(!partitions.hasDefault()));
+            if (expireAction == ExpireAction.DROP) {
+                statements.add(partition.dropSql());
+            }
+        }
+        return statements;
+    }
+
+    private static Partitions partitions(Iterable<Row> rows) {
+        TreeSet<MonthlyPartition> attached = new TreeSet<>();
+        List<MonthlyPartition> detachPending = new ArrayList<>();
+        boolean hasDefault = false;
+        for (Row row : rows) {
+            hasDefault |= Boolean.TRUE.equals(row.getBoolean("is_default"));
+            Optional<MonthlyPartition> partition = MonthlyPartition.parse(row.getString("relname"));
+            if (partition.isPresent()) {
+                if (Boolean.TRUE.equals(row.getBoolean("detach_pending"))) {
+                    detachPending.add(partition.get());
+                } else {
+                    attached.add(partition.get());
+                }
+            }
+        }
+        return new Partitions(attached, detachPending, hasDefault);
+    }
+
+    /**
+     * Do mês anterior (linhas atrasadas na virada do mês) até {@code premake} meses à
+     * frente, sem recriar o que a retenção expira: com {@code retentionMonths=1} o mês
+     * anterior fica de fora.
+     */
+    static List<MonthlyPartition> required(YearMonth now, int premake, int retentionMonths) {
+        YearMonth first = now.minusMonths(1);
+        if (retentionMonths > 0 && first.isBefore(now.minusMonths(retentionMonths - 1L))) {
+            first = now.minusMonths(retentionMonths - 1L);
+        }
+        List<MonthlyPartition> partitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(now.plusMonths(premake)); month = month.plusMonths(1)) {
+            partitions.add(new MonthlyPartition(month));
+        }
+        return partitions;
+    }
+
+    /** Partições inteiramente anteriores à janela de {@code retentionMonths} meses (incluindo o atual). */
+    static List<MonthlyPartition> expired(TreeSet<MonthlyPartition> existing, YearMonth now, int retentionMonths) {
+        if (retentionMonths <= 0) {
+            return List.of();
+        }
+        MonthlyPartition oldestKept = new MonthlyPartition(now.minusMonths(retentionMonths - 1L));
+        return List.copyOf(existing.headSet(oldestKept, false));
+    }
+}
@@ -0,0 +1,382 @@
+package org.acme.computers.patch;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Alteração parcial da {@code description} de um computador, em JSON Merge
+ * Patch (RFC 7396) ou JSON Patch (RFC 6902), validada contra os campos de
+ * {@link ComputerDescriptionDTO} e traduzida em operações JSONB pontuais
+ * ({@code jsonb_set}, {@code #-}, {@code ||}, {@code jsonb_insert}) executadas
+ * pelo próprio PostgreSQL — o documento não é lido pela aplicação antes.
+ *
+ * Cada operação vira um passo de uma cadeia de {@code LATERAL}s sobre o
+ * documento anterior ({@link #chain(int)}); pré-condições do JSON Patch
+ * ({@code test}, alvo existente em {@code replace}/{@code remove}, etc.) são
+ * acumuladas na coluna {@code ok} da mesma cadeia.
+ */
+public final class DescriptionPatch {
+
+    public static final String MERGE_PATCH = "application/merge-patch+json";
+
+    public static final String JSON_PATCH = "application/json-patch+json";
+
+    static final int MAX_OPERATIONS = 64;
+
+    private static final int MAX_NAME_LENGTH = 40;
+
+    /** Campos com coluna própria em {@code computers}. */
+    private static final Set<String> COLUMNS = Set.of("name", "price");
+
+    /**
+     * Um passo da cadeia. {@code {d}} é o documento do passo anterior e
+     * {@code ?1..?4} os parâmetros do próprio passo.
+     */
+    private record Step(String document, String condition, List<Object> parameters) {
+    }
+
+    private final List<Step> steps;
+
+    private final Set<String> touched;
+
+    private DescriptionPatch(List<Step> steps, Set<String> touched) {
+        this.steps = List.copyOf(steps);
+        this.touched = Set.copyOf(touched);
+    }
+
+    /** Interpreta {@code body} conforme o {@code Content-Type} (merge patch ou JSON Patch). */
+    public static DescriptionPatch parse(String contentType, String body, ObjectMapper mapper) {
+        JsonNode patch;
+        try {
+            patch = body == null ? null : mapper.readTree(body);
+        } catch (JsonProcessingException e) {
+            throw new InvalidRequestException("patch body is not valid JSON");
+        }
+        String mediaType = contentType == null ? "" : contentType.split(";")[0].strip().toLowerCase(Locale.ROOT);
+        return switch (mediaType) {
+            case MERGE_PATCH -> mergePatch(patch, mapper);
+            case JSON_PATCH -> jsonPatch(patch, mapper);
+            default -> throw new InvalidRequestException(
+                    "Content-Type must be " + MERGE_PATCH + " or " + JSON_PATCH);
+        };
+    }
+
+    public static DescriptionPatch mergePatch(JsonNode patch, ObjectMapper mapper) {
+        if (patch == null || !patch.isObject()) {
+            throw new InvalidRequestException("merge patch must be a JSON object");
+        }
+        Builder builder = new Builder(mapper);
+        builder.merge(List.of(), patch);
+        return builder.build();
+    }
+
+    public static DescriptionPatch jsonPatch(JsonNode patch, ObjectMapper mapper) {
+        if (patch == null || !patch.isArray()) {
+            throw new InvalidRequestException("JSON Patch must be an array of operations");
+        }
+        Builder builder = new Builder(mapper);
+        for (JsonNode operation : patch) {
+            builder.operation(operation);
+        }
+        return builder.build();
+    }
+
+    /** Se o patch altera o campo de primeiro nível {@code field}. */
+    public boolean touches(String field) {
+        return touched.contains(field);
+    }
+
+    public boolean hasConditions() {
+        return steps.stream().anyMatch(step -> step.condition() != null);
+    }
+
+    /**
+     * Subconsulta que aplica o patch à {@code description} da linha externa,
+     * devolvendo {@code d} (documento final) e {@code ok} (pré-condições atendidas).
+     * Os parâmetros são numerados a partir de {@code firstParameter}.
+     */
+    public String chain(int firstParameter) {
+        StringBuilder sql = new StringBuilder("SELECT d").append(steps.size()).append(" AS d, ok")
+                .append(steps.size()).append(" AS ok FROM (SELECT description AS d0, true AS ok0) AS s0");
+        int parameter = firstParameter;
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            String previous = "d" + i;
+            String document = render(step.document(), previous, parameter);
+            String ok = step.condition() != null
+                    ? "ok" + i + " AND " + render(step.condition(), previous, parameter)
+                    : "ok" + i;
+            sql.append(" CROSS JOIN LATERAL (SELECT ").append(document).append(" AS d").append(i + 1)
+                    .append(", ").append(ok).append(" AS ok").append(i + 1).append(") AS s").append(i + 1);
+            parameter += step.parameters().size();
+        }
+        return sql.toString();
+    }
+
+    /** Valores dos parâmetros de {@link #chain(int)}, na ordem. */
+    public List<Object> parameters() {
+        List<Object> parameters = new ArrayList<>();
+        steps.forEach(step -> parameters.addAll(step.parameters()));
+        return parameters;
+    }
+
+    private static String render(String template, String previous, int firstParameter) {
+        String sql = template.replace("{d}", previous);
+        for (int i = 4; i >= 1; i--) {
+            sql = sql.replace("?" + i, "$" + (firstParameter + i - 1));
+        }
+        return sql;
+    }
+
+    private static final class Builder {
+
+        private final ObjectMapper mapper;
+
+        private final List<Step> steps = new ArrayList<>();
+
+        private final Set<String> touched = new LinkedHashSet<>();
+
+        private int operations;
+
+        Builder(ObjectMapper mapper) {
+            this.mapper = mapper;
+        }
+
+        DescriptionPatch build() {
+            if (steps.isEmpty()) {
+                throw new InvalidRequestException("patch must change at least one field");
+            }
+            return new DescriptionPatch(steps, touched);
+        }
+
+        // RFC 7396: null remove, objeto mescla recursivamente, o resto substitui
+        void merge(List<String> parent, JsonNode patch) {
+            Iterator<Map.Entry<String, JsonNode>> fields = patch.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                List<String> path = append(parent, field.getKey());
+                JavaType type = resolve(path);
+                JsonNode value = field.getValue();
+                if (value.isNull()) {
+                    requireRemovable(path);
+                    step("{d} #- ?1::text[]", null, path(path));
+                } else if (value.isObject() && isBean(type)) {
+                    step("CASE WHEN jsonb_typeof({d} #> ?1::text[]) = 'object' THEN {d} "
+                            + "ELSE jsonb_set({d}, ?1::text[], '{}'::jsonb, true) END", null, path(path));
+                    merge(path, value);
+                } else {
+                    step("jsonb_set({d}, ?1::text[], ?2::jsonb, true)", null, path(path), json(path, type, value));
+                    touched.add(path.get(0));
+                }
+            }
+        }
+
+        void operation(JsonNode operation) {
+            if (operation == null || !operation.isObject()) {
+                throw new InvalidRequestException("every JSON Patch operation must be an object");
+            }
+            String op = operation.path("op").asText("");
+            List<String> path = pointer(operation, "path");
+            switch (op) {
+                case "add" -> add(path, operation);
+                case "replace" -> {
+                    JavaType type = resolve(path);
+                    step("jsonb_set({d}, ?1::text[], ?2::jsonb, false)", "{d} #> ?1::text[] IS NOT NULL",
+                            path(path), json(path, type, value(operation)));
+                    touched.add(path.get(0));
+                }
+                case "remove" -> {
+                    resolve(path);
+                    requireRemovable(path);
+                    step("{d} #- ?1::text[]", "{d} #> ?1::text[] IS NOT NULL", path(path));
+                }
+                case "test" -> {
+                    JavaType type = resolve(path);
+                    step("{d}", "{d} #> ?1::text[] = ?2::jsonb", path(path), json(path, type, value(operation)));
+                }
+                case "copy", "move" -> copy(pointer(operation, "from"), path, op.equals("move"));
+                default -> throw new InvalidRequestException("unsupported JSON Patch op '" + op + "'");
+            }
+        }
+
+        private void add(List<String> path, JsonNode operation) {
+            JavaType type = resolve(path);
+            String value = json(path, type, value(operation));
+            target(path, "?2::jsonb", value);
+            touched.add(path.get(0));
+        }
+
+        private void copy(List<String> from, List<String> path, boolean move) {
+            JavaType source = resolve(from);
+            JavaType type = resolve(path);
+            if (!source.equals(type)) {
+                throw new InvalidRequestException(pointer(from) + " and " + pointer(path) + " have different types");
+            }
+            for (List<String> fieldPath : List.of(from, path)) {
+                if (COLUMNS.contains(fieldPath.get(0))) {
+                    throw new InvalidRequestException(fieldPath.get(0) + " can only be set to a value");
+                }
+            }
+            if (move && path.size() > from.size() && path.subList(0, from.size()).equals(from)) {
+                throw new InvalidRequestException("cannot move " + pointer(from) + " into itself");
+            }
+            step("{d}", "{d} #> ?1::text[] IS NOT NULL", path(from));
+            target(path, "{d} #> ?2::text[]", path(from));
+            touched.add(path.get(0));
+            if (move) {
+                step("{d} #- ?1::text[]", null, path(from));
+                touched.add(from.get(0));
+            }
+        }
+
+        /** Grava {@code value} em {@code path}: membro de objeto, posição ou fim ({@code -}) de array. */
+        private void target(List<String> path, String value, Object parameter) {
+            List<String> parent = path.subList(0, path.size() - 1);
+            String last = path.get(path.size() - 1);
+            if (!isArray(resolve(parent))) {
+                step("jsonb_set({d}, ?1::text[], " + value + ", true)",
+                        parent.isEmpty() ? null : "jsonb_typeof({d} #> ?3::text[]) = 'object'",
+                        parent.isEmpty() ? List.of(path(path), parameter) : List.of(path(path), parameter, path(parent)));
+            } else if (last.equals("-")) {
+                step("jsonb_set({d}, ?1::text[], ({d} #> ?1::text[]) || jsonb_build_array(" + value + "), false)",
+                        "jsonb_typeof({d} #> ?1::text[]) = 'array'", path(parent), parameter);
+            } else {
+                step("jsonb_insert({d}, ?1::text[], " + value + ")",
+                        "jsonb_typeof({d} #> ?3::text[]) = 'array' AND jsonb_array_length({d} #> ?3::text[]) >= ?4::int",
+                        path(path), parameter, path(parent), Integer.parseInt(last));
+            }
+        }
+
+        private void step(String document, String condition, Object... parameters) {
+            step(document, condition, List.of(parameters));
+        }
+
+        private void step(String document, String condition, List<Object> parameters) {
+            if (++operations > MAX_OPERATIONS) {
+                throw new InvalidRequestException("at most " + MAX_OPERATIONS + " operations per patch");
+            }
+            steps.add(new Step(document, condition, parameters));
+        }
+
+        /** Tipo do campo em {@code path} no {@link ComputerDescriptionDTO}; rejeita campos desconhecidos. */
+        private JavaType resolve(List<String> path) {
+            JavaType type = mapper.constructType(ComputerDescriptionDTO.class);
+            for (int i = 0; i < path.size(); i++) {
+                String segment = path.get(i);
+                if (isArray(type)) {
+                    if (!segment.equals("-") && !segment.matches("0|[1-9][0-9]{0,5}")) {
+                        throw new InvalidRequestException("invalid array index in " + pointer(path));
+                    }
+                    if (segment.equals("-") && i < path.size() - 1) {
+                        throw new InvalidRequestException("'-' must be the last segment of " + pointer(path));
+                    }
+                    type = type.getContentType();
+                    continue;
+                }
+                JavaType parent = type;
+                type = properties(parent).stream()
+                        .filter(property -> property.getName().equals(segment))
+                        .findFirst()
+                        .map(BeanPropertyDefinition::getPrimaryType)
+                        .orElseThrow(() -> new InvalidRequestException("unknown field " + pointer(path)));
+            }
+            return type;
+        }
+
+        private List<BeanPropertyDefinition> properties(JavaType type) {
+            if (!isBean(type)) {
+                return List.of();
+            }
+            BeanDescription bean = mapper.getDeserializationConfig().introspect(type);
+            return bean.findProperties();
+        }
+
+        private static boolean isArray(JavaType type) {
+            return type.isCollectionLikeType() || type.isArrayType();
+        }
+
+        private static boolean isBean(JavaType type) {
+            return type.getRawClass().getPackageName().equals(ComputerDescriptionDTO.class.getPackageName());
+        }
+
+        /** Valida {@code value} contra o tipo do campo e devolve o JSON a gravar. */
+        private String json(List<String> path, JavaType type, JsonNode value) {
+            try {
+                mapper.readerFor(type).with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readValue(value);
+            } catch (IOException | IllegalArgumentException e) {
+                throw new InvalidRequestException("invalid value for " + pointer(path));
+            }
+            if (path.size() == 1 && path.get(0).equals("name")
+                    && (!value.isTextual() || value.asText().isEmpty() || value.asText().length() > MAX_NAME_LENGTH)) {
+                throw new InvalidRequestException("name must be a non-empty string of at most "
+                        + MAX_NAME_LENGTH + " characters");
+            }
+            return value.toString();
+        }
+
+        private void requireRemovable(List<String> path) {
+            if (path.size() == 1 && path.get(0).equals("name")) {
+                throw new InvalidRequestException("name cannot be removed");
+            }
+            touched.add(path.get(0));
+        }
+
+        private static JsonNode value(JsonNode operation) {
+            if (!operation.has("value")) {
+                throw new InvalidRequestException("operation '" + operation.path("op").asText() + "' needs a value");
+            }
+            return operation.get("value");
+        }
+
+        // RFC 6901: "/a/b~1c" -> [a, b/c]
+        private static List<String> pointer(JsonNode operation, String member) {
+            JsonNode pointer = operation.get(member);
+            if (pointer == null || !pointer.isTextual()) {
+                throw new InvalidRequestException("operation needs a '" + member + "' pointer");
+            }
+            String text = pointer.asText();
+            if (text.isEmpty() || text.equals("/") || !text.startsWith("/")) {
+                throw new InvalidRequestException("'" + member + "' must point inside the description");
+            }
+            List<String> segments = new ArrayList<>();
+            for (String segment : text.substring(1).split("/", -1)) {
+                segments.add(segment.replace("~1", "/").replace("~0", "~"));
+            }
+            return segments;
+        }
+
+        private static String pointer(List<String> path) {
+            StringBuilder pointer = new StringBuilder();
+            for (String segment : path) {
+                pointer.append('/').append(segment.replace("~", "~0").replace("/", "~1"));
+            }
+            return pointer.toString();
+        }
+
+        private static List<String> append(List<String> parent, String segment) {
+            List<String> path = new ArrayList<>(parent);
+            path.add(segment);
+            return path;
+        }
+
+        private static String[] path(List<String> path) {
+            return path.toArray(String[]::new);
+        }
+    }
+}
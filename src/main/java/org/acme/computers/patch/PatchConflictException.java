@@ -0,0 +1,12 @@
+package org.acme.computers.patch;
+
+/**
+ * O patch não pôde ser aplicado ao documento atual: um {@code test} falhou ou
+ * o caminho de um {@code replace}/{@code remove}/{@code move} não existe.
+ */
+public class PatchConflictException extends RuntimeException {
+
+    public PatchConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package org.acme.computers.patch;
+
+/**
+ * A versão informada em {@code If-Match} não é mais a atual do computador —
+ * outra escrita chegou antes.
+ */
+public class VersionConflictException extends RuntimeException {
+
+    private final long currentVersion;
+
+    public VersionConflictException(long currentVersion) {
+        super("computer was modified; current version is " + currentVersion);
+        this.currentVersion = currentVersion;
+    }
+
+    public long currentVersion() {
+        return currentVersion;
+    }
+}
@@ -0,0 +1,35 @@
+package org.acme.computers.patch;
+
+import org.acme.computers.InvalidRequestException;
+
+/**
+ * ETag de um computador, derivada da coluna {@code version}: {@code "3"}.
+ */
+public final class VersionTag {
+
+    private VersionTag() {
+    }
+
+    public static String format(long version) {
+        return "\"" + version + "\"";
+    }
+
+    /** Versão esperada em {@code If-Match}; null quando ausente ou {@code *}. */
+    public static Long parse(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.strip().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.strip();
+        if (tag.startsWith("W/")) {
+            throw new InvalidRequestException("If-Match requires a strong ETag");
+        }
+        if (tag.length() >= 2 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        try {
+            return Long.parseLong(tag);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("If-Match must be the ETag returned for this computer");
+        }
+    }
+}
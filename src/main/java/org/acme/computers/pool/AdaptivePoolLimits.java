@@ -0,0 +1,284 @@
+package org.acme.computers.pool;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.annotations.RegisterForReflection;
+import io.quarkus.scheduler.Scheduled;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.Supplier;
+
+/**
+ * Limite efetivo de conexões em uso por datasource, ajustado pela {@link PoolSizingPolicy}.
+ *
+ * O {@code max-size} de cada pool reativo passa a ser o teto: o pool Vert.x não
+ * muda de tamanho em runtime, então as leituras e escritas do catálogo passam por
+ * um {@link PoolGate} com o limite corrente. A cada {@code interval} o controle
+ * olha a vazão e a latência medidas no gate, o pico em uso e a fila (do gate e do
+ * pool, {@code postgresql.queue.size}) e decide subir, descer ou manter.
+ *
+ * O limite de um datasource pode ser dividido entre lanes ({@link #partition}): cada
+ * lane é um {@link PoolGate} próprio (um bulkhead, com fila e prazo) que recebe uma
+ * fatia garantida do limite corrente, proporcional ao seu tamanho configurado, que é
+ * também o teto da fatia. As fatias somam o limite, então uma lane lenta não ocupa
+ * as permissões das outras; o controle mede cada lane.
+ *
+ * As últimas decisões ficam em {@link #decisions(int)} para o /ssr.
+ */
+@ApplicationScoped
+public class AdaptivePoolLimits {
+
+    private static final Logger LOG = Logger.getLogger(AdaptivePoolLimits.class);
+
+    private static final int MAX_DECISIONS = 50;
+
+    // Padrão do Quarkus quando o datasource não define max-size
+    private static final int DEFAULT_MAX_SIZE = 20;
+
+    /** Uma decisão do controle, como aparece no /ssr. */
+    @RegisterForReflection
+    public record PoolDecision(String timestamp, String datasource, int from, int to, double throughput,
+                               double latencyMillis, int peakInUse, int queued, String reason) {
+    }
+
+    /** Estado de um datasource: as lanes (só {@code ALL} sem divisão), os tetos das fatias e o controle. */
+    private static final class Limited {
+
+        final int max;
+
+        volatile Map<String, PoolGate> lanes;
+
+        Map<String, Integer> caps;
+
+        PoolSizingPolicy policy;
+
+        volatile PoolSizingPolicy.Decision decision;
+
+        long lastNanos = System.nanoTime();
+
+        Limited(int max, PoolGate gate, PoolSizingPolicy policy, PoolSizingPolicy.Decision decision) {
+            this.max = max;
+            this.lanes = Map.of(PoolSizingPolicy.ALL, gate);
+            this.caps = Map.of(PoolSizingPolicy.ALL, Integer.MAX_VALUE);
+            this.policy = policy;
+            this.decision = decision;
+        }
+
+        int limit() {
+            return decision.limit();
+        }
+
+        void resize(int limit) {
+            shares(limit, caps).forEach((lane, share) -> lanes.get(lane).resize(share));
+        }
+    }
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "computers.pool-limits.enabled", defaultValue = "true")
+    boolean enabled;
+
+    @ConfigProperty(name = "computers.pool-limits.min", defaultValue = "2")
+    int min;
+
+    @ConfigProperty(name = "computers.pool-limits.step", defaultValue = "2")
+    int step;
+
+    @ConfigProperty(name = "computers.pool-limits.latency-tolerance", defaultValue = "0.5")
+    double latencyTolerance;
+
+    private final Map<String, Limited> limits = new LinkedHashMap<>();
+
+    private final ConcurrentLinkedDeque<PoolDecision> decisions = new ConcurrentLinkedDeque<>();
+
+    @PostConstruct
+    void init() {
+        for (Shard shard : router.shards()) {
+            register(shard.primaryName());
+            register(shard.replicaName());
+        }
+    }
+
+    private boolean isPrimary(String datasource) {
+        return router.shards().stream().anyMatch(shard -> shard.primaryName().equals(datasource));
+    }
+
+    private void register(String datasource) {
+        if (limits.containsKey(datasource)) {
+            return;
+        }
+        int max = config.getOptionalValue(maxSizeProperty(datasource), Integer.class).orElse(DEFAULT_MAX_SIZE);
+        PoolSizingPolicy policy = new PoolSizingPolicy(Math.min(min, max), max, step, latencyTolerance);
+        // Começa no meio: metade do teto é o valor estático de antes
+        PoolSizingPolicy.Decision initial = policy.initial((max + 1) / 2);
+        Limited limited = new Limited(max, new PoolGate(initial.limit()), policy, initial);
+        limits.put(datasource, limited);
+        Gauge.builder("computers.pool.limit", limited, Limited::limit)
+                .description("Limite efetivo de conexões em uso do datasource")
+                .tag("datasource", datasource)
+                .register(registry);
+    }
+
+    static String maxSizeProperty(String datasource) {
+        return ShardRouter.DEFAULT_DATASOURCE.equals(datasource)
+                ? "quarkus.datasource.reactive.max-size"
+                : "quarkus.datasource." + datasource + ".reactive.max-size";
+    }
+
+    /**
+     * Executa {@code work} segurando uma permissão do datasource; espera na fila do
+     * gate se o limite corrente já está em uso.
+     */
+    public <T> Uni<T> run(String datasource, Supplier<Uni<T>> work) {
+        Limited limited = enabled ? limits.get(datasource) : null;
+        if (limited == null) {
+            return Uni.createFrom().deferred(work::get);
+        }
+        PoolGate gate = limited.lanes.get(PoolSizingPolicy.ALL);
+        return gate == null
+                ? Uni.createFrom().failure(new IllegalStateException(datasource + " is partitioned; run through its lanes"))
+                : gate.run(work);
+    }
+
+    /**
+     * Divide o limite do datasource entre {@code lanes}, na ordem dada: o tamanho
+     * corrente de cada gate vira o teto da sua fatia e o limite passa a ser, no máximo,
+     * a soma dos tetos. Quem usa as lanes não passa mais por {@link #run}.
+     *
+     * @return {@code false} se o limite não foi dividido (datasource desconhecido ou
+     *         também usado como primary); o chamador continua passando por {@link #run}
+     */
+    public synchronized boolean partition(String datasource, Map<String, PoolGate> lanes) {
+        Limited limited = limits.get(datasource);
+        if (limited == null || isPrimary(datasource)) {
+            LOG.warnf("[POOL] %s não é uma réplica com limite adaptativo; lanes com tamanho fixo", datasource);
+            return false;
+        }
+        Map<String, Integer> caps = new LinkedHashMap<>();
+        lanes.forEach((lane, gate) -> caps.put(lane, gate.limit()));
+        int ceiling = Math.min(limited.max, caps.values().stream().mapToInt(Integer::intValue).sum());
+        // Cada lane tem pelo menos uma permissão, então o limite não desce abaixo do número de lanes
+        limited.policy = new PoolSizingPolicy(Math.min(Math.max(min, lanes.size()), ceiling), ceiling, step,
+                latencyTolerance);
+        limited.decision = limited.policy.initial(limited.limit());
+        limited.caps = caps;
+        limited.lanes = Map.copyOf(lanes);
+        if (enabled) {
+            limited.resize(limited.limit());
+        }
+        return true;
+    }
+
+    /**
+     * Fatias de {@code limit} proporcionais aos tetos: todos os tetos se couberem;
+     * senão pelo menos uma permissão por lane e o resto pelo maior resíduo, somando
+     * {@code limit} (ou o número de lanes, se for maior).
+     */
+    static Map<String, Integer> shares(int limit, Map<String, Integer> caps) {
+        long total = caps.values().stream().mapToLong(Integer::longValue).sum();
+        if (total <= limit) {
+            return caps;
+        }
+        Map<String, Integer> shares = new LinkedHashMap<>();
+        Map<String, Double> remainders = new LinkedHashMap<>();
+        caps.forEach((lane, cap) -> {
+            double exact = (double) limit * cap / total;
+            shares.put(lane, Math.max(1, (int) exact));
+            remainders.put(lane, exact - (int) exact);
+        });
+        int target = Math.max(limit, caps.size());
+        int sum = shares.values().stream().mapToInt(Integer::intValue).sum();
+        // O mínimo de uma permissão pode passar do alvo: tira das maiores fatias
+        while (sum > target) {
+            String largest = shares.entrySet().stream().max(Map.Entry.comparingByValue()).orElseThrow().getKey();
+            shares.merge(largest, -1, Integer::sum);
+            sum--;
+        }
+        List<String> byRemainder = new ArrayList<>(caps.keySet());
+        byRemainder.sort((a, b) -> Double.compare(remainders.get(b), remainders.get(a)));
+        for (int i = 0; sum < target; i = (i + 1) % byRemainder.size()) {
+            String lane = byRemainder.get(i);
+            if (shares.get(lane) < caps.get(lane)) {
+                shares.merge(lane, 1, Integer::sum);
+                sum++;
+            }
+        }
+        return shares;
+    }
+
+    @Scheduled(every = "{computers.pool-limits.interval}", identity = "pool-limit-controller",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    synchronized void adjust() {
+        if (!enabled) {
+            return;
+        }
+        limits.forEach((datasource, limited) -> {
+            long now = System.nanoTime();
+            double seconds = Math.max((now - limited.lastNanos) / 1e9, 1e-3);
+            limited.lastNanos = now;
+            Map<String, PoolSizingPolicy.Lane> lanes = new LinkedHashMap<>();
+            limited.lanes.forEach((lane, gate) -> {
+                int share = gate.limit();
+                PoolGate.Window window = gate.window();
+                lanes.put(lane, new PoolSizingPolicy.Lane(window.completed() / seconds,
+                        window.completed() == 0 ? 0 : window.busyNanos() / 1e6 / window.completed(),
+                        window.peakInUse(), window.queued(), share));
+            });
+            int poolQueued = (int) registry.find("postgresql.queue.size")
+                    .tag("clientName", datasource).gauges().stream().mapToDouble(Gauge::value).sum();
+            PoolSizingPolicy.Sample sample = new PoolSizingPolicy.Sample(lanes, poolQueued);
+            PoolSizingPolicy.Decision previous = limited.decision;
+            PoolSizingPolicy.Decision next = limited.policy.next(previous, sample);
+            limited.decision = next;
+            if (next.limit() != previous.limit()) {
+                limited.resize(next.limit());
+                LOG.infof("[POOL] %s: %d -> %d (%s)", datasource, previous.limit(), next.limit(), next.reason());
+            }
+            if (sample.throughput() > 0 || sample.queued() > 0) {
+                record(new PoolDecision(Instant.now().toString(), datasource, previous.limit(), next.limit(),
+                        sample.throughput(), sample.latencyMillis(), sample.peakInUse(), sample.queued(),
+                        next.reason()));
+            }
+        });
+    }
+
+    private void record(PoolDecision decision) {
+        decisions.addFirst(decision);
+        while (decisions.size() > MAX_DECISIONS) {
+            decisions.pollLast();
+        }
+    }
+
+    /** Decisões mais recentes primeiro; intervalos sem tráfego não entram. */
+    public List<PoolDecision> decisions(int limit) {
+        List<PoolDecision> recent = new ArrayList<>(Math.min(limit, MAX_DECISIONS));
+        for (PoolDecision decision : decisions) {
+            if (recent.size() >= limit) {
+                break;
+            }
+            recent.add(decision);
+        }
+        return recent;
+    }
+}
@@ -0,0 +1,12 @@
+package org.acme.computers.pool;
+
+/**
+ * Nenhuma permissão do bulkhead a tempo: a fila estava cheia ou a espera passou
+ * do prazo. A leitura pode ser repetida em seguida (503).
+ */
+public class BulkheadFullException extends RuntimeException {
+
+    public BulkheadFullException(String message) {
+        super(message);
+    }
+}
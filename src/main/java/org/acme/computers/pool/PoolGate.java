@@ -0,0 +1,216 @@
+package org.acme.computers.pool;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.UniEmitter;
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Permissões de um datasource: no máximo {@code limit} operações em voo, as demais
+ * esperam em ordem de chegada. O pool físico continua com o seu {@code max-size};
+ * o gate só decide quantas conexões dele são usadas ao mesmo tempo, e o limite
+ * pode mudar a qualquer momento ({@link #resize(int)}).
+ *
+ * Como bulkhead, a fila tem tamanho máximo e a espera um prazo: quem não cabe ou
+ * não recebe a permissão a tempo falha com {@link BulkheadFullException}.
+ */
+public final class PoolGate {
+
+    /** Contadores de um intervalo, zerados a cada {@link #window()}. */
+    record Window(long completed, long busyNanos, int peakInUse, int queued) {
+    }
+
+    /** Uma operação: esperando na fila, segurando uma permissão ou encerrada. */
+    private static final class Ticket {
+
+        static final int WAITING = 0;
+
+        static final int HELD = 1;
+
+        static final int DONE = 2;
+
+        final AtomicInteger state = new AtomicInteger(WAITING);
+
+        UniEmitter<? super Void> emitter;
+
+        Context context;
+
+        long started;
+    }
+
+    private final String name;
+
+    private final int maxQueued;
+
+    private final Duration maxWait;
+
+    private final ArrayDeque<Ticket> waiting = new ArrayDeque<>();
+
+    private final LongAdder rejected = new LongAdder();
+
+    private final LongAdder completed = new LongAdder();
+
+    private final LongAdder busyNanos = new LongAdder();
+
+    private int limit;
+
+    private int inUse;
+
+    private int peakInUse;
+
+    /** Fila sem limite e sem prazo: para o limite adaptativo do datasource. */
+    PoolGate(int limit) {
+        this(null, limit, Integer.MAX_VALUE, null);
+    }
+
+    public PoolGate(String name, int limit, int maxQueued, Duration maxWait) {
+        this.name = name;
+        this.limit = limit;
+        this.maxQueued = maxQueued;
+        this.maxWait = maxWait;
+    }
+
+    public <T> Uni<T> run(Supplier<Uni<T>> work) {
+        return Uni.createFrom().deferred(() -> {
+            Ticket ticket = new Ticket();
+            Uni<Void> permit = acquire(ticket);
+            if (maxWait != null) {
+                permit = permit.ifNoItem().after(maxWait)
+                        .failWith(() -> reject("no permit within " + maxWait.toMillis() + " ms"));
+            }
+            return permit
+                    .chain(() -> {
+                        ticket.started = System.nanoTime();
+                        return work.get();
+                    })
+                    // Item, falha ou cancelamento, em qualquer ponto: a permissão volta uma única vez
+                    .onTermination().invoke(() -> finish(ticket));
+        });
+    }
+
+    private Uni<Void> acquire(Ticket ticket) {
+        return Uni.createFrom().emitter(emitter -> {
+            boolean held;
+            boolean full = false;
+            synchronized (this) {
+                held = inUse < limit;
+                if (held) {
+                    take();
+                    ticket.state.set(Ticket.HELD);
+                } else if (waiting.size() >= maxQueued) {
+                    full = true;
+                } else {
+                    ticket.emitter = emitter;
+                    ticket.context = Vertx.currentContext();
+                    waiting.addLast(ticket);
+                }
+            }
+            if (held) {
+                emitter.complete(null);
+            } else if (full) {
+                emitter.fail(reject(maxQueued + " already waiting"));
+            }
+        });
+    }
+
+    private void finish(Ticket ticket) {
+        int previous = ticket.state.getAndSet(Ticket.DONE);
+        if (previous == Ticket.WAITING) {
+            synchronized (this) {
+                waiting.remove(ticket);
+            }
+        } else if (previous == Ticket.HELD) {
+            if (ticket.started != 0) {
+                completed.increment();
+                busyNanos.add(System.nanoTime() - ticket.started);
+            }
+            release();
+        }
+    }
+
+    private void release() {
+        List<Ticket> granted = new ArrayList<>();
+        synchronized (this) {
+            inUse--;
+            drain(granted);
+        }
+        granted.forEach(this::grant);
+    }
+
+    void resize(int limit) {
+        List<Ticket> granted = new ArrayList<>();
+        synchronized (this) {
+            this.limit = limit;
+            drain(granted);
+        }
+        granted.forEach(this::grant);
+    }
+
+    public synchronized int limit() {
+        return limit;
+    }
+
+    public synchronized int inUse() {
+        return inUse;
+    }
+
+    public synchronized int queued() {
+        return waiting.size();
+    }
+
+    /** Recusas (fila cheia ou prazo estourado) desde o início. */
+    public long rejected() {
+        return rejected.sum();
+    }
+
+    private BulkheadFullException reject(String why) {
+        rejected.increment();
+        return new BulkheadFullException("%s is saturated: %s".formatted(name, why));
+    }
+
+    Window window() {
+        int peak;
+        int queued;
+        synchronized (this) {
+            peak = peakInUse;
+            queued = waiting.size();
+            peakInUse = inUse;
+        }
+        return new Window(completed.sumThenReset(), busyNanos.sumThenReset(), peak, queued);
+    }
+
+    private void drain(List<Ticket> granted) {
+        while (inUse < limit && !waiting.isEmpty()) {
+            take();
+            granted.add(waiting.pollFirst());
+        }
+    }
+
+    private void take() {
+        inUse++;
+        peakInUse = Math.max(peakInUse, inUse);
+    }
+
+    // Fora do lock; a continuação roda no contexto Vert.x (event loop) de quem esperava, não na thread
+    // de quem liberou a permissão, que pode ser de outra requisição ou de outro event loop
+    private void grant(Ticket ticket) {
+        if (!ticket.state.compareAndSet(Ticket.WAITING, Ticket.HELD)) {
+            // cancelada entre sair da fila e receber a permissão
+            release();
+            return;
+        }
+        if (ticket.context == null) {
+            ticket.emitter.complete(null);
+        } else {
+            ticket.context.runOnContext(ignored -> ticket.emitter.complete(null));
+        }
+    }
+}
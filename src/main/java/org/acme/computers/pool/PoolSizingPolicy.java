@@ -0,0 +1,156 @@
+package org.acme.computers.pool;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Decide o limite efetivo de conexões em uso de um datasource a cada intervalo.
+ *
+ * <ol>
+ *   <li>Latência média de alguma lane acima da base dela ({@code baseline × (1 + tolerância)}):
+ *       o banco está enfileirando internamente. O limite cai para o que a lei de Little
+ *       pede para a vazão atual na latência base ({@code Σ vazão × base} das lanes), pelo
+ *       menos um passo.</li>
+ *   <li>Fila com todas as permissões em uso (no limite ou na fatia de alguma lane):
+ *       sobe um passo (hill climbing). Se a subida anterior não trouxe pelo menos
+ *       {@code MIN_GAIN} de vazão, volta um passo.</li>
+ *   <li>Pico em uso abaixo da metade do limite, sem lane saturada: desce um passo,
+ *       sem ficar abaixo do dobro do pico.</li>
+ * </ol>
+ *
+ * Um limite dividido entre lanes (classes de carga, cada uma com a sua fatia) chega
+ * como uma {@link Lane} por classe; sem divisão há uma só, {@link #ALL}.
+ *
+ * A latência base é a menor observada em cada lane; sobe devagar
+ * ({@code BASELINE_DRIFT} por intervalo) para acompanhar mudanças reais de carga.
+ * Cada lane tem a sua porque uma média única mistura leituras por índice com
+ * varreduras de segundos: o início de uma fase de varreduras subiria a média acima
+ * da base sem o banco estar saturado.
+ */
+public record PoolSizingPolicy(int min, int max, int step, double latencyTolerance) {
+
+    static final double MIN_GAIN = 0.05;
+
+    static final double BASELINE_DRIFT = 0.05;
+
+    /** A lane única de um limite sem divisão. */
+    public static final String ALL = "all";
+
+    public enum Move {
+        UP, DOWN, HOLD
+    }
+
+    /** Uma lane no intervalo: completadas/s, latência média (ms), pico em uso, fila e a sua fatia do limite. */
+    public record Lane(double throughput, double latencyMillis, int peakInUse, int queued, int share) {
+
+        boolean saturated(int limit) {
+            return queued > 0 && peakInUse >= Math.min(share, limit);
+        }
+    }
+
+    /** O que foi observado no intervalo, por lane, mais a fila do pool físico. */
+    public record Sample(Map<String, Lane> lanes, int poolQueued) {
+
+        /** Limite sem divisão: a lane única ocupa o limite inteiro. */
+        public Sample(double throughput, double latencyMillis, int peakInUse, int queued) {
+            this(Map.of(ALL, new Lane(throughput, latencyMillis, peakInUse, queued, Integer.MAX_VALUE)), 0);
+        }
+
+        public double throughput() {
+            return lanes.values().stream().mapToDouble(Lane::throughput).sum();
+        }
+
+        /** Média das lanes ponderada pela vazão. */
+        public double latencyMillis() {
+            double throughput = throughput();
+            return throughput == 0 ? 0
+                    : lanes.values().stream().mapToDouble(l -> l.throughput() * l.latencyMillis()).sum() / throughput;
+        }
+
+        public int peakInUse() {
+            return lanes.values().stream().mapToInt(Lane::peakInUse).sum();
+        }
+
+        public int queued() {
+            return poolQueued + lanes.values().stream().mapToInt(Lane::queued).sum();
+        }
+
+        /** Alguém espera com todas as permissões que lhe cabem em uso. */
+        boolean saturated(int limit) {
+            return queued() > 0 && peakInUse() >= limit
+                    || lanes.values().stream().anyMatch(lane -> lane.saturated(limit));
+        }
+    }
+
+    /** Limite escolhido e o estado que o próximo intervalo precisa (último movimento, vazão e base por lane). */
+    public record Decision(int limit, Move move, double throughput, Map<String, Double> baselineMillis,
+                           String reason) {
+    }
+
+    public PoolSizingPolicy {
+        if (min < 1 || max < min || step < 1 || latencyTolerance <= 0) {
+            throw new IllegalArgumentException("pool limits need 1 <= min <= max, step >= 1 and tolerance > 0");
+        }
+    }
+
+    public Decision initial(int limit) {
+        return new Decision(clamp(limit), Move.HOLD, Double.NaN, Map.of(), "inicial");
+    }
+
+    public Decision next(Decision previous, Sample sample) {
+        int limit = previous.limit();
+        if (sample.throughput() == 0) {
+            return new Decision(limit, Move.HOLD, previous.throughput(), previous.baselineMillis(), "sem tráfego");
+        }
+        Map<String, Double> baseline = new LinkedHashMap<>(previous.baselineMillis());
+        double concurrency = 0;
+        String inflated = null;
+        double worst = 1 + latencyTolerance;
+        for (Map.Entry<String, Lane> entry : sample.lanes().entrySet()) {
+            Lane lane = entry.getValue();
+            if (lane.throughput() == 0) {
+                continue;
+            }
+            Double before = baseline.get(entry.getKey());
+            double base = before == null || lane.latencyMillis() < before
+                    ? lane.latencyMillis()
+                    : before + (lane.latencyMillis() - before) * BASELINE_DRIFT;
+            baseline.put(entry.getKey(), base);
+            concurrency += lane.throughput() * base / 1000;
+            if (base > 0 && lane.latencyMillis() / base > worst) {
+                worst = lane.latencyMillis() / base;
+                inflated = entry.getKey();
+            }
+        }
+
+        if (inflated != null && limit > min) {
+            int little = (int) Math.ceil(concurrency * (1 + latencyTolerance));
+            Lane lane = sample.lanes().get(inflated);
+            return new Decision(clamp(Math.min(little, limit - step)), Move.DOWN, sample.throughput(), baseline,
+                    "latência de %s %.1f ms acima da base %.1f ms; Little: Σ vazão × base pede %d"
+                            .formatted(inflated, lane.latencyMillis(), baseline.get(inflated), little));
+        }
+        if (sample.saturated(limit)) {
+            if (previous.move() == Move.UP && sample.throughput() < previous.throughput() * (1 + MIN_GAIN)) {
+                return new Decision(clamp(limit - step), Move.DOWN, sample.throughput(), baseline,
+                        "subida anterior não aumentou a vazão (%.0f/s → %.0f/s)"
+                                .formatted(previous.throughput(), sample.throughput()));
+            }
+            if (limit >= max) {
+                return new Decision(limit, Move.HOLD, sample.throughput(), baseline,
+                        "fila de %d no teto de %d".formatted(sample.queued(), max));
+            }
+            return new Decision(clamp(limit + step), Move.UP, sample.throughput(), baseline,
+                    "fila de %d com %d em uso".formatted(sample.queued(), sample.peakInUse()));
+        }
+        if (sample.peakInUse() * 2 < limit && limit > min) {
+            return new Decision(clamp(Math.max(sample.peakInUse() * 2, limit - step)), Move.DOWN, sample.throughput(),
+                    baseline, "pico de %d em uso".formatted(sample.peakInUse()));
+        }
+        return new Decision(limit, Move.HOLD, sample.throughput(), baseline, "estável");
+    }
+
+    private int clamp(int limit) {
+        return Math.max(min, Math.min(max, limit));
+    }
+}
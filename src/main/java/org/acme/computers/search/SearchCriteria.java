@@ -0,0 +1,65 @@
+package org.acme.computers.search;
+
+import org.acme.computers.InvalidRequestException;
+
+import java.math.BigDecimal;
+
+/**
+ * Filtros, ordenação e cursor de uma busca composta.
+ * Filtros {@code null} não participam da consulta; as faixas são inclusivas e
+ * {@link #of} recusa extremos negativos ou mínimo acima do máximo.
+ *
+ * @param after   valor da chave de ordenação do último item da página anterior
+ * @param afterId id do último item da página anterior (desempate do cursor)
+ */
+public record SearchCriteria(
+        String gpu,
+        Integer ramMin,
+        Integer ramMax,
+        BigDecimal priceMin,
+        BigDecimal priceMax,
+        String storageType,
+        SearchSort sort,
+        boolean descending,
+        Object after,
+        Long afterId,
+        int limit) {
+
+    public static SearchCriteria of(String gpu, Integer ramMin, Integer ramMax, BigDecimal priceMin,
+            BigDecimal priceMax, String storageType, String sort, String order, String after, Long afterId,
+            int limit) {
+        if (limit <= 0) {
+            throw new InvalidRequestException("limit must be greater than 0");
+        }
+        if ((after == null) != (afterId == null)) {
+            throw new InvalidRequestException("after and afterId must be informed together");
+        }
+        checkRange("ram", ramMin, ramMax);
+        checkRange("price", priceMin, priceMax);
+        SearchSort searchSort = SearchSort.from(sort);
+        return new SearchCriteria(gpu, ramMin, ramMax, priceMin, priceMax, storageType, searchSort,
+                SearchSort.descending(order), after != null ? searchSort.parseCursor(after) : null, afterId, limit);
+    }
+
+    private static void checkRange(String name, Integer min, Integer max) {
+        if ((min != null && min < 0) || (max != null && max < 0)) {
+            throw new InvalidRequestException(name + "Min and " + name + "Max must not be negative");
+        }
+        if (min != null && max != null && min > max) {
+            throw new InvalidRequestException(name + "Min must not be greater than " + name + "Max");
+        }
+    }
+
+    private static void checkRange(String name, BigDecimal min, BigDecimal max) {
+        if ((min != null && min.signum() < 0) || (max != null && max.signum() < 0)) {
+            throw new InvalidRequestException(name + "Min and " + name + "Max must not be negative");
+        }
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new InvalidRequestException(name + "Min must not be greater than " + name + "Max");
+        }
+    }
+
+    boolean hasCursor() {
+        return afterId != null;
+    }
+}
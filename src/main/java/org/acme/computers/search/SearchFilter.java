@@ -0,0 +1,45 @@
+package org.acme.computers.search;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.util.function.Function;
+
+/**
+ * Filtros da busca composta. A ordem das constantes define a ordem dos
+ * parâmetros posicionais, tanto na compilação do SQL quanto no bind.
+ */
+enum SearchFilter {
+
+    GPU("description -> 'placa_video' ->> 'modelo' ILIKE $%d",
+            c -> c.gpu() != null ? "%" + c.gpu() + "%" : null),
+    RAM_MIN("(description -> 'memoria_ram' ->> 'capacidade_total_gb')::int >= $%d", SearchCriteria::ramMin),
+    RAM_MAX("(description -> 'memoria_ram' ->> 'capacidade_total_gb')::int <= $%d", SearchCriteria::ramMax),
+    PRICE_MIN("price >= $%d", SearchCriteria::priceMin),
+    PRICE_MAX("price <= $%d", SearchCriteria::priceMax),
+    // Containment na raiz do documento para aproveitar o índice GIN em description
+    STORAGE_TYPE("description @> $%d", c -> c.storageType() != null
+            ? new JsonObject().put("armazenamento", new JsonObject().put("dispositivos",
+                    new JsonArray().add(new JsonObject().put("tipo", c.storageType()))))
+            : null);
+
+    private final String predicate;
+    private final Function<SearchCriteria, Object> value;
+
+    SearchFilter(String predicate, Function<SearchCriteria, Object> value) {
+        this.predicate = predicate;
+        this.value = value;
+    }
+
+    int bit() {
+        return 1 << ordinal();
+    }
+
+    String predicate(int parameter) {
+        return predicate.formatted(parameter);
+    }
+
+    Object value(SearchCriteria criteria) {
+        return value.apply(criteria);
+    }
+}
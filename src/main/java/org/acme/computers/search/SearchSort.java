@@ -0,0 +1,68 @@
+package org.acme.computers.search;
+
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Chaves de ordenação aceitas pela busca composta. O {@code id} é sempre o
+ * desempate, o que torna o cursor (keyset) estável.
+ */
+public enum SearchSort {
+
+    CREATED_AT("created_at", LocalDateTime::parse,
+            Comparator.comparing((ComputerEntity computer) -> computer.createdAt)),
+    PRICE("price", BigDecimal::new,
+            Comparator.comparing((ComputerEntity computer) -> computer.price));
+
+    private final String column;
+    private final Function<String, Object> cursorParser;
+    private final Comparator<ComputerEntity> comparator;
+
+    SearchSort(String column, Function<String, Object> cursorParser, Comparator<ComputerEntity> comparator) {
+        this.column = column;
+        this.cursorParser = cursorParser;
+        this.comparator = comparator;
+    }
+
+    public String column() {
+        return column;
+    }
+
+    /** Mesma ordem do {@code ORDER BY <coluna>, id}, usada para intercalar resultados de vários shards. */
+    public Comparator<ComputerEntity> order(boolean descending) {
+        Comparator<ComputerEntity> ascending = comparator.thenComparing(computer -> computer.id);
+        return descending ? ascending.reversed() : ascending;
+    }
+
+    Object parseCursor(String value) {
+        try {
+            return cursorParser.apply(value);
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new InvalidRequestException("invalid cursor value for sort " + column + ": " + value, e);
+        }
+    }
+
+    public static SearchSort from(String value) {
+        for (SearchSort sort : values()) {
+            if (sort.column.equalsIgnoreCase(value) || sort.name().equalsIgnoreCase(value)) {
+                return sort;
+            }
+        }
+        throw new InvalidRequestException("sort must be one of created_at, price: " + value);
+    }
+
+    static boolean descending(String order) {
+        return switch (order.toLowerCase(Locale.ROOT)) {
+            case "desc" -> true;
+            case "asc" -> false;
+            default -> throw new InvalidRequestException("order must be asc or desc: " + order);
+        };
+    }
+}
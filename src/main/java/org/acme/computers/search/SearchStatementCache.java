@@ -0,0 +1,155 @@
+package org.acme.computers.search;
+
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Compila cada combinação distinta de filtros/ordenação ("shape") em um único
+ * SQL parametrizado e o guarda em cache. O texto é sempre idêntico para o mesmo
+ * shape, então o cache de prepared statements do pool
+ * ({@code cache-prepared-statements}) reaproveita o statement já preparado em
+ * cada conexão em vez de reanalisar a consulta.
+ *
+ * O número de shapes é limitado: 2^6 combinações de filtros × 2 ordenações × 2
+ * direções × com/sem cursor.
+ */
+@ApplicationScoped
+public class SearchStatementCache {
+
+    private static final int SORT_PRICE = 1 << SearchFilter.values().length;
+    private static final int DESCENDING = SORT_PRICE << 1;
+    private static final int CURSOR = DESCENDING << 1;
+
+    // Shapes de contagem: só os bits de filtro, mais o bit de estimativa
+    private static final int ESTIMATE = SORT_PRICE;
+
+    private final ConcurrentHashMap<Integer, String> statements = new ConcurrentHashMap<>();
+
+    private final ConcurrentHashMap<Integer, String> counts = new ConcurrentHashMap<>();
+
+    public String sql(SearchCriteria criteria) {
+        return statements.computeIfAbsent(shape(criteria), SearchStatementCache::compile);
+    }
+
+    /**
+     * Contagem com os mesmos filtros da busca (ordenação e cursor ignorados):
+     * {@code SELECT count(*)} ou, com {@code estimate}, o {@code EXPLAIN} cuja
+     * estimativa de linhas do planejador serve de contagem aproximada.
+     * Parâmetros em {@link #bindFilters(SearchCriteria)}.
+     */
+    public String countSql(SearchCriteria criteria, boolean estimate) {
+        int shape = shape(criteria) & (SORT_PRICE - 1);
+        return counts.computeIfAbsent(estimate ? shape | ESTIMATE : shape, SearchStatementCache::compileCount);
+    }
+
+    public Tuple bindFilters(SearchCriteria criteria) {
+        return Tuple.from(filterValues(criteria));
+    }
+
+    /** Parâmetros na mesma ordem usada por {@link #compile(int)}. */
+    public Tuple bind(SearchCriteria criteria) {
+        List<Object> values = filterValues(criteria);
+        if (criteria.hasCursor()) {
+            values.add(criteria.after());
+            values.add(criteria.afterId());
+        }
+        values.add(criteria.limit());
+        return Tuple.from(values);
+    }
+
+    /**
+     * Compila todos os shapes e devolve o SQL dos que têm no máximo um filtro, os
+     * que valem preparar em cada conexão no warm-up. Preparar os 512 shapes
+     * estouraria o cache de statements por conexão
+     * ({@code cache-prepared-statements-max-size}, 256 por padrão).
+     */
+    public List<String> warmUp() {
+        List<String> common = new ArrayList<>();
+        for (int shape = 0; shape < CURSOR << 1; shape++) {
+            String sql = statements.computeIfAbsent(shape, SearchStatementCache::compile);
+            if (Integer.bitCount(shape & (SORT_PRICE - 1)) <= 1) {
+                common.add(sql);
+            }
+        }
+        return common;
+    }
+
+    private static List<Object> filterValues(SearchCriteria criteria) {
+        List<Object> values = new ArrayList<>();
+        for (SearchFilter filter : SearchFilter.values()) {
+            Object value = filter.value(criteria);
+            if (value != null) {
+                values.add(value);
+            }
+        }
+        return values;
+    }
+
+    int size() {
+        return statements.size();
+    }
+
+    static int shape(SearchCriteria criteria) {
+        int shape = 0;
+        for (SearchFilter filter : SearchFilter.values()) {
+            if (filter.value(criteria) != null) {
+                shape |= filter.bit();
+            }
+        }
+        if (criteria.sort() == SearchSort.PRICE) {
+            shape |= SORT_PRICE;
+        }
+        if (criteria.descending()) {
+            shape |= DESCENDING;
+        }
+        if (criteria.hasCursor()) {
+            shape |= CURSOR;
+        }
+        return shape;
+    }
+
+    static String compileCount(int shape) {
+        List<String> predicates = new ArrayList<>();
+        int parameter = 1;
+        for (SearchFilter filter : SearchFilter.values()) {
+            if ((shape & filter.bit()) != 0) {
+                predicates.add(filter.predicate(parameter++));
+            }
+        }
+        String where = predicates.isEmpty() ? "" : " WHERE " + String.join(" AND ", predicates);
+        return (shape & ESTIMATE) != 0
+                ? "EXPLAIN (FORMAT JSON) SELECT 1 FROM computers" + where
+                : "SELECT count(*) AS total FROM computers" + where;
+    }
+
+    static String compile(int shape) {
+        SearchSort sort = (shape & SORT_PRICE) != 0 ? SearchSort.PRICE : SearchSort.CREATED_AT;
+        String direction = (shape & DESCENDING) != 0 ? "DESC" : "ASC";
+
+        List<String> predicates = new ArrayList<>();
+        int parameter = 1;
+        for (SearchFilter filter : SearchFilter.values()) {
+            if ((shape & filter.bit()) != 0) {
+                predicates.add(filter.predicate(parameter++));
+            }
+        }
+        // Registros sem valor na chave de ordenação não têm posição definida no cursor
+        predicates.add(sort.column() + " IS NOT NULL");
+        if ((shape & CURSOR) != 0) {
+            String comparison = (shape & DESCENDING) != 0 ? "<" : ">";
+            if (sort == SearchSort.CREATED_AT) {
+                // Limite simples na chave de partição: a comparação de tupla sozinha não permite pruning
+                predicates.add("created_at %s= $%d".formatted(comparison, parameter));
+            }
+            predicates.add("(%s, id) %s ($%d, $%d)".formatted(sort.column(), comparison, parameter, parameter + 1));
+            parameter += 2;
+        }
+
+        return "SELECT * FROM computers WHERE " + String.join(" AND ", predicates)
+                + " ORDER BY %s %s, id %s LIMIT $%d".formatted(sort.column(), direction, direction, parameter);
+    }
+}
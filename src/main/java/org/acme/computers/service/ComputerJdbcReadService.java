@@ -0,0 +1,162 @@
+package org.acme.computers.service;
+
+import io.agroal.api.AgroalDataSource;
+import io.quarkus.agroal.DataSource;
+import io.quarkus.arc.properties.IfBuildProperty;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.mapper.ComputerRowMapper;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.search.SearchStatementCache;
+import org.acme.computers.sharding.KWayMerge;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Backend alternativo de LEITURA: JDBC bloqueante sobre pools Agroal das
+ * réplicas, para ser chamado de virtual threads ({@code ComputersJdbcResource}).
+ *
+ * Executa o mesmo SQL de {@link ComputerReadService} (convertido por
+ * {@link JdbcStatement}), com o mesmo mapeamento e a mesma intercalação entre
+ * shards, então as respostas são idênticas — existe para comparar os dois
+ * modelos de execução sob a mesma carga. Só é criado com
+ * {@code computers.read.jdbc.enabled=true} no build.
+ */
+@ApplicationScoped
+@IfBuildProperty(name = "computers.read.jdbc.enabled", stringValue = "true")
+public class ComputerJdbcReadService {
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ComputerRowMapper mapper;
+
+    @Inject
+    SearchStatementCache searchStatements;
+
+    @Inject
+    @Any
+    Instance<AgroalDataSource> dataSources;
+
+    private List<AgroalDataSource> replicas;
+
+    // Com vários shards, uma virtual thread por réplica consultada
+    private final ExecutorService fanOut = Executors.newVirtualThreadPerTaskExecutor();
+
+    @PostConstruct
+    void init() {
+        List<AgroalDataSource> configured = new ArrayList<>();
+        for (Shard shard : router.shards()) {
+            configured.add(ShardRouter.DEFAULT_DATASOURCE.equals(shard.replicaName())
+                    ? dataSources.select(Default.Literal.INSTANCE).get()
+                    : dataSources.select(new DataSource.DataSourceLiteral(shard.replicaName())).get());
+        }
+        replicas = List.copyOf(configured);
+    }
+
+    @PreDestroy
+    void close() {
+        fanOut.shutdown();
+    }
+
+    public List<ComputerEntity> pagination(LocalDateTime createdAt, Long id, int limit) {
+        if (limit <= 0) {
+            throw new InvalidRequestException("limit must be greater than 0");
+        }
+        LocalDateTime effectiveCreatedAt = createdAt != null ? createdAt : LocalDateTime.now();
+        Long effectiveId = id != null ? id : Long.MAX_VALUE;
+        return KWayMerge.merge(scatter(ComputerReadService.PAGINATION_SQL,
+                List.of(effectiveCreatedAt, effectiveId, limit)), ComputerReadService.NEWEST_FIRST, limit);
+    }
+
+    public List<ComputerEntity> searchByGpu(String search) {
+        return concat(scatter(ComputerReadService.GPU_SQL, List.of("%" + search + "%")));
+    }
+
+    public List<ComputerEntity> searchByRamCapacity(Integer capacityGb) {
+        return concat(scatter(ComputerReadService.RAM_SQL, List.of(capacityGb)));
+    }
+
+    public List<ComputerEntity> search(SearchCriteria criteria) {
+        Tuple parameters = searchStatements.bind(criteria);
+        List<Object> values = new ArrayList<>(parameters.size());
+        for (int i = 0; i < parameters.size(); i++) {
+            values.add(parameters.getValue(i));
+        }
+        return KWayMerge.merge(scatter(searchStatements.sql(criteria), values),
+                criteria.sort().order(criteria.descending()), criteria.limit());
+    }
+
+    private List<List<ComputerEntity>> scatter(String sql, List<?> values) {
+        JdbcStatement statement = JdbcStatement.of(sql);
+        if (replicas.size() == 1) {
+            return List.of(query(replicas.get(0), statement, values));
+        }
+        List<Future<List<ComputerEntity>>> pending = new ArrayList<>(replicas.size());
+        for (AgroalDataSource replica : replicas) {
+            pending.add(fanOut.submit(() -> query(replica, statement, values)));
+        }
+        List<List<ComputerEntity>> results = new ArrayList<>(pending.size());
+        try {
+            for (Future<List<ComputerEntity>> result : pending) {
+                results.add(result.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            pending.forEach(result -> result.cancel(true));
+            throw new IllegalStateException("interrupted while querying replicas", e);
+        } catch (ExecutionException e) {
+            pending.forEach(result -> result.cancel(true));
+            throw e.getCause() instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("replica query failed", e.getCause());
+        }
+        return results;
+    }
+
+    private List<ComputerEntity> query(AgroalDataSource replica, JdbcStatement statement, List<?> values) {
+        try (Connection connection = replica.getConnection();
+                PreparedStatement prepared = connection.prepareStatement(statement.sql())) {
+            statement.bind(prepared, values);
+            List<ComputerEntity> computers = new ArrayList<>();
+            try (ResultSet rows = prepared.executeQuery()) {
+                while (rows.next()) {
+                    computers.add(mapper.mapRow(rows));
+                }
+            }
+            return computers;
+        } catch (SQLException e) {
+            throw new IllegalStateException("replica query failed: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<ComputerEntity> concat(List<List<ComputerEntity>> results) {
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        List<ComputerEntity> all = new ArrayList<>();
+        results.forEach(all::addAll);
+        return all;
+    }
+}
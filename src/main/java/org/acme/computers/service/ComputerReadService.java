@@ -1,77 +1,251 @@
 package org.acme.computers.service;
 
-import io.quarkus.reactive.datasource.ReactiveDataSource;
 import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
 import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
 import io.vertx.mutiny.sqlclient.Tuple;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
 import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
 import org.acme.computers.mapper.ComputerRowMapper;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.search.SearchSort;
+import org.acme.computers.search.SearchStatementCache;
+import org.acme.computers.sharding.KWayMerge;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 
 /**
  * Service responsável por operações de LEITURA.
- * Utiliza a réplica (slave) do banco de dados.
+ * Utiliza a réplica (slave) do banco de dados — com sharding, as réplicas de
+ * todos os shards: cada consulta é enviada a todas em paralelo e os resultados
+ * ordenados são intercalados ({@link KWayMerge}).
  */
 @ApplicationScoped
 public class ComputerReadService {
 
+    static final Comparator<ComputerEntity> NEWEST_FIRST = SearchSort.CREATED_AT.order(true);
+
+    // "created_at <= $1" isolado permite pruning das partições mais novas que o cursor;
+    // com ORDER BY created_at DESC o Append ordenado para na primeira partição que completar a página
+    static final String PAGINATION_SQL = """
+            SELECT * FROM computers
+            WHERE created_at <= $1 AND (created_at < $1 OR id < $2)
+            ORDER BY created_at DESC, id DESC LIMIT $3
+            """;
+
+    static final String GPU_SQL = """
+                SELECT * FROM computers
+                WHERE description -> 'placa_video' ->> 'modelo' ILIKE $1
+            """;
+
+    static final String RAM_SQL = """
+                SELECT * FROM computers
+                WHERE (description -> 'memoria_ram' ->> 'capacidade_total_gb')::int = $1
+            """;
+
+    // Sem created_at o plano consulta o índice da PK (id, created_at) em cada partição
+    static final String BY_IDS_SQL = "SELECT * FROM computers WHERE id = ANY($1)";
+
     @Inject
-    @ReactiveDataSource("leitura")
-    Pool readClient;
+    ShardRouter router;
 
     @Inject
     ComputerRowMapper mapper;
 
+    @Inject
+    SearchStatementCache searchStatements;
+
+    @Inject
+    ReadBulkheads bulkheads;
+
     public Multi<ComputerEntity> streamAll() {
-        return readClient.query("SELECT * FROM computers").execute()
-                .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows))
+        return Multi.createFrom().iterable(router.shards())
+                .onItem().transformToMultiAndConcatenate(shard -> bulkheads.run(shard, ReadClass.SCAN,
+                                () -> shard.replica().query("SELECT * FROM computers").execute())
+                        .onItem().transformToMulti(rows -> Multi.createFrom().iterable(rows)))
                 .onItem().transform(mapper::mapRow);
     }
 
     public Uni<List<ComputerEntity>> findAll() {
-        return readClient.query("SELECT * FROM computers").execute()
-                .onItem().transform(mapper::mapRows);
+        return scatter(ReadClass.SCAN, replica -> replica.query("SELECT * FROM computers").execute())
+                .onItem().transform(ComputerReadService::concat);
     }
 
     public Uni<List<ComputerEntity>> pagination(LocalDateTime createdAt, Long id, int limit) {
-
         if (limit <= 0) {
             return Uni.createFrom().failure(
-                    new IllegalArgumentException("limit must be greater than 0"));
+                    new InvalidRequestException("limit must be greater than 0"));
         }
+        return execute(paginationQuery(createdAt, id, limit));
+    }
 
-        LocalDateTime effectiveCreatedAt = createdAt != null ? createdAt : LocalDateTime.now();
+    public Uni<List<ComputerEntity>> searchByGpu(String search) {
+        return execute(gpuQuery(search));
+    }
+
+    public Uni<List<ComputerEntity>> searchByRamCapacity(Integer capacityGb) {
+        return execute(ramQuery(capacityGb));
+    }
+
+    /**
+     * Busca composta: qualquer combinação de filtros, ordenada por {@code created_at}
+     * ou {@code price} com paginação keyset. O SQL vem do cache por shape.
+     */
+    public Uni<List<ComputerEntity>> search(SearchCriteria criteria) {
+        return execute(searchQuery(criteria));
+    }
+
+    /**
+     * Computadores com os ids dados: um único {@code = ANY($1)} na réplica de cada
+     * shard dono de algum id ({@link ShardRouter#forId}), em paralelo.
+     *
+     * @return os encontrados, por id; ids inexistentes ficam de fora
+     */
+    public Uni<Map<Long, ComputerEntity>> findByIds(List<Long> ids) {
+        List<Uni<RowSet<Row>>> perShard = new ArrayList<>();
+        byShard(router, ids).forEach((shard, shardIds) -> perShard.add(bulkheads.run(shard, ReadClass.PAGINATION,
+                () -> shard.replica().preparedQuery(BY_IDS_SQL).execute(Tuple.of(shardIds.toArray(Long[]::new))))));
+        if (perShard.isEmpty()) {
+            return Uni.createFrom().item(Map.of());
+        }
+        return Uni.join().all(perShard).andFailFast()
+                .onItem().transform(results -> {
+                    Map<Long, ComputerEntity> found = new HashMap<>(ids.size() * 2);
+                    for (RowSet<Row> rows : results) {
+                        for (Row row : rows) {
+                            ComputerEntity entity = mapper.mapRow(row);
+                            found.put(entity.id, entity);
+                        }
+                    }
+                    return found;
+                });
+    }
+
+    /** Agrupa ids pelo shard dono, mantendo a ordem relativa de cada grupo. */
+    public static Map<Shard, List<Long>> byShard(ShardRouter router, List<Long> ids) {
+        Map<Shard, List<Long>> groups = new LinkedHashMap<>();
+        for (Long id : ids) {
+            groups.computeIfAbsent(router.forId(id), ignored -> new ArrayList<>()).add(id);
+        }
+        return groups;
+    }
 
+    public ReadQuery paginationQuery(LocalDateTime createdAt, Long id, int limit) {
+        if (limit <= 0) {
+            throw new InvalidRequestException("limit must be greater than 0");
+        }
+        LocalDateTime effectiveCreatedAt = createdAt != null ? createdAt : LocalDateTime.now();
         Long effectiveId = id != null ? id : Long.MAX_VALUE;
+        return new ReadQuery(ReadClass.PAGINATION, PAGINATION_SQL, Tuple.of(effectiveCreatedAt, effectiveId, limit),
+                pages -> KWayMerge.merge(pages, NEWEST_FIRST, limit));
+    }
 
-        return readClient.preparedQuery(
-                "SELECT * FROM computers WHERE (created_at < $1 OR (created_at = $1 AND id < $2)) ORDER BY created_at DESC, id DESC LIMIT $3")
-                .execute(Tuple.of(effectiveCreatedAt, effectiveId, limit))
-                .onItem().transform(mapper::mapRows);
+    public ReadQuery gpuQuery(String search) {
+        return new ReadQuery(ReadClass.SCAN, GPU_SQL, Tuple.of("%" + search + "%"), ComputerReadService::concat);
     }
 
-    public Uni<List<ComputerEntity>> searchByGpu(String search) {
-        return readClient
-                .preparedQuery("""
-                            SELECT * FROM computers
-                            WHERE description -> 'placa_video' ->> 'modelo' ILIKE $1
-                        """)
-                .execute(Tuple.of("%" + search + "%"))
-                .onItem().transform(mapper::mapRows);
+    public ReadQuery ramQuery(Integer capacityGb) {
+        return new ReadQuery(ReadClass.SCAN, RAM_SQL, Tuple.of(capacityGb), ComputerReadService::concat);
     }
 
-    public Uni<List<ComputerEntity>> searchByRamCapacity(Integer capacityGb) {
-        return readClient
-                .preparedQuery("""
-                            SELECT * FROM computers
-                            WHERE (description -> 'memoria_ram' ->> 'capacidade_total_gb')::int = $1
-                        """)
-                .execute(Tuple.of(capacityGb))
-                .onItem().transform(mapper::mapRows);
+    public ReadQuery searchQuery(SearchCriteria criteria) {
+        Comparator<ComputerEntity> order = criteria.sort().order(criteria.descending());
+        return new ReadQuery(ReadClass.SEARCH, searchStatements.sql(criteria), searchStatements.bind(criteria),
+                pages -> KWayMerge.merge(pages, order, criteria.limit()));
+    }
+
+    private Uni<List<ComputerEntity>> execute(ReadQuery query) {
+        return scatter(query.readClass(), replica -> replica.preparedQuery(query.sql()).execute(query.parameters()))
+                .onItem().transform(query.combine());
+    }
+
+    /**
+     * Executa várias leituras com uma única conexão por réplica: as consultas são
+     * disparadas sem esperar a anterior e o cliente PostgreSQL as envia em pipeline
+     * (até {@code pipelining-limit} em voo), então a conexão faz uma ida e volta
+     * para o lote em vez de uma por consulta. O lote roda no bulkhead da consulta
+     * mais cara.
+     *
+     * @return um resultado por consulta, na mesma ordem
+     */
+    public Uni<List<List<ComputerEntity>>> pipelined(List<ReadQuery> queries) {
+        if (queries.isEmpty()) {
+            return Uni.createFrom().item(List.of());
+        }
+        ReadClass readClass = queries.stream().map(ReadQuery::readClass).max(Comparator.naturalOrder()).orElseThrow();
+        List<Uni<List<List<ComputerEntity>>>> perShard = new ArrayList<>();
+        for (Shard shard : router.shards()) {
+            perShard.add(bulkheads.run(shard, readClass, () -> shard.replica().withConnection(conn -> {
+                List<Uni<List<ComputerEntity>>> results = new ArrayList<>(queries.size());
+                for (ReadQuery query : queries) {
+                    results.add(conn.preparedQuery(query.sql()).execute(query.parameters())
+                            .onItem().transform(mapper::mapRows));
+                }
+                return Uni.join().all(results).andFailFast();
+            })));
+        }
+        return Uni.join().all(perShard).andFailFast()
+                .onItem().transform(byShard -> {
+                    List<List<ComputerEntity>> combined = new ArrayList<>(queries.size());
+                    for (int i = 0; i < queries.size(); i++) {
+                        List<List<ComputerEntity>> pages = new ArrayList<>(byShard.size());
+                        for (List<List<ComputerEntity>> shardResults : byShard) {
+                            pages.add(shardResults.get(i));
+                        }
+                        combined.add(queries.get(i).combine().apply(pages));
+                    }
+                    return combined;
+                });
+    }
+
+    /**
+     * Statements preparados que este service executa nas réplicas, para o warm-up:
+     * os fixos e os shapes de busca mais comuns ({@link SearchStatementCache#warmUp()}).
+     */
+    public List<String> statements() {
+        List<String> statements = new ArrayList<>(List.of(PAGINATION_SQL, GPU_SQL, RAM_SQL, BY_IDS_SQL));
+        statements.addAll(searchStatements.warmUp());
+        return statements;
+    }
+
+    /** Executa a mesma consulta na réplica de cada shard, em paralelo; um resultado por shard. */
+    private Uni<List<List<ComputerEntity>>> scatter(ReadClass readClass, Function<Pool, Uni<RowSet<Row>>> query) {
+        List<Shard> shards = router.shards();
+        if (shards.size() == 1) {
+            return replica(shards.get(0), readClass, query)
+                    .onItem().transform(rows -> List.of(mapper.mapRows(rows)));
+        }
+        List<Uni<List<ComputerEntity>>> perShard = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            perShard.add(replica(shard, readClass, query).onItem().transform(mapper::mapRows));
+        }
+        return Uni.join().all(perShard).andFailFast();
+    }
+
+    // Cada consulta segura uma permissão do bulkhead da classe e outra do limite adaptativo da réplica
+    private Uni<RowSet<Row>> replica(Shard shard, ReadClass readClass, Function<Pool, Uni<RowSet<Row>>> query) {
+        return bulkheads.run(shard, readClass, () -> query.apply(shard.replica()));
+    }
+
+    private static List<ComputerEntity> concat(List<List<ComputerEntity>> results) {
+        if (results.size() == 1) {
+            return results.get(0);
+        }
+        List<ComputerEntity> all = new ArrayList<>();
+        results.forEach(all::addAll);
+        return all;
     }
 }
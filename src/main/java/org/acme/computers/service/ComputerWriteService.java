@@ -2,42 +2,403 @@ package org.acme.computers.service;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import io.quarkus.hibernate.reactive.panache.common.WithTransaction;
+import io.smallrye.mutiny.Multi;
 import io.smallrye.mutiny.Uni;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowIterator;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.SqlClient;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import io.vertx.mutiny.sqlclient.Tuple;
 import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Event;
 import jakarta.inject.Inject;
 import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.admission.WriteAdmission;
+import org.acme.computers.catalog.ComputerAttributes;
+import org.acme.computers.catalog.ComputerChangedEvent;
+import org.acme.computers.codec.CreatePayload;
+import org.acme.computers.codec.CreatePayloadReader;
 import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.acme.computers.idempotency.IdempotencyKeyConflictException;
+import org.acme.computers.idempotency.IdempotencyStore;
+import org.acme.computers.mapper.ComputerRowMapper;
+import org.acme.computers.patch.DescriptionPatch;
+import org.acme.computers.patch.PatchConflictException;
+import org.acme.computers.patch.VersionConflictException;
+import org.acme.computers.pool.AdaptivePoolLimits;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.acme.computers.writebehind.PendingCreate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Service responsável por operações de ESCRITA.
- * Utiliza o banco primário (master).
+ * Utiliza o banco primário (master) — o primary do shard dono do {@code name}
+ * (ver {@link ShardRouter}), por SQL direto.
+ *
+ * Cada escrita confirmada dispara um {@link ComputerChangedEvent} para manter
+ * as visões em memória do catálogo (facetas, etc.) atualizadas.
+ *
+ * Toda escrita passa antes pelo {@link WriteAdmission} do shard: com a réplica
+ * atrasada ela espera ou é recusada (429) em vez de afundar a réplica ainda mais.
  */
 @ApplicationScoped
 public class ComputerWriteService {
 
+    /**
+     * Insert idempotente do write-behind: nome e preço saem do próprio JSON, o id vem
+     * da mesma sequence usada pelo Hibernate e {@code (tracking_id, created_at)} descarta
+     * replays — {@code created_at} é gravado no log, então o replay cai na mesma partição.
+     * O {@code %s} é a expressão de id do shard ({@link Shard#nextIdSql()}).
+     */
+    static final String INSERT_PENDING_SQL = """
+            INSERT INTO computers (id, name, price, description, created_at, tracking_id)
+            SELECT %s, d ->> 'name', (d ->> 'price')::numeric, d, $2, $3
+            FROM (SELECT $1::jsonb AS d) AS pending
+            ON CONFLICT (tracking_id, created_at) DO NOTHING
+            RETURNING\s""" + ComputerAttributes.SQL_PROJECTION;
+
+    // Fila concorrente com a mesma chave espera o commit da primeira (índice único) e não insere nada
+    static final String CLAIM_KEY_SQL = """
+            INSERT INTO computer_idempotency (idempotency_key, fingerprint, created_at)
+            VALUES ($1, $2, $3)
+            ON CONFLICT (idempotency_key) DO NOTHING
+            """;
+
+    static final String INSERT_SQL = """
+            INSERT INTO computers (id, name, price, description, created_at)
+            VALUES (%s, $1, $2, $3::jsonb, $4)
+            RETURNING *,\s""" + ComputerAttributes.DOCUMENT_PROJECTION;
+
+    static final String LINK_KEY_SQL =
+            "UPDATE computer_idempotency SET computer_id = $1 WHERE idempotency_key = $2";
+
+    static final String DELETE_BY_NAME_SQL =
+            "DELETE FROM computers WHERE name = $1 RETURNING " + ComputerAttributes.SQL_PROJECTION;
+
+    static final String DELETE_BY_IDS_SQL =
+            "DELETE FROM computers WHERE id = ANY($1) RETURNING " + ComputerAttributes.SQL_PROJECTION;
+
+    static final String FIND_BY_TRACKING_ID_SQL = "SELECT id FROM computers WHERE tracking_id = $1";
+
+    /**
+     * PATCH: o documento é alterado pela cadeia do {@link DescriptionPatch} dentro do
+     * próprio UPDATE (reavaliada sobre a versão mais nova da linha se houver escrita
+     * concorrente), {@code name}/{@code price} acompanham o documento quando tocados,
+     * e {@code RETURNING old.*} (PostgreSQL 18) devolve o documento anterior para as
+     * visões do catálogo. {@code $2} nulo dispensa a checagem de versão.
+     */
+    private static final String PATCH_SQL = """
+            UPDATE computers SET (%s) = (SELECT %s FROM (%s) AS patched), version = version + 1
+            WHERE id = $1 AND ($2::bigint IS NULL OR version = $2)%s
+            RETURNING *, old.description AS previous_description
+            """;
+
+    static final String VERSION_BY_ID_SQL = "SELECT version FROM computers WHERE id = $1";
+
+    static final String REPLAY_SQL = """
+            SELECT i.fingerprint, c.*
+            FROM computer_idempotency i
+            LEFT JOIN computers c ON c.id = i.computer_id
+            WHERE i.idempotency_key = $1
+            """;
+
     @Inject
     ObjectMapper objectMapper;
 
-    @WithTransaction
-    public Uni<ComputerEntity> create(ComputerDescriptionDTO dto) {
-        ComputerEntity entity = new ComputerEntity();
-        entity.setName(dto.getName());
-        entity.setPrice(dto.getPrice());
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    Event<ComputerChangedEvent> changes;
+
+    @Inject
+    ComputerRowMapper mapper;
 
+    @Inject
+    IdempotencyStore idempotency;
+
+    @Inject
+    WriteAdmission admission;
+
+    @Inject
+    AdaptivePoolLimits poolLimits;
+
+    /**
+     * Cria um computador a partir do corpo já validado pelo {@link CreatePayloadReader}.
+     * O JSON segue como chegou para o parâmetro jsonb, sem passar pelo grafo do DTO.
+     * Os atributos do catálogo voltam no próprio {@code RETURNING}. O insert é SQL
+     * direto ao primary do shard dono do nome, com id no espaço daquele shard.
+     */
+    public Uni<ComputerEntity> create(CreatePayload payload) {
+        Shard shard = router.forName(payload.name());
+        return admission.admit(shard)
+                .chain(() -> poolLimits.run(shard.primaryName(), () -> insert(shard.primary(), shard, payload)))
+                .onItem().transform(row -> {
+                    changes.fire(ComputerChangedEvent.created(ComputerAttributes.fromRow(row)));
+                    return mapper.mapRow(row);
+                });
+    }
+
+    private Uni<Row> insert(SqlClient client, Shard shard, CreatePayload payload) {
+        return client.preparedQuery(INSERT_SQL.formatted(shard.nextIdSql()))
+                .execute(Tuple.of(payload.name(), payload.price(), payload.json(), LocalDateTime.now()))
+                .onItem().transform(rows -> rows.iterator().next());
+    }
+
+    /**
+     * Create com {@code Idempotency-Key}: repetições da mesma chave devolvem o
+     * computador criado na primeira vez. Na memória, via {@link IdempotencyStore};
+     * após expiração ou restart, pela tabela {@code computer_idempotency}, cuja
+     * chave é reivindicada na mesma transação do insert.
+     */
+    public Uni<ComputerEntity> create(CreatePayload payload, String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(payload);
+        }
         try {
-            String jsonDescription = objectMapper.writeValueAsString(dto);
-            entity.setDescription(jsonDescription);
-        } catch (JsonProcessingException e) {
-            return Uni.createFrom().failure(
-                    new RuntimeException("Failed to serialize ComputerDescriptionDTO to JSON", e));
+            IdempotencyStore.validateKey(idempotencyKey);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
         }
+        String fingerprint = IdempotencyStore.fingerprint(payload.json());
+        return idempotency.execute(idempotencyKey, fingerprint,
+                () -> createOnce(payload, idempotencyKey, fingerprint));
+    }
+
+    private Uni<ComputerEntity> createOnce(CreatePayload payload, String key, String fingerprint) {
+        AtomicReference<ComputerAttributes> inserted = new AtomicReference<>();
+        // A chave fica no shard do nome: reuso com outro nome só é detectado pela tabela em memória
+        Shard shard = router.forName(payload.name());
+        return admission.admit(shard).chain(() -> poolLimits.run(shard.primaryName(), () -> shard.primary()
+                .withTransaction(conn -> conn.preparedQuery(CLAIM_KEY_SQL)
+                .execute(Tuple.of(key, fingerprint, LocalDateTime.now()))
+                .onItem().transformToUni(claim -> {
+                    if (claim.rowCount() == 0) {
+                        return replay(conn, key, fingerprint);
+                    }
+                    return insert(conn, shard, payload)
+                            .onItem().transform(row -> {
+                                inserted.set(ComputerAttributes.fromRow(row));
+                                return mapper.mapRow(row);
+                            })
+                            .call(entity -> conn.preparedQuery(LINK_KEY_SQL).execute(Tuple.of(entity.id, key)));
+                }))))
+                .onItem().invoke(() -> {
+                    if (inserted.get() != null) {
+                        changes.fire(ComputerChangedEvent.created(inserted.get()));
+                    }
+                });
+    }
 
-        return entity.persist();
+    private Uni<ComputerEntity> replay(SqlConnection conn, String key, String fingerprint) {
+        return conn.preparedQuery(REPLAY_SQL).execute(Tuple.of(key))
+                .onItem().transform(rows -> {
+                    Row row = rows.iterator().next();
+                    if (!fingerprint.equals(row.getString("fingerprint"))) {
+                        throw new IdempotencyKeyConflictException(
+                                "Idempotency-Key already used with a different request body");
+                    }
+                    if (row.getLong("id") == null) {
+                        throw new IdempotencyKeyConflictException(
+                                "Computer created with this Idempotency-Key no longer exists");
+                    }
+                    return mapper.mapRow(row);
+                });
     }
 
-    @WithTransaction
+    /**
+     * Remove pelo nome com {@code DELETE ... RETURNING}, obtendo numa única ida
+     * ao primary os atributos necessários para decrementar as visões do catálogo.
+     */
     public Uni<Long> deleteByName(String name) {
-        return ComputerEntity.delete("name", name);
+        Shard shard = router.forName(name);
+        return admission.admit(shard)
+                .chain(() -> poolLimits.run(shard.primaryName(),
+                        () -> shard.primary().preparedQuery(DELETE_BY_NAME_SQL).execute(Tuple.of(name))))
+                .onItem().transform(rows -> {
+                    long deleted = 0;
+                    for (Row row : rows) {
+                        changes.fire(ComputerChangedEvent.deleted(ComputerAttributes.fromRow(row)));
+                        deleted++;
+                    }
+                    return deleted;
+                });
+    }
+
+    /**
+     * Remove vários computadores pelo id: um único {@code DELETE ... WHERE id = ANY($1)}
+     * no primary de cada shard dono de algum id, com os atributos do catálogo no
+     * {@code RETURNING}. Shards são independentes: se um falhar, os outros já podem
+     * ter removido seus ids — repetir a chamada é seguro.
+     *
+     * @return ids efetivamente removidos
+     */
+    public Uni<Set<Long>> deleteByIds(List<Long> ids) {
+        return Multi.createFrom().iterable(ComputerReadService.byShard(router, ids).entrySet())
+                .onItem().<RowSet<Row>>transformToUniAndMerge(group -> admission.admit(group.getKey())
+                        .chain(() -> poolLimits.run(group.getKey().primaryName(), () -> group.getKey().primary()
+                                .preparedQuery(DELETE_BY_IDS_SQL)
+                                .execute(Tuple.of(group.getValue().toArray(Long[]::new))))))
+                .collect().<Set<Long>>in(HashSet::new, (deleted, rows) -> {
+                    for (Row row : rows) {
+                        ComputerAttributes attributes = ComputerAttributes.fromRow(row);
+                        changes.fire(ComputerChangedEvent.deleted(attributes));
+                        deleted.add(attributes.id());
+                    }
+                });
+    }
+
+    /**
+     * Aplica um patch parcial à {@code description} do computador {@code id}, no
+     * primary do shard dono, sem ler o documento antes.
+     *
+     * @param expectedVersion versão do {@code If-Match}; null aplica sobre a versão atual
+     * @return o computador atualizado, ou null se não existir
+     */
+    public Uni<ComputerEntity> patch(long id, DescriptionPatch patch, Long expectedVersion) {
+        if (router.isSharded() && patch.touches("name")) {
+            // O nome decide o shard: renomear exigiria mover a linha
+            return Uni.createFrom().failure(
+                    new InvalidRequestException("name cannot be changed when sharding is enabled"));
+        }
+        Shard shard = router.forId(id);
+        List<Object> parameters = new ArrayList<>(List.of(id));
+        parameters.add(expectedVersion);
+        parameters.addAll(patch.parameters());
+        return admission.admit(shard)
+                .chain(() -> poolLimits.run(shard.primaryName(),
+                        () -> shard.primary().preparedQuery(patchSql(patch)).execute(Tuple.from(parameters))))
+                .onItem().transformToUni(rows -> {
+                    RowIterator<Row> iterator = rows.iterator();
+                    if (!iterator.hasNext()) {
+                        return explainMissedPatch(shard, id, expectedVersion);
+                    }
+                    Row row = iterator.next();
+                    ComputerEntity entity = mapper.mapRow(row);
+                    changes.fire(ComputerChangedEvent.updated(
+                            attributes(id, row.getString("previous_description")),
+                            attributes(id, entity.description)));
+                    return Uni.createFrom().item(entity);
+                });
+    }
+
+    static String patchSql(DescriptionPatch patch) {
+        List<String> columns = new ArrayList<>(List.of("description"));
+        List<String> values = new ArrayList<>(List.of("d"));
+        if (patch.touches("name")) {
+            columns.add("name");
+            values.add("d ->> 'name'");
+        }
+        if (patch.touches("price")) {
+            columns.add("price");
+            values.add("(d ->> 'price')::numeric");
+        }
+        String chain = patch.chain(3);
+        // As pré-condições precisam barrar a linha, então a cadeia também é avaliada no WHERE
+        String conditions = patch.hasConditions() ? " AND (SELECT ok FROM (" + chain + ") AS checked)" : "";
+        return PATCH_SQL.formatted(String.join(", ", columns), String.join(", ", values), chain, conditions);
+    }
+
+    // Só no caminho de erro: distingue computador inexistente, versão desatualizada e pré-condição falha
+    private Uni<ComputerEntity> explainMissedPatch(Shard shard, long id, Long expectedVersion) {
+        return shard.primary().preparedQuery(VERSION_BY_ID_SQL).execute(Tuple.of(id))
+                .onItem().transform(rows -> {
+                    RowIterator<Row> iterator = rows.iterator();
+                    if (!iterator.hasNext()) {
+                        return null;
+                    }
+                    long current = iterator.next().getLong("version");
+                    if (expectedVersion != null && expectedVersion != current) {
+                        throw new VersionConflictException(current);
+                    }
+                    throw new PatchConflictException("patch does not apply: a test failed or a path does not exist");
+                });
+    }
+
+    private ComputerAttributes attributes(long id, String description) {
+        try {
+            return ComputerAttributes.of(id, objectMapper.readValue(description, ComputerDescriptionDTO.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("invalid description stored for computer " + id, e);
+        }
+    }
+
+    /**
+     * Aplica no primary, numa única transação, um lote drenado do write-behind.
+     * Registros já aplicados (replay após queda) não retornam linha e não geram evento.
+     *
+     * @return quantidade de linhas efetivamente inseridas
+     */
+    public Uni<Integer> insertPending(List<PendingCreate> pending) {
+        Map<Shard, List<Tuple>> batches = new LinkedHashMap<>();
+        for (PendingCreate create : pending) {
+            batches.computeIfAbsent(router.forName(nameOf(create)), ignored -> new ArrayList<>())
+                    .add(Tuple.of(create.description(), create.createdAt(), create.trackingId()));
+        }
+        // Um lote por shard; se um falhar o lote inteiro volta e os já aplicados são descartados no replay
+        return Multi.createFrom().iterable(batches.entrySet())
+                .onItem().transformToUniAndConcatenate(batch -> {
+                    String sql = INSERT_PENDING_SQL.formatted(batch.getKey().nextIdSql());
+                    return batch.getKey().primary()
+                            .withTransaction(conn -> conn.preparedQuery(sql).executeBatch(batch.getValue()));
+                })
+                .collect().asList()
+                .onItem().transform(results -> {
+                    List<ComputerAttributes> inserted = new ArrayList<>();
+                    for (RowSet<Row> rows : results) {
+                        for (RowSet<Row> result = rows; result != null; result = result.next()) {
+                            for (Row row : result) {
+                                inserted.add(ComputerAttributes.fromRow(row));
+                            }
+                        }
+                    }
+                    inserted.forEach(attributes -> changes.fire(ComputerChangedEvent.created(attributes)));
+                    return inserted.size();
+                });
+    }
+
+    /** Id do computador criado a partir de um create write-behind, ou null se ainda não aplicado. */
+    public Uni<Long> findIdByTrackingId(UUID trackingId) {
+        // O tracking id não carrega o nome, então a busca passa por todos os primaries
+        return Multi.createFrom().iterable(router.shards())
+                .onItem().transformToUniAndConcatenate(shard -> shard.primary()
+                        .preparedQuery(FIND_BY_TRACKING_ID_SQL)
+                        .execute(Tuple.of(trackingId))
+                        .onItem().transform(rows -> {
+                            RowIterator<Row> iterator = rows.iterator();
+                            return iterator.hasNext() ? iterator.next().getLong("id") : null;
+                        }))
+                .select().first()
+                .toUni();
+    }
+
+    /** Statements preparados que este service executa no primary do shard, para o warm-up. */
+    public List<String> statements(Shard shard) {
+        return List.of(INSERT_SQL.formatted(shard.nextIdSql()), INSERT_PENDING_SQL.formatted(shard.nextIdSql()),
+                CLAIM_KEY_SQL, LINK_KEY_SQL, REPLAY_SQL, DELETE_BY_NAME_SQL, DELETE_BY_IDS_SQL,
+                FIND_BY_TRACKING_ID_SQL, VERSION_BY_ID_SQL);
+    }
+
+    private String nameOf(PendingCreate create) {
+        if (!router.isSharded()) {
+            return "";
+        }
+        try {
+            return objectMapper.readTree(create.description()).path("name").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("invalid write-behind record " + create.trackingId(), e);
+        }
     }
 }
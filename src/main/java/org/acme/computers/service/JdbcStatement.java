@@ -0,0 +1,76 @@
+package org.acme.computers.service;
+
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL escrito para o cliente reativo ({@code $1}, {@code $2}...) convertido para
+ * JDBC ({@code ?}): cada ocorrência de {@code $n} vira um {@code ?} e o bind
+ * repete o parâmetro {@code n} naquela posição. Assim os dois backends de leitura
+ * executam exatamente o mesmo texto de consulta.
+ */
+final class JdbcStatement {
+
+    private static final ConcurrentHashMap<String, JdbcStatement> STATEMENTS = new ConcurrentHashMap<>();
+
+    private final String sql;
+
+    // Número ($n, base 1) do parâmetro ligado a cada "?"
+    private final int[] parameters;
+
+    private JdbcStatement(String sql, int[] parameters) {
+        this.sql = sql;
+        this.parameters = parameters;
+    }
+
+    static JdbcStatement of(String sql) {
+        return STATEMENTS.computeIfAbsent(sql, JdbcStatement::parse);
+    }
+
+    static JdbcStatement parse(String sql) {
+        StringBuilder converted = new StringBuilder(sql.length());
+        List<Integer> parameters = new ArrayList<>();
+        for (int i = 0; i < sql.length(); i++) {
+            char c = sql.charAt(i);
+            int end = i + 1;
+            while (c == '$' && end < sql.length() && Character.isDigit(sql.charAt(end))) {
+                end++;
+            }
+            if (end > i + 1) {
+                parameters.add(Integer.parseInt(sql.substring(i + 1, end)));
+                converted.append('?');
+                i = end - 1;
+            } else {
+                converted.append(c);
+            }
+        }
+        return new JdbcStatement(converted.toString(), parameters.stream().mapToInt(Integer::intValue).toArray());
+    }
+
+    String sql() {
+        return sql;
+    }
+
+    int[] parameters() {
+        return parameters.clone();
+    }
+
+    void bind(PreparedStatement statement, List<?> values) throws SQLException {
+        for (int i = 0; i < parameters.length; i++) {
+            Object value = values.get(parameters[i] - 1);
+            if (value instanceof JsonObject || value instanceof JsonArray) {
+                // Tipo "unknown" para o servidor inferir jsonb pelo contexto, como no cliente reativo
+                statement.setObject(i + 1, value.toString(), Types.OTHER);
+            } else {
+                statement.setObject(i + 1, value);
+            }
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.acme.computers.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.smallrye.mutiny.Uni;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.pool.AdaptivePoolLimits;
+import org.acme.computers.pool.BulkheadFullException;
+import org.acme.computers.pool.PoolGate;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Bulkheads das leituras na réplica: cada {@link ReadClass} tem, por réplica, o seu
+ * número de permissões, fila máxima e prazo de espera
+ * ({@code computers.read.bulkhead.<classe>.size|max-queued|max-wait}).
+ *
+ * Varreduras lentas do JSONB só ocupam as permissões de {@code scan}; a paginação
+ * continua com as suas mesmo com a fila de {@code scan} cheia. Sem permissão a
+ * tempo a leitura falha com {@link BulkheadFullException} (503).
+ *
+ * Os bulkheads são as lanes do limite adaptativo da réplica
+ * ({@link AdaptivePoolLimits#partition}): o {@code size} é o teto de cada classe e,
+ * quando o controle reduz o limite, cada uma fica com uma fatia garantida dele. Não
+ * há outra fila depois do bulkhead, então o {@code max-wait} cobre toda a espera.
+ */
+@ApplicationScoped
+public class ReadBulkheads {
+
+    private record Defaults(int size, int maxQueued, Duration maxWait) {
+    }
+
+    private static final Map<ReadClass, Defaults> DEFAULTS = Map.of(
+            ReadClass.PAGINATION, new Defaults(20, 200, Duration.ofSeconds(1)),
+            ReadClass.SEARCH, new Defaults(12, 100, Duration.ofSeconds(2)),
+            ReadClass.SCAN, new Defaults(8, 50, Duration.ofSeconds(5)));
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Config config;
+
+    @Inject
+    AdaptivePoolLimits poolLimits;
+
+    @ConfigProperty(name = "computers.read.bulkhead.enabled", defaultValue = "true")
+    boolean enabled;
+
+    private final Map<String, Map<ReadClass, PoolGate>> bulkheads = new HashMap<>();
+
+    // Réplicas cujo limite adaptativo não pôde ser dividido: o bulkhead continua passando por ele
+    private final Set<String> undivided = new HashSet<>();
+
+    @PostConstruct
+    void init() {
+        if (!enabled) {
+            return;
+        }
+        for (Shard shard : router.shards()) {
+            Map<ReadClass, PoolGate> perClass = new EnumMap<>(ReadClass.class);
+            Map<String, PoolGate> lanes = new LinkedHashMap<>();
+            for (ReadClass readClass : ReadClass.values()) {
+                PoolGate gate = gate(shard.replicaName(), readClass);
+                perClass.put(readClass, gate);
+                lanes.put(readClass.key(), gate);
+                register(shard.replicaName(), readClass, gate);
+            }
+            bulkheads.put(shard.replicaName(), perClass);
+            if (!poolLimits.partition(shard.replicaName(), lanes)) {
+                undivided.add(shard.replicaName());
+            }
+        }
+    }
+
+    private PoolGate gate(String datasource, ReadClass readClass) {
+        String prefix = "computers.read.bulkhead." + readClass.key() + ".";
+        Defaults defaults = DEFAULTS.get(readClass);
+        int size = config.getOptionalValue(prefix + "size", Integer.class).orElse(defaults.size());
+        int maxQueued = config.getOptionalValue(prefix + "max-queued", Integer.class).orElse(defaults.maxQueued());
+        Duration maxWait = config.getOptionalValue(prefix + "max-wait", Duration.class).orElse(defaults.maxWait());
+        if (size < 1 || maxQueued < 0 || maxWait.isNegative()) {
+            throw new IllegalStateException(prefix + "size must be positive and max-queued/max-wait not negative");
+        }
+        return new PoolGate("read bulkhead " + readClass.key() + " of " + datasource, size, maxQueued, maxWait);
+    }
+
+    private void register(String datasource, ReadClass readClass, PoolGate gate) {
+        Gauge.builder("computers.read.bulkhead.in_use", gate, PoolGate::inUse)
+                .description("Leituras em execução no bulkhead")
+                .tags("class", readClass.key(), "datasource", datasource)
+                .register(registry);
+        Gauge.builder("computers.read.bulkhead.size", gate, PoolGate::limit)
+                .description("Permissões do bulkhead")
+                .tags("class", readClass.key(), "datasource", datasource)
+                .register(registry);
+        Gauge.builder("computers.read.bulkhead.queued", gate, PoolGate::queued)
+                .description("Leituras esperando uma permissão do bulkhead")
+                .tags("class", readClass.key(), "datasource", datasource)
+                .register(registry);
+        FunctionCounter.builder("computers.read.bulkhead.rejected", gate, PoolGate::rejected)
+                .description("Leituras recusadas (503): fila cheia ou espera acima do prazo")
+                .tags("class", readClass.key(), "datasource", datasource)
+                .register(registry);
+    }
+
+    /** Executa a leitura na réplica do shard segurando uma permissão da classe. */
+    public <T> Uni<T> run(Shard shard, ReadClass readClass, Supplier<Uni<T>> read) {
+        String replica = shard.replicaName();
+        if (!enabled) {
+            return poolLimits.run(replica, read);
+        }
+        PoolGate gate = bulkheads.get(replica).get(readClass);
+        return undivided.contains(replica) ? gate.run(() -> poolLimits.run(replica, read)) : gate.run(read);
+    }
+}
@@ -0,0 +1,23 @@
+package org.acme.computers.service;
+
+import java.util.Locale;
+
+/**
+ * Classe de custo de uma leitura na réplica; cada uma tem o seu bulkhead
+ * ({@link ReadBulkheads}). Ordenadas da mais barata para a mais cara.
+ */
+public enum ReadClass {
+
+    /** Índice: paginação keyset e busca por ids. */
+    PAGINATION,
+
+    /** Busca composta; o custo depende dos filtros. */
+    SEARCH,
+
+    /** Varreduras do JSONB sem índice seletivo: {@code ILIKE} de GPU, RAM, listagem completa. */
+    SCAN;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
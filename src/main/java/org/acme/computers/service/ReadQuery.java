@@ -0,0 +1,17 @@
+package org.acme.computers.service;
+
+import io.vertx.mutiny.sqlclient.Tuple;
+import org.acme.computers.ComputerEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Uma leitura pronta para executar na réplica de cada shard: SQL, parâmetros e
+ * como combinar os resultados por shard (intercalação ordenada ou concatenação);
+ * {@code readClass} escolhe o bulkhead em que ela roda ({@link ReadBulkheads}).
+ * Criada por {@link ComputerReadService}, que também a executa sozinha ou em pipeline.
+ */
+public record ReadQuery(ReadClass readClass, String sql, Tuple parameters,
+        Function<List<List<ComputerEntity>>, List<ComputerEntity>> combine) {
+}
@@ -0,0 +1,46 @@
+package org.acme.computers.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Intercalação de listas já ordenadas (uma por shard) preservando a ordem.
+ * Custo O(limit · log k) para k shards.
+ */
+public final class KWayMerge {
+
+    private KWayMerge() {
+    }
+
+    private record Head<T>(T value, Iterator<T> rest) {
+    }
+
+    public static <T> List<T> merge(List<List<T>> sorted, Comparator<? super T> order, int limit) {
+        if (sorted.size() == 1) {
+            List<T> only = sorted.get(0);
+            return only.size() <= limit ? only : List.copyOf(only.subList(0, limit));
+        }
+
+        PriorityQueue<Head<T>> heads = new PriorityQueue<>(sorted.size(),
+                (a, b) -> order.compare(a.value(), b.value()));
+        for (List<T> list : sorted) {
+            Iterator<T> iterator = list.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+
+        List<T> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Head<T> head = heads.poll();
+            merged.add(head.value());
+            if (head.rest().hasNext()) {
+                heads.add(new Head<>(head.rest().next(), head.rest()));
+            }
+        }
+        return merged;
+    }
+}
@@ -0,0 +1,12 @@
+package org.acme.computers.sharding;
+
+import io.vertx.mutiny.sqlclient.Pool;
+
+/**
+ * Um shard: primary (escrita) e réplica (leitura) com o mesmo schema.
+ *
+ * @param nextIdSql expressão SQL do próximo id; com N shards os ids seguem
+ *                  {@code seq * N + index}, então nunca colidem entre shards
+ */
+public record Shard(int index, String primaryName, Pool primary, String replicaName, Pool replica, String nextIdSql) {
+}
@@ -0,0 +1,105 @@
+package org.acme.computers.sharding;
+
+import io.quarkus.reactive.datasource.ReactiveDataSource;
+import io.vertx.mutiny.sqlclient.Pool;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.inject.Any;
+import jakarta.enterprise.inject.Default;
+import jakarta.enterprise.inject.Instance;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32C;
+
+/**
+ * Distribui {@code computers} entre N pares primary/réplica por hash do {@code name}.
+ *
+ * {@code computers.sharding.primaries} e {@code computers.sharding.replicas} são
+ * listas paralelas de nomes de datasource ({@code <default>} é o datasource padrão).
+ * Com um único shard (padrão) o comportamento é o de antes: primary default e
+ * réplica {@code leitura}.
+ *
+ * A ordem das listas define o shard de cada nome — mudá-la (ou a quantidade)
+ * exige redistribuir os dados.
+ */
+@ApplicationScoped
+public class ShardRouter {
+
+    private static final Logger LOG = Logger.getLogger(ShardRouter.class);
+
+    public static final String DEFAULT_DATASOURCE = "<default>";
+
+    @ConfigProperty(name = "computers.sharding.primaries", defaultValue = DEFAULT_DATASOURCE)
+    List<String> primaryNames;
+
+    @ConfigProperty(name = "computers.sharding.replicas", defaultValue = "leitura")
+    List<String> replicaNames;
+
+    @Inject
+    @Any
+    Instance<Pool> pools;
+
+    private List<Shard> shards;
+
+    @PostConstruct
+    void init() {
+        if (primaryNames.size() != replicaNames.size()) {
+            throw new IllegalStateException("computers.sharding.primaries and computers.sharding.replicas "
+                    + "must have the same number of datasources");
+        }
+        List<Shard> configured = new ArrayList<>(primaryNames.size());
+        for (int i = 0; i < primaryNames.size(); i++) {
+            configured.add(new Shard(i, primaryNames.get(i), pool(primaryNames.get(i)),
+                    replicaNames.get(i), pool(replicaNames.get(i)), nextIdSql(i, primaryNames.size())));
+        }
+        shards = List.copyOf(configured);
+        if (shards.size() > 1) {
+            LOG.infof("[SHARDING] %d shards: primaries=%s replicas=%s", shards.size(), primaryNames, replicaNames);
+        }
+    }
+
+    public List<Shard> shards() {
+        return shards;
+    }
+
+    public boolean isSharded() {
+        return shards.size() > 1;
+    }
+
+    /** Shard dono de um computador, pelo nome. */
+    public Shard forName(String name) {
+        return shards.get(shardIndex(name, shards.size()));
+    }
+
+    /** Shard dono de um computador, pelo id ({@code seq * N + índice}, ver {@link #nextIdSql}). */
+    public Shard forId(long id) {
+        return shards.get(Math.floorMod(id, shards.size()));
+    }
+
+    /** Índice do shard de um nome entre {@code shardCount} shards (CRC32C do nome em UTF-8). */
+    public static int shardIndex(String name, int shardCount) {
+        if (shardCount == 1) {
+            return 0;
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(name.getBytes(StandardCharsets.UTF_8));
+        return (int) (crc.getValue() % shardCount);
+    }
+
+    static String nextIdSql(int index, int shardCount) {
+        return shardCount == 1
+                ? "nextval('computers_seq')"
+                : "nextval('computers_seq') * %d + %d".formatted(shardCount, index);
+    }
+
+    private Pool pool(String datasource) {
+        return DEFAULT_DATASOURCE.equals(datasource)
+                ? pools.select(Default.Literal.INSTANCE).get()
+                : pools.select(new ReactiveDataSource.ReactiveDataSourceLiteral(datasource)).get();
+    }
+}
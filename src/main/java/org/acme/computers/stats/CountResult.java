@@ -0,0 +1,26 @@
+package org.acme.computers.stats;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Resposta dos endpoints de contagem.
+ *
+ * @param approximate {@code false} só quando a contagem veio de SQL ({@code exact=true})
+ * @param source      {@code planner} (estimativa de linhas do planejador),
+ *                    {@code hyperloglog} (sketch em memória) ou {@code exact}
+ */
+@RegisterForReflection
+public record CountResult(long count, boolean approximate, String source) {
+
+    public static CountResult planner(long count) {
+        return new CountResult(count, true, "planner");
+    }
+
+    public static CountResult sketch(long count) {
+        return new CountResult(count, true, "hyperloglog");
+    }
+
+    public static CountResult exact(long count) {
+        return new CountResult(count, false, "exact");
+    }
+}
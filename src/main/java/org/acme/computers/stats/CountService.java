@@ -0,0 +1,135 @@
+package org.acme.computers.stats;
+
+import io.smallrye.mutiny.Uni;
+import io.vertx.core.json.JsonArray;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.Row;
+import io.vertx.mutiny.sqlclient.RowSet;
+import io.vertx.mutiny.sqlclient.Tuple;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.catalog.CatalogView;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.search.SearchStatementCache;
+import org.acme.computers.service.ReadBulkheads;
+import org.acme.computers.service.ReadClass;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Contagens para UIs de paginação sem {@code count(*)} na réplica:
+ * <ul>
+ * <li>total e contagens com filtros da busca: estimativa de linhas do planejador
+ * ({@code EXPLAIN}), que usa as estatísticas da tabela e o tamanho atual de cada partição;</li>
+ * <li>distintos de modelo de GPU e de nome: {@link HyperLogLog}s em memória,
+ * atualizados a cada create e reconstruídos pela reconciliação do catálogo.</li>
+ * </ul>
+ * Com {@code exact} a contagem vai ao SQL, no bulkhead de varreduras
+ * ({@link ReadClass#SCAN}); o {@code EXPLAIN} usa o de paginação. Com sharding os
+ * totais são somados entre as réplicas.
+ */
+@ApplicationScoped
+public class CountService extends CatalogView<DistinctSketches> {
+
+    private static final String EXACT_DISTINCT_NAMES = "SELECT count(DISTINCT name) AS total FROM computers";
+
+    private static final String EXACT_DISTINCT_GPUS =
+            "SELECT count(DISTINCT description -> 'placa_video' ->> 'modelo') AS total FROM computers";
+
+    private static final String GPU_MODELS =
+            "SELECT DISTINCT description -> 'placa_video' ->> 'modelo' AS gpu_model FROM computers";
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    SearchStatementCache statements;
+
+    @Inject
+    ReadBulkheads bulkheads;
+
+    /** Registradores por sketch = 2^precision; 14 dá ~0,8% de erro com 16 KiB. */
+    @ConfigProperty(name = "computers.stats.distinct.precision", defaultValue = "14")
+    int precision;
+
+    @Override
+    protected DistinctSketches newAccumulator() {
+        return new DistinctSketches(precision);
+    }
+
+    public Uni<CountResult> count(SearchCriteria criteria, boolean exact) {
+        String sql = statements.countSql(criteria, !exact);
+        Tuple parameters = statements.bindFilters(criteria);
+        return sum(exact ? ReadClass.SCAN : ReadClass.PAGINATION,
+                replica -> replica.preparedQuery(sql).execute(parameters),
+                exact ? CountService::total : CountService::planRows)
+                .onItem().transform(total -> exact ? CountResult.exact(total) : CountResult.planner(total));
+    }
+
+    public Uni<CountResult> distinct(String dimension, boolean exact) {
+        Long estimate = current().estimate(dimension);
+        if (estimate == null) {
+            return Uni.createFrom().failure(new InvalidRequestException(
+                    "dimension must be " + DistinctSketches.GPU_MODEL + " or " + DistinctSketches.NAME));
+        }
+        if (!exact) {
+            return Uni.createFrom().item(CountResult.sketch(estimate));
+        }
+        if (DistinctSketches.NAME.equals(dimension)) {
+            // O shard é escolhido pelo nome: um mesmo nome nunca aparece em dois shards
+            return sum(ReadClass.SCAN, replica -> replica.query(EXACT_DISTINCT_NAMES).execute(), CountService::total)
+                    .onItem().transform(CountResult::exact);
+        }
+        if (!router.isSharded()) {
+            return sum(ReadClass.SCAN, replica -> replica.query(EXACT_DISTINCT_GPUS).execute(), CountService::total)
+                    .onItem().transform(CountResult::exact);
+        }
+        // Modelos se repetem entre shards: união dos valores (poucos) em memória
+        List<Uni<RowSet<Row>>> perShard = new ArrayList<>();
+        for (Shard shard : router.shards()) {
+            perShard.add(bulkheads.run(shard, ReadClass.SCAN, () -> shard.replica().query(GPU_MODELS).execute()));
+        }
+        return Uni.join().all(perShard).andFailFast()
+                .onItem().transform(results -> {
+                    Set<String> models = new HashSet<>();
+                    for (RowSet<Row> rows : results) {
+                        for (Row row : rows) {
+                            if (row.getString("gpu_model") != null) {
+                                models.add(row.getString("gpu_model"));
+                            }
+                        }
+                    }
+                    return CountResult.exact(models.size());
+                });
+    }
+
+    private Uni<Long> sum(ReadClass readClass, Function<Pool, Uni<RowSet<Row>>> query,
+                          Function<RowSet<Row>, Long> extract) {
+        List<Uni<Long>> perShard = new ArrayList<>();
+        for (Shard shard : router.shards()) {
+            perShard.add(bulkheads.run(shard, readClass, () -> query.apply(shard.replica()))
+                    .onItem().transform(extract));
+        }
+        return Uni.join().all(perShard).andFailFast()
+                .onItem().transform(totals -> totals.stream().mapToLong(Long::longValue).sum());
+    }
+
+    private static Long total(RowSet<Row> rows) {
+        return rows.iterator().next().getLong("total");
+    }
+
+    /** "Plan Rows" do nó raiz de um {@code EXPLAIN (FORMAT JSON)}. */
+    static Long planRows(RowSet<Row> rows) {
+        Object plan = rows.iterator().next().getValue("QUERY PLAN");
+        JsonArray explain = plan instanceof JsonArray array ? array : new JsonArray(plan.toString());
+        return explain.getJsonObject(0).getJsonObject("Plan").getLong("Plan Rows");
+    }
+}
@@ -0,0 +1,46 @@
+package org.acme.computers.stats;
+
+import org.acme.computers.catalog.CatalogAccumulator;
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.util.Map;
+
+/**
+ * Quantidade aproximada de valores distintos de modelo de GPU e de nome, em
+ * {@link HyperLogLog}s. Sketches não suportam remoção — deletes só se refletem
+ * na próxima reconciliação.
+ */
+public class DistinctSketches implements CatalogAccumulator {
+
+    public static final String GPU_MODEL = "gpu";
+    public static final String NAME = "name";
+
+    private final Map<String, HyperLogLog> sketches;
+
+    public DistinctSketches(int precision) {
+        this.sketches = Map.of(
+                GPU_MODEL, new HyperLogLog(precision),
+                NAME, new HyperLogLog(precision));
+    }
+
+    @Override
+    public void add(ComputerAttributes attributes) {
+        if (attributes.gpuModel() != null) {
+            sketches.get(GPU_MODEL).add(attributes.gpuModel());
+        }
+        if (attributes.name() != null) {
+            sketches.get(NAME).add(attributes.name());
+        }
+    }
+
+    @Override
+    public void remove(ComputerAttributes attributes) {
+        // Sem suporte a remoção; a reconciliação periódica reconstrói os sketches.
+    }
+
+    /** Estimativa de distintos da dimensão, ou {@code null} se ela não existir. */
+    public Long estimate(String dimension) {
+        HyperLogLog sketch = sketches.get(dimension);
+        return sketch != null ? sketch.estimate() : null;
+    }
+}
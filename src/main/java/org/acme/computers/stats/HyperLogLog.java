@@ -0,0 +1,99 @@
+package org.acme.computers.stats;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Estimador de cardinalidade HyperLogLog com {@code 2^precision} registradores
+ * de um byte: com precisão 14 são 16 KiB por sketch e erro padrão de ~0,8%
+ * ({@code 1.04 / sqrt(m)}), seja qual for o número de valores distintos.
+ *
+ * Usa hash de 64 bits, então dispensa a correção de faixa alta do artigo
+ * original; na faixa baixa a estimativa cai para linear counting. Não suporta
+ * remoção. Thread-safe via {@code synchronized}.
+ */
+public class HyperLogLog {
+
+    private final int precision;
+
+    private final byte[] registers;
+
+    public HyperLogLog(int precision) {
+        if (precision < 4 || precision > 18) {
+            throw new IllegalArgumentException("precision must be between 4 and 18");
+        }
+        this.precision = precision;
+        this.registers = new byte[1 << precision];
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        // Posição do primeiro bit 1 nos bits restantes; o sentinela limita a 64 - precision + 1
+        long remaining = (hash << precision) | (1L << (precision - 1));
+        byte rank = (byte) (Long.numberOfLeadingZeros(remaining) + 1);
+        synchronized (this) {
+            if (registers[index] < rank) {
+                registers[index] = rank;
+            }
+        }
+    }
+
+    public synchronized long estimate() {
+        int m = registers.length;
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += 1.0 / (1L << register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    /** Combina outro sketch de mesma precisão neste (união dos conjuntos). */
+    public void merge(HyperLogLog other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("cannot merge sketches with different precision");
+        }
+        byte[] theirs;
+        synchronized (other) {
+            theirs = other.registers.clone();
+        }
+        synchronized (this) {
+            for (int i = 0; i < registers.length; i++) {
+                if (registers[i] < theirs[i]) {
+                    registers[i] = theirs[i];
+                }
+            }
+        }
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    /** FNV-1a de 64 bits sobre o UTF-8, com o finalizador do MurmurHash3 para espalhar os bits altos. */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,26 @@
+package org.acme.computers.stats;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Resumo da distribuição de preços de um grupo (p10/p50/p90, mínimo e máximo).
+ */
+@RegisterForReflection
+public record PriceQuantiles(
+        long count,
+        double min,
+        double p10,
+        double p50,
+        double p90,
+        double max) {
+
+    static PriceQuantiles of(TDigest digest) {
+        return new PriceQuantiles(
+                digest.count(),
+                digest.min(),
+                digest.quantile(0.10),
+                digest.quantile(0.50),
+                digest.quantile(0.90),
+                digest.max());
+    }
+}
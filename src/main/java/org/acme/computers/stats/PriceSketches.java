@@ -0,0 +1,98 @@
+package org.acme.computers.stats;
+
+import org.acme.computers.catalog.CatalogAccumulator;
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Distribuição de preços por modelo de GPU e por capacidade de RAM, em {@link TDigest}s.
+ *
+ * A memória é limitada por {@code maxGroups} por dimensão: chaves novas que
+ * excedem o limite caem no grupo {@link #OVERFLOW_GROUP}.
+ * Sketches não suportam remoção: deletes e atualizações (PATCH, reajuste em massa)
+ * só se refletem na próxima reconciliação ({@code computers.catalog.reconcile-interval}).
+ * Uma atualização é ignorada em vez de somar uma segunda amostra de preço da mesma
+ * linha, que distorceria os percentis do grupo até lá.
+ */
+public class PriceSketches implements CatalogAccumulator {
+
+    public static final String GPU_MODEL = "gpu";
+    public static final String RAM_GB = "ram";
+    public static final String OVERFLOW_GROUP = "outros";
+
+    private final double compression;
+    private final int maxGroups;
+
+    private final TDigest overall;
+    private final Map<String, ConcurrentHashMap<String, TDigest>> dimensions = Map.of(
+            GPU_MODEL, new ConcurrentHashMap<>(),
+            RAM_GB, new ConcurrentHashMap<>());
+
+    public PriceSketches(double compression, int maxGroups) {
+        this.compression = compression;
+        this.maxGroups = maxGroups;
+        this.overall = new TDigest(compression);
+    }
+
+    @Override
+    public void add(ComputerAttributes attributes) {
+        if (attributes.price() == null) {
+            return;
+        }
+        double price = attributes.price().doubleValue();
+        overall.add(price);
+        if (attributes.gpuModel() != null) {
+            digest(GPU_MODEL, attributes.gpuModel()).add(price);
+        }
+        if (attributes.ramGb() != null) {
+            digest(RAM_GB, attributes.ramGb().toString()).add(price);
+        }
+    }
+
+    @Override
+    public void remove(ComputerAttributes attributes) {
+        // Sem suporte a remoção; a reconciliação periódica reconstrói os sketches.
+    }
+
+    @Override
+    public void update(ComputerAttributes previous, ComputerAttributes current) {
+        // O preço antigo não sai do sketch; o novo entra na reconciliação.
+    }
+
+    public PriceQuantiles overall() {
+        return PriceQuantiles.of(overall);
+    }
+
+    /** Quantis de um único grupo, ou {@code null} se a dimensão ou a chave não existir. */
+    public PriceQuantiles group(String dimension, String key) {
+        Map<String, TDigest> groups = dimensions.get(dimension);
+        if (groups == null) {
+            return null;
+        }
+        TDigest digest = groups.get(key);
+        return digest != null ? PriceQuantiles.of(digest) : null;
+    }
+
+    /** Quantis de todos os grupos de uma dimensão — no máximo {@code maxGroups + 1} entradas. */
+    public Map<String, PriceQuantiles> groups(String dimension) {
+        Map<String, PriceQuantiles> result = new TreeMap<>();
+        Map<String, TDigest> groups = dimensions.get(dimension);
+        if (groups != null) {
+            groups.forEach((key, digest) -> result.put(key, PriceQuantiles.of(digest)));
+        }
+        return result;
+    }
+
+    private TDigest digest(String dimension, String key) {
+        ConcurrentHashMap<String, TDigest> groups = dimensions.get(dimension);
+        TDigest digest = groups.get(key);
+        if (digest != null) {
+            return digest;
+        }
+        String effectiveKey = groups.size() >= maxGroups ? OVERFLOW_GROUP : key;
+        return groups.computeIfAbsent(effectiveKey, ignored -> new TDigest(compression));
+    }
+}
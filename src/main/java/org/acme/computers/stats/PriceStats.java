@@ -0,0 +1,16 @@
+package org.acme.computers.stats;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.Map;
+
+/**
+ * Resposta de {@code GET /computer/stats/price}: distribuição geral e por grupo.
+ */
+@RegisterForReflection
+public record PriceStats(
+        boolean warm,
+        PriceQuantiles overall,
+        Map<String, PriceQuantiles> byGpuModel,
+        Map<String, PriceQuantiles> byRamGb) {
+}
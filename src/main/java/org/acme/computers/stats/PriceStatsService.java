@@ -0,0 +1,37 @@
+package org.acme.computers.stats;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import org.acme.computers.catalog.CatalogView;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+/**
+ * Percentis de preço servidos de sketches em memória, sem {@code percentile_cont} no banco.
+ * {@code computers.stats.price.compression} controla a precisão (e a memória) de cada sketch.
+ */
+@ApplicationScoped
+public class PriceStatsService extends CatalogView<PriceSketches> {
+
+    @ConfigProperty(name = "computers.stats.price.compression", defaultValue = "100")
+    double compression;
+
+    @ConfigProperty(name = "computers.stats.price.max-groups", defaultValue = "500")
+    int maxGroups;
+
+    @Override
+    protected PriceSketches newAccumulator() {
+        return new PriceSketches(compression, maxGroups);
+    }
+
+    public PriceStats stats() {
+        PriceSketches sketches = current();
+        return new PriceStats(
+                isWarm(),
+                sketches.overall(),
+                sketches.groups(PriceSketches.GPU_MODEL),
+                sketches.groups(PriceSketches.RAM_GB));
+    }
+
+    public PriceQuantiles group(String dimension, String key) {
+        return current().group(dimension, key);
+    }
+}
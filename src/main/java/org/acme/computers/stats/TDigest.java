@@ -0,0 +1,213 @@
+package org.acme.computers.stats;
+
+import java.util.Arrays;
+
+/**
+ * Sketch de quantis no estilo t-digest (variante "merging").
+ *
+ * Os valores entram num buffer e, quando ele enche, são fundidos aos centroides
+ * respeitando a função de escala k1: centroides pequenos nas caudas, grandes no
+ * meio, no máximo ~{@code compression/2} centroides. A memória fica limitada a
+ * O(compression) independentemente de quantos valores foram adicionados, e dois
+ * digests podem ser combinados com {@link #merge(TDigest)}.
+ *
+ * Thread-safe via {@code synchronized}; as operações são curtas e em memória.
+ */
+public class TDigest {
+
+    private final double compression;
+
+    private double[] means;
+    private double[] weights;
+    private int centroidCount;
+
+    private final double[] bufferMeans;
+    private final double[] bufferWeights;
+    private int bufferCount;
+
+    private double totalWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest(double compression) {
+        if (compression < 10) {
+            throw new IllegalArgumentException("compression must be >= 10");
+        }
+        this.compression = compression;
+        int capacity = (int) Math.ceil(2 * compression) + 10;
+        this.means = new double[capacity];
+        this.weights = new double[capacity];
+        this.bufferMeans = new double[(int) Math.ceil(5 * compression)];
+        this.bufferWeights = new double[bufferMeans.length];
+    }
+
+    public synchronized void add(double value) {
+        add(value, 1);
+    }
+
+    public synchronized void merge(TDigest other) {
+        double[][] centroids;
+        synchronized (other) {
+            other.flush();
+            centroids = new double[][] {
+                    Arrays.copyOf(other.means, other.centroidCount),
+                    Arrays.copyOf(other.weights, other.centroidCount) };
+            if (other.totalWeight > 0) {
+                min = Math.min(min, other.min);
+                max = Math.max(max, other.max);
+            }
+        }
+        for (int i = 0; i < centroids[0].length; i++) {
+            add(centroids[0][i], centroids[1][i]);
+        }
+    }
+
+    public synchronized long count() {
+        return Math.round(totalWeight + pendingWeight());
+    }
+
+    /**
+     * Quantil estimado para {@code q} em [0, 1], ou {@code NaN} se o digest estiver vazio.
+     */
+    public synchronized double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("q must be in [0, 1]");
+        }
+        flush();
+        if (centroidCount == 0) {
+            return Double.NaN;
+        }
+        if (centroidCount == 1) {
+            return means[0];
+        }
+
+        double index = q * totalWeight;
+        if (index <= weights[0] / 2) {
+            return interpolate(min, means[0], index / (weights[0] / 2));
+        }
+
+        double cumulative = weights[0] / 2;
+        for (int i = 0; i < centroidCount - 1; i++) {
+            double gap = (weights[i] + weights[i + 1]) / 2;
+            if (index <= cumulative + gap) {
+                return interpolate(means[i], means[i + 1], (index - cumulative) / gap);
+            }
+            cumulative += gap;
+        }
+
+        double lastHalf = weights[centroidCount - 1] / 2;
+        return interpolate(means[centroidCount - 1], max, Math.min(1, (index - cumulative) / lastHalf));
+    }
+
+    public synchronized double min() {
+        flush();
+        return centroidCount == 0 ? Double.NaN : min;
+    }
+
+    public synchronized double max() {
+        flush();
+        return centroidCount == 0 ? Double.NaN : max;
+    }
+
+    /** Quantidade de centroides retidos — útil para verificar o limite de memória. */
+    synchronized int centroids() {
+        flush();
+        return centroidCount;
+    }
+
+    private void add(double value, double weight) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (bufferCount == bufferMeans.length) {
+            flush();
+        }
+        bufferMeans[bufferCount] = value;
+        bufferWeights[bufferCount] = weight;
+        bufferCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    private double pendingWeight() {
+        double pending = 0;
+        for (int i = 0; i < bufferCount; i++) {
+            pending += bufferWeights[i];
+        }
+        return pending;
+    }
+
+    /** Funde o buffer aos centroides existentes. */
+    private void flush() {
+        if (bufferCount == 0) {
+            return;
+        }
+
+        int n = centroidCount + bufferCount;
+        double[] allMeans = new double[n];
+        double[] allWeights = new double[n];
+        System.arraycopy(means, 0, allMeans, 0, centroidCount);
+        System.arraycopy(weights, 0, allWeights, 0, centroidCount);
+        System.arraycopy(bufferMeans, 0, allMeans, centroidCount, bufferCount);
+        System.arraycopy(bufferWeights, 0, allWeights, centroidCount, bufferCount);
+        sortByMean(allMeans, allWeights);
+
+        double newTotal = totalWeight + pendingWeight();
+        double[] mergedMeans = new double[n];
+        double[] mergedWeights = new double[n];
+        int out = 0;
+        double weightSoFar = 0;
+
+        mergedMeans[0] = allMeans[0];
+        mergedWeights[0] = allWeights[0];
+        for (int i = 1; i < n; i++) {
+            double proposed = mergedWeights[out] + allWeights[i];
+            double qLeft = weightSoFar / newTotal;
+            double qRight = (weightSoFar + proposed) / newTotal;
+            if (scale(qRight) - scale(qLeft) <= 1) {
+                mergedMeans[out] += (allMeans[i] - mergedMeans[out]) * allWeights[i] / proposed;
+                mergedWeights[out] = proposed;
+            } else {
+                weightSoFar += mergedWeights[out];
+                out++;
+                mergedMeans[out] = allMeans[i];
+                mergedWeights[out] = allWeights[i];
+            }
+        }
+
+        centroidCount = out + 1;
+        if (means.length < centroidCount) {
+            means = new double[centroidCount];
+            weights = new double[centroidCount];
+        }
+        System.arraycopy(mergedMeans, 0, means, 0, centroidCount);
+        System.arraycopy(mergedWeights, 0, weights, 0, centroidCount);
+        totalWeight = newTotal;
+        bufferCount = 0;
+    }
+
+    /** Função de escala k1: {@code δ/(2π)·asin(2q-1)}. Cada centroide cobre no máximo 1 unidade de k. */
+    private double scale(double q) {
+        return compression / (2 * Math.PI) * Math.asin(2 * Math.min(1, q) - 1);
+    }
+
+    private static double interpolate(double from, double to, double fraction) {
+        return from + (to - from) * fraction;
+    }
+
+    private static void sortByMean(double[] values, double[] weights) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sortedValues = new double[values.length];
+        double[] sortedWeights = new double[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedValues, 0, values, 0, values.length);
+        System.arraycopy(sortedWeights, 0, weights, 0, weights.length);
+    }
+}
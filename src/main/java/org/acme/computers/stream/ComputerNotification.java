@@ -0,0 +1,15 @@
+package org.acme.computers.stream;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Linha compacta de um computador recém-criado, como publicada pelo trigger
+ * {@code computers_notify_created} via {@code pg_notify} e repassada no SSE.
+ */
+@RegisterForReflection
+public record ComputerNotification(Long id, String name, BigDecimal price, LocalDateTime createdAt,
+        String gpuModel, Integer ramGb) {
+}
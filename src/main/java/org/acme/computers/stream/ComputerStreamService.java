@@ -0,0 +1,165 @@
+package org.acme.computers.stream;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.operators.multi.processors.BroadcastProcessor;
+import io.smallrye.mutiny.subscription.BackPressureFailure;
+import io.vertx.mutiny.core.Vertx;
+import io.vertx.mutiny.pgclient.pubsub.PgSubscriber;
+import io.vertx.pgclient.PgConnectOptions;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feed de computadores recém-criados para {@code GET /computer/stream} (SSE),
+ * substituindo o polling de {@code /computer/pagination}.
+ *
+ * O trigger {@code computers_notify_created} publica cada insert confirmado no
+ * canal {@value #CHANNEL}. A aplicação mantém uma única conexão {@code LISTEN}
+ * por primary (notificações não são replicadas para as réplicas), fora dos
+ * pools, e reconecta sozinha se ela cair. Cada notificação é distribuída a
+ * todos os assinantes; cada um tem um buffer limitado
+ * ({@code computers.stream.buffer-size}) e, se não acompanhar, é desconectado
+ * em vez de reter memória — o {@code EventSource} do navegador reconecta.
+ *
+ * Cobre todos os caminhos de insert (Hibernate, SQL por shard, write-behind),
+ * inclusive de outras instâncias da aplicação.
+ */
+@ApplicationScoped
+public class ComputerStreamService {
+
+    private static final Logger LOG = Logger.getLogger(ComputerStreamService.class);
+
+    /** Canal usado pelo trigger em init-primary.sql. */
+    static final String CHANNEL = "computers_created";
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    Vertx vertx;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "computers.stream.enabled", defaultValue = "true")
+    boolean enabled;
+
+    /** Notificações aguardando envio por assinante antes de desconectá-lo. */
+    @ConfigProperty(name = "computers.stream.buffer-size", defaultValue = "256")
+    int bufferSize;
+
+    @ConfigProperty(name = "computers.stream.reconnect-delay", defaultValue = "2s")
+    Duration reconnectDelay;
+
+    // Vários primaries notificam em event loops diferentes: serializa as emissões
+    private final Flow.Processor<ComputerNotification, ComputerNotification> feed =
+            BroadcastProcessor.<ComputerNotification>create().serialized();
+
+    private final List<PgSubscriber> listeners = new ArrayList<>();
+
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    private Counter published;
+
+    private Counter disconnected;
+
+    void onStart(@Observes StartupEvent event) {
+        Gauge.builder("computers.stream.subscribers", subscribers, AtomicInteger::get)
+                .description("Clientes conectados em /computer/stream")
+                .register(registry);
+        published = Counter.builder("computers.stream.notifications")
+                .description("Inserts recebidos via LISTEN/NOTIFY")
+                .register(registry);
+        disconnected = Counter.builder("computers.stream.slow_subscribers")
+                .description("Assinantes desconectados por estourar o buffer")
+                .register(registry);
+        if (!enabled) {
+            return;
+        }
+        for (Shard shard : router.shards()) {
+            listeners.add(listen(shard));
+        }
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        listeners.forEach(listener -> listener.close().subscribe().with(ignored -> { }, failure -> { }));
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Novos computadores que passam no filtro, a partir do momento da assinatura. */
+    public Multi<ComputerNotification> subscribe(StreamFilter filter) {
+        return Multi.createFrom().publisher(feed)
+                .select().where(filter::matches)
+                .onOverflow().buffer(bufferSize)
+                .onFailure(BackPressureFailure.class).invoke(() -> disconnected.increment())
+                .onFailure(BackPressureFailure.class).recoverWithCompletion()
+                .onSubscription().invoke(subscribers::incrementAndGet)
+                .onTermination().invoke(subscribers::decrementAndGet);
+    }
+
+    private PgSubscriber listen(Shard shard) {
+        PgSubscriber listener = PgSubscriber.subscriber(vertx, connectOptions(shard.primaryName()))
+                .reconnectPolicy(retries -> reconnectDelay.toMillis());
+        listener.channel(CHANNEL)
+                .subscribeHandler(() -> LOG.debugf("[STREAM] LISTEN %s no primary %s", CHANNEL, shard.primaryName()))
+                .handler(this::publish);
+        // A política de reconexão só vale após a primeira conexão; até lá, tenta de novo aqui
+        listener.connect()
+                .onFailure().invoke(failure -> LOG.warnf("[STREAM] LISTEN no primary %s falhou: %s",
+                        shard.primaryName(), failure.getMessage()))
+                .onFailure().retry().withBackOff(reconnectDelay, reconnectDelay.multipliedBy(15)).indefinitely()
+                .subscribe().with(ignored -> { }, failure -> { });
+        return listener;
+    }
+
+    private void publish(String payload) {
+        ComputerNotification computer;
+        try {
+            computer = objectMapper.readValue(payload, ComputerNotification.class);
+        } catch (JsonProcessingException e) {
+            LOG.warnf("[STREAM] notificação inválida em %s: %s", CHANNEL, payload);
+            return;
+        }
+        published.increment();
+        feed.onNext(computer);
+    }
+
+    private PgConnectOptions connectOptions(String datasource) {
+        String prefix = ShardRouter.DEFAULT_DATASOURCE.equals(datasource)
+                ? "quarkus.datasource."
+                : "quarkus.datasource." + datasource + ".";
+        PgConnectOptions options = PgConnectOptions.fromUri(config.getValue(prefix + "reactive.url", String.class));
+        config.getOptionalValue(prefix + "username", String.class).ifPresent(options::setUser);
+        config.getOptionalValue(prefix + "password", String.class).ifPresent(options::setPassword);
+        return options;
+    }
+}
@@ -0,0 +1,34 @@
+package org.acme.computers.stream;
+
+import org.acme.computers.InvalidRequestException;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+
+/**
+ * Filtros opcionais de um assinante do feed; a semântica é a mesma da busca
+ * ({@code gpu} por trecho do modelo sem diferenciar maiúsculas, faixas inclusivas).
+ */
+public record StreamFilter(String gpu, Integer ramMin, Integer ramMax, BigDecimal priceMax) {
+
+    public StreamFilter {
+        if (ramMin != null && ramMax != null && ramMin > ramMax) {
+            throw new InvalidRequestException("ramMin must not be greater than ramMax");
+        }
+        gpu = gpu == null || gpu.isBlank() ? null : gpu.toLowerCase(Locale.ROOT);
+    }
+
+    public boolean matches(ComputerNotification computer) {
+        if (gpu != null && (computer.gpuModel() == null
+                || !computer.gpuModel().toLowerCase(Locale.ROOT).contains(gpu))) {
+            return false;
+        }
+        if (ramMin != null && (computer.ramGb() == null || computer.ramGb() < ramMin)) {
+            return false;
+        }
+        if (ramMax != null && (computer.ramGb() == null || computer.ramGb() > ramMax)) {
+            return false;
+        }
+        return priceMax == null || (computer.price() != null && computer.price().compareTo(priceMax) <= 0);
+    }
+}
@@ -0,0 +1,41 @@
+package org.acme.computers.suggest;
+
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Function;
+
+/**
+ * Campos com autocomplete em {@code GET /computer/suggest/{field}}.
+ */
+public enum SuggestField {
+
+    GPU(attributes -> single(attributes.gpuModel())),
+    CHIPSET(attributes -> single(attributes.motherboardChipset())),
+    SOCKET(attributes -> single(attributes.cpuSocket())),
+    STORAGE(ComputerAttributes::storageModels);
+
+    private final Function<ComputerAttributes, List<String>> values;
+
+    SuggestField(Function<ComputerAttributes, List<String>> values) {
+        this.values = values;
+    }
+
+    List<String> values(ComputerAttributes attributes) {
+        return values.apply(attributes);
+    }
+
+    public static SuggestField from(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("field must be one of gpu, chipset, socket, storage");
+        }
+    }
+
+    private static List<String> single(String value) {
+        return value != null ? List.of(value) : List.of();
+    }
+}
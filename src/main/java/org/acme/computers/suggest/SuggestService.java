@@ -0,0 +1,78 @@
+package org.acme.computers.suggest;
+
+import io.quarkus.scheduler.Scheduled;
+import jakarta.enterprise.context.ApplicationScoped;
+import org.acme.computers.catalog.CatalogView;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Autocomplete de modelos de componentes servido da memória — nenhuma consulta
+ * ao banco por tecla.
+ *
+ * As frequências ({@link SuggestionCounts}) acompanham cada create/delete e a
+ * reconciliação do catálogo. Em segundo plano, a cada
+ * {@code computers.suggest.rebuild-interval}, os campos que mudaram ganham uma
+ * nova {@link SuggestionTrie}, publicada por troca atômica do mapa de snapshots;
+ * as consultas sempre leem um snapshot completo e imutável.
+ */
+@ApplicationScoped
+public class SuggestService extends CatalogView<SuggestionCounts> {
+
+    @ConfigProperty(name = "computers.suggest.top-k", defaultValue = "10")
+    int topK;
+
+    @ConfigProperty(name = "computers.suggest.max-values", defaultValue = "100000")
+    int maxValues;
+
+    private volatile Map<SuggestField, SuggestionTrie> snapshots = emptySnapshots();
+
+    // Acumulador e versões a partir dos quais os snapshots atuais foram construídos
+    private SuggestionCounts builtFrom;
+    private final Map<SuggestField, Long> builtVersions = new EnumMap<>(SuggestField.class);
+
+    @Override
+    protected SuggestionCounts newAccumulator() {
+        return new SuggestionCounts(maxValues);
+    }
+
+    public List<Suggestion> suggest(String field, String prefix, int limit) {
+        SuggestField suggestField = SuggestField.from(field);
+        int effectiveLimit = limit <= 0 ? topK : Math.min(limit, topK);
+        return snapshots.get(suggestField).suggest(prefix, effectiveLimit);
+    }
+
+    @Scheduled(every = "{computers.suggest.rebuild-interval}", identity = "suggest-rebuild",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void rebuild() {
+        SuggestionCounts counts = current();
+        boolean replaced = counts != builtFrom;
+        Map<SuggestField, SuggestionTrie> next = null;
+        for (SuggestField field : SuggestField.values()) {
+            long version = counts.version(field);
+            Long built = builtVersions.get(field);
+            if (replaced || built == null || built != version) {
+                if (next == null) {
+                    next = new EnumMap<>(snapshots);
+                }
+                next.put(field, SuggestionTrie.build(counts.snapshot(field), topK));
+                builtVersions.put(field, version);
+            }
+        }
+        if (next != null) {
+            snapshots = next;
+        }
+        builtFrom = counts;
+    }
+
+    private static Map<SuggestField, SuggestionTrie> emptySnapshots() {
+        Map<SuggestField, SuggestionTrie> empty = new EnumMap<>(SuggestField.class);
+        for (SuggestField field : SuggestField.values()) {
+            empty.put(field, SuggestionTrie.empty());
+        }
+        return empty;
+    }
+}
@@ -0,0 +1,10 @@
+package org.acme.computers.suggest;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+/**
+ * Um valor sugerido e quantos computadores o usam.
+ */
+@RegisterForReflection
+public record Suggestion(String value, long count) {
+}
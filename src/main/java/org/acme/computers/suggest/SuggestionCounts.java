@@ -0,0 +1,66 @@
+package org.acme.computers.suggest;
+
+import org.acme.computers.catalog.CatalogAccumulator;
+import org.acme.computers.catalog.ComputerAttributes;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Frequência de cada valor dos campos de {@link SuggestField}, mantida pelos
+ * eventos de escrita. Cada campo tem uma versão, incrementada a cada mudança,
+ * para que só as árvores de campos alterados sejam reconstruídas.
+ *
+ * Valores novos além de {@code maxValues} por campo são ignorados até a
+ * próxima reconciliação.
+ */
+public class SuggestionCounts implements CatalogAccumulator {
+
+    private final int maxValues;
+
+    private final Map<SuggestField, ConcurrentHashMap<String, Long>> counts = new EnumMap<>(SuggestField.class);
+
+    private final Map<SuggestField, AtomicLong> versions = new EnumMap<>(SuggestField.class);
+
+    public SuggestionCounts(int maxValues) {
+        this.maxValues = maxValues;
+        for (SuggestField field : SuggestField.values()) {
+            counts.put(field, new ConcurrentHashMap<>());
+            versions.put(field, new AtomicLong());
+        }
+    }
+
+    @Override
+    public void add(ComputerAttributes attributes) {
+        for (SuggestField field : SuggestField.values()) {
+            ConcurrentHashMap<String, Long> values = counts.get(field);
+            for (String value : field.values(attributes)) {
+                if (values.containsKey(value) || values.size() < maxValues) {
+                    values.merge(value, 1L, Long::sum);
+                    versions.get(field).incrementAndGet();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void remove(ComputerAttributes attributes) {
+        for (SuggestField field : SuggestField.values()) {
+            ConcurrentHashMap<String, Long> values = counts.get(field);
+            for (String value : field.values(attributes)) {
+                values.computeIfPresent(value, (key, count) -> count > 1 ? count - 1 : null);
+                versions.get(field).incrementAndGet();
+            }
+        }
+    }
+
+    public long version(SuggestField field) {
+        return versions.get(field).get();
+    }
+
+    public Map<String, Long> snapshot(SuggestField field) {
+        return Map.copyOf(counts.get(field));
+    }
+}
@@ -0,0 +1,234 @@
+package org.acme.computers.suggest;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Árvore de prefixos imutável e compacta (radix: cadeias sem ramificação viram
+ * um único nó, então há no máximo ~2 nós por valor) sobre os valores distintos
+ * de um campo, com o top-K por frequência pré-calculado em cada nó.
+ *
+ * Tudo fica em arrays paralelos indexados pelo número do nó — sem objetos por
+ * nó — e os filhos de cada nó são contíguos e ordenados pelo primeiro caractere,
+ * o que permite busca binária. Uma consulta custa O(|prefixo| · log σ) mais o
+ * tamanho da resposta, sem alocação além da lista devolvida.
+ *
+ * A comparação ignora maiúsculas; variantes de caixa de um mesmo valor somam
+ * suas frequências e são exibidas na forma mais frequente.
+ */
+public final class SuggestionTrie {
+
+    private static final SuggestionTrie EMPTY = build(Map.of(), 1);
+
+    // Valores normalizados, em ordem; cada nó aponta para o primeiro valor da sua faixa
+    private final String[] keys;
+    private final String[] values;
+    private final long[] counts;
+
+    private final int[] first;
+    private final int[] depth;
+    private final char[] label;
+    private final int[] firstChild;
+    private final int[] childCount;
+
+    // top[topStart[n] .. topStart[n + 1]) são os índices dos valores mais frequentes sob o nó n
+    private final int[] topStart;
+    private final int[] top;
+
+    private SuggestionTrie(String[] keys, String[] values, long[] counts, int[] first, int[] depth, char[] label,
+            int[] firstChild, int[] childCount, int[] topStart, int[] top) {
+        this.keys = keys;
+        this.values = values;
+        this.counts = counts;
+        this.first = first;
+        this.depth = depth;
+        this.label = label;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.top = top;
+    }
+
+    public static SuggestionTrie empty() {
+        return EMPTY;
+    }
+
+    /** Número de valores distintos (após normalização). */
+    public int size() {
+        return keys.length;
+    }
+
+    /** Até {@code limit} (no máximo o K da construção) valores que começam com {@code prefix}, mais frequentes primeiro. */
+    public List<Suggestion> suggest(String prefix, int limit) {
+        if (keys.length == 0) {
+            return List.of();
+        }
+        String wanted = normalize(prefix);
+        int node = 0;
+        int matched = 0;
+        while (true) {
+            int upTo = Math.min(depth[node], wanted.length());
+            if (!keys[first[node]].regionMatches(matched, wanted, matched, upTo - matched)) {
+                return List.of();
+            }
+            if (wanted.length() <= depth[node]) {
+                return top(node, limit);
+            }
+            matched = depth[node];
+            node = child(node, wanted.charAt(matched));
+            if (node < 0) {
+                return List.of();
+            }
+        }
+    }
+
+    private int child(int node, char c) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (label[middle] < c) {
+                low = middle + 1;
+            } else if (label[middle] > c) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    private List<Suggestion> top(int node, int limit) {
+        int end = Math.min(topStart[node + 1], topStart[node] + limit);
+        List<Suggestion> suggestions = new ArrayList<>(Math.max(0, end - topStart[node]));
+        for (int i = topStart[node]; i < end; i++) {
+            suggestions.add(new Suggestion(values[top[i]], counts[top[i]]));
+        }
+        return suggestions;
+    }
+
+    static String normalize(String value) {
+        return value == null ? "" : value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Constrói a árvore a partir das frequências por valor.
+     *
+     * @param topK quantas sugestões guardar por nó (limite de {@link #suggest})
+     */
+    public static SuggestionTrie build(Map<String, Long> frequencies, int topK) {
+        // Normaliza, somando variantes de caixa e guardando a grafia mais frequente
+        Map<String, Object[]> merged = new HashMap<>();
+        frequencies.forEach((value, count) -> {
+            String key = normalize(value);
+            if (key.isEmpty() || count <= 0) {
+                return;
+            }
+            Object[] entry = merged.computeIfAbsent(key, ignored -> new Object[] { value, 0L, 0L });
+            entry[2] = (long) entry[2] + count;
+            if (count > (long) entry[1]) {
+                entry[0] = value;
+                entry[1] = count;
+            }
+        });
+        String[] keys = merged.keySet().toArray(String[]::new);
+        Arrays.sort(keys);
+        String[] values = new String[keys.length];
+        long[] counts = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            Object[] entry = merged.get(keys[i]);
+            values[i] = (String) entry[0];
+            counts[i] = (long) entry[2];
+        }
+
+        // Nós em largura: os filhos de cada nó recebem números consecutivos
+        List<int[]> nodes = new ArrayList<>(); // {first, last (exclusivo), depth, firstChild, childCount}
+        if (keys.length > 0) {
+            nodes.add(new int[] { 0, keys.length, commonPrefix(keys[0], keys[keys.length - 1]), 0, 0 });
+        }
+        ArrayDeque<Integer> pending = new ArrayDeque<>();
+        if (!nodes.isEmpty()) {
+            pending.add(0);
+        }
+        while (!pending.isEmpty()) {
+            int[] node = nodes.get(pending.poll());
+            int d = node[2];
+            int i = node[0];
+            if (keys[i].length() == d) {
+                i++; // o próprio prefixo é um valor; só ele pode ter esse comprimento na faixa
+            }
+            node[3] = nodes.size();
+            while (i < node[1]) {
+                char c = keys[i].charAt(d);
+                int j = i + 1;
+                while (j < node[1] && keys[j].charAt(d) == c) {
+                    j++;
+                }
+                nodes.add(new int[] { i, j, commonPrefix(keys[i], keys[j - 1]), 0, 0 });
+                pending.add(nodes.size() - 1);
+                i = j;
+            }
+            node[4] = nodes.size() - node[3];
+        }
+
+        int n = nodes.size();
+        int[] first = new int[n];
+        int[] depth = new int[n];
+        char[] label = new char[n];
+        int[] firstChild = new int[n];
+        int[] childCount = new int[n];
+        for (int id = 0; id < n; id++) {
+            int[] node = nodes.get(id);
+            first[id] = node[0];
+            depth[id] = node[2];
+            firstChild[id] = node[3];
+            childCount[id] = node[4];
+            for (int child = node[3]; child < node[3] + node[4]; child++) {
+                label[child] = keys[nodes.get(child)[0]].charAt(node[2]);
+            }
+        }
+
+        // Top-K de baixo para cima: filhos têm números maiores que o pai
+        Comparator<Integer> byFrequency = Comparator.<Integer>comparingLong(index -> counts[index]).reversed()
+                .thenComparing(index -> keys[index]);
+        int[][] tops = new int[n][];
+        for (int id = n - 1; id >= 0; id--) {
+            List<Integer> candidates = new ArrayList<>();
+            if (keys[first[id]].length() == depth[id]) {
+                candidates.add(first[id]);
+            }
+            for (int child = firstChild[id]; child < firstChild[id] + childCount[id]; child++) {
+                for (int index : tops[child]) {
+                    candidates.add(index);
+                }
+            }
+            candidates.sort(byFrequency);
+            tops[id] = candidates.stream().limit(topK).mapToInt(Integer::intValue).toArray();
+        }
+        int[] topStart = new int[n + 1];
+        for (int id = 0; id < n; id++) {
+            topStart[id + 1] = topStart[id] + tops[id].length;
+        }
+        int[] top = new int[topStart[n]];
+        for (int id = 0; id < n; id++) {
+            System.arraycopy(tops[id], 0, top, topStart[id], tops[id].length);
+        }
+
+        return new SuggestionTrie(keys, values, counts, first, depth, label, firstChild, childCount, topStart, top);
+    }
+
+    private static int commonPrefix(String a, String b) {
+        int length = Math.min(a.length(), b.length());
+        int i = 0;
+        while (i < length && a.charAt(i) == b.charAt(i)) {
+            i++;
+        }
+        return i;
+    }
+}
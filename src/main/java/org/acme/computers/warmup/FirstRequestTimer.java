@@ -0,0 +1,35 @@
+package org.acme.computers.warmup;
+
+import jakarta.inject.Inject;
+import jakarta.ws.rs.container.ContainerRequestContext;
+import jakarta.ws.rs.container.ContainerRequestFilter;
+import jakarta.ws.rs.container.ContainerResponseContext;
+import jakarta.ws.rs.container.ContainerResponseFilter;
+import jakarta.ws.rs.ext.Provider;
+
+/**
+ * Mede a latência da primeira requisição REST atendida pela instância; depois
+ * dela o filtro não faz nada além de uma leitura atômica.
+ */
+@Provider
+public class FirstRequestTimer implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START = FirstRequestTimer.class.getName() + ".start";
+
+    @Inject
+    WarmupService warmup;
+
+    @Override
+    public void filter(ContainerRequestContext request) {
+        if (!warmup.firstRequestRecorded()) {
+            request.setProperty(START, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request, ContainerResponseContext response) {
+        if (request.getProperty(START) instanceof Long start) {
+            warmup.recordFirstRequest(System.nanoTime() - start);
+        }
+    }
+}
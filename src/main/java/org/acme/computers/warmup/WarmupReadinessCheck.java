@@ -0,0 +1,27 @@
+package org.acme.computers.warmup;
+
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.eclipse.microprofile.health.HealthCheck;
+import org.eclipse.microprofile.health.HealthCheckResponse;
+import org.eclipse.microprofile.health.Readiness;
+
+/**
+ * Readiness DOWN até o {@link WarmupService} terminar, para o balanceador não
+ * mandar tráfego a uma instância com pools e statements frios.
+ */
+@Readiness
+@ApplicationScoped
+public class WarmupReadinessCheck implements HealthCheck {
+
+    @Inject
+    WarmupService warmup;
+
+    @Override
+    public HealthCheckResponse call() {
+        return HealthCheckResponse.named("warm-up")
+                .status(warmup.isReady())
+                .withData("degraded", warmup.hasFailed())
+                .build();
+    }
+}
@@ -0,0 +1,257 @@
+package org.acme.computers.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Multi;
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.infrastructure.Infrastructure;
+import io.vertx.mutiny.sqlclient.Pool;
+import io.vertx.mutiny.sqlclient.SqlConnection;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.codec.CreatePayloadReader;
+import org.acme.computers.codec.PayloadFormat;
+import org.acme.computers.codec.PayloadMappers;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.acme.computers.service.ComputerReadService;
+import org.acme.computers.service.ComputerWriteService;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.Config;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Aquece a aplicação antes de liberar o tráfego: abre conexões nos pools de
+ * cada primary e réplica, prepara nelas os statements dos services e exercita
+ * a leitura do corpo de create ({@link CreatePayloadReader}) e a serialização das
+ * páginas de {@link ComputerEntity} em todos os {@link PayloadFormat}s.
+ *
+ * A readiness ({@link WarmupReadinessCheck}) só fica UP quando o warm-up termina.
+ * Se ele falhar ou estourar {@code computers.warmup.timeout} a aplicação é
+ * liberada assim mesmo — o warm-up é otimização; a disponibilidade dos bancos
+ * é verificada pelos health checks dos datasources.
+ *
+ * Tempo até ficar pronto, duração do warm-up e latência da primeira requisição
+ * são exportados em {@code computers.startup.*}.
+ */
+@ApplicationScoped
+public class WarmupService {
+
+    private static final Logger LOG = Logger.getLogger(WarmupService.class);
+
+    // Padrão do Quarkus para reactive.max-size
+    private static final int DEFAULT_POOL_SIZE = 20;
+
+    private static final String SAMPLE = "/exemplo-computer-description.json";
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    ComputerReadService reads;
+
+    @Inject
+    ComputerWriteService writes;
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    PayloadMappers mappers;
+
+    @Inject
+    CreatePayloadReader payloads;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    Config config;
+
+    @ConfigProperty(name = "computers.warmup.enabled", defaultValue = "true")
+    boolean enabled;
+
+    /** Conexões abertas por pool; limitado ao max-size do datasource. */
+    @ConfigProperty(name = "computers.warmup.min-connections", defaultValue = "4")
+    int minConnections;
+
+    @ConfigProperty(name = "computers.warmup.serialization-iterations", defaultValue = "200")
+    int serializationIterations;
+
+    @ConfigProperty(name = "computers.warmup.timeout", defaultValue = "60s")
+    Duration timeout;
+
+    private volatile boolean ready;
+
+    private volatile boolean failed;
+
+    private volatile double warmupMillis = Double.NaN;
+
+    private volatile double readyMillis = Double.NaN;
+
+    private final AtomicLong firstRequestNanos = new AtomicLong(-1);
+
+    void onStart(@Observes StartupEvent event) {
+        TimeGauge.builder("computers.startup.ready_time", this, TimeUnit.MILLISECONDS, service -> service.readyMillis)
+                .description("Tempo desde o início do processo até a readiness ficar UP")
+                .register(registry);
+        TimeGauge.builder("computers.startup.warmup_time", this, TimeUnit.MILLISECONDS, service -> service.warmupMillis)
+                .description("Duração do warm-up de pools, statements e serialização")
+                .register(registry);
+        TimeGauge.builder("computers.startup.first_request_time", this, TimeUnit.NANOSECONDS,
+                        service -> service.firstRequestNanos.get() < 0 ? Double.NaN : service.firstRequestNanos.get())
+                .description("Latência da primeira requisição atendida após a subida")
+                .register(registry);
+
+        long start = System.nanoTime();
+        if (!enabled) {
+            finish(start, null);
+            return;
+        }
+        warmUp()
+                .ifNoItem().after(timeout).fail()
+                .subscribe().with(ignored -> finish(start, null), failure -> finish(start, failure));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean hasFailed() {
+        return failed;
+    }
+
+    boolean firstRequestRecorded() {
+        return firstRequestNanos.get() >= 0;
+    }
+
+    void recordFirstRequest(long nanos) {
+        if (firstRequestNanos.compareAndSet(-1, nanos)) {
+            LOG.infof("[WARMUP] primeira requisição atendida em %.1f ms", nanos / 1_000_000.0);
+        }
+    }
+
+    Uni<Void> warmUp() {
+        List<Uni<Void>> steps = new ArrayList<>();
+        for (Shard shard : router.shards()) {
+            steps.add(warmPool(shard.primaryName(), shard.primary(), writes.statements(shard)));
+            steps.add(warmPool(shard.replicaName(), shard.replica(), reads.statements()));
+        }
+        steps.add(Uni.createFrom().item(() -> {
+                    warmSerialization();
+                    return true;
+                })
+                .runSubscriptionOn(Infrastructure.getDefaultWorkerPool())
+                .replaceWithVoid());
+        return Uni.join().all(steps).andFailFast().replaceWithVoid();
+    }
+
+    /**
+     * Abre as conexões ao mesmo tempo (pedidas uma a uma o pool devolveria sempre a
+     * mesma) e prepara os statements em cada uma; com {@code cache-prepared-statements}
+     * eles ficam no cache da conexão quando ela volta ao pool.
+     */
+    private Uni<Void> warmPool(String datasource, Pool pool, List<String> statements) {
+        int connections = Math.min(minConnections, maxSize(datasource));
+        List<Uni<SqlConnection>> opening = new ArrayList<>(connections);
+        for (int i = 0; i < connections; i++) {
+            opening.add(pool.getConnection().onFailure().recoverWithItem((SqlConnection) null));
+        }
+        return Uni.join().all(opening).andFailFast()
+                .onItem().transformToUni(opened -> {
+                    List<SqlConnection> live = opened.stream().filter(Objects::nonNull).toList();
+                    Uni<Void> prepared = live.isEmpty()
+                            ? Uni.createFrom().failure(new IllegalStateException("no connection to datasource " + datasource))
+                            : Multi.createFrom().iterable(live)
+                                    .onItem().transformToUniAndMerge(conn -> prepare(conn, statements))
+                                    .collect().last()
+                                    .replaceWithVoid();
+                    return prepared
+                            .onItem().invoke(() -> LOG.infof("[WARMUP] %s: %d/%d conexões, %d statements preparados",
+                                    datasource, live.size(), connections, statements.size()))
+                            .eventually(() -> close(live));
+                });
+    }
+
+    private static Uni<Void> prepare(SqlConnection conn, List<String> statements) {
+        return Multi.createFrom().iterable(statements)
+                .onItem().transformToUniAndConcatenate(conn::prepare)
+                .collect().last()
+                .replaceWithVoid();
+    }
+
+    private static Uni<Void> close(List<SqlConnection> connections) {
+        if (connections.isEmpty()) {
+            return Uni.createFrom().voidItem();
+        }
+        return Uni.join().all(connections.stream().map(SqlConnection::close).toList())
+                .andCollectFailures()
+                .replaceWithVoid();
+    }
+
+    private int maxSize(String datasource) {
+        String prefix = ShardRouter.DEFAULT_DATASOURCE.equals(datasource)
+                ? "quarkus.datasource."
+                : "quarkus.datasource." + datasource + ".";
+        return config.getOptionalValue(prefix + "reactive.max-size", Integer.class).orElse(DEFAULT_POOL_SIZE);
+    }
+
+    /** Constrói e exercita os (de)serializadores de create e de página em todos os formatos. */
+    private void warmSerialization() {
+        try {
+            ComputerDescriptionDTO sample;
+            try (InputStream in = WarmupService.class.getResourceAsStream(SAMPLE)) {
+                sample = objectMapper.readValue(in, ComputerDescriptionDTO.class);
+            }
+            sample.setName("warm-up");
+            sample.setPrice(new BigDecimal("1.00"));
+
+            ComputerEntity entity = new ComputerEntity();
+            entity.id = 1L;
+            entity.name = sample.getName();
+            entity.price = sample.getPrice();
+            entity.description = objectMapper.writeValueAsString(sample);
+            entity.createdAt = LocalDateTime.now();
+            List<ComputerEntity> page = List.of(entity);
+
+            for (int i = 0; i < serializationIterations; i++) {
+                for (PayloadFormat format : PayloadFormat.values()) {
+                    ObjectMapper mapper = mappers.mapper(format);
+                    payloads.read(mapper.writeValueAsBytes(sample), format);
+                    mapper.writeValueAsBytes(page);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void finish(long start, Throwable failure) {
+        warmupMillis = (System.nanoTime() - start) / 1_000_000.0;
+        readyMillis = ManagementFactory.getRuntimeMXBean().getUptime();
+        failed = failure != null;
+        ready = true;
+        if (failure != null) {
+            LOG.warn("[WARMUP] warm-up incompleto; liberando a readiness assim mesmo", failure);
+        }
+        LOG.infof("[WARMUP] pronto: warm-up em %.0f ms, %.0f ms desde o início do processo", warmupMillis, readyMillis);
+    }
+}
@@ -0,0 +1,47 @@
+package org.acme.computers.writebehind;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+/**
+ * Create aceito pelo modo write-behind e ainda não aplicado no primary.
+ *
+ * {@code createdAt} é carimbado no aceite, não na drenagem, para que a ordem de
+ * criação reflita a chegada da requisição. {@code description} é o JSON do DTO,
+ * do qual o INSERT extrai nome e preço.
+ *
+ * Formato binário: {@code [byte versão][uuid 16][long segundos][int nanos][utf-8 description]}.
+ */
+public record PendingCreate(UUID trackingId, LocalDateTime createdAt, String description) {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    private static final int FIXED_BYTES = 1 + 16 + 8 + 4;
+
+    public byte[] encode() {
+        byte[] json = description.getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(FIXED_BYTES + json.length)
+                .put(FORMAT_VERSION)
+                .putLong(trackingId.getMostSignificantBits())
+                .putLong(trackingId.getLeastSignificantBits())
+                .putLong(createdAt.toEpochSecond(ZoneOffset.UTC))
+                .putInt(createdAt.getNano())
+                .put(json)
+                .array();
+    }
+
+    public static PendingCreate decode(byte[] payload) {
+        ByteBuffer buffer = ByteBuffer.wrap(payload);
+        byte version = buffer.get();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalStateException("unsupported write-behind record version: " + version);
+        }
+        UUID trackingId = new UUID(buffer.getLong(), buffer.getLong());
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+        String description = new String(payload, FIXED_BYTES, payload.length - FIXED_BYTES, StandardCharsets.UTF_8);
+        return new PendingCreate(trackingId, createdAt, description);
+    }
+}
@@ -0,0 +1,223 @@
+package org.acme.computers.writebehind;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.scheduler.Scheduled;
+import io.vertx.pgclient.PgException;
+import jakarta.annotation.PostConstruct;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.inject.Inject;
+import org.acme.computers.admission.WriteAdmission;
+import org.acme.computers.service.ComputerWriteService;
+import org.acme.computers.sharding.Shard;
+import org.acme.computers.sharding.ShardRouter;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Drena o {@link WriteBehindLog} para o primary.
+ *
+ * O tamanho do lote segue AIMD: cresce aditivamente enquanto o pool do primary
+ * não tem fila e o lote fica dentro da latência alvo; cai pela metade quando
+ * aparece fila, o lote fica lento ou falha. Assim a drenagem ocupa só a folga
+ * do primary em vez de competir com o tráfego síncrono. Com a réplica atrasada
+ * ({@link WriteAdmission}) a drenagem também recua e espera ela alcançar o primary.
+ *
+ * Um lote recusado por conteúdo (classes 22/23) entra em modo de isolamento: os
+ * registros dele são tentados um por vez até cada um entrar ou ir para a
+ * dead-letter, independente do AIMD, para que o registro ruim não volte dentro
+ * de um lote cheio quando o primary enfileira.
+ *
+ * O checkpoint só avança depois do commit no banco; se o processo cair entre
+ * os dois, o replay é descartado pelo {@code ON CONFLICT (tracking_id, created_at)}.
+ */
+@ApplicationScoped
+public class WriteBehindDrainer {
+
+    private static final Logger LOG = Logger.getLogger(WriteBehindDrainer.class);
+
+    @Inject
+    WriteBehindService writeBehind;
+
+    @Inject
+    ComputerWriteService writeService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    ShardRouter router;
+
+    @Inject
+    WriteAdmission admission;
+
+    @ConfigProperty(name = "computers.write-behind.min-batch", defaultValue = "10")
+    int minBatch;
+
+    @ConfigProperty(name = "computers.write-behind.max-batch", defaultValue = "500")
+    int maxBatch;
+
+    @ConfigProperty(name = "computers.write-behind.batch-step", defaultValue = "10")
+    int batchStep;
+
+    @ConfigProperty(name = "computers.write-behind.target-batch-latency", defaultValue = "200ms")
+    Duration targetLatency;
+
+    private volatile int batchSize;
+
+    // Registros do lote recusado que ainda faltam tentar um por vez; 0 = fora do isolamento
+    private volatile int isolating;
+
+    private volatile double drainRate;
+
+    private long lastTickNanos = System.nanoTime();
+
+    private Counter drained;
+
+    private Counter deadLettered;
+
+    @PostConstruct
+    void init() {
+        batchSize = minBatch;
+        drained = Counter.builder("computers.write_behind.drained")
+                .description("Creates do write-behind aplicados no primary")
+                .register(registry);
+        deadLettered = Counter.builder("computers.write_behind.dead_lettered")
+                .description("Creates do write-behind rejeitados pelo primary")
+                .register(registry);
+        Gauge.builder("computers.write_behind.drain_rate", this, drainer -> drainer.drainRate)
+                .description("Registros drenados por segundo no último ciclo")
+                .register(registry);
+        Gauge.builder("computers.write_behind.batch_size", this, drainer -> drainer.readSize())
+                .description("Tamanho atual do lote de drenagem (AIMD)")
+                .register(registry);
+    }
+
+    /**
+     * Executa em worker thread: o insert é aguardado e o checkpoint faz fsync.
+     */
+    @Scheduled(every = "{computers.write-behind.drain-interval}", identity = "write-behind-drainer",
+            concurrentExecution = Scheduled.ConcurrentExecution.SKIP)
+    void drain() {
+        WriteBehindLog log = writeBehind.log();
+        if (log == null) {
+            return;
+        }
+
+        int applied = 0;
+        try {
+            if (primaryPending() > 0 || admission.isThrottling()) {
+                decrease();
+                return;
+            }
+            List<WriteBehindLog.Entry> entries = log.read(readSize());
+            if (entries.isEmpty()) {
+                return;
+            }
+            List<PendingCreate> creates = entries.stream()
+                    .map(entry -> PendingCreate.decode(entry.payload()))
+                    .toList();
+            applied = apply(log, entries, creates);
+        } finally {
+            long now = System.nanoTime();
+            drainRate = applied / Math.max(1e-9, (now - lastTickNanos) / 1e9);
+            lastTickNanos = now;
+        }
+    }
+
+    private int apply(WriteBehindLog log, List<WriteBehindLog.Entry> entries, List<PendingCreate> creates) {
+        long start = System.nanoTime();
+        try {
+            writeService.insertPending(creates).await().atMost(targetLatency.multipliedBy(10));
+        } catch (RuntimeException e) {
+            if (!isRejectedByContent(e)) {
+                decrease();
+                LOG.warnf("[WRITE-BEHIND] lote de %d falhou, tentando novamente no próximo ciclo: %s",
+                        creates.size(), e.getMessage());
+                return 0;
+            }
+            if (creates.size() > 1) {
+                // Isola o registro problemático: os próximos ciclos tentam um por vez
+                isolating = creates.size();
+                return 0;
+            }
+            writeBehind.deadLetter(creates.get(0), e);
+            commit(log, entries);
+            deadLettered.increment();
+            resolveIsolated();
+            return 0;
+        }
+
+        commit(log, entries);
+        if (isolating > 0) {
+            // Um por vez não diz nada sobre a folga do primary: o AIMD fica como estava
+            writeBehind.markApplied(creates);
+            drained.increment();
+            resolveIsolated();
+            return 1;
+        }
+        writeBehind.markApplied(creates);
+        drained.increment(creates.size());
+
+        long elapsed = System.nanoTime() - start;
+        if (elapsed > targetLatency.toNanos()) {
+            decrease();
+        } else if (entries.size() == batchSize) {
+            batchSize = Math.min(maxBatch, Math.max(minBatch, batchSize + batchStep));
+        }
+        LOG.debugf("[WRITE-BEHIND] %d creates drenados em %d ms (lote=%d, backlog=%d)", creates.size(),
+                TimeUnit.NANOSECONDS.toMillis(elapsed), batchSize, log.backlog());
+        return creates.size();
+    }
+
+    private void commit(WriteBehindLog log, List<WriteBehindLog.Entry> entries) {
+        try {
+            log.commit(entries.get(entries.size() - 1).next(), entries.size());
+        } catch (IOException e) {
+            // Os registros já estão no banco; um replay futuro é descartado pelo ON CONFLICT
+            LOG.error("[WRITE-BEHIND] falha ao gravar o checkpoint", e);
+        }
+    }
+
+    private int readSize() {
+        return isolating > 0 ? 1 : batchSize;
+    }
+
+    private void resolveIsolated() {
+        if (isolating > 0) {
+            isolating--;
+        }
+    }
+
+    private void decrease() {
+        batchSize = Math.max(minBatch, batchSize / 2);
+    }
+
+    /** Erros de dado (classe 22) ou de integridade (classe 23): repetir não adianta. */
+    private static boolean isRejectedByContent(Throwable failure) {
+        for (Throwable cause = failure; cause != null; cause = cause.getCause()) {
+            if (cause instanceof PgException pg && pg.getSqlState() != null) {
+                return pg.getSqlState().startsWith("22") || pg.getSqlState().startsWith("23");
+            }
+        }
+        return false;
+    }
+
+    /** Fila de espera do pool de cada primary; com sharding, qualquer shard com fila já freia a drenagem. */
+    private double primaryPending() {
+        double pending = 0;
+        for (Shard shard : router.shards()) {
+            pending += registry.find("postgresql.queue.size").tag("clientName", shard.primaryName())
+                    .gauges().stream()
+                    .mapToDouble(Gauge::value)
+                    .sum();
+        }
+        return pending;
+    }
+}
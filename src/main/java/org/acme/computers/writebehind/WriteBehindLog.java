@@ -0,0 +1,353 @@
+package org.acme.computers.writebehind;
+
+import org.jboss.logging.Logger;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Log local, segmentado e mapeado em memória, usado pelo modo write-behind.
+ *
+ * Formato de cada registro: {@code [int tamanho][int crc32c][payload]}. Os
+ * segmentos têm tamanho fixo e são preenchidos com zeros pelo sistema de
+ * arquivos, então um tamanho 0 marca o fim dos dados do segmento.
+ *
+ * Durabilidade: {@link #append(byte[])} só completa depois que uma thread
+ * dedicada força ({@code msync}) o trecho escrito — várias escritas que chegam
+ * no mesmo intervalo compartilham um único flush (group commit). A leitura
+ * ({@link #read(int)}) nunca passa da posição já durável.
+ *
+ * Recuperação: na abertura, os segmentos são percorridos a partir do checkpoint
+ * validando o CRC de cada registro; a primeira falha no último segmento é tratada
+ * como escrita interrompida e o restante é zerado.
+ */
+public class WriteBehindLog implements Closeable {
+
+    private static final Logger LOG = Logger.getLogger(WriteBehindLog.class);
+
+    static final int HEADER_BYTES = 8;
+
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+
+    /** Posição no log: segmento e offset dentro dele. */
+    public record Position(long segment, int offset) implements Comparable<Position> {
+        @Override
+        public int compareTo(Position other) {
+            int bySegment = Long.compare(segment, other.segment);
+            return bySegment != 0 ? bySegment : Integer.compare(offset, other.offset);
+        }
+    }
+
+    /** Registro lido do log; {@code next} é a posição logo após ele, usada no {@link #commit}. */
+    public record Entry(Position next, byte[] payload) {
+    }
+
+    private record PendingAck(Position end, CompletableFuture<Void> future) {
+    }
+
+    private final Path directory;
+    private final int segmentSize;
+    private final TreeMap<Long, MappedByteBuffer> segments = new TreeMap<>();
+    private final ArrayDeque<PendingAck> pendingAcks = new ArrayDeque<>();
+    private final ScheduledExecutorService flusher;
+
+    private long writeSegment;
+    private int writeOffset;
+    private Position flushedUpTo;
+    private Position durable;
+    private Position checkpoint;
+    private long backlog;
+
+    private WriteBehindLog(Path directory, int segmentSize) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "write-behind-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static WriteBehindLog open(Path directory, int segmentSize, Duration flushInterval) throws IOException {
+        if (segmentSize <= HEADER_BYTES) {
+            throw new IllegalArgumentException("segment size too small: " + segmentSize);
+        }
+        Files.createDirectories(directory);
+        WriteBehindLog log = new WriteBehindLog(directory, segmentSize);
+        log.recover();
+        long intervalMicros = Math.max(1, flushInterval.toNanos() / 1_000);
+        log.flusher.scheduleWithFixedDelay(log::flush, intervalMicros, intervalMicros, TimeUnit.MICROSECONDS);
+        return log;
+    }
+
+    /**
+     * Acrescenta um registro. O future completa quando o registro estiver em disco.
+     */
+    public CompletableFuture<Void> append(byte[] payload) {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (recordBytes > segmentSize) {
+            return CompletableFuture.failedFuture(
+                    new IllegalArgumentException("record of " + payload.length + " bytes exceeds segment size"));
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        synchronized (this) {
+            try {
+                if (writeOffset + recordBytes > segmentSize) {
+                    writeSegment++;
+                    writeOffset = 0;
+                }
+                ByteBuffer buffer = segment(writeSegment).duplicate();
+                buffer.position(writeOffset);
+                // Payload e CRC antes do tamanho: um tamanho não-zero nunca aponta para dados incompletos
+                buffer.putInt(writeOffset + 4, (int) crc.getValue());
+                buffer.put(writeOffset + HEADER_BYTES, payload);
+                buffer.putInt(writeOffset, payload.length);
+                writeOffset += recordBytes;
+                backlog++;
+                pendingAcks.add(new PendingAck(new Position(writeSegment, writeOffset), future));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+        }
+        return future;
+    }
+
+    /**
+     * Até {@code max} registros duráveis a partir do checkpoint. Chamadas repetidas
+     * sem {@link #commit} devolvem os mesmos registros.
+     */
+    public synchronized List<Entry> read(int max) {
+        return read(checkpoint, max);
+    }
+
+    /** Até {@code max} registros duráveis a partir de {@code from} (usado para percorrer o backlog). */
+    public synchronized List<Entry> read(Position from, int max) {
+        List<Entry> entries = new ArrayList<>();
+        Position position = from.compareTo(checkpoint) < 0 ? checkpoint : from;
+        while (entries.size() < max && position.compareTo(durable) < 0) {
+            MappedByteBuffer buffer = segments.get(position.segment());
+            int length = position.offset() + HEADER_BYTES <= segmentSize && buffer != null
+                    ? buffer.getInt(position.offset())
+                    : 0;
+            if (length == 0) {
+                position = new Position(position.segment() + 1, 0);
+                continue;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(position.offset() + HEADER_BYTES, payload);
+            position = new Position(position.segment(), position.offset() + HEADER_BYTES + length);
+            entries.add(new Entry(position, payload));
+        }
+        return entries;
+    }
+
+    /**
+     * Marca como drenados todos os registros até {@code upTo} e apaga segmentos já consumidos.
+     */
+    public synchronized void commit(Position upTo, int records) throws IOException {
+        if (upTo.compareTo(checkpoint) <= 0) {
+            return;
+        }
+        writeCheckpoint(upTo);
+        checkpoint = upTo;
+        backlog = Math.max(0, backlog - records);
+
+        Map<Long, MappedByteBuffer> drained = segments.headMap(upTo.segment(), false);
+        for (Long segment : new ArrayList<>(drained.keySet())) {
+            drained.remove(segment);
+            Files.deleteIfExists(segmentPath(segment));
+        }
+    }
+
+    /** Registros aceitos e ainda não drenados. */
+    public synchronized long backlog() {
+        return backlog;
+    }
+
+    @Override
+    public void close() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /** Executado pela thread do flusher: força o trecho escrito e libera os acks pendentes. */
+    void flush() {
+        Position target;
+        Position from;
+        List<MappedByteBuffer> toForce = new ArrayList<>();
+        synchronized (this) {
+            target = new Position(writeSegment, writeOffset);
+            from = flushedUpTo;
+            if (target.compareTo(from) <= 0) {
+                return;
+            }
+            toForce.addAll(segments.subMap(from.segment(), true, target.segment(), true).values());
+        }
+
+        try {
+            for (MappedByteBuffer buffer : toForce) {
+                buffer.force();
+            }
+        } catch (UncheckedIOException e) {
+            LOG.error("[WRITE-BEHIND] falha no flush do log", e);
+            failPending(target, e);
+            return;
+        }
+
+        List<CompletableFuture<Void>> completed = new ArrayList<>();
+        synchronized (this) {
+            flushedUpTo = target;
+            durable = target;
+            while (!pendingAcks.isEmpty() && pendingAcks.peek().end().compareTo(target) <= 0) {
+                completed.add(pendingAcks.poll().future());
+            }
+        }
+        completed.forEach(future -> future.complete(null));
+    }
+
+    private void failPending(Position upTo, Throwable failure) {
+        List<CompletableFuture<Void>> failed = new ArrayList<>();
+        synchronized (this) {
+            while (!pendingAcks.isEmpty() && pendingAcks.peek().end().compareTo(upTo) <= 0) {
+                failed.add(pendingAcks.poll().future());
+            }
+        }
+        failed.forEach(future -> future.completeExceptionally(failure));
+    }
+
+    private synchronized void recover() throws IOException {
+        checkpoint = readCheckpoint();
+        List<Long> existing = listSegments();
+
+        long lastSegment = existing.isEmpty() ? checkpoint.segment() : existing.get(existing.size() - 1);
+        Position position = checkpoint;
+        long records = 0;
+        for (Long segment : existing) {
+            if (segment < checkpoint.segment()) {
+                Files.deleteIfExists(segmentPath(segment));
+                continue;
+            }
+            MappedByteBuffer buffer = segment(segment);
+            int offset = segment == checkpoint.segment() ? checkpoint.offset() : 0;
+            while (offset + HEADER_BYTES <= segmentSize) {
+                int length = buffer.getInt(offset);
+                if (length <= 0 || offset + HEADER_BYTES + length > segmentSize
+                        || !crcMatches(buffer, offset, length)) {
+                    if (length != 0 && segment == lastSegment) {
+                        LOG.warnf("[WRITE-BEHIND] registro incompleto em %s offset %d — descartando o restante",
+                                segmentPath(segment), offset);
+                        zero(buffer, offset);
+                    }
+                    break;
+                }
+                offset += HEADER_BYTES + length;
+                records++;
+            }
+            position = new Position(segment, offset);
+        }
+
+        writeSegment = position.segment();
+        writeOffset = position.offset();
+        flushedUpTo = position;
+        durable = position;
+        backlog = records;
+        if (records > 0) {
+            LOG.infof("[WRITE-BEHIND] %d registros pendentes recuperados de %s", records, directory);
+        }
+    }
+
+    private static boolean crcMatches(MappedByteBuffer buffer, int offset, int length) {
+        CRC32C crc = new CRC32C();
+        crc.update(buffer.slice(offset + HEADER_BYTES, length));
+        return (int) crc.getValue() == buffer.getInt(offset + 4);
+    }
+
+    private void zero(MappedByteBuffer buffer, int from) {
+        byte[] zeros = new byte[8192];
+        for (int offset = from; offset < segmentSize; offset += zeros.length) {
+            buffer.put(offset, zeros, 0, Math.min(zeros.length, segmentSize - offset));
+        }
+        buffer.force();
+    }
+
+    private MappedByteBuffer segment(long index) throws IOException {
+        MappedByteBuffer buffer = segments.get(index);
+        if (buffer == null) {
+            try (FileChannel channel = FileChannel.open(segmentPath(index),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            }
+            segments.put(index, buffer);
+        }
+        return buffer;
+    }
+
+    private List<Long> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(
+                            name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Path segmentPath(long index) {
+        return directory.resolve(SEGMENT_PREFIX + String.format("%020d", index) + SEGMENT_SUFFIX);
+    }
+
+    private Position readCheckpoint() throws IOException {
+        Path file = directory.resolve(CHECKPOINT_FILE);
+        if (!Files.exists(file)) {
+            return new Position(0, 0);
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        return new Position(buffer.getLong(), buffer.getInt());
+    }
+
+    /** Escreve o checkpoint num arquivo temporário, força e renomeia atomicamente. */
+    private void writeCheckpoint(Position position) throws IOException {
+        Path temp = directory.resolve(CHECKPOINT_FILE + ".tmp");
+        ByteBuffer buffer = ByteBuffer.allocate(12).putLong(position.segment()).putInt(position.offset()).flip();
+        try (FileChannel channel = FileChannel.open(temp,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+        }
+        Files.move(temp, directory.resolve(CHECKPOINT_FILE), StandardCopyOption.ATOMIC_MOVE,
+                StandardCopyOption.REPLACE_EXISTING);
+    }
+}
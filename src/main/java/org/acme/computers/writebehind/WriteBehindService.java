@@ -0,0 +1,181 @@
+package org.acme.computers.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.quarkus.runtime.ShutdownEvent;
+import io.quarkus.runtime.StartupEvent;
+import io.smallrye.mutiny.Uni;
+import jakarta.enterprise.context.ApplicationScoped;
+import jakarta.enterprise.event.Observes;
+import jakarta.inject.Inject;
+import org.acme.computers.codec.CreatePayload;
+import org.acme.computers.codec.CreatePayloadReader;
+import org.acme.computers.idempotency.IdempotencyStore;
+import org.acme.computers.service.ComputerWriteService;
+import org.eclipse.microprofile.config.inject.ConfigProperty;
+import org.jboss.logging.Logger;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Modo write-behind (opcional): creates são gravados num {@link WriteBehindLog}
+ * local e confirmados com 202 + tracking id assim que estão em disco; o
+ * {@link WriteBehindDrainer} os aplica no primary no ritmo que o pool aguenta.
+ *
+ * Na subida o log é reaberto e tudo o que não foi drenado volta a ficar pendente.
+ */
+@ApplicationScoped
+public class WriteBehindService {
+
+    private static final Logger LOG = Logger.getLogger(WriteBehindService.class);
+
+    private static final String DEAD_LETTER_FILE = "dead-letter.jsonl";
+
+    @Inject
+    ObjectMapper objectMapper;
+
+    @Inject
+    ComputerWriteService writeService;
+
+    @Inject
+    MeterRegistry registry;
+
+    @Inject
+    IdempotencyStore idempotency;
+
+    @ConfigProperty(name = "computers.write-behind.enabled", defaultValue = "false")
+    boolean enabled;
+
+    @ConfigProperty(name = "computers.write-behind.directory", defaultValue = "data/write-behind")
+    String directory;
+
+    @ConfigProperty(name = "computers.write-behind.segment-size", defaultValue = "67108864")
+    int segmentSize;
+
+    @ConfigProperty(name = "computers.write-behind.flush-interval", defaultValue = "5ms")
+    Duration flushInterval;
+
+    private volatile WriteBehindLog log;
+
+    // Tracking ids aceitos e ainda não aplicados; reconstruído do log na subida
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+    void onStart(@Observes StartupEvent event) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        log = WriteBehindLog.open(Path.of(directory), segmentSize, flushInterval);
+
+        WriteBehindLog.Position position = new WriteBehindLog.Position(0, 0);
+        for (List<WriteBehindLog.Entry> page = log.read(position, 1000); !page.isEmpty();
+                page = log.read(position, 1000)) {
+            for (WriteBehindLog.Entry entry : page) {
+                pending.add(PendingCreate.decode(entry.payload()).trackingId());
+            }
+            position = page.get(page.size() - 1).next();
+        }
+
+        Gauge.builder("computers.write_behind.backlog", this, service -> service.log.backlog())
+                .description("Creates aceitos no log local e ainda não aplicados no primary")
+                .register(registry);
+        LOG.infof("[WRITE-BEHIND] habilitado em %s (%d pendentes)", Path.of(directory).toAbsolutePath(),
+                pending.size());
+    }
+
+    void onStop(@Observes ShutdownEvent event) {
+        if (log != null) {
+            log.close();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Grava o create no log e completa quando ele está em disco.
+     * O corpo chega validado pelo {@link CreatePayloadReader} (nome e preço inclusive),
+     * porque um registro inválido só falharia na drenagem.
+     */
+    public Uni<WriteTicket> enqueue(CreatePayload payload) {
+        return enqueue(payload, null);
+    }
+
+    /**
+     * Como {@link #enqueue(CreatePayload)}, deduplicando por {@code Idempotency-Key}.
+     * No modo write-behind a deduplicação é só em memória ({@link IdempotencyStore}).
+     */
+    public Uni<WriteTicket> enqueue(CreatePayload payload, String idempotencyKey) {
+        String json = payload.json();
+        if (idempotencyKey == null) {
+            return append(json);
+        }
+        try {
+            IdempotencyStore.validateKey(idempotencyKey);
+        } catch (IllegalArgumentException e) {
+            return Uni.createFrom().failure(e);
+        }
+        return idempotency.execute(idempotencyKey, IdempotencyStore.fingerprint(json), () -> append(json));
+    }
+
+    private Uni<WriteTicket> append(String json) {
+        PendingCreate create = new PendingCreate(UUID.randomUUID(), LocalDateTime.now(), json);
+        pending.add(create.trackingId());
+        return Uni.createFrom().completionStage(() -> log.append(create.encode()))
+                .onFailure().invoke(() -> pending.remove(create.trackingId()))
+                .replaceWith(WriteTicket.pending(create.trackingId()));
+    }
+
+    /**
+     * Situação de um create aceito: pendente no log, aplicado no primary, ou null se desconhecido.
+     */
+    public Uni<WriteTicket> status(UUID trackingId) {
+        if (pending.contains(trackingId)) {
+            return Uni.createFrom().item(WriteTicket.pending(trackingId));
+        }
+        return writeService.findIdByTrackingId(trackingId)
+                .onItem().ifNotNull().transform(id -> WriteTicket.applied(trackingId, id));
+    }
+
+    WriteBehindLog log() {
+        return log;
+    }
+
+    void markApplied(List<PendingCreate> creates) {
+        creates.forEach(create -> pending.remove(create.trackingId()));
+    }
+
+    /**
+     * Registro que o primary rejeita por conteúdo (não por indisponibilidade) é
+     * copiado para {@code dead-letter.jsonl} para não travar a drenagem.
+     */
+    void deadLetter(PendingCreate create, Throwable failure) {
+        String line = objectMapper.createObjectNode()
+                .put("trackingId", create.trackingId().toString())
+                .put("createdAt", create.createdAt().toString())
+                .put("error", String.valueOf(failure.getMessage()))
+                .put("description", create.description())
+                .toString() + "\n";
+        try {
+            Files.writeString(Path.of(directory).resolve(DEAD_LETTER_FILE), line, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        pending.remove(create.trackingId());
+        LOG.errorf("[WRITE-BEHIND] create %s rejeitado pelo primary e movido para %s: %s",
+                create.trackingId(), DEAD_LETTER_FILE, failure.getMessage());
+    }
+}
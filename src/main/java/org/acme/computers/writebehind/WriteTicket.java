@@ -0,0 +1,25 @@
+package org.acme.computers.writebehind;
+
+import io.quarkus.runtime.annotations.RegisterForReflection;
+
+import java.util.UUID;
+
+/**
+ * Situação de um create aceito pelo write-behind.
+ * {@code id} só é preenchido quando o registro já foi aplicado no primary.
+ */
+@RegisterForReflection
+public record WriteTicket(UUID trackingId, Status status, Long id) {
+
+    public enum Status {
+        PENDING, APPLIED
+    }
+
+    public static WriteTicket pending(UUID trackingId) {
+        return new WriteTicket(trackingId, Status.PENDING, null);
+    }
+
+    public static WriteTicket applied(UUID trackingId, Long id) {
+        return new WriteTicket(trackingId, Status.APPLIED, id);
+    }
+}
@@ -4,8 +4,12 @@ import io.micrometer.core.instrument.MeterRegistry;
 import io.quarkus.scheduler.Scheduled;
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.inject.Inject;
+import org.acme.computers.service.ReadClass;
 import org.jboss.logging.Logger;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Job agendado que coleta métricas do Master (primary) e Slave (leitura)
  * a cada 30 segundos via Micrometer e armazena no MetricsStore.
@@ -21,21 +25,58 @@ public class MetricsCollectorJob {
     @Inject
     MetricsStore store;
 
+    // Ritmos por segundo a partir da diferença entre coletas dos contadores
+    private final Rate bulkRows = new Rate();
+
+    private final Rate writes = new Rate();
+
+    private final Rate writesDelayed = new Rate();
+
+    private final Rate writesRejected = new Rate();
+
     @Scheduled(every = "5s", identity = "ssr-metrics-collector")
     void collect() {
         double httpReads = sumHttpRequests("GET");
-        double httpWrites = sumHttpRequests("POST") + sumHttpRequests("DELETE") + sumHttpRequests("PUT");
+        double httpWrites = sumHttpRequests("POST") + sumHttpRequests("DELETE") + sumHttpRequests("PUT")
+                + sumHttpRequests("PATCH");
 
         // Pool reativo PostgreSQL: tag clientName identifica o datasource
         double primaryInUse = gaugeValue("postgresql.current", "clientName", "<default>");
         double primaryPending = gaugeValue("postgresql.queue.size", "clientName", "<default>");
         double replicaInUse = gaugeValue("postgresql.current", "clientName", "leitura");
         double replicaPending = gaugeValue("postgresql.queue.size", "clientName", "leitura");
+        // Limite efetivo ajustado pelo AdaptivePoolLimits (teto = max-size do pool)
+        double primaryLimit = gaugeValue("computers.pool.limit", "datasource", "<default>");
+        double replicaLimit = gaugeValue("computers.pool.limit", "datasource", "leitura");
+
+        double bulkActive = gaugeValue("computers.bulk.active_jobs", "", "");
+        double bulkRate = bulkRows.perSecond(counterValue("computers.bulk.rows"));
+
+        // Com sharding, o shard mais atrasado é o que limita as escritas
+        double replicaLag = maxGaugeValue("computers.admission.replica_lag");
+        double throttleState = maxGaugeValue("computers.admission.state");
+
+        // Bulkheads de leitura: permissões somadas entre as réplicas de todos os shards
+        Map<String, Double> bulkheadUtilization = new LinkedHashMap<>();
+        Map<String, Double> bulkheadQueued = new LinkedHashMap<>();
+        for (ReadClass readClass : ReadClass.values()) {
+            double size = gaugeValue("computers.read.bulkhead.size", "class", readClass.key());
+            double inUse = gaugeValue("computers.read.bulkhead.in_use", "class", readClass.key());
+            bulkheadUtilization.put(readClass.key(), size == 0 ? 0 : inUse * 100 / size);
+            bulkheadQueued.put(readClass.key(), gaugeValue("computers.read.bulkhead.queued", "class", readClass.key()));
+        }
 
         MetricsSnapshot snapshot = MetricsSnapshot.of(
                 httpReads, httpWrites,
                 primaryInUse, primaryPending,
-                replicaInUse, replicaPending);
+                replicaInUse, replicaPending,
+                primaryLimit, replicaLimit,
+                bulkActive, bulkRate,
+                replicaLag, throttleState,
+                writes.perSecond(httpWrites),
+                writesDelayed.perSecond(counterValue("computers.admission.delayed")),
+                writesRejected.perSecond(counterValue("computers.admission.rejected")),
+                bulkheadUtilization, bulkheadQueued);
 
         store.addSnapshot(snapshot);
         LOG.infof(
@@ -43,6 +84,37 @@ public class MetricsCollectorJob {
                 httpReads, httpWrites, primaryInUse, primaryPending, replicaInUse, replicaPending);
     }
 
+    /** Variação por segundo de um total acumulado desde a coleta anterior. */
+    private static final class Rate {
+
+        private double lastTotal = Double.NaN;
+
+        private long lastNanos;
+
+        double perSecond(double total) {
+            long now = System.nanoTime();
+            double rate = Double.isNaN(lastTotal) || now == lastNanos
+                    ? 0
+                    : (total - lastTotal) * 1e9 / (now - lastNanos);
+            lastTotal = total;
+            lastNanos = now;
+            return rate;
+        }
+    }
+
+    private double counterValue(String meterName) {
+        return registry.find(meterName).counters().stream()
+                .mapToDouble(c -> c.count())
+                .sum();
+    }
+
+    private double maxGaugeValue(String meterName) {
+        return registry.find(meterName).gauges().stream()
+                .mapToDouble(g -> g.value())
+                .max()
+                .orElse(0);
+    }
+
     /** Soma os contadores http.server.requests para um dado método HTTP. */
     private double sumHttpRequests(String method) {
         return registry.find("http.server.requests")
@@ -46,6 +46,10 @@ public class MetricsDashboardResource {
                     .badge { display: inline-block; margin-left: 8px; font-size: 0.7rem;
                              background: #334155; padding: 2px 8px; border-radius: 99px; color: #94a3b8; }
                     .live { background: #052e16; color: #4ade80; }
+                    .wide { grid-column: 1 / -1; }
+                    table { width: 100%; border-collapse: collapse; font-size: 0.8rem; margin-top: 14px; }
+                    th, td { text-align: left; padding: 4px 8px; border-bottom: 1px solid #334155; }
+                    th { color: #64748b; font-weight: normal; }
                     @media (max-width: 700px) { .grid { grid-template-columns: 1fr; } }
                   </style>
                 </head>
@@ -58,7 +62,7 @@ public class MetricsDashboardResource {
                       <canvas id="httpChart"></canvas>
                     </div>
                     <div class="card">
-                      <h2>🏊 Pool de Conexões — In Use</h2>
+                      <h2>🏊 Pool de Conexões — In Use × limite efetivo</h2>
                       <canvas id="poolInUseChart"></canvas>
                     </div>
                     <div class="card">
@@ -69,6 +73,29 @@ public class MetricsDashboardResource {
                       <p style="color:#64748b;font-size:0.85rem;">Último snapshot</p>
                       <pre id="lastSnapshot" style="font-size:0.8rem;color:#38bdf8;white-space:pre-wrap;"></pre>
                     </div>
+                    <div class="card wide">
+                      <h2>⚖️ Admissão de escritas — atraso da réplica × escritas/s <span class="badge" id="throttleState">normal</span></h2>
+                      <canvas id="admissionChart"></canvas>
+                    </div>
+                    <div class="card wide">
+                      <h2>🎚️ Limite adaptativo dos pools — decisões</h2>
+                      <table>
+                        <thead><tr><th>Hora</th><th>Datasource</th><th>Limite</th><th>Vazão/s</th><th>Latência (ms)</th><th>Pico em uso</th><th>Fila</th><th>Motivo</th></tr></thead>
+                        <tbody id="poolDecisions"></tbody>
+                      </table>
+                    </div>
+                    <div class="card wide">
+                      <h2>🧱 Bulkheads da réplica — utilização (%) por classe de leitura</h2>
+                      <canvas id="bulkheadChart"></canvas>
+                    </div>
+                    <div class="card wide">
+                      <h2>🧹 Jobs em massa — linhas/s</h2>
+                      <canvas id="bulkChart"></canvas>
+                      <table>
+                        <thead><tr><th>Job</th><th>Ação</th><th>Status</th><th>Shard</th><th>Cursor</th><th>Linhas</th><th>Lotes</th><th>Linhas/s</th></tr></thead>
+                        <tbody id="bulkJobs"></tbody>
+                      </table>
+                    </div>
                   </div>
 
                   <script>
@@ -94,7 +121,9 @@ public class MetricsDashboardResource {
 
                     const poolInChart = new Chart(document.getElementById('poolInUseChart'), cfg('Pool In Use', [
                       { label: 'Master in-use',  data: [], borderColor: '#34d399', backgroundColor: 'rgba(52,211,153,.15)', tension: 0.3, fill: true },
-                      { label: 'Slave in-use',   data: [], borderColor: '#fbbf24', backgroundColor: 'rgba(251,191,36,.15)',  tension: 0.3, fill: true }
+                      { label: 'Slave in-use',   data: [], borderColor: '#fbbf24', backgroundColor: 'rgba(251,191,36,.15)',  tension: 0.3, fill: true },
+                      { label: 'Master limite',  data: [], borderColor: '#34d399', borderDash: [6, 4], stepped: true, pointRadius: 0 },
+                      { label: 'Slave limite',   data: [], borderColor: '#fbbf24', borderDash: [6, 4], stepped: true, pointRadius: 0 }
                     ]));
 
                     const poolPendChart = new Chart(document.getElementById('poolPendingChart'), cfg('Pool Pending', [
@@ -102,6 +131,63 @@ public class MetricsDashboardResource {
                       { label: 'Slave pending',  data: [], borderColor: '#a78bfa', backgroundColor: 'rgba(167,139,250,.15)', tension: 0.3, fill: true }
                     ]));
 
+                    const bulkChart = new Chart(document.getElementById('bulkChart'), cfg('Bulk', [
+                      { label: 'Linhas/s', data: [], borderColor: '#fb923c', backgroundColor: 'rgba(251,146,60,.15)', tension: 0.3, fill: true }
+                    ]));
+
+                    const BULKHEAD_CLASSES = ['pagination', 'search', 'scan'];
+                    const bulkheadChart = new Chart(document.getElementById('bulkheadChart'), cfg('Bulkheads', [
+                      { label: 'Paginação', data: [], borderColor: '#38bdf8', tension: 0.3 },
+                      { label: 'Busca',     data: [], borderColor: '#a78bfa', tension: 0.3 },
+                      { label: 'Varredura', data: [], borderColor: '#fb923c', tension: 0.3 }
+                    ]));
+
+                    // Atraso da réplica no eixo da esquerda (ms), vazão e freio das escritas no da direita (/s)
+                    const admissionCfg = cfg('Admission', [
+                      { label: 'Atraso da réplica (ms)', data: [], borderColor: '#facc15', backgroundColor: 'rgba(250,204,21,.15)', tension: 0.3, fill: true, yAxisID: 'y' },
+                      { label: 'Escritas/s',             data: [], borderColor: '#f472b6', tension: 0.3, yAxisID: 'y1' },
+                      { label: 'Atrasadas/s',            data: [], borderColor: '#fb923c', tension: 0.3, yAxisID: 'y1' },
+                      { label: 'Recusadas (429)/s',      data: [], borderColor: '#f87171', tension: 0.3, yAxisID: 'y1' }
+                    ]);
+                    admissionCfg.options.scales.y1 = { position: 'right', ticks: { color: '#475569' }, grid: { drawOnChartArea: false }, beginAtZero: true };
+                    const admissionChart = new Chart(document.getElementById('admissionChart'), admissionCfg);
+
+                    const THROTTLE_STATES = ['normal', 'atrasando', 'recusando'];
+                    function showThrottleState(s) {
+                      const badge = document.getElementById('throttleState');
+                      badge.textContent = THROTTLE_STATES[s.writeThrottleState] || 'normal';
+                      badge.style.color = ['#4ade80', '#fb923c', '#f87171'][s.writeThrottleState] || '#4ade80';
+                    }
+
+                    // Progresso por job (cursor, linhas, ritmo) direto da tabela de jobs
+                    function loadBulkJobs() {
+                      fetch('/computer/bulk-jobs?limit=5')
+                        .then(r => r.ok ? r.json() : [])
+                        .then(jobs => {
+                          document.getElementById('bulkJobs').innerHTML = jobs.map(j =>
+                            `<tr><td>${j.id}</td><td>${j.action}</td><td>${j.status}</td><td>${j.shard}</td>` +
+                            `<td>${j.cursor}</td><td>${j.processed}</td><td>${j.chunks}</td><td>${j.rowsPerSecond.toFixed(1)}</td></tr>`
+                          ).join('');
+                        })
+                        .catch(e => console.warn('SSR bulk jobs error', e));
+                    }
+                    loadBulkJobs();
+
+                    // Cada ajuste (ou manutenção com tráfego) do AdaptivePoolLimits, mais recente primeiro
+                    function loadPoolDecisions() {
+                      fetch('/computer/pool-limits?limit=10')
+                        .then(r => r.ok ? r.json() : [])
+                        .then(decisions => {
+                          document.getElementById('poolDecisions').innerHTML = decisions.map(d =>
+                            `<tr><td>${shortTs(d.timestamp)}</td><td>${d.datasource}</td>` +
+                            `<td>${d.from === d.to ? d.to : d.from + ' → ' + d.to}</td><td>${d.throughput.toFixed(1)}</td>` +
+                            `<td>${d.latencyMillis.toFixed(1)}</td><td>${d.peakInUse}</td><td>${d.queued}</td><td>${d.reason}</td></tr>`
+                          ).join('');
+                        })
+                        .catch(e => console.warn('SSR pool decisions error', e));
+                    }
+                    loadPoolDecisions();
+
                     function shortTs(ts) {
                       return ts ? ts.substring(11, 19) : '';
                     }
@@ -120,17 +206,25 @@ public class MetricsDashboardResource {
                         chart.update('none');
                       }
                       sync(httpChart,   data.map(s => s.httpReads), data.map(s => s.httpWrites));
-                      sync(poolInChart,  data.map(s => s.primaryPoolInUse), data.map(s => s.replicaPoolInUse));
+                      sync(poolInChart,  data.map(s => s.primaryPoolInUse), data.map(s => s.replicaPoolInUse),
+                           data.map(s => s.primaryPoolLimit), data.map(s => s.replicaPoolLimit));
                       sync(poolPendChart, data.map(s => s.primaryPoolPending), data.map(s => s.replicaPoolPending));
+                      sync(bulkChart, data.map(s => s.bulkRowsPerSecond));
+                      sync(admissionChart, data.map(s => s.replicaLagMillis), data.map(s => s.writesPerSecond),
+                           data.map(s => s.writesDelayedPerSecond), data.map(s => s.writesRejectedPerSecond));
+                      sync(bulkheadChart, ...BULKHEAD_CLASSES.map(c => data.map(s => (s.bulkheadUtilization || {})[c] || 0)));
                       const last = data[data.length - 1];
-                      if (last) document.getElementById('lastSnapshot').textContent = JSON.stringify(last, null, 2);
+                      if (last) {
+                        document.getElementById('lastSnapshot').textContent = JSON.stringify(last, null, 2);
+                        showThrottleState(last);
+                      }
                     }
 
                     // SSE: recebe push de cada novo snapshot do servidor
                     const es = new EventSource('/ssr/stream');
                     es.onmessage = (event) => {
                       const s = JSON.parse(event.data);
-                      [httpChart, poolInChart, poolPendChart].forEach(chart => {
+                      [httpChart, poolInChart, poolPendChart, bulkChart, admissionChart, bulkheadChart].forEach(chart => {
                         if (chart.data.labels.length >= 20) {
                           chart.data.labels.shift();
                           chart.data.datasets.forEach(ds => ds.data.shift());
@@ -141,9 +235,20 @@ public class MetricsDashboardResource {
                       httpChart.data.datasets[1].data.push(s.httpWrites);
                       poolInChart.data.datasets[0].data.push(s.primaryPoolInUse);
                       poolInChart.data.datasets[1].data.push(s.replicaPoolInUse);
+                      poolInChart.data.datasets[2].data.push(s.primaryPoolLimit);
+                      poolInChart.data.datasets[3].data.push(s.replicaPoolLimit);
                       poolPendChart.data.datasets[0].data.push(s.primaryPoolPending);
                       poolPendChart.data.datasets[1].data.push(s.replicaPoolPending);
-                      [httpChart, poolInChart, poolPendChart].forEach(c => c.update('none'));
+                      bulkChart.data.datasets[0].data.push(s.bulkRowsPerSecond);
+                      admissionChart.data.datasets[0].data.push(s.replicaLagMillis);
+                      admissionChart.data.datasets[1].data.push(s.writesPerSecond);
+                      admissionChart.data.datasets[2].data.push(s.writesDelayedPerSecond);
+                      admissionChart.data.datasets[3].data.push(s.writesRejectedPerSecond);
+                      BULKHEAD_CLASSES.forEach((c, i) => bulkheadChart.data.datasets[i].data.push((s.bulkheadUtilization || {})[c] || 0));
+                      [httpChart, poolInChart, poolPendChart, bulkChart, admissionChart, bulkheadChart].forEach(c => c.update('none'));
+                      showThrottleState(s);
+                      loadBulkJobs();
+                      loadPoolDecisions();
                       document.getElementById('lastSnapshot').textContent = JSON.stringify(s, null, 2);
                     };
                     es.onerror = () => console.warn('SSE connection lost, reconnecting...');
@@ -3,11 +3,14 @@ package org.acme.monitoring;
 import io.quarkus.runtime.annotations.RegisterForReflection;
 
 import java.time.Instant;
+import java.util.Map;
 
 /**
  * Snapshot imutável das métricas coletadas em um dado instante.
  * Inclui contagens HTTP (reads/writes) e utilização do pool de conexões
- * por datasource (primary = Master, leitura = Slave).
+ * por datasource (primary = Master, leitura = Slave) com o limite efetivo adaptativo, o ritmo dos jobs em massa e
+ * a admissão de escritas (atraso da réplica, estado e escritas atrasadas/recusadas por segundo).
+ * Os bulkheads de leitura na réplica aparecem por classe de consulta: utilização (%) e fila.
  */
 @RegisterForReflection
 public record MetricsSnapshot(
@@ -17,14 +20,36 @@ public record MetricsSnapshot(
                 double primaryPoolInUse,
                 double primaryPoolPending,
                 double replicaPoolInUse,
-                double replicaPoolPending) {
+                double replicaPoolPending,
+                double primaryPoolLimit,
+                double replicaPoolLimit,
+                double bulkActiveJobs,
+                double bulkRowsPerSecond,
+                double replicaLagMillis,
+                double writeThrottleState,
+                double writesPerSecond,
+                double writesDelayedPerSecond,
+                double writesRejectedPerSecond,
+                Map<String, Double> bulkheadUtilization,
+                Map<String, Double> bulkheadQueued) {
         public static MetricsSnapshot of(
                         double httpReads,
                         double httpWrites,
                         double primaryPoolInUse,
                         double primaryPoolPending,
                         double replicaPoolInUse,
-                        double replicaPoolPending) {
+                        double replicaPoolPending,
+                        double primaryPoolLimit,
+                        double replicaPoolLimit,
+                        double bulkActiveJobs,
+                        double bulkRowsPerSecond,
+                        double replicaLagMillis,
+                        double writeThrottleState,
+                        double writesPerSecond,
+                        double writesDelayedPerSecond,
+                        double writesRejectedPerSecond,
+                        Map<String, Double> bulkheadUtilization,
+                        Map<String, Double> bulkheadQueued) {
                 return new MetricsSnapshot(
                                 Instant.now().toString(),
                                 httpReads,
@@ -32,6 +57,17 @@ public record MetricsSnapshot(
                                 primaryPoolInUse,
                                 primaryPoolPending,
                                 replicaPoolInUse,
-                                replicaPoolPending);
+                                replicaPoolPending,
+                                primaryPoolLimit,
+                                replicaPoolLimit,
+                                bulkActiveJobs,
+                                bulkRowsPerSecond,
+                                replicaLagMillis,
+                                writeThrottleState,
+                                writesPerSecond,
+                                writesDelayedPerSecond,
+                                writesRejectedPerSecond,
+                                bulkheadUtilization,
+                                bulkheadQueued);
         }
 }
\ No newline at end of file
@@ -7,15 +7,93 @@ SELECT pg_create_physical_replication_slot('replication_slot_1');
 -- Extensão útil
 CREATE EXTENSION IF NOT EXISTS "uuid-ossp";
 
--- Tabela principal
+-- Tabela principal, particionada por mês em created_at.
+-- As partições mensais (computers_pAAAA_MM) são criadas e expiradas pelo PartitionManager;
+-- a PK inclui created_at porque toda restrição única precisa conter a chave de partição.
 CREATE TABLE IF NOT EXISTS computers (
-    id          BIGSERIAL PRIMARY KEY,
+    id          BIGSERIAL,
     name        VARCHAR(40) NOT NULL,
     description JSONB,
     price       NUMERIC(10, 2),
-    created_at  TIMESTAMP DEFAULT CURRENT_TIMESTAMP
-);
+    created_at  TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    tracking_id UUID,
+    -- Incrementada a cada PATCH (ETag / If-Match)
+    version     BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (id, created_at)
+) PARTITION BY RANGE (created_at);
+
+-- Sem partição default: com ela o PostgreSQL recusa DETACH PARTITION ... CONCURRENTLY,
+-- usado pela expiração. Uma linha fora das partições mensais falha no insert.
+
+-- Mês atual e seguintes já existem antes da aplicação subir
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR i IN -1..3 LOOP
+        month_start := (date_trunc('month', CURRENT_DATE) + make_interval(months => i))::date;
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF computers FOR VALUES FROM (%L) TO (%L)',
+                       'computers_p' || to_char(month_start, 'YYYY_MM'),
+                       month_start, (month_start + INTERVAL '1 month')::date);
+    END LOOP;
+END $$;
+
+-- Sequence do Hibernate (allocationSize 50); inserts via SQL client usam nextval para não colidir
+CREATE SEQUENCE IF NOT EXISTS computers_seq START WITH 1 INCREMENT BY 50;
 
 CREATE INDEX idx_created_at ON computers(created_at);
 
-CREATE INDEX idx_computers_description ON computers USING gin (description);
\ No newline at end of file
+CREATE INDEX idx_computers_description ON computers USING gin (description);
+
+-- Ordenação por preço com cursor (price, id) na busca composta
+CREATE INDEX idx_computers_price_id ON computers(price, id);
+
+-- Feed de novos computadores (GET /computer/stream): cada insert confirmado vira um NOTIFY
+-- com a linha compacta; a aplicação escuta o canal numa única conexão por primary
+CREATE OR REPLACE FUNCTION notify_computer_created() RETURNS trigger AS $$
+BEGIN
+    PERFORM pg_notify('computers_created', json_build_object(
+            'id', NEW.id,
+            'name', NEW.name,
+            'price', NEW.price,
+            'createdAt', NEW.created_at,
+            'gpuModel', NEW.description -> 'placa_video' ->> 'modelo',
+            'ramGb', (NEW.description -> 'memoria_ram' ->> 'capacidade_total_gb')::int)::text);
+    RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER computers_notify_created
+    AFTER INSERT ON computers
+    FOR EACH ROW EXECUTE FUNCTION notify_computer_created();
+
+-- Idempotência do write-behind: replays do log local não duplicam linhas
+CREATE UNIQUE INDEX idx_computers_tracking_id ON computers(tracking_id, created_at);
+
+-- Chaves de Idempotency-Key já usadas no POST /computer (mantidas por computers.idempotency.retention)
+CREATE TABLE IF NOT EXISTS computer_idempotency (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    fingerprint     VARCHAR(64) NOT NULL,
+    computer_id     BIGINT,
+    created_at      TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_computer_idempotency_created_at ON computer_idempotency(created_at);
+
+-- Jobs em massa (POST /computer/bulk-jobs): cursor por shard e lease da instância que executa
+CREATE TABLE IF NOT EXISTS computer_bulk_jobs (
+    id           BIGSERIAL PRIMARY KEY,
+    action       VARCHAR(20) NOT NULL,
+    request      JSONB NOT NULL,
+    status       VARCHAR(20) NOT NULL,
+    shard        INT NOT NULL,
+    cursor_id    BIGINT NOT NULL,
+    processed    BIGINT NOT NULL,
+    chunks       BIGINT NOT NULL,
+    error        TEXT,
+    owner        UUID,
+    heartbeat_at TIMESTAMP,
+    created_at   TIMESTAMP NOT NULL,
+    started_at   TIMESTAMP,
+    finished_at  TIMESTAMP
+);
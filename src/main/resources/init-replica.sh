@@ -2,9 +2,11 @@
 set -e
 
 PGDATA="${PGDATA:-/var/lib/postgresql/18/main}"
+# Cada shard tem seu próprio primary
+PRIMARY_HOST="${PRIMARY_HOST:-postgres-primary}"
 
 echo "Aguardando o primary ficar disponível..."
-until pg_isready -h postgres-primary -p 5432 -U quarkus_user; do
+until pg_isready -h "$PRIMARY_HOST" -p 5432 -U quarkus_user; do
   echo "Primary ainda não está pronto. Aguardando 2s..."
   sleep 2
 done
@@ -15,7 +17,7 @@ if [ ! -s "$PGDATA/PG_VERSION" ]; then
   echo "Executando pg_basebackup para $PGDATA..."
   mkdir -p "$PGDATA"
   PGPASSWORD=replicator_password pg_basebackup \
-    -h postgres-primary \
+    -h "$PRIMARY_HOST" \
     -p 5432 \
     -U replicator \
     -D "$PGDATA" \
@@ -0,0 +1,35 @@
+package org.acme.computers.admission;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ThrottlePolicyTest {
+
+    private static final ThrottlePolicy POLICY =
+            new ThrottlePolicy(Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofMillis(800));
+
+    @Test
+    public void testStateFollowsSoftAndHardLimits() {
+        assertEquals(ThrottlePolicy.State.NORMAL, POLICY.state(0));
+        assertEquals(ThrottlePolicy.State.NORMAL, POLICY.state(1000));
+        assertEquals(ThrottlePolicy.State.DELAYING, POLICY.state(1001));
+        assertEquals(ThrottlePolicy.State.DELAYING, POLICY.state(5000));
+        assertEquals(ThrottlePolicy.State.REJECTING, POLICY.state(5001));
+    }
+
+    @Test
+    public void testDelayGrowsLinearlyBetweenLimits() {
+        assertEquals(Duration.ZERO, POLICY.delay(500));
+        assertEquals(Duration.ofMillis(200), POLICY.delay(2000));
+        assertEquals(Duration.ofMillis(400), POLICY.delay(3000));
+        assertEquals(Duration.ofMillis(800), POLICY.delay(60_000));
+        assertEquals(1, POLICY.retryAfterSeconds(0));
+        assertEquals(6, POLICY.retryAfterSeconds(5001));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ThrottlePolicy(Duration.ofSeconds(5), Duration.ofSeconds(5), Duration.ZERO));
+    }
+}
@@ -0,0 +1,46 @@
+package org.acme.computers.batch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.acme.computers.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BatchReadRequestTest {
+
+    private final ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+
+    @Test
+    public void testDashboardRequestIsParsed() throws Exception {
+        BatchReadRequest request = json.readValue("""
+                {"operations": [
+                  {"type": "pagination", "createdAt": "2026-03-01T10:00:00", "id": 42, "limit": 20},
+                  {"type": "gpu", "gpu": "4070"},
+                  {"type": "ram", "capacity": 32},
+                  {"type": "search", "ramMin": 16, "sort": "price", "order": "asc", "limit": 10},
+                  {"type": "FACETS"}
+                ]}
+                """, BatchReadRequest.class);
+
+        assertEquals(5, request.operations().size());
+        ReadOperation pagination = request.operations().get(0);
+        assertEquals(ReadOperation.Type.PAGINATION, pagination.type());
+        assertEquals(LocalDateTime.of(2026, 3, 1, 10, 0), pagination.createdAt());
+        assertEquals(20, pagination.limitOrZero());
+        assertEquals("4070", request.operations().get(1).gpu());
+        assertEquals(32, request.operations().get(2).capacity());
+        assertEquals("price", request.operations().get(3).sort());
+        assertEquals(ReadOperation.Type.FACETS, request.operations().get(4).type());
+        assertNull(request.operations().get(4).limit());
+        assertEquals(0, request.operations().get(4).limitOrZero());
+    }
+
+    @Test
+    public void testUnknownTypeIsRejected() {
+        assertThrows(InvalidRequestException.class, () -> ReadOperation.Type.from("count"));
+    }
+}
@@ -0,0 +1,44 @@
+package org.acme.computers.batch;
+
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ManyByIdServiceTest {
+
+    private static ComputerEntity computer(long id) {
+        ComputerEntity entity = new ComputerEntity();
+        entity.id = id;
+        return entity;
+    }
+
+    @Test
+    public void testIdsAreDeduplicatedInRequestOrder() {
+        assertEquals(List.of(7L, 3L, 9L),
+                ManyByIdService.distinctIds(new IdsRequest(List.of(7L, 3L, 7L, 9L, 3L)), 5));
+
+        assertThrows(InvalidRequestException.class, () -> ManyByIdService.distinctIds(null, 5));
+        assertThrows(InvalidRequestException.class, () -> ManyByIdService.distinctIds(new IdsRequest(null), 5));
+        assertThrows(InvalidRequestException.class, () -> ManyByIdService.distinctIds(new IdsRequest(List.of()), 5));
+        assertThrows(InvalidRequestException.class,
+                () -> ManyByIdService.distinctIds(new IdsRequest(Arrays.asList(1L, null)), 5));
+        assertThrows(InvalidRequestException.class,
+                () -> ManyByIdService.distinctIds(new IdsRequest(List.of(1L, 2L, 3L)), 2));
+    }
+
+    @Test
+    public void testResultsFollowRequestOrderAndSkipMissingIds() {
+        Map<Long, ComputerEntity> found = Map.of(1L, computer(1), 5L, computer(5), 8L, computer(8));
+
+        List<ComputerEntity> ordered = ManyByIdService.inRequestOrder(List.of(8L, 2L, 1L, 5L), found);
+
+        assertEquals(List.of(8L, 1L, 5L), ordered.stream().map(entity -> entity.id).toList());
+    }
+}
@@ -0,0 +1,48 @@
+package org.acme.computers.bulk;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.acme.computers.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BulkJobRequestTest {
+
+    private final ObjectMapper json = new ObjectMapper();
+
+    @Test
+    public void testRequestIsParsedAndDefaulted() throws Exception {
+        BulkJobRequest repricing = json.readValue("""
+                {"action": "set-price", "gpu": "RTX 4070", "price": 6499.90}
+                """, BulkJobRequest.class).validated(500, 5000);
+
+        assertEquals(BulkAction.SET_PRICE, repricing.action());
+        assertEquals(new BigDecimal("6499.90"), repricing.price());
+        assertEquals(500, repricing.chunkSize());
+
+        BulkJobRequest discontinued = json.readValue("""
+                {"action": "DELETE", "chipset": "B450", "gpu": " ", "price": 10, "chunkSize": 100}
+                """, BulkJobRequest.class).validated(500, 5000);
+
+        assertNull(discontinued.gpu());
+        assertNull(discontinued.price());
+        assertEquals(100, discontinued.chunkSize());
+    }
+
+    @Test
+    public void testUnsafeRequestsAreRejected() {
+        assertThrows(InvalidRequestException.class,
+                () -> new BulkJobRequest(BulkAction.DELETE, null, " ", null, null).validated(500, 5000));
+        assertThrows(InvalidRequestException.class,
+                () -> new BulkJobRequest(BulkAction.SET_PRICE, "4070", null, null, null).validated(500, 5000));
+        assertThrows(InvalidRequestException.class, () -> new BulkJobRequest(BulkAction.SET_PRICE, "4070", null,
+                new BigDecimal("-1"), null).validated(500, 5000));
+        assertThrows(InvalidRequestException.class,
+                () -> new BulkJobRequest(BulkAction.DELETE, "4070", null, null, 10_000).validated(500, 5000));
+        assertThrows(InvalidRequestException.class, () -> BulkAction.from("truncate"));
+    }
+}
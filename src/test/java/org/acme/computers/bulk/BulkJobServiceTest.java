@@ -0,0 +1,60 @@
+package org.acme.computers.bulk;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BulkJobServiceTest {
+
+    @Test
+    public void testThousandsOfChunksRunWithoutGrowingTheStack() {
+        int chunksPerShard = 25_000;
+        AtomicLong processed = new AtomicLong();
+        List<String> shardEnds = new ArrayList<>();
+
+        boolean completed = BulkJobService.drain(2, 0, 0, Duration.ZERO,
+                (shard, cursor) -> Uni.createFrom().item(cursor < chunksPerShard * 10L
+                        ? new BulkJobService.Chunk(10, cursor + 10)
+                        : new BulkJobService.Chunk(0, cursor)),
+                (shard, cursor, rows) -> {
+                    processed.addAndGet(rows);
+                    if (rows == 0) {
+                        shardEnds.add(shard + "@" + cursor);
+                    }
+                    return Uni.createFrom().item(true);
+                })
+                .await().atMost(Duration.ofMinutes(1));
+
+        assertTrue(completed);
+        assertEquals(2L * chunksPerShard * 10, processed.get());
+        assertEquals(List.of("1@0", "2@0"), shardEnds);
+    }
+
+    @Test
+    public void testStopsWhenTheJobIsNoLongerOwned() {
+        AtomicInteger chunks = new AtomicInteger();
+
+        boolean completed = BulkJobService.drain(1, 0, 40, Duration.ofMillis(1),
+                (shard, cursor) -> {
+                    chunks.incrementAndGet();
+                    return Uni.createFrom().item(new BulkJobService.Chunk(5, cursor + 5));
+                },
+                (shard, cursor, rows) -> Uni.createFrom().item(cursor < 60))
+                .await().atMost(Duration.ofSeconds(5));
+
+        assertFalse(completed);
+        assertEquals(4, chunks.get());
+        assertTrue(BulkJobService.drain(1, 1, 0, Duration.ZERO,
+                (shard, cursor) -> Uni.createFrom().failure(new AssertionError("no shard left")),
+                (shard, cursor, rows) -> Uni.createFrom().item(true)).await().indefinitely());
+    }
+}
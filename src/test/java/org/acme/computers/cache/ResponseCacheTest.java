@@ -0,0 +1,87 @@
+package org.acme.computers.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.smallrye.mutiny.Uni;
+import jakarta.ws.rs.core.HttpHeaders;
+import org.acme.computers.codec.PayloadFormat;
+import org.acme.computers.codec.PayloadMappers;
+import org.jboss.resteasy.reactive.RestResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ResponseCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private ResponseCache cache(Duration ttl) {
+        ObjectMapper json = new ObjectMapper();
+        ResponseCache cache = new ResponseCache();
+        cache.mappers = new PayloadMappers() {
+            @Override
+            public ObjectMapper mapper(PayloadFormat format) {
+                return json;
+            }
+        };
+        cache.enabled = true;
+        cache.maxEntries = 10;
+        cache.ttl = ttl;
+        return cache;
+    }
+
+    private RestResponse<byte[]> get(ResponseCache cache, String ifNoneMatch) {
+        return cache.serve("pagination:null:null:20", PayloadFormat.JSON, ifNoneMatch, null, () -> {
+            loads.incrementAndGet();
+            return Uni.createFrom().item(List.of("PC-" + loads.get()));
+        }).await().indefinitely();
+    }
+
+    private static String etag(RestResponse<byte[]> response) {
+        return response.getHeaderString(HttpHeaders.ETAG);
+    }
+
+    @Test
+    public void testCurrentETagIsAnsweredWithoutLoadingAfterTheEntryExpires() throws Exception {
+        ResponseCache cache = cache(Duration.ofMillis(1));
+        RestResponse<byte[]> first = get(cache, null);
+        assertEquals(200, first.getStatus());
+        Thread.sleep(5);
+
+        RestResponse<byte[]> revalidated = get(cache, etag(first));
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(etag(first), etag(revalidated));
+        assertEquals(1, loads.get());
+
+        cache.onChange(null);
+        Thread.sleep(5);
+        RestResponse<byte[]> changed = get(cache, etag(first));
+        assertEquals(200, changed.getStatus());
+        assertNotEquals(etag(first), etag(changed));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testPagesBuiltRightAfterAChangeGetAProvisionalETag() throws Exception {
+        ResponseCache cache = cache(Duration.ofMillis(200));
+        cache.onChange(null);
+
+        RestResponse<byte[]> provisional = get(cache, null);
+        assertTrue(etag(provisional).endsWith("-p\""), etag(provisional));
+        assertEquals(304, get(cache, etag(provisional)).getStatus());
+        assertEquals(1, loads.get());
+
+        // Depois do TTL a página pode ter mudado na réplica: a ETag provisória não vale mais
+        Thread.sleep(250);
+        RestResponse<byte[]> settled = get(cache, etag(provisional));
+        assertEquals(200, settled.getStatus());
+        assertEquals(2, loads.get());
+        assertEquals(304, get(cache, etag(settled)).getStatus());
+        assertEquals(2, loads.get());
+    }
+}
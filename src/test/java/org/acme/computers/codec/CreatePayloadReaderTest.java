@@ -0,0 +1,66 @@
+package org.acme.computers.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class CreatePayloadReaderTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final CreatePayloadReader.Shape SCHEMA =
+            CreatePayloadReader.schema(MAPPER, ComputerDescriptionDTO.class);
+
+    private static final String BODY = """
+            {"name": "PC-GAMER", "price": 8999.90,
+             "placa_video": {"modelo": "GeForce RTX 4070", "memoria_gb": 12},
+             "memoria_ram": {"capacidade_total_gb": 32, "modulos": [{"tipo": "DDR5", "capacidade_gb": 16}]},
+             "armazenamento": {"dispositivos": [{"tipo": "NVMe", "modelo": null}]},
+             "observacoes": null}""";
+
+    private static CreatePayload read(String json) {
+        return CreatePayloadReader.read(json.getBytes(StandardCharsets.UTF_8), PayloadFormat.JSON, MAPPER.getFactory(),
+                MAPPER.getFactory(), SCHEMA);
+    }
+
+    @Test
+    public void testJsonIsKeptAsReceivedAndColumnsAreExtracted() throws Exception {
+        CreatePayload payload = read(BODY);
+        assertEquals(BODY, payload.json());
+        assertEquals("PC-GAMER", payload.name());
+        assertEquals(new BigDecimal("8999.90"), payload.price());
+
+        // CBOR é transcodificado para JSON na mesma passada
+        byte[] cbor = new ObjectMapper(new CBORFactory()).writeValueAsBytes(MAPPER.readTree(BODY));
+        CreatePayload transcoded = CreatePayloadReader.read(cbor, PayloadFormat.CBOR, new CBORFactory(),
+                new JsonFactory(), SCHEMA);
+        assertEquals(MAPPER.readTree(BODY), MAPPER.readTree(transcoded.json()));
+        assertEquals("PC-GAMER", transcoded.name());
+    }
+
+    @Test
+    public void testRejectsWhatTheDtoWouldNotAccept() {
+        assertThrows(InvalidRequestException.class, () -> read("{\"name\": \"PC\", \"price\": 1, \"extra\": 1}"));
+        assertThrows(InvalidRequestException.class,
+                () -> read("{\"name\": \"PC\", \"price\": 1, \"placa_video\": {\"marca\": 1}}"));
+        assertThrows(InvalidRequestException.class,
+                () -> read("{\"name\": \"PC\", \"price\": 1, \"memoria_ram\": {\"capacidade_total_gb\": 8.5}}"));
+        assertThrows(InvalidRequestException.class,
+                () -> read("{\"name\": \"PC\", \"price\": 1, \"memoria_ram\": {\"modulos\": {}}}"));
+        assertThrows(InvalidRequestException.class, () -> read("{\"name\": \"PC\"}"));
+        assertThrows(InvalidRequestException.class, () -> read("{\"price\": 1}"));
+        assertThrows(InvalidRequestException.class, () -> read("{\"name\": \"PC\", \"price\": 1, \"name\": \"X\"}"));
+        assertThrows(InvalidRequestException.class, () -> read("{\"name\": \"PC\", \"price\": 1} {}"));
+        assertThrows(InvalidRequestException.class, () -> read("{\"name\": \"PC\", \"price\": 1"));
+        assertThrows(InvalidRequestException.class, () -> read("[]"));
+    }
+}
@@ -0,0 +1,80 @@
+package org.acme.computers.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Compara bytes e tempo de CPU por create e por página (20 entidades) em JSON,
+ * CBOR e Smile. O create mede o caminho do endpoint: o {@link CreatePayloadReader}
+ * sobre os bytes recebidos, incluindo a transcodificação para JSON em CBOR e Smile.
+ * A página é a serialização pelo mapper do formato, como no {@code ResponseCache}.
+ *
+ * Os números são só impressos; fica fora do {@code mvn test} padrão (tag
+ * {@code benchmark}) e roda com {@code ./mvnw test -Pbenchmark}. O tamanho dos
+ * formatos e o round trip são checados no {@link PayloadFormatTest}.
+ */
+@Tag("benchmark")
+public class PayloadFormatBenchmarkTest {
+
+    private static final int ITERATIONS = 2_000;
+
+    @Test
+    public void testPayloadFormats() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        Map<PayloadFormat, ObjectMapper> mappers = new EnumMap<>(PayloadFormat.class);
+        mappers.put(PayloadFormat.JSON, json);
+        mappers.put(PayloadFormat.CBOR, PayloadMappers.binary(json, new CBORFactory()));
+        mappers.put(PayloadFormat.SMILE, PayloadMappers.binary(json, new SmileFactory()));
+        CreatePayloadReader.Shape schema = CreatePayloadReader.schema(json, ComputerDescriptionDTO.class);
+
+        ComputerDescriptionDTO dto = PayloadFormatTest.description(json);
+        List<ComputerEntity> page = PayloadFormatTest.page(json.writeValueAsString(dto));
+
+        System.out.println("====== PAYLOAD BENCHMARK (" + ITERATIONS + " iterações) ======");
+        System.out.println("formato | create bytes | create leitura µs | página bytes | página enc µs");
+        for (Map.Entry<PayloadFormat, ObjectMapper> entry : mappers.entrySet()) {
+            PayloadFormat format = entry.getKey();
+            ObjectMapper mapper = entry.getValue();
+            byte[] create = mapper.writeValueAsBytes(dto);
+            byte[] pageBody = mapper.writeValueAsBytes(page);
+
+            CreatePayload read = CreatePayloadReader.read(create, format, mapper.getFactory(), json.getFactory(),
+                    schema);
+            assertEquals(json.readTree(json.writeValueAsString(dto)), json.readTree(read.json()));
+
+            long createNanos = time(() -> CreatePayloadReader.read(create, format, mapper.getFactory(),
+                    json.getFactory(), schema));
+            long pageNanos = time(() -> mapper.writeValueAsBytes(page));
+            System.out.printf("%-7s | %12d | %17.1f | %12d | %13.1f%n", format, create.length,
+                    createNanos / 1_000.0 / ITERATIONS, pageBody.length, pageNanos / 1_000.0 / ITERATIONS);
+        }
+        System.out.println("==============================================");
+    }
+
+    private static long time(ThrowingRunnable work) throws Exception {
+        for (int i = 0; i < ITERATIONS / 4; i++) {
+            work.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            work.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    @FunctionalInterface
+    private interface ThrowingRunnable {
+        void run() throws Exception;
+    }
+}
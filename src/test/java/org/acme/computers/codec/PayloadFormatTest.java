@@ -0,0 +1,76 @@
+package org.acme.computers.codec;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.acme.computers.ComputerEntity;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PayloadFormatTest {
+
+    static final int PAGE_SIZE = 20;
+
+    static ComputerDescriptionDTO description(ObjectMapper json) throws Exception {
+        ComputerDescriptionDTO dto;
+        try (InputStream in = PayloadFormatTest.class.getResourceAsStream("/exemplo-computer-description.json")) {
+            dto = json.readValue(in, ComputerDescriptionDTO.class);
+        }
+        dto.setName("bench-pc");
+        dto.setPrice(new BigDecimal("8999.90"));
+        return dto;
+    }
+
+    static List<ComputerEntity> page(String description) {
+        List<ComputerEntity> page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            ComputerEntity entity = new ComputerEntity();
+            entity.id = (long) i;
+            entity.name = "bench-pc-" + i;
+            entity.price = new BigDecimal("8999.90");
+            entity.description = description;
+            entity.createdAt = LocalDateTime.of(2026, 1, 1, 12, 0).plusSeconds(i);
+            page.add(entity);
+        }
+        return page;
+    }
+
+    @Test
+    public void testBinaryFormatsAreSmallerAndRoundTrip() throws Exception {
+        ObjectMapper json = new ObjectMapper().findAndRegisterModules();
+        ObjectMapper cbor = PayloadMappers.binary(json, new CBORFactory());
+        ObjectMapper smile = PayloadMappers.binary(json, new SmileFactory());
+        ComputerDescriptionDTO dto = description(json);
+        List<ComputerEntity> page = page(json.writeValueAsString(dto));
+
+        assertTrue(cbor.writeValueAsBytes(dto).length < json.writeValueAsBytes(dto).length);
+        assertTrue(smile.writeValueAsBytes(dto).length < json.writeValueAsBytes(dto).length);
+        assertTrue(smile.writeValueAsBytes(page).length < json.writeValueAsBytes(page).length);
+        // Com a description como um único texto, como antes do mixin
+        assertTrue(cbor.writeValueAsBytes(page).length < json.copyWith(new CBORFactory()).writeValueAsBytes(page).length);
+        assertTrue(smile.writeValueAsBytes(page).length
+                < json.copyWith(new SmileFactory()).writeValueAsBytes(page).length);
+
+        ComputerEntity roundTrip = smile.readValue(smile.writeValueAsBytes(page.get(0)), ComputerEntity.class);
+        assertEquals(json.readTree(page.get(0).description), json.readTree(roundTrip.description));
+    }
+
+    @Test
+    public void testNegotiation() {
+        assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate(null));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate("*/*"));
+        assertEquals(PayloadFormat.CBOR, PayloadFormat.negotiate("application/cbor"));
+        assertEquals(PayloadFormat.SMILE,
+                PayloadFormat.negotiate("application/json;q=0.5, application/x-jackson-smile"));
+        assertEquals(PayloadFormat.JSON, PayloadFormat.negotiate("application/cbor;q=0, application/json"));
+    }
+}
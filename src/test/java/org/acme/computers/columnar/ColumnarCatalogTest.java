@@ -0,0 +1,86 @@
+package org.acme.computers.columnar;
+
+import org.acme.computers.InvalidRequestException;
+import org.acme.computers.catalog.ComputerAttributes;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ColumnarCatalogTest {
+
+    private static ComputerAttributes attributes(long id, String price, String gpuModel, String manufacturer,
+            Integer ramGb, Integer vramGb) {
+        return new ComputerAttributes(id, "pc-" + id, price != null ? new BigDecimal(price) : null, gpuModel, null,
+                ramGb, List.of(), null, null, null, List.of(), manufacturer, vramGb, 200, 650, 1000);
+    }
+
+    private static ColumnarFilter filter(String gpu, String priceMin, Integer ramMin, Integer vramMax, String sort,
+            String order, String after, Long afterId, int limit) {
+        return ColumnarFilter.of(gpu, null, priceMin != null ? new BigDecimal(priceMin) : null, null, ramMin, null,
+                null, vramMax, null, null, null, null, null, null, sort, order, after, afterId, limit);
+    }
+
+    @Test
+    public void testRangesDictionaryAndDeletesAreApplied() {
+        ColumnarCatalog catalog = new ColumnarCatalog(16);
+        catalog.add(attributes(1, "5000.00", "GeForce RTX 4070", "NVIDIA", 32, 12));
+        catalog.add(attributes(2, "3000.00", "Radeon RX 7800 XT", "AMD", 32, 16));
+        catalog.add(attributes(3, "8000.00", "GeForce RTX 4090", "NVIDIA", 64, 24));
+        catalog.add(attributes(4, null, "GeForce RTX 4060", "NVIDIA", null, 8));
+
+        assertArrayEquals(new long[] { 2, 1, 3, 4 }, catalog.page(filter(null, null, null, null, "price", "asc",
+                null, null, 10), 0));
+        assertArrayEquals(new long[] { 4, 3, 1, 2 }, catalog.page(filter(null, null, null, null, "price", "desc",
+                null, null, 10), 0));
+        // Valor ausente nunca satisfaz uma faixa
+        assertArrayEquals(new long[] { 1, 3 }, catalog.page(filter("rtx", null, 16, null, "id", "asc",
+                null, null, 10), 0));
+        assertArrayEquals(new long[] { 1 }, catalog.page(filter("RTX", "4000.5", null, 16, "id", "asc",
+                null, null, 10), 0));
+        assertArrayEquals(new long[] { 2 }, catalog.page(ColumnarFilter.of(null, "amd", null, null, null, null,
+                null, null, null, null, null, null, null, null, "id", "asc", null, null, 10), 0));
+
+        catalog.remove(attributes(1, "5000.00", "GeForce RTX 4070", "NVIDIA", 32, 12));
+        catalog.add(attributes(3, "100.00", "GeForce RTX 4090", "NVIDIA", 64, 24));
+        assertArrayEquals(new long[] { 3, 2, 4 }, catalog.page(filter(null, null, null, null, "price", "asc",
+                null, null, 10), 0));
+        assertEquals(3, catalog.liveRows());
+        assertEquals(5, catalog.size());
+
+        assertThrows(InvalidRequestException.class, () -> filter(null, null, null, null, "name", "asc",
+                null, null, 10));
+        assertThrows(InvalidRequestException.class, () -> filter(null, null, null, null, "price", "asc",
+                "100", null, 10));
+        assertThrows(InvalidRequestException.class, () -> filter(null, null, null, null, "id", "asc",
+                null, null, ColumnarFilter.MAX_LIMIT + 1));
+    }
+
+    @Test
+    public void testParallelScanPagesLikeSequentialScan() {
+        ColumnarCatalog catalog = new ColumnarCatalog(ColumnarCatalog.BLOCK);
+        for (long id = 1; id <= 20_000; id++) {
+            catalog.add(attributes(id, (id * 7919 % 10_000) + ".50", id % 3 == 0 ? "RTX 4080" : "RX 7700",
+                    "X", (int) (id % 128), 8));
+        }
+
+        ColumnarFilter first = filter("rtx", "1000", 64, null, "price", "desc", null, null, 50);
+        long[] sequential = catalog.page(first, Integer.MAX_VALUE);
+        assertArrayEquals(sequential, catalog.page(first, 0));
+        assertEquals(50, sequential.length);
+
+        // A próxima página continua exatamente depois do cursor
+        long lastId = sequential[sequential.length - 1];
+        String lastPrice = (lastId * 7919 % 10_000) + ".50";
+        ColumnarFilter next = filter("rtx", "1000", 64, null, "price", "desc", lastPrice, lastId, 50);
+        long[] twoPages = catalog.page(filter("rtx", "1000", 64, null, "price", "desc", null, null, 100), 0);
+        long[] secondPage = catalog.page(next, 0);
+        for (int i = 0; i < 50; i++) {
+            assertEquals(twoPages[50 + i], secondPage[i]);
+        }
+    }
+}
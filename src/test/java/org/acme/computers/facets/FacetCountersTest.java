@@ -0,0 +1,49 @@
+package org.acme.computers.facets;
+
+import org.acme.computers.catalog.ComputerAttributes;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+public class FacetCountersTest {
+
+    @Test
+    public void testAddAndRemoveKeepCountsConsistent() {
+        FacetCounters counters = new FacetCounters(new BigDecimal("1000"));
+        ComputerAttributes gamer = attributes(1L, "8999.90", "RTX 4070 Ti", 32, List.of("NVMe", "NVMe", "HDD"),
+                "80 Plus Gold");
+        ComputerAttributes office = attributes(2L, "2500.00", "RTX 3050", 16, List.of("SSD"), "80 Plus Bronze");
+
+        counters.add(gamer);
+        counters.add(office);
+        counters.remove(office);
+
+        Map<String, Map<String, Long>> snapshot = counters.snapshot();
+        assertEquals(1, counters.total());
+        assertEquals(Map.of("RTX 4070 Ti", 1L), snapshot.get(FacetCounters.GPU_CHIPSET));
+        assertEquals(Map.of("32", 1L), snapshot.get(FacetCounters.RAM_GB));
+        // NVMe aparece duas vezes no mesmo computador, mas conta uma vez só
+        assertEquals(Map.of("HDD", 1L, "NVMe", 1L), snapshot.get(FacetCounters.STORAGE_TYPE));
+        assertEquals(Map.of("8000-8999", 1L), snapshot.get(FacetCounters.PRICE_BUCKET));
+        assertFalse(snapshot.get(FacetCounters.PSU_CERTIFICATION).containsKey("80 Plus Bronze"));
+    }
+
+    @Test
+    public void testPriceBucketBoundaries() {
+        FacetCounters counters = new FacetCounters(new BigDecimal("500"));
+        assertEquals("0-499", counters.priceBucket(new BigDecimal("0.00")));
+        assertEquals("500-999", counters.priceBucket(new BigDecimal("500.00")));
+        assertEquals("500-999", counters.priceBucket(new BigDecimal("999.99")));
+    }
+
+    private static ComputerAttributes attributes(Long id, String price, String gpuChipset, Integer ramGb,
+            List<String> storageTypes, String psuCertification) {
+        return new ComputerAttributes(id, "pc-" + id, new BigDecimal(price), null, gpuChipset, ramGb, storageTypes,
+                psuCertification, null, null, List.of(), null, null, null, null, null);
+    }
+}
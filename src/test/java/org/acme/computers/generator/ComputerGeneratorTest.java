@@ -0,0 +1,118 @@
+package org.acme.computers.generator;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.acme.computers.dto.ComputerDescriptionDTO;
+import org.acme.computers.sharding.ShardRouter;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ComputerGeneratorTest {
+
+    private static final ObjectMapper STRICT = new ObjectMapper()
+            .enable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+
+    private static final LocalDateTime FROM = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    private static final LocalDateTime UNTIL = LocalDateTime.of(2026, 1, 1, 0, 0);
+
+    private static ComputerGenerator generator(long seed) {
+        return new ComputerGenerator(seed, 1.1, FROM, UNTIL);
+    }
+
+    @Test
+    public void testRowsAreReproducibleAndPlausible() throws Exception {
+        ComputerGenerator generator = generator(42);
+        GeneratedComputer row = generator.generate(1234);
+        GeneratedComputer again = generator(42).generate(1234);
+        assertArrayEquals(row.json(), again.json());
+        assertEquals(row.createdAt(), again.createdAt());
+        assertFalse(new String(row.json()).equals(new String(generator(43).generate(1234).json())));
+
+        for (long i = 0; i < 2_000; i++) {
+            GeneratedComputer computer = generator.generate(i);
+            ComputerDescriptionDTO dto = STRICT.readValue(computer.json(), ComputerDescriptionDTO.class);
+            assertEquals(computer.name(), dto.getName());
+            assertEquals(computer.price(), dto.getPrice());
+            assertTrue(dto.getName().length() <= 40, dto.getName());
+            assertTrue(dto.getFonte().getPotenciaWatts() >= dto.getPlacaVideo().getTdpWatts() + 150);
+            assertEquals(dto.getMemoriaRam().getCapacidadeTotalGb(), dto.getMemoriaRam().getModulos().stream()
+                    .mapToInt(m -> m.getCapacidadeGb()).sum());
+            assertEquals(dto.getPlacaMae().getFormato().equals("Mini-ITX"), dto.getGabinete().getTipo().equals("SFF"));
+            assertTrue(!computer.createdAt().isBefore(FROM) && computer.createdAt().isBefore(UNTIL));
+        }
+    }
+
+    @Test
+    public void testGpuPopularityIsSkewed() {
+        ComputerGenerator generator = generator(7);
+        Map<String, Integer> counts = new HashMap<>();
+        int recent = 0;
+        for (long i = 0; i < 20_000; i++) {
+            GeneratedComputer computer = generator.generate(i);
+            String json = new String(computer.json());
+            String model = ComputerGenerator.GPUS.stream().map(ComputerGenerator.Gpu::modelo)
+                    .filter(m -> json.contains("\"modelo\":\"" + m + "\"")).findFirst().orElseThrow();
+            counts.merge(model, 1, Integer::sum);
+            if (!computer.createdAt().isBefore(FROM.plusYears(1))) {
+                recent++;
+            }
+        }
+        int top = counts.get(ComputerGenerator.GPUS.get(0).modelo());
+        int fifth = counts.get(ComputerGenerator.GPUS.get(4).modelo());
+        int last = counts.getOrDefault(ComputerGenerator.GPUS.get(19).modelo(), 0);
+        assertTrue(top > 2 * fifth && fifth > 2 * last, counts.toString());
+        // densidade linear no tempo: ~75% das linhas na metade mais recente
+        assertTrue(recent > 14_000 && recent < 16_000, String.valueOf(recent));
+    }
+
+    @Test
+    public void testNamesLandOnTheRequestedShard() {
+        ComputerGenerator single = generator(42);
+        for (int shard = 0; shard < 3; shard++) {
+            ComputerGenerator generator = new ComputerGenerator(42, 1.1, FROM, UNTIL, 3, shard);
+            for (long i = 0; i < 500; i++) {
+                String name = generator.generate(i).name();
+                assertEquals(shard, ShardRouter.shardIndex(name, 3), name);
+                assertTrue(name.length() <= 40, name);
+                assertTrue(name.startsWith(single.generate(i).name().substring(0, 20)), name);
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ComputerGenerator(42, 1.1, FROM, UNTIL, 2, 2));
+    }
+
+    @Test
+    public void testBinaryCopyEncoding() throws Exception {
+        assertArrayEquals(new byte[]{0, 0, 0, 12, 0, 2, 0, 0, 0, 0, 0, 2, 0x23, 0x27, 0x23, 0x28},
+                numeric("8999.90"));
+        assertArrayEquals(new byte[]{0, 0, 0, 10, 0, 1, -1, -1, 0, 0, 0, 2, 0x01, (byte) 0xF4}, numeric("0.05"));
+        assertArrayEquals(new byte[]{0, 0, 0, 10, 0, 1, 0, 1, 0x40, 0, 0, 2, 0, 1}, numeric("-10000.00"));
+        assertArrayEquals(new byte[]{0, 0, 0, 8, 0, 0, 0, 0, 0, 0, 0, 2}, numeric("0.00"));
+        assertEquals(0, PgBinaryCopy.timestampMicros(LocalDateTime.of(2000, 1, 1, 0, 0)));
+        assertEquals(86_400_000_000L, PgBinaryCopy.timestampMicros(LocalDateTime.of(2000, 1, 2, 0, 0)));
+        assertEquals(-1_000_000L, PgBinaryCopy.timestampMicros(LocalDateTime.of(1999, 12, 31, 23, 59, 59)));
+
+        CatalogGenerator.Options options = CatalogGenerator.Options.parse("--shards=2", "--shard=1", "--rows=10");
+        assertEquals((101 + 2 * 50) * 2 + 1, options.id(101, 50, 2));
+        assertThrows(IllegalArgumentException.class, () -> CatalogGenerator.Options.parse("--shard=1"));
+        assertThrows(IllegalArgumentException.class, () -> CatalogGenerator.Options.parse("--row=10"));
+    }
+
+    private static byte[] numeric(String value) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PgBinaryCopy.numeric(new DataOutputStream(bytes), new BigDecimal(value));
+        return bytes.toByteArray();
+    }
+}
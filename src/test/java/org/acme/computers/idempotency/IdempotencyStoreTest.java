@@ -0,0 +1,81 @@
+package org.acme.computers.idempotency;
+
+import io.smallrye.mutiny.Uni;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class IdempotencyStoreTest {
+
+    private IdempotencyStore store;
+
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    public void setUp() {
+        store = new IdempotencyStore();
+        store.maxEntries = 2;
+        store.ttl = Duration.ofMinutes(1);
+    }
+
+    @Test
+    public void testDuplicatesReplayFirstResult() {
+        Uni<Integer> first = store.execute("k1", "fp", this::action);
+        Uni<Integer> second = store.execute("k1", "fp", this::action);
+
+        assertEquals(1, first.await().indefinitely());
+        assertEquals(1, second.await().indefinitely());
+        assertEquals(1, store.execute("k1", "fp", this::action).await().indefinitely());
+        assertEquals(1, executions.get());
+    }
+
+    @Test
+    public void testDifferentBodyIsRejected() {
+        store.execute("k1", "fp", this::action).await().indefinitely();
+
+        assertThrows(IdempotencyKeyConflictException.class,
+                () -> store.execute("k1", "other", this::action).await().indefinitely());
+    }
+
+    @Test
+    public void testFailureIsNotRemembered() {
+        Uni<Integer> failing = store.execute("k1", "fp", () -> Uni.createFrom().failure(new RuntimeException("db")));
+        assertThrows(RuntimeException.class, () -> failing.await().indefinitely());
+
+        assertEquals(1, store.execute("k1", "fp", this::action).await().indefinitely());
+    }
+
+    @Test
+    public void testEldestKeyIsEvictedWhenFull() {
+        store.execute("k1", "fp", this::action).await().indefinitely();
+        store.execute("k2", "fp", this::action).await().indefinitely();
+        store.execute("k3", "fp", this::action).await().indefinitely();
+
+        // k1 foi despejada: executa de novo (no serviço, o banco responde a repetição)
+        assertEquals(4, store.execute("k1", "fp", this::action).await().indefinitely());
+    }
+
+    @Test
+    public void testExpiredKeyExecutesAgain() {
+        store.ttl = Duration.ZERO;
+        store.execute("k1", "fp", this::action).await().indefinitely();
+
+        assertEquals(2, store.execute("k1", "fp", this::action).await().indefinitely());
+    }
+
+    @Test
+    public void testFingerprintDependsOnBody() {
+        assertEquals(IdempotencyStore.fingerprint("{\"name\":\"a\"}"), IdempotencyStore.fingerprint("{\"name\":\"a\"}"));
+        assertNotEquals(IdempotencyStore.fingerprint("{\"name\":\"a\"}"), IdempotencyStore.fingerprint("{\"name\":\"b\"}"));
+    }
+
+    private Uni<Integer> action() {
+        return Uni.createFrom().item(executions::incrementAndGet);
+    }
+}
@@ -0,0 +1,94 @@
+package org.acme.computers.partition;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PartitionManagerTest {
+
+    @Test
+    public void testPartitionNameAndBounds() {
+        MonthlyPartition partition = new MonthlyPartition(YearMonth.of(2026, 12));
+
+        assertEquals("computers_p2026_12", partition.name());
+        assertEquals(LocalDate.of(2026, 12, 1), partition.from());
+        assertEquals(LocalDate.of(2027, 1, 1), partition.to());
+        assertEquals("CREATE TABLE IF NOT EXISTS computers_p2026_12 PARTITION OF computers "
+                + "FOR VALUES FROM ('2026-12-01') TO ('2027-01-01')", partition.createSql());
+        assertEquals(Optional.of(partition), MonthlyPartition.parse("computers_p2026_12"));
+        assertTrue(MonthlyPartition.parse("computers_default").isEmpty());
+    }
+
+    @Test
+    public void testRequiredCoversPreviousMonthThroughPremake() {
+        List<MonthlyPartition> required = PartitionManager.required(YearMonth.of(2026, 1), 2, 0);
+
+        assertEquals(List.of(
+                new MonthlyPartition(YearMonth.of(2025, 12)),
+                new MonthlyPartition(YearMonth.of(2026, 1)),
+                new MonthlyPartition(YearMonth.of(2026, 2)),
+                new MonthlyPartition(YearMonth.of(2026, 3))), required);
+    }
+
+    @Test
+    public void testExpiredKeepsRetentionWindow() {
+        TreeSet<MonthlyPartition> existing = new TreeSet<>();
+        for (int month = 1; month <= 12; month++) {
+            existing.add(new MonthlyPartition(YearMonth.of(2026, month)));
+        }
+
+        List<MonthlyPartition> expired = PartitionManager.expired(existing, YearMonth.of(2026, 10), 6);
+
+        // Mantém maio..outubro (6 meses incluindo o atual)
+        assertEquals(4, expired.size());
+        assertEquals(YearMonth.of(2026, 1), expired.get(0).month());
+        assertEquals(YearMonth.of(2026, 4), expired.get(3).month());
+        assertTrue(PartitionManager.expired(existing, YearMonth.of(2026, 10), 0).isEmpty());
+    }
+
+    @Test
+    public void testRequiredAndExpiredDoNotFightOverTheSamePartition() {
+        YearMonth now = YearMonth.of(2026, 10);
+        for (int retention = 0; retention <= 3; retention++) {
+            TreeSet<MonthlyPartition> attached = new TreeSet<>(PartitionManager.required(now, 2, retention));
+            // o que uma execução cria, a mesma execução não expira
+            assertTrue(PartitionManager.expired(attached, now, retention).isEmpty(), "retention " + retention);
+        }
+        assertEquals(new MonthlyPartition(now), PartitionManager.required(now, 2, 1).get(0));
+
+        // segunda execução com retenção de 1 mês: nada a criar nem a expirar
+        PartitionManager.Partitions partitions = new PartitionManager.Partitions(
+                new TreeSet<>(PartitionManager.required(now, 2, 1)), List.of(), false);
+        assertEquals(List.of(), PartitionManager.statements(partitions, now, 2, 1, PartitionManager.ExpireAction.DETACH));
+    }
+
+    @Test
+    public void testDetachFinalizesPendingAndAvoidsConcurrentlyWithDefaultPartition() {
+        YearMonth now = YearMonth.of(2026, 10);
+        MonthlyPartition old = new MonthlyPartition(YearMonth.of(2026, 7));
+        MonthlyPartition pending = new MonthlyPartition(YearMonth.of(2026, 6));
+        TreeSet<MonthlyPartition> attached = new TreeSet<>(PartitionManager.required(now, 0, 2));
+        attached.add(old);
+
+        List<String> statements = PartitionManager.statements(
+                new PartitionManager.Partitions(attached, List.of(pending), false), now, 0, 2,
+                PartitionManager.ExpireAction.DROP);
+        assertEquals(List.of(
+                "ALTER TABLE computers DETACH PARTITION computers_p2026_06 FINALIZE",
+                "DROP TABLE IF EXISTS computers_p2026_06",
+                "ALTER TABLE computers DETACH PARTITION computers_p2026_07 CONCURRENTLY",
+                "DROP TABLE IF EXISTS computers_p2026_07"), statements);
+
+        List<String> withDefault = PartitionManager.statements(
+                new PartitionManager.Partitions(attached, List.of(), true), now, 0, 2,
+                PartitionManager.ExpireAction.DETACH);
+        assertEquals(List.of("ALTER TABLE computers DETACH PARTITION computers_p2026_07"), withDefault);
+    }
+}
@@ -0,0 +1,72 @@
+package org.acme.computers.patch;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.acme.computers.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DescriptionPatchTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void testMergePatchBecomesTargetedJsonbSteps() {
+        DescriptionPatch patch = DescriptionPatch.parse("application/merge-patch+json; charset=UTF-8",
+                "{\"price\": 7999.90, \"placa_video\": {\"modelo\": \"RTX 4070 Super\"}, \"observacoes\": null}",
+                mapper);
+
+        assertEquals("SELECT d4 AS d, ok4 AS ok FROM (SELECT description AS d0, true AS ok0) AS s0"
+                + " CROSS JOIN LATERAL (SELECT jsonb_set(d0, $3::text[], $4::jsonb, true) AS d1, ok0 AS ok1) AS s1"
+                + " CROSS JOIN LATERAL (SELECT CASE WHEN jsonb_typeof(d1 #> $5::text[]) = 'object' THEN d1"
+                + " ELSE jsonb_set(d1, $5::text[], '{}'::jsonb, true) END AS d2, ok1 AS ok2) AS s2"
+                + " CROSS JOIN LATERAL (SELECT jsonb_set(d2, $6::text[], $7::jsonb, true) AS d3, ok2 AS ok3) AS s3"
+                + " CROSS JOIN LATERAL (SELECT d3 #- $8::text[] AS d4, ok3 AS ok4) AS s4", patch.chain(3));
+        List<Object> parameters = patch.parameters();
+        assertArrayEquals(new String[] { "placa_video", "modelo" }, (String[]) parameters.get(3));
+        assertEquals("\"RTX 4070 Super\"", parameters.get(4));
+        assertTrue(patch.touches("price"));
+        assertFalse(patch.touches("name"));
+        assertFalse(patch.hasConditions());
+    }
+
+    @Test
+    public void testJsonPatchCarriesPreconditions() {
+        DescriptionPatch patch = DescriptionPatch.parse("application/json-patch+json", """
+                [
+                  {"op": "test", "path": "/memoria_ram/capacidade_total_gb", "value": 32},
+                  {"op": "replace", "path": "/memoria_ram/capacidade_total_gb", "value": 64},
+                  {"op": "add", "path": "/armazenamento/dispositivos/-", "value": {"tipo": "HDD", "capacidade_gb": 4000}}
+                ]""", mapper);
+
+        String chain = patch.chain(3);
+        assertTrue(patch.hasConditions());
+        assertTrue(chain.contains("ok0 AND d0 #> $3::text[] = $4::jsonb AS ok1"));
+        assertTrue(chain.contains("jsonb_set(d1, $5::text[], $6::jsonb, false)"));
+        assertTrue(chain.contains("(d2 #> $7::text[]) || jsonb_build_array($8::jsonb)"));
+        assertArrayEquals(new String[] { "armazenamento", "dispositivos" }, (String[]) patch.parameters().get(4));
+        assertEquals(6, patch.parameters().size());
+    }
+
+    @Test
+    public void testRejectsPatchesOutsideTheDto() {
+        assertThrows(InvalidRequestException.class,
+                () -> DescriptionPatch.parse("application/merge-patch+json", "{\"cpu\": \"Ryzen\"}", mapper));
+        assertThrows(InvalidRequestException.class,
+                () -> DescriptionPatch.parse("application/merge-patch+json", "{\"name\": null}", mapper));
+        assertThrows(InvalidRequestException.class, () -> DescriptionPatch.parse("application/merge-patch+json",
+                "{\"memoria_ram\": {\"capacidade_total_gb\": \"muita\"}}", mapper));
+        assertThrows(InvalidRequestException.class, () -> DescriptionPatch.parse("application/json-patch+json",
+                "[{\"op\": \"add\", \"path\": \"/placa_video\", \"value\": {\"frequencia_ghz\": 3}}]", mapper));
+        assertThrows(InvalidRequestException.class, () -> DescriptionPatch.parse("application/json-patch+json",
+                "[{\"op\": \"move\", \"path\": \"/name\", \"from\": \"/observacoes\"}]", mapper));
+        assertThrows(InvalidRequestException.class,
+                () -> DescriptionPatch.parse("application/json", "{\"price\": 1}", mapper));
+    }
+}
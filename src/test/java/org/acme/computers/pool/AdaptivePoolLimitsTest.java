@@ -0,0 +1,35 @@
+package org.acme.computers.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class AdaptivePoolLimitsTest {
+
+    private static final Map<String, Integer> CAPS = caps(20, 12, 8);
+
+    private static Map<String, Integer> caps(int pagination, int search, int scan) {
+        Map<String, Integer> caps = new LinkedHashMap<>();
+        caps.put("pagination", pagination);
+        caps.put("search", search);
+        caps.put("scan", scan);
+        return caps;
+    }
+
+    @Test
+    public void testSharesAreProportionalToCapsAndSumToTheLimit() {
+        assertEquals(CAPS, AdaptivePoolLimits.shares(60, CAPS));
+        assertEquals(caps(10, 6, 4), AdaptivePoolLimits.shares(20, CAPS));
+        assertEquals(caps(4, 2, 1), AdaptivePoolLimits.shares(7, CAPS));
+        // no mínimo do controle cada classe ainda tem a sua permissão
+        assertEquals(caps(1, 1, 1), AdaptivePoolLimits.shares(2, CAPS));
+        assertEquals(caps(1, 1, 1), AdaptivePoolLimits.shares(3, caps(100, 1, 1)));
+        for (int limit = 3; limit <= 40; limit++) {
+            int sum = AdaptivePoolLimits.shares(limit, CAPS).values().stream().mapToInt(Integer::intValue).sum();
+            assertEquals(limit, sum, "limit " + limit);
+        }
+    }
+}
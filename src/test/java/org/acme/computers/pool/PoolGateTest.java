@@ -0,0 +1,75 @@
+package org.acme.computers.pool;
+
+import io.smallrye.mutiny.Uni;
+import io.smallrye.mutiny.subscription.Cancellable;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PoolGateTest {
+
+    @Test
+    public void testGateQueuesBeyondTheLimitAndReleasesOnResize() {
+        PoolGate gate = new PoolGate(1);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        AtomicInteger started = new AtomicInteger();
+        gate.run(() -> {
+            started.incrementAndGet();
+            return Uni.createFrom().completionStage(first);
+        }).subscribe().with(ignored -> { });
+        CompletableFuture<String> second = new CompletableFuture<>();
+        gate.run(() -> {
+            started.incrementAndGet();
+            return Uni.createFrom().completionStage(second);
+        }).subscribe().with(ignored -> { });
+        Cancellable third = gate.run(() -> {
+            started.incrementAndGet();
+            return Uni.createFrom().item("x");
+        }).subscribe().with(ignored -> { });
+        assertEquals(1, started.get());
+        assertEquals(2, gate.window().queued());
+
+        // cancelada na fila: não consome permissão
+        third.cancel();
+        gate.resize(2);
+        assertEquals(2, started.get());
+        first.complete("a");
+        second.complete("b");
+        PoolGate.Window window = gate.window();
+        assertEquals(2, window.completed());
+        assertEquals(2, window.peakInUse());
+        assertEquals(0, window.queued());
+        assertEquals("c", gate.run(() -> Uni.createFrom().item("c")).await().indefinitely());
+        assertEquals(1, gate.window().peakInUse());
+    }
+
+    @Test
+    public void testBulkheadRejectsWhenQueueIsFullOrWaitExpires() {
+        PoolGate bulkhead = new PoolGate("scan", 1, 1, Duration.ofMillis(50));
+        CompletableFuture<String> slow = new CompletableFuture<>();
+        bulkhead.run(() -> Uni.createFrom().completionStage(slow)).subscribe().with(ignored -> { });
+        CompletableFuture<String> waiting = new CompletableFuture<>();
+        bulkhead.run(() -> Uni.createFrom().item("w")).subscribe().with(waiting::complete, waiting::completeExceptionally);
+
+        // fila cheia: recusa na hora, sem esperar o prazo
+        BulkheadFullException full = assertThrows(BulkheadFullException.class,
+                () -> bulkhead.run(() -> Uni.createFrom().item("x")).await().atMost(Duration.ofSeconds(1)));
+        assertTrue(full.getMessage().contains("already waiting"));
+
+        // a que estava na fila estoura o prazo e sai dela
+        Throwable expired = assertThrows(Exception.class, () -> waiting.get()).getCause();
+        assertTrue(expired instanceof BulkheadFullException);
+        assertEquals(0, bulkhead.queued());
+        assertEquals(2, bulkhead.rejected());
+
+        slow.complete("s");
+        assertEquals(0, bulkhead.inUse());
+        assertEquals("y", bulkhead.run(() -> Uni.createFrom().item("y")).await().atMost(Duration.ofSeconds(1)));
+    }
+}
@@ -0,0 +1,89 @@
+package org.acme.computers.pool;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class PoolSizingPolicyTest {
+
+    private static final PoolSizingPolicy POLICY = new PoolSizingPolicy(2, 40, 2, 0.5);
+
+    private static PoolSizingPolicy.Decision step(PoolSizingPolicy.Decision previous, double throughput,
+                                                  double latency, int peak, int queued) {
+        return POLICY.next(previous, new PoolSizingPolicy.Sample(throughput, latency, peak, queued));
+    }
+
+    @Test
+    public void testClimbsWhileQueueingPaysOffAndBacksOffOtherwise() {
+        PoolSizingPolicy.Decision start = POLICY.initial(10);
+        PoolSizingPolicy.Decision up = step(start, 1000, 10, 10, 5);
+        assertEquals(12, up.limit());
+        PoolSizingPolicy.Decision again = step(up, 1200, 10, 12, 5);
+        assertEquals(14, again.limit());
+        // mais permissões sem ganho de vazão: volta um passo
+        PoolSizingPolicy.Decision back = step(again, 1210, 10, 14, 5);
+        assertEquals(12, back.limit());
+        assertEquals(PoolSizingPolicy.Move.DOWN, back.move());
+
+        assertEquals(40, step(new PoolSizingPolicy.Decision(40, PoolSizingPolicy.Move.HOLD, 0,
+                        Map.of(PoolSizingPolicy.ALL, 10.0), ""),
+                1000, 10, 40, 3).limit());
+        assertEquals(12, step(up, 0, 0, 0, 0).limit());
+    }
+
+    @Test
+    public void testLatencyAboveBaselineShrinksToLittlesLaw() {
+        PoolSizingPolicy.Decision warm = step(POLICY.initial(30), 1000, 5, 10, 0);
+        assertEquals(5, warm.baselineMillis().get(PoolSizingPolicy.ALL));
+        // base sobe 5% rumo aos 20 ms (5.75); 1000/s × 5.75 ms × 1.5 = 8.6 → 9 permissões bastam
+        PoolSizingPolicy.Decision shrunk = step(warm, 1000, 20, 28, 10);
+        assertEquals(9, shrunk.limit());
+        // ocioso: desce um passo, nunca abaixo do dobro do pico
+        assertEquals(28, step(POLICY.initial(30), 100, 5, 4, 0).limit());
+        assertEquals(10, step(POLICY.initial(12), 100, 5, 5, 0).limit());
+        assertThrows(IllegalArgumentException.class, () -> new PoolSizingPolicy(5, 4, 1, 0.5));
+    }
+
+    @Test
+    public void testScanPhaseDoesNotLookLikeSaturation() {
+        Map<String, PoolSizingPolicy.Lane> paginationOnly = Map.of(
+                "pagination", new PoolSizingPolicy.Lane(1000, 5, 10, 0, 12));
+        PoolSizingPolicy.Decision warm = POLICY.next(POLICY.initial(20), new PoolSizingPolicy.Sample(paginationOnly, 0));
+        assertEquals(20, warm.limit());
+
+        // Começam as varreduras: 4/s de 2 s cada, paginação igual
+        Map<String, PoolSizingPolicy.Lane> mixed = Map.of(
+                "pagination", new PoolSizingPolicy.Lane(1000, 5, 6, 0, 12),
+                "scan", new PoolSizingPolicy.Lane(4, 2000, 8, 0, 8));
+        PoolSizingPolicy.Decision withScans = POLICY.next(warm, new PoolSizingPolicy.Sample(mixed, 0));
+        assertEquals(20, withScans.limit());
+        assertEquals(2000, withScans.baselineMillis().get("scan"));
+        // A média única (12.9 ms contra base de 5 ms) derrubaria o limite
+        assertEquals(9, step(step(POLICY.initial(20), 1000, 5, 10, 0), 1004, 12.95, 14, 0).limit());
+
+        // Paginação a 20 ms com as varreduras estáveis: aí sim o banco enfileira.
+        // Little: 1000/s × 5.75 ms + 4/s × 2000 ms = 13.75 × 1.5 → 21, mas desce pelo menos um passo
+        Map<String, PoolSizingPolicy.Lane> inflated = Map.of(
+                "pagination", new PoolSizingPolicy.Lane(1000, 20, 12, 0, 12),
+                "scan", new PoolSizingPolicy.Lane(4, 2000, 8, 0, 8));
+        PoolSizingPolicy.Decision shrunk = POLICY.next(withScans, new PoolSizingPolicy.Sample(inflated, 0));
+        assertEquals(18, shrunk.limit());
+        assertEquals(PoolSizingPolicy.Move.DOWN, shrunk.move());
+        assertTrue(shrunk.reason().startsWith("latência de pagination"));
+    }
+
+    @Test
+    public void testSaturatedLaneClimbsInsteadOfShrinking() {
+        // Só a lane de varredura está cheia, com fila: o pico total é baixo, mas não é ociosidade
+        Map<String, PoolSizingPolicy.Lane> lanes = Map.of(
+                "pagination", new PoolSizingPolicy.Lane(0, 0, 0, 0, 10),
+                "scan", new PoolSizingPolicy.Lane(2, 2000, 4, 6, 4));
+        PoolSizingPolicy.Decision next = POLICY.next(POLICY.initial(20), new PoolSizingPolicy.Sample(lanes, 0));
+        assertEquals(22, next.limit());
+        assertEquals(PoolSizingPolicy.Move.UP, next.move());
+    }
+}
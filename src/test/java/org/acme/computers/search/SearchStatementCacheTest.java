@@ -0,0 +1,89 @@
+package org.acme.computers.search;
+
+import org.acme.computers.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class SearchStatementCacheTest {
+
+    @Test
+    public void testSameShapeReusesStatement() {
+        SearchStatementCache cache = new SearchStatementCache();
+        SearchCriteria first = SearchCriteria.of("4070", 16, null, null, new BigDecimal("9000"), null,
+                "price", "asc", null, null, 20);
+        SearchCriteria second = SearchCriteria.of("4090", 32, null, null, new BigDecimal("20000"), null,
+                "price", "asc", null, null, 50);
+
+        assertSame(cache.sql(first), cache.sql(second));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void testCompiledSqlNumbersParametersInBindOrder() {
+        SearchStatementCache cache = new SearchStatementCache();
+        SearchCriteria criteria = SearchCriteria.of(null, 16, 64, new BigDecimal("1000"), null, "NVMe",
+                "price", "desc", "4500.00", 99L, 20);
+
+        assertEquals("SELECT * FROM computers WHERE "
+                + "(description -> 'memoria_ram' ->> 'capacidade_total_gb')::int >= $1 AND "
+                + "(description -> 'memoria_ram' ->> 'capacidade_total_gb')::int <= $2 AND "
+                + "price >= $3 AND description @> $4 AND price IS NOT NULL AND "
+                + "(price, id) < ($5, $6) ORDER BY price DESC, id DESC LIMIT $7", cache.sql(criteria));
+    }
+
+    @Test
+    public void testWarmUpCompilesEveryShapeAndReturnsCommonOnes() {
+        SearchStatementCache cache = new SearchStatementCache();
+
+        // 2 ordenações × 2 direções × com/sem cursor, cada uma sem filtro ou com um dos 6 filtros
+        assertEquals(8 * (1 + SearchFilter.values().length), cache.warmUp().size());
+        assertEquals(512, cache.size());
+    }
+
+    @Test
+    public void testCountSqlUsesOnlyFilters() {
+        SearchStatementCache cache = new SearchStatementCache();
+        SearchCriteria criteria = SearchCriteria.of(null, 16, null, null, new BigDecimal("9000"), null,
+                "price", "asc", "100.00", 7L, 20);
+
+        assertEquals("EXPLAIN (FORMAT JSON) SELECT 1 FROM computers WHERE "
+                + "(description -> 'memoria_ram' ->> 'capacidade_total_gb')::int >= $1 AND price <= $2",
+                cache.countSql(criteria, true));
+        assertEquals("SELECT count(*) AS total FROM computers",
+                cache.countSql(SearchCriteria.of(null, null, null, null, null, null,
+                        "created_at", "desc", null, null, 1), false));
+    }
+
+    @Test
+    public void testCreatedAtCursorKeepsPrunableBound() {
+        SearchStatementCache cache = new SearchStatementCache();
+        SearchCriteria criteria = SearchCriteria.of(null, 32, null, null, null, null,
+                "created_at", "desc", "2026-03-01T10:00:00", 42L, 20);
+
+        assertEquals("SELECT * FROM computers WHERE "
+                + "(description -> 'memoria_ram' ->> 'capacidade_total_gb')::int >= $1 AND "
+                + "created_at IS NOT NULL AND created_at <= $2 AND "
+                + "(created_at, id) < ($2, $3) ORDER BY created_at DESC, id DESC LIMIT $4", cache.sql(criteria));
+    }
+
+    @Test
+    public void testInvalidCriteriaIsRejected() {
+        assertThrows(InvalidRequestException.class, () -> SearchCriteria.of(null, null, null, null, null, null,
+                "name", "desc", null, null, 20));
+        assertThrows(InvalidRequestException.class, () -> SearchCriteria.of(null, null, null, null, null, null,
+                "created_at", "desc", "2025-01-01T00:00:00", null, 20));
+        assertThrows(InvalidRequestException.class, () -> SearchCriteria.of(null, null, null, null, null, null,
+                "created_at", "desc", "ontem", 10L, 20));
+        assertThrows(InvalidRequestException.class, () -> SearchCriteria.of(null, 64, 32, null, null, null,
+                "created_at", "desc", null, null, 20));
+        assertThrows(InvalidRequestException.class, () -> SearchCriteria.of(null, null, null,
+                new BigDecimal("5000"), new BigDecimal("1000"), null, "created_at", "desc", null, null, 20));
+        assertThrows(InvalidRequestException.class, () -> SearchCriteria.of(null, -1, null, null, null, null,
+                "created_at", "desc", null, null, 20));
+    }
+}
@@ -0,0 +1,36 @@
+package org.acme.computers.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class JdbcStatementTest {
+
+    @Test
+    public void testRepeatedParametersAreExpandedInOrder() {
+        JdbcStatement statement = JdbcStatement.parse(ComputerReadService.PAGINATION_SQL);
+
+        assertEquals("""
+                SELECT * FROM computers
+                WHERE created_at <= ? AND (created_at < ? OR id < ?)
+                ORDER BY created_at DESC, id DESC LIMIT ?
+                """, statement.sql());
+        assertArrayEquals(new int[] { 1, 1, 2, 3 }, statement.parameters());
+    }
+
+    @Test
+    public void testMultiDigitParametersAndCastsArePreserved() {
+        JdbcStatement statement = JdbcStatement.parse(
+                "SELECT $10::int, (d ->> 'x')::numeric = $2, '$' || $1");
+
+        assertEquals("SELECT ?::int, (d ->> 'x')::numeric = ?, '$' || ?", statement.sql());
+        assertArrayEquals(new int[] { 10, 2, 1 }, statement.parameters());
+    }
+
+    @Test
+    public void testStatementsAreCachedBySql() {
+        assertSame(JdbcStatement.of(ComputerReadService.GPU_SQL), JdbcStatement.of(ComputerReadService.GPU_SQL));
+    }
+}
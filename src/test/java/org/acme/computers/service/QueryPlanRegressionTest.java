@@ -0,0 +1,432 @@
+package org.acme.computers.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.vertx.core.json.JsonObject;
+import io.vertx.mutiny.sqlclient.Tuple;
+import org.acme.computers.patch.DescriptionPatch;
+import org.acme.computers.search.SearchCriteria;
+import org.acme.computers.search.SearchStatementCache;
+import org.acme.computers.sharding.Shard;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Regressão de planos de consulta: semeia um PostgreSQL local com o schema de
+ * {@code init-primary.sql} e {@code plan.rows} linhas sintéticas, roda
+ * {@code EXPLAIN (ANALYZE, BUFFERS)} em cada statement de {@link ComputerReadService}
+ * e {@link ComputerWriteService} e falha se o plano cair num Seq Scan não declarado
+ * no caso, passar do orçamento de buffers ou de tempo, ou divergir do baseline
+ * versionado em {@code src/test/resources/query-plans}.
+ *
+ * A checagem de que todo statement dos services tem um caso roda sempre; os
+ * planos só rodam apontados para um banco (ex.: o primary do docker-compose):
+ * <pre>
+ * ./mvnw test -Dtest=QueryPlanRegressionTest -Dplan.jdbc-url=jdbc:postgresql://localhost:5432/quarkus_db \
+ *     -Dplan.user=quarkus_user -Dplan.password=quarkus_password [-Dplan.rows=100000] [-Dplan.update=true]
+ * </pre>
+ * Tudo acontece no schema {@code plan_regression}, recriado a cada execução;
+ * escritas rodam numa transação desfeita logo depois do EXPLAIN.
+ */
+public class QueryPlanRegressionTest {
+
+    private static final String SCHEMA = "plan_regression";
+
+    private static final Path BASELINES = Path.of("src/test/resources/query-plans");
+
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private static final int ROWS = Integer.getInteger("plan.rows", 100_000);
+
+    private static final boolean UPDATE = Boolean.getBoolean("plan.update");
+
+    private static final Budget INDEXED = new Budget(Long.getLong("plan.max-buffers", 2_000),
+            Double.parseDouble(System.getProperty("plan.max-time-ms", "50")));
+
+    // Varreduras declaradas só têm teto de tempo: os buffers crescem com plan.rows por definição
+    private static final Budget FULL_SCAN = new Budget(Long.MAX_VALUE,
+            Double.parseDouble(System.getProperty("plan.max-scan-time-ms", "2000")));
+
+    // Mesmo gerador de k6/seed-computers.sql, num único mês para caber nas partições do init-primary.sql
+    private static final String SEED_SQL = """
+            INSERT INTO computers (id, name, price, description, created_at, tracking_id)
+            SELECT nextval('computers_seq'),
+                   'PC-' || g,
+                   price,
+                   jsonb_build_object(
+                       'name', 'PC-' || g,
+                       'price', price,
+                       'placa_video', jsonb_build_object(
+                           'modelo', (ARRAY['GeForce RTX 4070 Ti', 'GeForce RTX 4060', 'Radeon RX 7800 XT', 'Radeon RX 7600'])[1 + g % 4],
+                           'chipset', (ARRAY['RTX 4070 Ti', 'RTX 4060', 'RX 7800 XT', 'RX 7600'])[1 + g % 4]),
+                       'memoria_ram', jsonb_build_object('capacidade_total_gb', (ARRAY[8, 16, 32, 64])[1 + g % 4]),
+                       'armazenamento', jsonb_build_object('dispositivos', jsonb_build_array(
+                           jsonb_build_object('tipo', (ARRAY['NVMe', 'SSD', 'HDD'])[1 + g % 3], 'capacidade_gb', 1000))),
+                       'fonte', jsonb_build_object('certificacao', (ARRAY['80 Plus Bronze', '80 Plus Gold'])[1 + g % 2])),
+                   now() - random() * INTERVAL '1 month',
+                   CASE WHEN g % 10 = 0 THEN gen_random_uuid() END
+            FROM (SELECT g, round((1500 + random() * 13500)::numeric, 2) AS price
+                  FROM generate_series(1, ?) AS g) AS seed
+            """;
+
+    private static final String SEED_KEYS_SQL = """
+            INSERT INTO computer_idempotency (idempotency_key, fingerprint, computer_id, created_at)
+            SELECT 'key-' || id, md5(id::text), id, created_at FROM computers WHERE tracking_id IS NOT NULL
+            """;
+
+    private static Connection connection;
+
+    private static Samples samples;
+
+    /** Valores reais do banco semeado, para que os statements encontrem linhas. */
+    record Samples(List<Long> ids, Long id, String name, UUID trackingId, String idempotencyKey) {
+    }
+
+    record Budget(long maxBuffers, double maxMillis) {
+    }
+
+    /**
+     * @param seqScanReason por que um Seq Scan é aceito neste statement; {@code null} não aceita nenhum
+     */
+    record PlanCase(String name, String sql, List<Object> parameters, Budget budget, String seqScanReason) {
+
+        static PlanCase indexed(String name, String sql, Object... parameters) {
+            return new PlanCase(name, sql, Arrays.asList(parameters), INDEXED, null);
+        }
+
+        static PlanCase fullScan(String name, String reason, String sql, Object... parameters) {
+            return new PlanCase(name, sql, Arrays.asList(parameters), FULL_SCAN, reason);
+        }
+    }
+
+    private static void seed() throws SQLException, IOException {
+        connection = DriverManager.getConnection(System.getProperty("plan.jdbc-url"),
+                System.getProperty("plan.user"), System.getProperty("plan.password"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP SCHEMA IF EXISTS " + SCHEMA + " CASCADE");
+            statement.execute("CREATE SCHEMA " + SCHEMA);
+            statement.execute("SET search_path TO " + SCHEMA + ", public");
+            statement.execute(schemaSql());
+            // O canal do feed é do banco todo: sem isso a aplicação no ar receberia cada linha semeada
+            statement.execute("ALTER TABLE computers DISABLE TRIGGER computers_notify_created");
+        }
+        try (PreparedStatement insert = connection.prepareStatement(SEED_SQL)) {
+            insert.setInt(1, ROWS);
+            insert.executeUpdate();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.executeUpdate(SEED_KEYS_SQL);
+            statement.execute("ANALYZE computers, computer_idempotency");
+        }
+        samples = samples();
+        connection.setAutoCommit(false);
+    }
+
+    @AfterAll
+    static void close() throws SQLException {
+        if (connection != null) {
+            connection.close();
+        }
+    }
+
+    /** init-primary.sql sem o que só faz sentido no primary replicado (usuário e slot de replicação). */
+    private static String schemaSql() throws IOException {
+        try (InputStream script = QueryPlanRegressionTest.class.getResourceAsStream("/init-primary.sql")) {
+            return new String(script.readAllBytes(), StandardCharsets.UTF_8).lines()
+                    .filter(line -> !line.startsWith("CREATE USER replicator")
+                            && !line.startsWith("SELECT pg_create_physical_replication_slot"))
+                    .collect(Collectors.joining("\n"));
+        }
+    }
+
+    private static Samples samples() throws SQLException {
+        List<Long> ids = new ArrayList<>();
+        try (PreparedStatement query = connection.prepareStatement(
+                "SELECT id FROM computers ORDER BY id LIMIT 100 OFFSET ?")) {
+            query.setInt(1, ROWS / 2);
+            try (ResultSet rows = query.executeQuery()) {
+                while (rows.next()) {
+                    ids.add(rows.getLong(1));
+                }
+            }
+        }
+        try (Statement statement = connection.createStatement();
+                ResultSet row = statement.executeQuery("""
+                        SELECT c.id, c.name, c.tracking_id, i.idempotency_key
+                        FROM computers c JOIN computer_idempotency i ON i.computer_id = c.id
+                        LIMIT 1
+                        """)) {
+            row.next();
+            return new Samples(List.copyOf(ids), row.getLong("id"), row.getString("name"),
+                    row.getObject("tracking_id", UUID.class), row.getString("idempotency_key"));
+        }
+    }
+
+    static List<PlanCase> cases(Samples samples) {
+        List<PlanCase> cases = new ArrayList<>();
+        Long[] ids = samples.ids().toArray(Long[]::new);
+        LocalDateTime now = LocalDateTime.now();
+
+        cases.add(PlanCase.indexed("read-pagination", ComputerReadService.PAGINATION_SQL, now, Long.MAX_VALUE, 20));
+        cases.add(PlanCase.fullScan("read-gpu", "ILIKE com curinga à esquerda não usa índice (ESTUDO.md: pg_trgm)",
+                ComputerReadService.GPU_SQL, "%4070%"));
+        cases.add(PlanCase.fullScan("read-ram", "igualdade sobre expressão do JSONB sem índice de expressão",
+                ComputerReadService.RAM_SQL, 32));
+        cases.add(PlanCase.indexed("read-by-ids", ComputerReadService.BY_IDS_SQL, (Object) ids));
+        cases.addAll(searchCases(now));
+
+        String nextId = "nextval('computers_seq')";
+        String document = "{\"name\": \"PC-PLAN\", \"price\": 4999.90}";
+        cases.add(PlanCase.indexed("write-insert", ComputerWriteService.INSERT_SQL.formatted(nextId),
+                "PC-PLAN", new BigDecimal("4999.90"), document, now));
+        cases.add(PlanCase.indexed("write-insert-pending", ComputerWriteService.INSERT_PENDING_SQL.formatted(nextId),
+                new JsonObject(document), now, UUID.randomUUID()));
+        cases.add(PlanCase.indexed("write-claim-key", ComputerWriteService.CLAIM_KEY_SQL,
+                "plan-" + UUID.randomUUID(), "fingerprint", now));
+        cases.add(PlanCase.indexed("write-link-key", ComputerWriteService.LINK_KEY_SQL,
+                samples.id(), samples.idempotencyKey()));
+        cases.add(PlanCase.indexed("write-replay", ComputerWriteService.REPLAY_SQL, samples.idempotencyKey()));
+        cases.add(PlanCase.fullScan("write-delete-by-name", "name não tem índice: DELETE /computer/{name} varre a tabela",
+                ComputerWriteService.DELETE_BY_NAME_SQL, samples.name()));
+        cases.add(PlanCase.indexed("write-delete-by-ids", ComputerWriteService.DELETE_BY_IDS_SQL, (Object) ids));
+        cases.add(PlanCase.indexed("write-find-by-tracking-id", ComputerWriteService.FIND_BY_TRACKING_ID_SQL,
+                samples.trackingId()));
+        cases.add(PlanCase.indexed("write-version-by-id", ComputerWriteService.VERSION_BY_ID_SQL, samples.id()));
+
+        DescriptionPatch patch = DescriptionPatch.parse(DescriptionPatch.MERGE_PATCH,
+                "{\"price\": 5199.90, \"placa_video\": {\"memoria_gb\": 16}}", JSON);
+        List<Object> patchParameters = new ArrayList<>(Arrays.asList(samples.id(), null));
+        patchParameters.addAll(patch.parameters());
+        cases.add(new PlanCase("write-patch", ComputerWriteService.patchSql(patch), patchParameters, INDEXED, null));
+        return cases;
+    }
+
+    /** Os shapes de busca preparados no warm-up: nenhum ou um filtro, cada ordenação, com e sem cursor. */
+    private static List<PlanCase> searchCases(LocalDateTime now) {
+        SearchStatementCache searchStatements = new SearchStatementCache();
+        Map<String, Object[]> filters = new LinkedHashMap<>();
+        filters.put("none", new Object[6]);
+        filters.put("gpu", new Object[] { "4070", null, null, null, null, null });
+        filters.put("ram-min", new Object[] { null, 32, null, null, null, null });
+        filters.put("ram-max", new Object[] { null, null, 16, null, null, null });
+        filters.put("price-min", new Object[] { null, null, null, new BigDecimal("14000"), null, null });
+        filters.put("price-max", new Object[] { null, null, null, null, new BigDecimal("2000"), null });
+        filters.put("storage-type", new Object[] { null, null, null, null, null, "NVMe" });
+
+        List<PlanCase> cases = new ArrayList<>();
+        filters.forEach((filter, values) -> {
+            for (String sort : List.of("created_at", "price")) {
+                for (String order : List.of("desc", "asc")) {
+                    for (boolean cursor : List.of(false, true)) {
+                        String after = !cursor ? null
+                                : sort.equals("price") ? "8000.00" : now.minusDays(7).toString();
+                        SearchCriteria criteria = SearchCriteria.of((String) values[0], (Integer) values[1],
+                                (Integer) values[2], (BigDecimal) values[3], (BigDecimal) values[4],
+                                (String) values[5], sort, order, after, cursor ? 1_000_000_000L : null, 20);
+                        Tuple bound = searchStatements.bind(criteria);
+                        List<Object> parameters = new ArrayList<>(bound.size());
+                        for (int i = 0; i < bound.size(); i++) {
+                            parameters.add(bound.getValue(i));
+                        }
+                        String name = "search-%s-%s-%s%s".formatted(filter, sort.replace('_', '-'), order,
+                                cursor ? "-cursor" : "");
+                        cases.add(new PlanCase(name, searchStatements.sql(criteria), parameters, INDEXED, null));
+                    }
+                }
+            }
+        });
+        return cases;
+    }
+
+    @Test
+    public void testEveryServiceStatementHasAPlanCase() {
+        Samples placeholders = new Samples(List.of(1L), 1L, "PC-1", UUID.randomUUID(), "key-1");
+        ComputerReadService reads = new ComputerReadService();
+        reads.searchStatements = new SearchStatementCache();
+        Shard shard = new Shard(0, "<default>", null, "leitura", null, "nextval('computers_seq')");
+        Set<String> statements = new HashSet<>(reads.statements());
+        statements.addAll(new ComputerWriteService().statements(shard));
+
+        Set<String> covered = cases(placeholders).stream().map(PlanCase::sql).collect(Collectors.toSet());
+        statements.removeAll(covered);
+        assertEquals(Set.of(), statements, "statements sem caso de plano");
+    }
+
+    @TestFactory
+    @EnabledIfSystemProperty(named = "plan.jdbc-url", matches = ".+")
+    public Stream<DynamicTest> plans() throws SQLException, IOException {
+        seed();
+        return cases(samples).stream().map(planCase -> DynamicTest.dynamicTest(planCase.name(), () -> check(planCase)));
+    }
+
+    private static void check(PlanCase planCase) throws SQLException, IOException {
+        explain(planCase); // aquece o cache: o orçamento vale para a execução seguinte
+        JsonNode result = explain(planCase);
+        JsonNode plan = result.get("Plan");
+
+        List<String> seqScans = new ArrayList<>();
+        collectSeqScans(plan, seqScans);
+        if (planCase.seqScanReason() == null) {
+            assertTrue(seqScans.isEmpty(), planCase.name() + " caiu em Seq Scan em " + seqScans);
+        }
+
+        long buffers = plan.path("Shared Hit Blocks").asLong() + plan.path("Shared Read Blocks").asLong();
+        double millis = result.path("Execution Time").asDouble();
+        assertTrue(buffers <= planCase.budget().maxBuffers(),
+                "%s leu %d buffers (orçamento %d)".formatted(planCase.name(), buffers, planCase.budget().maxBuffers()));
+        assertTrue(millis <= planCase.budget().maxMillis(),
+                "%s levou %.1f ms (orçamento %.1f ms)".formatted(planCase.name(), millis, planCase.budget().maxMillis()));
+
+        compareWithBaseline(planCase, shape(plan));
+    }
+
+    private static JsonNode explain(PlanCase planCase) throws SQLException, IOException {
+        JdbcStatement statement = JdbcStatement.parse(planCase.sql());
+        try (PreparedStatement explain = connection.prepareStatement(
+                "EXPLAIN (ANALYZE, BUFFERS, FORMAT JSON) " + statement.sql())) {
+            statement.bind(explain, planCase.parameters());
+            try (ResultSet result = explain.executeQuery()) {
+                result.next();
+                return JSON.readTree(result.getString(1)).get(0);
+            }
+        } finally {
+            connection.rollback();
+        }
+    }
+
+    private static void collectSeqScans(JsonNode node, List<String> relations) {
+        if ("Seq Scan".equals(node.path("Node Type").asText())) {
+            relations.add(node.path("Relation Name").asText());
+        }
+        for (JsonNode child : node.path("Plans")) {
+            collectSeqScans(child, relations);
+        }
+    }
+
+    /**
+     * Forma do plano, sem custos nem tempos: tipo de cada nó, relação e índice.
+     * Partições mensais viram {@code computers_p*} e irmãos idênticos (uma varredura
+     * por partição) são contados, para que o baseline não mude com o calendário.
+     */
+    static String shape(JsonNode plan) {
+        StringBuilder shape = new StringBuilder();
+        render(plan, 0, 1, shape);
+        return shape.toString();
+    }
+
+    private static void render(JsonNode node, int depth, int repeated, StringBuilder out) {
+        out.append("  ".repeat(depth)).append(node.path("Node Type").asText());
+        if (node.has("Operation")) {
+            out.append(' ').append(node.get("Operation").asText());
+        }
+        if (node.has("Join Type")) {
+            out.append(' ').append(node.get("Join Type").asText());
+        }
+        if (node.has("Relation Name")) {
+            out.append(" on ").append(partitionless(node.get("Relation Name").asText()));
+        }
+        if (node.has("Index Name")) {
+            out.append(" using ").append(partitionless(node.get("Index Name").asText()));
+        }
+        if (repeated > 1) {
+            out.append(" (x").append(repeated).append(')');
+        }
+        out.append('\n');
+
+        List<JsonNode> children = new ArrayList<>();
+        node.path("Plans").forEach(children::add);
+        List<String> rendered = new ArrayList<>(children.size());
+        for (JsonNode child : children) {
+            StringBuilder subtree = new StringBuilder();
+            render(child, depth + 1, 1, subtree);
+            rendered.add(subtree.toString());
+        }
+        for (int i = 0; i < children.size(); ) {
+            int count = 1;
+            while (i + count < children.size() && rendered.get(i + count).equals(rendered.get(i))) {
+                count++;
+            }
+            if (count == 1) {
+                out.append(rendered.get(i));
+            } else {
+                render(children.get(i), depth + 1, count, out);
+            }
+            i += count;
+        }
+    }
+
+    static String partitionless(String name) {
+        return name.replaceAll("computers_p\\d{4}_\\d{2}", "computers_p*");
+    }
+
+    private static boolean hasBaselines() throws IOException {
+        if (!Files.isDirectory(BASELINES)) {
+            return false;
+        }
+        try (Stream<Path> files = Files.list(BASELINES)) {
+            return files.anyMatch(file -> file.getFileName().toString().endsWith(".plan"));
+        }
+    }
+
+    private static void compareWithBaseline(PlanCase planCase, String actual) throws IOException {
+        Path baseline = BASELINES.resolve(planCase.name() + ".plan");
+        String header = planCase.seqScanReason() != null ? "# Seq Scan aceito: " + planCase.seqScanReason() + "\n" : "";
+        if (UPDATE) {
+            Files.createDirectories(BASELINES);
+            Files.writeString(baseline, header + actual);
+            return;
+        }
+        if (!Files.exists(baseline)) {
+            // Sem nenhum baseline versionado não há contra o que comparar: o caso aparece
+            // como ignorado (não aprovado) até alguém gravar o conjunto com plan.update
+            Assumptions.assumeTrue(hasBaselines(), () -> "nenhum baseline em %s; grave com -Dplan.update=true"
+                    .formatted(BASELINES) + "\n--- atual\n" + actual);
+            fail("""
+                    %s não tem baseline em %s (grave com -Dplan.update=true e versione o .plan)
+                    --- atual
+                    %s""".formatted(planCase.name(), baseline, actual));
+        }
+        String expected = Files.readString(baseline).lines()
+                .filter(line -> !line.startsWith("#"))
+                .collect(Collectors.joining("\n", "", "\n"));
+        if (!expected.equals(actual)) {
+            fail("""
+                    plano de %s mudou (revise e rode com -Dplan.update=true para aceitar)
+                    --- baseline
+                    %s--- atual
+                    %s""".formatted(planCase.name(), expected, actual));
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package org.acme.computers.sharding;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class KWayMergeTest {
+
+    @Test
+    public void testMergesSortedListsUpToLimit() {
+        List<List<Integer>> shards = List.of(List.of(9, 6, 2), List.of(8, 7, 1), List.of(), List.of(5));
+
+        List<Integer> merged = KWayMerge.merge(shards, Comparator.<Integer>reverseOrder(), 5);
+
+        assertEquals(List.of(9, 8, 7, 6, 5), merged);
+    }
+
+    @Test
+    public void testSingleShardIsTruncated() {
+        assertEquals(List.of(3, 2), KWayMerge.merge(List.of(List.of(3, 2, 1)), Comparator.<Integer>reverseOrder(), 2));
+        assertEquals(List.of(3), KWayMerge.merge(List.of(List.of(3)), Comparator.<Integer>reverseOrder(), 2));
+    }
+
+    @Test
+    public void testShardIndexIsStableAndInRange() {
+        assertEquals(0, ShardRouter.shardIndex("RTX-01", 1));
+        for (int i = 0; i < 1000; i++) {
+            int index = ShardRouter.shardIndex("pc-" + i, 3);
+            assertTrue(index >= 0 && index < 3);
+            assertEquals(index, ShardRouter.shardIndex("pc-" + i, 3));
+        }
+    }
+
+    @Test
+    public void testNextIdSqlEncodesShard() {
+        assertEquals("nextval('computers_seq')", ShardRouter.nextIdSql(0, 1));
+        assertEquals("nextval('computers_seq') * 2 + 1", ShardRouter.nextIdSql(1, 2));
+    }
+}
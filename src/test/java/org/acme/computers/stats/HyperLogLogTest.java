@@ -0,0 +1,48 @@
+package org.acme.computers.stats;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class HyperLogLogTest {
+
+    @Test
+    public void testEstimateWithinErrorBound() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        for (int i = 0; i < 1_000_000; i++) {
+            sketch.add("PC-" + i);
+        }
+
+        // Erro padrão ~0,8%; 3% cobre com folga
+        assertEquals(1_000_000, sketch.estimate(), 30_000);
+    }
+
+    @Test
+    public void testDuplicatesDoNotInflateAndSmallSetsAreExact() {
+        HyperLogLog sketch = new HyperLogLog(14);
+        assertEquals(0, sketch.estimate());
+        for (int round = 0; round < 100; round++) {
+            for (String model : new String[] { "GeForce RTX 4090", "Radeon RX 7900 XTX", "Intel Arc A770" }) {
+                sketch.add(model);
+            }
+        }
+
+        assertEquals(3, sketch.estimate());
+    }
+
+    @Test
+    public void testMergeIsUnion() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        for (int i = 0; i < 50_000; i++) {
+            left.add("pc-" + i);
+            right.add("pc-" + (25_000 + i));
+        }
+
+        left.merge(right);
+
+        assertEquals(75_000, left.estimate(), 75_000 * 0.05);
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new HyperLogLog(14)));
+    }
+}
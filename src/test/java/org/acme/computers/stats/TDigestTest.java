@@ -0,0 +1,53 @@
+package org.acme.computers.stats;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class TDigestTest {
+
+    @Test
+    public void testQuantilesOfUniformDistribution() {
+        TDigest digest = new TDigest(100);
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            digest.add(random.nextDouble() * 10_000);
+        }
+
+        assertEquals(100_000, digest.count());
+        assertEquals(1_000, digest.quantile(0.10), 100);
+        assertEquals(5_000, digest.quantile(0.50), 100);
+        assertEquals(9_000, digest.quantile(0.90), 100);
+        assertTrue(digest.centroids() <= 200, "centroides devem ficar limitados pela compressão");
+    }
+
+    @Test
+    public void testMergeMatchesSingleDigest() {
+        TDigest left = new TDigest(100);
+        TDigest right = new TDigest(100);
+        for (int i = 0; i < 50_000; i++) {
+            left.add(i);
+            right.add(50_000 + i);
+        }
+
+        left.merge(right);
+
+        assertEquals(100_000, left.count());
+        assertEquals(0, left.min());
+        assertEquals(99_999, left.max());
+        assertEquals(50_000, left.quantile(0.50), 1_000);
+    }
+
+    @Test
+    public void testEmptyAndSingleValue() {
+        TDigest digest = new TDigest(50);
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+        digest.add(1234.5);
+        assertEquals(1234.5, digest.quantile(0.1));
+        assertEquals(1234.5, digest.quantile(0.9));
+    }
+}
@@ -0,0 +1,38 @@
+package org.acme.computers.stream;
+
+import org.acme.computers.InvalidRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StreamFilterTest {
+
+    private static final ComputerNotification GAMER = new ComputerNotification(1L, "PC-GAMER",
+            new BigDecimal("8999.90"), LocalDateTime.of(2026, 10, 18, 12, 0), "GeForce RTX 4070", 32);
+
+    @Test
+    public void testFiltersMatchLikeSearch() {
+        assertTrue(new StreamFilter(null, null, null, null).matches(GAMER));
+        assertTrue(new StreamFilter("rtx 40", 32, 64, new BigDecimal("8999.90")).matches(GAMER));
+        assertFalse(new StreamFilter("radeon", null, null, null).matches(GAMER));
+        assertFalse(new StreamFilter(null, 64, null, null).matches(GAMER));
+        assertFalse(new StreamFilter(null, null, 16, null).matches(GAMER));
+        assertFalse(new StreamFilter(null, null, null, new BigDecimal("5000")).matches(GAMER));
+    }
+
+    @Test
+    public void testMissingAttributesOnlyMatchWithoutFilter() {
+        ComputerNotification bare = new ComputerNotification(2L, "PC-BASICO", null, null, null, null);
+
+        assertTrue(new StreamFilter(" ", null, null, null).matches(bare));
+        assertFalse(new StreamFilter("rtx", null, null, null).matches(bare));
+        assertFalse(new StreamFilter(null, 8, null, null).matches(bare));
+        assertFalse(new StreamFilter(null, null, null, BigDecimal.ONE).matches(bare));
+        assertThrows(InvalidRequestException.class, () -> new StreamFilter(null, 64, 32, null));
+    }
+}
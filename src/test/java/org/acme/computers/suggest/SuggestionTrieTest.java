@@ -0,0 +1,56 @@
+package org.acme.computers.suggest;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SuggestionTrieTest {
+
+    private static final Map<String, Long> GPUS = Map.of(
+            "GeForce RTX 4090", 40L,
+            "GeForce RTX 4070", 70L,
+            "GeForce RTX 4070 Ti", 25L,
+            "GeForce GTX 1660", 10L,
+            "Radeon RX 7900 XTX", 30L,
+            "Radeon RX 7600", 55L);
+
+    @Test
+    public void testPrefixRankedByFrequency() {
+        SuggestionTrie trie = SuggestionTrie.build(GPUS, 10);
+
+        assertEquals(List.of(
+                new Suggestion("GeForce RTX 4070", 70),
+                new Suggestion("GeForce RTX 4090", 40),
+                new Suggestion("GeForce RTX 4070 Ti", 25)),
+                trie.suggest("geforce rtx", 10));
+        assertEquals(List.of(
+                new Suggestion("GeForce RTX 4070", 70),
+                new Suggestion("GeForce RTX 4070 Ti", 25)),
+                trie.suggest("GeForce RTX 407", 10));
+        assertEquals(6, trie.suggest("", 10).size());
+        assertEquals("GeForce RTX 4070", trie.suggest("", 10).get(0).value());
+    }
+
+    @Test
+    public void testCaseVariantsMergeAndUnknownPrefix() {
+        SuggestionTrie trie = SuggestionTrie.build(Map.of("B650", 12L, "b650", 3L, "B650E", 4L), 10);
+
+        assertEquals(2, trie.size());
+        assertEquals(List.of(new Suggestion("B650", 15), new Suggestion("B650E", 4)), trie.suggest("b6", 10));
+        assertEquals(List.of(new Suggestion("B650E", 4)), trie.suggest("b650e", 10));
+        assertEquals(List.of(), trie.suggest("b650ex", 10));
+        assertEquals(List.of(), trie.suggest("x670", 10));
+        assertEquals(List.of(), SuggestionTrie.empty().suggest("b", 10));
+    }
+
+    @Test
+    public void testLimitAndTopK() {
+        SuggestionTrie trie = SuggestionTrie.build(GPUS, 2);
+
+        assertEquals(List.of(new Suggestion("Radeon RX 7600", 55)), trie.suggest("radeon", 1));
+        assertEquals(2, trie.suggest("", 10).size());
+    }
+}
@@ -0,0 +1,123 @@
+package org.acme.computers.writebehind;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WriteBehindLogTest {
+
+    private static final Duration FLUSH = Duration.ofMillis(1);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    public void testAppendedRecordsAreReadAfterAck() throws Exception {
+        try (WriteBehindLog log = WriteBehindLog.open(directory, 4096, FLUSH)) {
+            log.append(bytes("a")).get(5, TimeUnit.SECONDS);
+            log.append(bytes("b")).get(5, TimeUnit.SECONDS);
+
+            List<WriteBehindLog.Entry> entries = log.read(10);
+            assertEquals(List.of("a", "b"), entries.stream().map(e -> text(e.payload())).toList());
+            assertEquals(2, log.backlog());
+
+            // Sem commit, a próxima leitura devolve os mesmos registros
+            assertEquals(2, log.read(10).size());
+            log.commit(entries.get(0).next(), 1);
+            assertEquals(List.of("b"), log.read(10).stream().map(e -> text(e.payload())).toList());
+            assertEquals(1, log.backlog());
+        }
+    }
+
+    @Test
+    public void testReopenReplaysFromCheckpoint() throws Exception {
+        try (WriteBehindLog log = WriteBehindLog.open(directory, 4096, FLUSH)) {
+            for (int i = 0; i < 5; i++) {
+                log.append(bytes("r" + i)).get(5, TimeUnit.SECONDS);
+            }
+            List<WriteBehindLog.Entry> drained = log.read(3);
+            log.commit(drained.get(2).next(), 3);
+        }
+
+        try (WriteBehindLog log = WriteBehindLog.open(directory, 4096, FLUSH)) {
+            assertEquals(2, log.backlog());
+            assertEquals(List.of("r3", "r4"), log.read(10).stream().map(e -> text(e.payload())).toList());
+
+            log.append(bytes("r5")).get(5, TimeUnit.SECONDS);
+            assertEquals(3, log.read(10).size());
+        }
+    }
+
+    @Test
+    public void testTornTailIsDiscardedOnRecovery() throws Exception {
+        try (WriteBehindLog log = WriteBehindLog.open(directory, 4096, FLUSH)) {
+            log.append(bytes("ok")).get(5, TimeUnit.SECONDS);
+        }
+
+        // Simula queda no meio de uma escrita: tamanho gravado, CRC e payload não
+        Path segment = segments().get(0);
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(WriteBehindLog.HEADER_BYTES + 2);
+            file.writeInt(100);
+        }
+
+        try (WriteBehindLog log = WriteBehindLog.open(directory, 4096, FLUSH)) {
+            assertEquals(1, log.backlog());
+            log.append(bytes("after")).get(5, TimeUnit.SECONDS);
+            assertEquals(List.of("ok", "after"), log.read(10).stream().map(e -> text(e.payload())).toList());
+        }
+    }
+
+    @Test
+    public void testRollsSegmentsAndDeletesDrainedOnes() throws Exception {
+        try (WriteBehindLog log = WriteBehindLog.open(directory, 64, FLUSH)) {
+            for (int i = 0; i < 10; i++) {
+                log.append(bytes("record-" + i)).get(5, TimeUnit.SECONDS);
+            }
+            assertTrue(segments().size() > 1, "registros devem ocupar vários segmentos");
+
+            List<WriteBehindLog.Entry> entries = log.read(100);
+            assertEquals(10, entries.size());
+            assertEquals("record-9", text(entries.get(9).payload()));
+
+            log.commit(entries.get(9).next(), 10);
+            assertEquals(0, log.backlog());
+            assertEquals(1, segments().size());
+        }
+    }
+
+    @Test
+    public void testPendingCreateRoundTrip() {
+        PendingCreate create = new PendingCreate(UUID.randomUUID(), LocalDateTime.of(2026, 1, 2, 3, 4, 5, 678_000_000),
+                "{\"name\":\"PC Gamer\",\"price\":4500.00}");
+
+        assertEquals(create, PendingCreate.decode(create.encode()));
+    }
+
+    private List<Path> segments() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().startsWith("segment-")).sorted().toList();
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(byte[] payload) {
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+}